@@ -30,6 +30,8 @@ public class DefaultOData2ServicesConfiguration implements ODataServicesConfigur
 	private static final int DEFAULT_PAGE_SIZE_FALLBACK_VALUE = 10;
 	private static final String MAX_PAGE_SIZE_PROPERTY = "odata2services.page.size.max";
 	private static final String DEFAULT_PAGE_SIZE_PROPERTY = "odata2services.page.size.default";
+	private static final int CHANGE_SET_THREADS_FALLBACK_VALUE = 1;
+	private static final String CHANGE_SET_THREADS_PROPERTY = "odata2services.batch.changeset.threads";
 
 	private ConfigurationService configurationService;
 
@@ -84,6 +86,12 @@ public class DefaultOData2ServicesConfiguration implements ODataServicesConfigur
 		return defaultValue;
 	}
 
+	@Override
+	public int getChangeSetThreads()
+	{
+		return getIntegerValue(CHANGE_SET_THREADS_PROPERTY, CHANGE_SET_THREADS_FALLBACK_VALUE);
+	}
+
 	private int getIntegerValue(final String propertyKey, final int propertyFallbackValue)
 	{
 		try
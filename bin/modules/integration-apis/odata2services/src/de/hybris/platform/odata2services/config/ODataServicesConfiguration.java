@@ -38,4 +38,12 @@ public interface ODataServicesConfiguration
 	 * @return the default page size for the extension
 	 */
 	int getDefaultPageSize();
+
+	/**
+	 * Determines current setting of the number of worker threads, which execute the change sets of a batch request.
+	 *
+	 * @return number of change sets of a single batch request that may be executed at the same time. The change sets are
+	 * executed one after another, when the value is 1.
+	 */
+	int getChangeSetThreads();
 }
@@ -26,6 +26,7 @@ public class Odata2servicesConstants extends GeneratedOdata2servicesConstants
 	public static final String LANGUAGE_KEY_PROPERTY_NAME = "language";
 	public static final String ENUM_PROPERTY_NAME = "code";
 	public static final String PRIMITIVE_ENTITY_PROPERTY_NAME = "value";
+	public static final String SKIPTOKEN_PK_PREFIX = "pk";
 
 	private Odata2servicesConstants()
 	{
@@ -53,7 +53,7 @@ public class NavigationPropertyVisitingStrategy extends AbstractNavigationProper
 			final String property = getLeftOperandPropertyName(expression);
 			final ItemLookupRequest itemLookupRequest = getItemLookupRequestFactory().create(getContext(), (EdmEntitySet) leftResult, new ImmutablePair<>(property, (String) rightResult));
 			final ItemLookupResult<ItemModel> itemModels = getItemLookupStrategy().lookupItems(itemLookupRequest);
-			if (itemModels != null && itemModels.getTotalCount() > 0)
+			if (itemModels != null && !itemModels.getEntries().isEmpty())
 			{
 				final String navPropertyName = getLeftOperandNavPropertyName(expression);
 				final String pks = itemModels.getEntries().stream().map(m -> m.getPk().toString()).reduce("", (a, b) -> a + b + ",");
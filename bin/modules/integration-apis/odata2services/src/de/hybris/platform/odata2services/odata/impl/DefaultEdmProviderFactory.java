@@ -13,6 +13,7 @@ package de.hybris.platform.odata2services.odata.impl;
 
 import de.hybris.platform.integrationservices.service.IntegrationObjectService;
 import de.hybris.platform.odata2services.odata.EdmProviderFactory;
+import de.hybris.platform.odata2services.odata.schema.SchemaCache;
 import de.hybris.platform.odata2services.odata.schema.SchemaGenerator;
 
 import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
@@ -23,11 +24,12 @@ public class DefaultEdmProviderFactory implements EdmProviderFactory
 {
 	private IntegrationObjectService integrationObjectService;
 	private SchemaGenerator schemaGenerator;
+	private SchemaCache schemaCache;
 
 	@Override
 	public EdmProvider createInstance(final ODataContext context)
 	{
-		return new IntegrationObjectEdmProvider(integrationObjectService, schemaGenerator, context);
+		return new IntegrationObjectEdmProvider(integrationObjectService, schemaGenerator, schemaCache, context);
 	}
 
 	@Required
@@ -41,4 +43,14 @@ public class DefaultEdmProviderFactory implements EdmProviderFactory
 	{
 		this.schemaGenerator = schemaGenerator;
 	}
+
+	/**
+	 * Shares the generated schemas between the providers. Without a cache each provider generates the schemas it needs.
+	 *
+	 * @param schemaCache cache of the schemas
+	 */
+	public void setSchemaCache(final SchemaCache schemaCache)
+	{
+		this.schemaCache = schemaCache;
+	}
 }
@@ -16,18 +16,20 @@ import static de.hybris.platform.odata2services.constants.Odata2servicesConstant
 import static de.hybris.platform.odata2services.constants.Odata2servicesConstants.SERVICE;
 
 import de.hybris.platform.integrationservices.service.IntegrationObjectService;
+import de.hybris.platform.odata2services.odata.schema.IndexedSchema;
+import de.hybris.platform.odata2services.odata.schema.SchemaCache;
 import de.hybris.platform.odata2services.odata.schema.SchemaGenerator;
 import de.hybris.platform.odata2services.odata.schema.utils.SchemaUtils;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.odata2.api.edm.FullQualifiedName;
 import org.apache.olingo.odata2.api.edm.provider.Association;
 import org.apache.olingo.odata2.api.edm.provider.AssociationSet;
 import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
-import org.apache.olingo.odata2.api.edm.provider.EntityContainer;
 import org.apache.olingo.odata2.api.edm.provider.EntityContainerInfo;
 import org.apache.olingo.odata2.api.edm.provider.EntitySet;
 import org.apache.olingo.odata2.api.edm.provider.EntityType;
@@ -46,16 +48,24 @@ public class IntegrationObjectEdmProvider extends EdmProvider
 
 	private final IntegrationObjectService integrationObjectService;
 	private final SchemaGenerator schemaGenerator;
+	private final SchemaCache schemaCache;
 	private final String type;
 	private final String serviceName;
-	private Schema schema;
+	private IndexedSchema schema;
 
 	IntegrationObjectEdmProvider(final IntegrationObjectService integrationObjectService,
 			final SchemaGenerator schemaGenerator, final ODataContext context)
+	{
+		this(integrationObjectService, schemaGenerator, null, context);
+	}
+
+	IntegrationObjectEdmProvider(final IntegrationObjectService integrationObjectService,
+			final SchemaGenerator schemaGenerator, final SchemaCache schemaCache, final ODataContext context)
 	{
 		super();
 		this.integrationObjectService = integrationObjectService;
 		this.schemaGenerator = schemaGenerator;
+		this.schemaCache = schemaCache;
 		type = getParameter(ENTITY_TYPE, context);
 		serviceName = getParameter(SERVICE, context);
 	}
@@ -80,11 +90,17 @@ public class IntegrationObjectEdmProvider extends EdmProvider
 	}
 
 	private Schema generateSchemaForAllTypes()
+	{
+		return getSchemaForAllTypes().getSchema();
+	}
+
+	private IndexedSchema getSchemaForAllTypes()
 	{
 		LOG.debug("Reading schema for all types for service '{}'.", serviceName);
 		if (schema == null)
 		{
-			schema = schemaGenerator.generateSchema(integrationObjectService.findAllIntegrationObjectItems(serviceName));
+			schema = readSchema(StringUtils.EMPTY,
+					() -> schemaGenerator.generateSchema(integrationObjectService.findAllIntegrationObjectItems(serviceName)));
 		}
 		return schema;
 	}
@@ -92,7 +108,15 @@ public class IntegrationObjectEdmProvider extends EdmProvider
 	private Schema generateSchemaForType()
 	{
 		LOG.debug("Reading schema for service '{}' and type '{}'.", serviceName, type);
-		return schemaGenerator.generateSchema(integrationObjectService.findAllDependencyTypes(type, serviceName));
+		return readSchema(type,
+				() -> schemaGenerator.generateSchema(integrationObjectService.findAllDependencyTypes(type, serviceName))).getSchema();
+	}
+
+	private IndexedSchema readSchema(final String schemaType, final Supplier<Schema> generator)
+	{
+		return schemaCache != null
+				? schemaCache.getSchema(serviceName, schemaType, generator)
+				: new IndexedSchema(generator.get());
 	}
 
 	private static String getParameter(final String param, final ODataContext context)
@@ -107,18 +131,7 @@ public class IntegrationObjectEdmProvider extends EdmProvider
 		Preconditions.checkArgument(StringUtils.isNotEmpty(entityContainer), "Requested container name should not be null");
 		Preconditions.checkArgument(StringUtils.isNotEmpty(entitySetName), "Requested entity name should not be null");
 
-		final EntityContainer container = generateSchemaForAllTypes().getEntityContainers().stream()
-				.filter(con -> entityContainer.equals(con.getName())).findFirst().orElse(null);
-
-		if (container != null)
-		{
-			return container.getEntitySets().stream()
-					.filter(entitySet -> entitySetName.equals(entitySet.getName()))
-					.findFirst()
-					.orElse(null);
-		}
-
-		return null;
+		return getSchemaForAllTypes().getEntitySet(entityContainer, entitySetName);
 	}
 
 	@Override
@@ -126,10 +139,7 @@ public class IntegrationObjectEdmProvider extends EdmProvider
 	{
 		Preconditions.checkArgument(StringUtils.isNotEmpty(entityTypeName.getName()), "Requested entity type should not be null");
 
-		return generateSchemaForAllTypes().getEntityTypes().stream()
-				.filter(entityType -> entityType.getName().equals(entityTypeName.getName()))
-				.findFirst()
-				.orElse(null);
+		return getSchemaForAllTypes().getEntityType(entityTypeName.getName());
 	}
 
 	@Override
@@ -139,10 +149,7 @@ public class IntegrationObjectEdmProvider extends EdmProvider
 
 		if (SchemaUtils.NAMESPACE.equals(associationName.getNamespace()))
 		{
-			return generateSchemaForAllTypes().getAssociations().stream()
-					.filter(association -> association.getName().equals(associationName.getName()))
-					.findFirst()
-					.orElse(null);
+			return getSchemaForAllTypes().getAssociation(associationName.getName());
 		}
 		return null;
 	}
@@ -156,10 +163,7 @@ public class IntegrationObjectEdmProvider extends EdmProvider
 
 		if (SchemaUtils.CONTAINER_NAME.equals(entityContainer))
 		{
-			return generateSchemaForAllTypes().getEntityContainers().get(0).getAssociationSets().stream()
-					.filter(associationSet -> associationName.equals(associationSet.getAssociation()))
-					.findFirst()
-					.orElse(null);
+			return getSchemaForAllTypes().getAssociationSet(associationName);
 		}
 
 		return null;
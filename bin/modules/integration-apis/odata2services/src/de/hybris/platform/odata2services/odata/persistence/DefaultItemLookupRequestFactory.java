@@ -12,9 +12,11 @@
 package de.hybris.platform.odata2services.odata.persistence;
 
 import static de.hybris.platform.integrationservices.constants.IntegrationservicesConstants.INTEGRATION_KEY_PROPERTY_NAME;
+import static de.hybris.platform.odata2services.constants.Odata2servicesConstants.SKIPTOKEN_PK_PREFIX;
 import static de.hybris.platform.odata2services.filter.ExpressionVisitorParameters.parametersBuilder;
 import static de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest.itemLookupRequestBuilder;
 
+import de.hybris.platform.core.PK;
 import de.hybris.platform.integrationservices.item.IntegrationItem;
 import de.hybris.platform.integrationservices.search.WhereClauseConditions;
 import de.hybris.platform.odata2services.config.ODataServicesConfiguration;
@@ -154,6 +156,7 @@ public class DefaultItemLookupRequestFactory implements ItemLookupRequestFactory
 				.withAcceptLocale(locale)
 				.withSkip(deriveSkip(uriInfo))
 				.withTop(deriveTop(uriInfo.getTop()))
+				.withLastPK(deriveLastPK(uriInfo))
 				.withCount(uriInfo.getInlineCount() == InlineCount.ALLPAGES || uriInfo.isCount())
 				.withCountOnly(uriInfo.isCount())
 				.withExpand(uriInfo.getExpand())
@@ -240,11 +243,47 @@ public class DefaultItemLookupRequestFactory implements ItemLookupRequestFactory
 			{
 				return Integer.parseInt(skipToken);
 			}
+			if (isPKSkipToken(skipToken))
+			{
+				return 0;
+			}
 			throw new InvalidQueryParameterException("$skiptoken value must be an integer");
 		}
 		return 0;
 	}
 
+	/**
+	 * Derives the PK of the last item of the previous page from a {@code $skiptoken} created for paging by PK.
+	 * @param uriInfo the request URI
+	 * @return the PK or {@code null}, if the request is not paged by PK
+	 */
+	protected PK deriveLastPK(final UriInfo uriInfo)
+	{
+		final String skipToken = uriInfo.getSkipToken();
+		if (!isPKSkipToken(skipToken))
+		{
+			return null;
+		}
+		if (uriInfo.getFilter() != null)
+		{
+			throw new InvalidQueryParameterException("$skiptoken value must be an integer for a request with $filter");
+		}
+		try
+		{
+			return PK.parse(skipToken.substring(SKIPTOKEN_PK_PREFIX.length()));
+		}
+		catch (final RuntimeException e)
+		{
+			LOGGER.trace("Invalid $skiptoken {}", skipToken, e);
+			throw new InvalidQueryParameterException("$skiptoken value is not valid");
+		}
+	}
+
+	private static boolean isPKSkipToken(final String skipToken)
+	{
+		return skipToken != null && skipToken.matches(SKIPTOKEN_PK_PREFIX + "\\d+");
+	}
+
 	protected Integer deriveTop(final Integer uriInfoTop)
 	{
 		if (uriInfoTop != null)
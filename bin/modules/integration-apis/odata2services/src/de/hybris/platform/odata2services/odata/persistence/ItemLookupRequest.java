@@ -14,6 +14,7 @@ package de.hybris.platform.odata2services.odata.persistence;
 
 import static de.hybris.platform.odata2services.odata.persistence.ItemConversionRequest.itemConversionRequestBuilder;
 
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.integrationservices.search.WhereClauseConditions;
 
@@ -31,6 +32,7 @@ public class ItemLookupRequest extends CrudRequest
 {
 	private Integer skip;
 	private Integer top;
+	private PK lastPK;
 	private boolean count;
 	private boolean countOnly;
 	private List<ArrayList<NavigationPropertySegment>> expand;
@@ -69,6 +71,20 @@ public class ItemLookupRequest extends CrudRequest
 		return top;
 	}
 
+	/**
+	 * Retrieves PK of the last item of the previous page, when the items are paged by their PKs.
+	 * @return PK the requested items must follow or {@code null}, if the items are paged by {@link #getSkip()} only.
+	 */
+	public PK getLastPK()
+	{
+		return lastPK;
+	}
+
+	private void setLastPK(final PK lastPK)
+	{
+		this.lastPK = lastPK;
+	}
+
 	public void setNavigationSegments(final List<NavigationSegment> navigationSegments)
 	{
 		this.navigationSegments = navigationSegments;
@@ -193,6 +209,12 @@ public class ItemLookupRequest extends CrudRequest
 			return myself();
 		}
 
+		ItemLookupRequestBuilder withLastPK(final PK lastPK)
+		{
+			request().setLastPK(lastPK);
+			return myself();
+		}
+
 		ItemLookupRequestBuilder withCount(final boolean count)
 		{
 			request().setCount(count);
@@ -236,6 +258,7 @@ public class ItemLookupRequest extends CrudRequest
 			withNavigationSegments(request.getNavigationSegments());
 			withSkip(request.getSkip());
 			withTop(request.getTop());
+			withLastPK(request.getLastPK());
 			withCount(request.isCount());
 			withCountOnly(request.isCountOnly());
 			withExpand(request.getExpand());
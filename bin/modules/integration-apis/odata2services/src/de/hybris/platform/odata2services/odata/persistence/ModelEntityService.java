@@ -17,6 +17,8 @@ import de.hybris.platform.integrationservices.item.IntegrationItem;
 import de.hybris.platform.odata2services.odata.persistence.creation.CreateItemStrategy;
 import de.hybris.platform.odata2services.odata.persistence.lookup.ItemLookupResult;
 
+import java.util.List;
+
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.edm.EdmException;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
@@ -37,6 +39,19 @@ public interface ModelEntityService
 	 */
 	ItemModel createOrUpdateItem(StorageRequest request, CreateItemStrategy createItemStrategy) throws EdmException;
 
+	/**
+	 * Looks up the existing items for several requests at once and puts them into the context of the requests, so that
+	 * {@link #createOrUpdateItem(StorageRequest, CreateItemStrategy)} does not need to look them up one by one. The default
+	 * implementation does nothing.
+	 *
+	 * @param requests requests for items to be created or updated
+	 * @throws EdmException in case there is an OData related issue
+	 */
+	default void prefetchItems(final List<StorageRequest> requests) throws EdmException
+	{
+		// the items are looked up one by one when they are created or updated
+	}
+
 	/**
 	 * gets an itemModel based on the given information.
 	 * @param lookupRequest Parameter object that holds values for getting an itemModel
@@ -41,7 +41,8 @@ public interface PersistenceService
 	ODataEntry getEntityData(ItemLookupRequest lookupRequest, ConversionOptions options) throws EdmException;
 
 	/**
-	 * Searches for items matching the conditions of the specified request
+	 * Searches for items matching the conditions of the specified request. The found items may be converted to ODataEntries
+	 * only when the entries of the result are accessed, so the result should be iterated once.
 	 *
 	 * @param lookupRequest specifies what items need to be found and conditions for matching the items existing in the platform.
 	 * @param options Parameter that indicates options to be used during item conversion
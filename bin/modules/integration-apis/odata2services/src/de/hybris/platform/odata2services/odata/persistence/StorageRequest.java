@@ -105,6 +105,26 @@ public class StorageRequest extends CrudRequest
 		return Optional.empty();
 	}
 
+	/**
+	 * Determines whether the item for the integration key of this request has been looked up or created already.
+	 *
+	 * @return {@code true}, if an item or {@code null} was put for the integration key of this request; {@code false}
+	 * otherwise.
+	 * @throws EdmException if encounters an OData problem
+	 */
+	public boolean isContextItemResolved() throws EdmException
+	{
+		final Map<String, ItemModel> existingItemsForType = items.get(getEntityType().getName());
+		return existingItemsForType != null && existingItemsForType.containsKey(getIntegrationKey());
+	}
+
+	/**
+	 * Puts the item for the integration key of this request into the context shared by all requests derived from the same
+	 * request.
+	 *
+	 * @param item item for the integration key of this request or {@code null}, if it is known that no such item exists
+	 * @throws EdmException if encounters an OData problem
+	 */
 	public void putItem(final ItemModel item) throws EdmException
 	{
 		final String type = getEntityType().getName();
@@ -25,9 +25,13 @@ import de.hybris.platform.odata2services.odata.persistence.lookup.ItemLookupStra
 import de.hybris.platform.odata2services.odata.persistence.populator.EntityModelPopulator;
 import de.hybris.platform.odata2services.odata.persistence.validator.CreateItemValidator;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.edm.EdmException;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
@@ -73,7 +77,7 @@ public class DefaultModelEntityService implements ModelEntityService
 		}
 		else
 		{
-			ItemModel item = lookup(request.toLookupRequest());
+			ItemModel item = request.isContextItemResolved() ? null : lookup(request.toLookupRequest());
 			if (item == null)
 			{
 				item = createItem(request, createItemStrategy);
@@ -83,6 +87,47 @@ public class DefaultModelEntityService implements ModelEntityService
 		}
 	}
 
+	/**
+	 * Looks up the items of the requests, which are not in their context yet, with one
+	 * {@link ItemLookupStrategy#lookupByIntegrationKeys(List)} call per entity type.
+	 */
+	@Override
+	public void prefetchItems(final List<StorageRequest> requests) throws EdmException
+	{
+		final Map<String, List<StorageRequest>> requestsByType = new LinkedHashMap<>();
+		for (final StorageRequest request : requests)
+		{
+			if (StringUtils.isNotEmpty(request.getIntegrationKey()) && !request.isContextItemResolved())
+			{
+				requestsByType.computeIfAbsent(request.getEntityType().getName(), type -> new ArrayList<>()).add(request);
+			}
+		}
+
+		for (final List<StorageRequest> requestsOfType : requestsByType.values())
+		{
+			final List<ItemLookupRequest> lookupRequests = new ArrayList<>(requestsOfType.size());
+			for (final StorageRequest request : requestsOfType)
+			{
+				for (final CreateItemValidator validator : createItemValidators)
+				{
+					validator.beforeItemLookup(request.getEntityType(), request.getODataEntry());
+				}
+				lookupRequests.add(request.toLookupRequest());
+			}
+
+			final Map<String, ItemModel> items = getItemLookupStrategy().lookupByIntegrationKeys(lookupRequests);
+			LOG.debug("Resolved {} of {} {} items in bulk", items.size(), requestsOfType.size(),
+					requestsOfType.get(0).getEntityType().getName());
+			for (final StorageRequest request : requestsOfType)
+			{
+				if (items.containsKey(request.getIntegrationKey()))
+				{
+					request.putItem(items.get(request.getIntegrationKey()));
+				}
+			}
+		}
+	}
+
 	@Override
 	public ODataEntry getODataEntry(final ItemConversionRequest conversionRequest) throws EdmException
 	{
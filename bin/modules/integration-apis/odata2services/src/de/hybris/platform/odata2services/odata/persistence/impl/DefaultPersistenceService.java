@@ -96,7 +96,8 @@ public class DefaultPersistenceService implements PersistenceService
 	public ItemLookupResult<ODataEntry> getEntities(final ItemLookupRequest lookupRequest, final ConversionOptions options) throws EdmException
 	{
 		final ItemLookupResult<ItemModel> result = getModelEntityService().lookupItems(lookupRequest);
-		return result.map(item -> toODataEntry(lookupRequest, options, item));
+		// entries are converted while the response is written, so the converted entries of a page are not held all at once
+		return result.transform(item -> toODataEntry(lookupRequest, options, item));
 	}
 
 	@Override
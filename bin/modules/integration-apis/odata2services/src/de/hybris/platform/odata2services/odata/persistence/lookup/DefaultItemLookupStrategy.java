@@ -18,6 +18,8 @@ import static de.hybris.platform.odata2services.odata.EdmAnnotationUtils.isNulla
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.integrationservices.search.FlexibleSearchQueryBuilder;
 import de.hybris.platform.integrationservices.search.NonUniqueItemFoundException;
+import de.hybris.platform.integrationservices.search.WhereClauseCondition;
+import de.hybris.platform.integrationservices.search.WhereClauseConditions;
 import de.hybris.platform.integrationservices.service.IntegrationObjectService;
 import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
 import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequestFactory;
@@ -26,11 +28,19 @@ import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.FlexibleSearchService;
 import de.hybris.platform.servicelayer.search.SearchResult;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
 import org.apache.olingo.odata2.api.edm.EdmException;
 import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
@@ -39,15 +49,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Required;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 public class DefaultItemLookupStrategy implements ItemLookupStrategy
 {
 	private static final Logger LOG = LoggerFactory.getLogger(DefaultItemLookupStrategy.class);
+	private static final int DEFAULT_BULK_LOOKUP_CHUNK_SIZE = 200;
+	private static final Object NO_REFERENCED_ITEM = new Object();
 
 	private FlexibleSearchService flexibleSearchService;
 	private IntegrationObjectService integrationObjectService;
 	private ItemLookupRequestFactory itemLookupRequestFactory;
+	private int bulkLookupChunkSize = DEFAULT_BULK_LOOKUP_CHUNK_SIZE;
 
 	@Override
 	public ItemModel lookup(final ItemLookupRequest lookupRequest) throws EdmException
@@ -63,6 +78,185 @@ public class DefaultItemLookupStrategy implements ItemLookupStrategy
 		}
 	}
 
+	/**
+	 * Looks up the items with one query per chunk of {@link #getBulkLookupChunkSize()} requests, which matches the key
+	 * attributes of all requests in the chunk. The items referenced by key navigation properties are looked up once per
+	 * distinct reference. Requests with key values other than strings and references, or without a value for a key
+	 * navigation property, are left to {@link #lookup(ItemLookupRequest)}, and so are requests, for which items are found
+	 * that differ only in the case of their key values, because the database may or may not compare strings case
+	 * sensitive. A request without a matching item is only known to be missing, if every item found by its chunk matches
+	 * the key values of a request exactly; otherwise the database collation, e.g. ignoring trailing spaces or accents, may
+	 * have found its item, and the request is left to {@link #lookup(ItemLookupRequest)} as well.
+	 */
+	@Override
+	public Map<String, ItemModel> lookupByIntegrationKeys(final List<ItemLookupRequest> lookupRequests) throws EdmException
+	{
+		if (lookupRequests.isEmpty())
+		{
+			return Collections.emptyMap();
+		}
+		final ItemLookupRequest firstRequest = lookupRequests.get(0);
+		final List<KeyAttribute> keyAttributes = keyAttributes(firstRequest);
+		if (keyAttributes.isEmpty())
+		{
+			return Collections.emptyMap();
+		}
+
+		final Map<String, ItemModel> items = new HashMap<>(lookupRequests.size());
+		final Map<List<Object>, Object> referencedItems = new HashMap<>();
+		final List<KeyedRequest> keyedRequests = new ArrayList<>(lookupRequests.size());
+		for (final ItemLookupRequest lookupRequest : lookupRequests)
+		{
+			final List<Object> keyValues = keyValues(lookupRequest, keyAttributes, referencedItems);
+			if (keyValues != null && keyValues.contains(NO_REFERENCED_ITEM))
+			{
+				items.put(lookupRequest.getIntegrationKey(), null);
+			}
+			else if (keyValues != null)
+			{
+				keyedRequests.add(new KeyedRequest(lookupRequest, keyValues));
+			}
+		}
+
+		final String typeCode = getIntegrationObjectService()
+				.findItemTypeCode(firstRequest.getIntegrationObjectCode(), firstRequest.getEntityType().getName());
+		for (final List<KeyedRequest> chunk : Lists.partition(keyedRequests, getBulkLookupChunkSize()))
+		{
+			lookupChunk(typeCode, keyAttributes, chunk, items);
+		}
+		return items;
+	}
+
+	private List<KeyAttribute> keyAttributes(final ItemLookupRequest lookupRequest) throws EdmException
+	{
+		final EdmEntityType entityType = lookupRequest.getEntityType();
+		final List<KeyAttribute> keyAttributes = new ArrayList<>();
+		for (final String name : entityType.getPropertyNames())
+		{
+			if (isKeyProperty(entityType.getProperty(name)))
+			{
+				keyAttributes.add(new KeyAttribute(name, attributeName(lookupRequest, name), null));
+			}
+		}
+		for (final String name : entityType.getNavigationPropertyNames())
+		{
+			final EdmNavigationProperty navProperty = (EdmNavigationProperty) entityType.getProperty(name);
+			if (isKeyProperty(navProperty))
+			{
+				keyAttributes.add(new KeyAttribute(name, attributeName(lookupRequest, name),
+						lookupRequest.getEntitySet().getRelatedEntitySet(navProperty)));
+			}
+		}
+		return keyAttributes;
+	}
+
+	private String attributeName(final ItemLookupRequest lookupRequest, final String propertyName) throws EdmException
+	{
+		return getIntegrationObjectService().findItemAttributeName(lookupRequest.getIntegrationObjectCode(),
+				lookupRequest.getEntityType().getName(), propertyName);
+	}
+
+	private List<Object> keyValues(final ItemLookupRequest lookupRequest, final List<KeyAttribute> keyAttributes,
+			final Map<List<Object>, Object> referencedItems) throws EdmException
+	{
+		final Map<String, Object> properties = lookupRequest.getODataEntry().getProperties();
+		final List<Object> keyValues = new ArrayList<>(keyAttributes.size());
+		for (final KeyAttribute keyAttribute : keyAttributes)
+		{
+			final Object value = properties.get(keyAttribute.property);
+			if (keyAttribute.isReference() && value instanceof ODataEntry)
+			{
+				keyValues.add(referencedItemPK(lookupRequest, keyAttribute, (ODataEntry) value, referencedItems));
+			}
+			else if (!keyAttribute.isReference() && value instanceof String)
+			{
+				keyValues.add(value);
+			}
+			else
+			{
+				return null;
+			}
+		}
+		return keyValues;
+	}
+
+	private Object referencedItemPK(final ItemLookupRequest lookupRequest, final KeyAttribute keyAttribute,
+			final ODataEntry navEntry, final Map<List<Object>, Object> referencedItems) throws EdmException
+	{
+		final List<Object> reference = Arrays.asList(keyAttribute.property, toMap(navEntry));
+		Object pk = referencedItems.get(reference);
+		if (pk == null)
+		{
+			final ODataEntry entry = new ODataEntryImpl(Maps.newHashMap(navEntry.getProperties()), null, null, null);
+			final ItemLookupRequest navRequest = getItemLookupRequestFactory()
+					.createFrom(lookupRequest, keyAttribute.relatedEntitySet, entry);
+			final ItemModel navModel = lookup(navRequest);
+			pk = navModel != null ? navModel.getPk() : NO_REFERENCED_ITEM;
+			referencedItems.put(reference, pk);
+		}
+		return pk;
+	}
+
+	private void lookupChunk(final String typeCode, final List<KeyAttribute> keyAttributes, final List<KeyedRequest> chunk,
+			final Map<String, ItemModel> items)
+	{
+		final StringBuilder where = new StringBuilder();
+		final Map<String, Object> parameters = new HashMap<>();
+		for (int i = 0; i < chunk.size(); i++)
+		{
+			where.append(i > 0 ? " OR (" : "(");
+			for (int j = 0; j < keyAttributes.size(); j++)
+			{
+				final String parameter = "key" + i + "_" + j;
+				where.append(j > 0 ? " AND {" : "{").append(keyAttributes.get(j).attribute).append("} = ?").append(parameter);
+				parameters.put(parameter, chunk.get(i).keyValues.get(j));
+			}
+			where.append(')');
+		}
+		final String query = String.format("SELECT {%s} FROM {%s} WHERE %s", ItemModel.PK, typeCode, where);
+		final List<ItemModel> result = search(new FlexibleSearchQuery(query, parameters)).getResult();
+
+		final Map<List<Object>, List<ItemModel>> itemsByKey = result.stream()
+				.collect(Collectors.groupingBy(item -> keyValuesOf(item, keyAttributes)));
+		final Map<List<Object>, Long> itemCountsIgnoringCase = itemsByKey.keySet().stream()
+				.collect(Collectors.groupingBy(DefaultItemLookupStrategy::ignoringCase, Collectors.counting()));
+		final Set<List<Object>> requestedKeys = chunk.stream()
+				.map(keyedRequest -> keyedRequest.keyValues)
+				.collect(Collectors.toSet());
+		final boolean allItemsMatched = requestedKeys.containsAll(itemsByKey.keySet());
+		for (final KeyedRequest keyedRequest : chunk)
+		{
+			final List<ItemModel> matchingItems = itemsByKey.getOrDefault(keyedRequest.keyValues, Collections.emptyList());
+			final long similarKeys = itemCountsIgnoringCase.getOrDefault(ignoringCase(keyedRequest.keyValues), 0L);
+			if (matchingItems.size() == 1 && similarKeys == 1)
+			{
+				items.put(keyedRequest.request.getIntegrationKey(), matchingItems.get(0));
+			}
+			else if (matchingItems.isEmpty() && similarKeys == 0 && allItemsMatched)
+			{
+				items.put(keyedRequest.request.getIntegrationKey(), null);
+			}
+		}
+	}
+
+	private static List<Object> keyValuesOf(final ItemModel item, final List<KeyAttribute> keyAttributes)
+	{
+		final List<Object> keyValues = new ArrayList<>(keyAttributes.size());
+		for (final KeyAttribute keyAttribute : keyAttributes)
+		{
+			final Object value = item.getProperty(keyAttribute.attribute);
+			keyValues.add(keyAttribute.isReference() && value instanceof ItemModel ? ((ItemModel) value).getPk() : value);
+		}
+		return keyValues;
+	}
+
+	private static List<Object> ignoringCase(final List<Object> keyValues)
+	{
+		return keyValues.stream()
+				.map(value -> value instanceof String ? ((String) value).toLowerCase(Locale.ROOT) : value)
+				.collect(Collectors.toList());
+	}
+
 	@Override
 	public int count(final ItemLookupRequest lookupRequest) throws EdmException
 	{
@@ -71,16 +265,32 @@ public class DefaultItemLookupStrategy implements ItemLookupStrategy
 		return search(builder).getTotalCount();
 	}
 
+	/**
+	 * Looks up a page of items ordered by PK. The page starts after {@link ItemLookupRequest#getLastPK()}, if the request
+	 * carries it, and at {@link ItemLookupRequest#getSkip()} otherwise. One more item than requested is read to find out
+	 * whether a next page exists, so the total number of items is only counted when the request asks for it.
+	 */
 	@Override
 	public ItemLookupResult<ItemModel> lookupItems(final ItemLookupRequest lookupRequest) throws EdmException
 	{
-		final FlexibleSearchQueryBuilder builder = queryBuilder(lookupRequest)
+		final Integer top = lookupRequest.getTop();
+		final FlexibleSearchQueryBuilder builder = queryBuilder(lookupRequest, pageFilter(lookupRequest))
 				.withStart(lookupRequest.getSkip())
-				.withCount(lookupRequest.getTop())
-				.withTotalCount()
+				.withCount(top != null ? top + 1 : null)
 				.orderedByPK();
-		final SearchResult<ItemModel> searchResult = search(builder);
-		return ItemLookupResult.createFrom(searchResult);
+		final List<ItemModel> items = search(builder).getResult();
+		final boolean nextPage = top != null && items.size() > top;
+		final List<ItemModel> page = nextPage ? items.subList(0, top) : items;
+		final int totalCount = lookupRequest.isCount() ? count(lookupRequest) : -1;
+		return ItemLookupResult.createPage(page, totalCount, nextPage, page.isEmpty() ? null : page.get(page.size() - 1).getPk());
+	}
+
+	private static WhereClauseConditions pageFilter(final ItemLookupRequest lookupRequest)
+	{
+		// the request factory accepts the last PK for requests without $filter only
+		return lookupRequest.getLastPK() != null
+				? new WhereClauseCondition(String.format("{%s} > %s", ItemModel.PK, lookupRequest.getLastPK())).toWhereClauseConditions()
+				: lookupRequest.getFilter();
 	}
 
 	protected ItemModel lookupInternal(final ItemLookupRequest lookupRequest) throws EdmException
@@ -123,11 +333,17 @@ public class DefaultItemLookupStrategy implements ItemLookupStrategy
 	}
 
 	protected FlexibleSearchQueryBuilder queryBuilder(final ItemLookupRequest lookupRequest) throws EdmException
+	{
+		return queryBuilder(lookupRequest, lookupRequest.getFilter());
+	}
+
+	protected FlexibleSearchQueryBuilder queryBuilder(final ItemLookupRequest lookupRequest, final WhereClauseConditions filter)
+			throws EdmException
 	{
 		FlexibleSearchQueryBuilder queryBuilder = new FlexibleSearchQueryBuilder(getIntegrationObjectService())
 				.withIntegrationObjectItem(lookupRequest.getIntegrationObjectCode(), lookupRequest.getEntityType().getName())
 				.withKeyConditionFor(toMap(lookupRequest.getODataEntry()))
-				.withFilter(lookupRequest.getFilter());
+				.withFilter(filter);
 
 		if (isCollectionNavigationPropertyQuery(lookupRequest))
 		{
@@ -234,6 +450,22 @@ public class DefaultItemLookupStrategy implements ItemLookupStrategy
 		this.integrationObjectService = integrationObjectService;
 	}
 
+	protected int getBulkLookupChunkSize()
+	{
+		return bulkLookupChunkSize;
+	}
+
+	/**
+	 * Specifies how many items are looked up by a single query of {@link #lookupByIntegrationKeys(List)}.
+	 *
+	 * @param chunkSize max number of items per query. Defaults to 200.
+	 */
+	public void setBulkLookupChunkSize(final int chunkSize)
+	{
+		Preconditions.checkArgument(chunkSize > 0, "Bulk lookup chunk size must be positive");
+		bulkLookupChunkSize = chunkSize;
+	}
+
 	protected ItemLookupRequestFactory getItemLookupRequestFactory()
 	{
 		return itemLookupRequestFactory;
@@ -244,4 +476,35 @@ public class DefaultItemLookupStrategy implements ItemLookupStrategy
 	{
 		this.itemLookupRequestFactory = itemLookupRequestFactory;
 	}
-}
\ No newline at end of file
+
+	private static final class KeyAttribute
+	{
+		private final String property;
+		private final String attribute;
+		private final EdmEntitySet relatedEntitySet;
+
+		private KeyAttribute(final String property, final String attribute, final EdmEntitySet relatedEntitySet)
+		{
+			this.property = property;
+			this.attribute = attribute;
+			this.relatedEntitySet = relatedEntitySet;
+		}
+
+		private boolean isReference()
+		{
+			return relatedEntitySet != null;
+		}
+	}
+
+	private static final class KeyedRequest
+	{
+		private final ItemLookupRequest request;
+		private final List<Object> keyValues;
+
+		private KeyedRequest(final ItemLookupRequest request, final List<Object> keyValues)
+		{
+			this.request = request;
+			this.keyValues = keyValues;
+		}
+	}
+}
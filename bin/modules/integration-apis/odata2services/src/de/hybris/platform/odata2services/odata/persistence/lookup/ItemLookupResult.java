@@ -11,6 +11,7 @@
  */
 package de.hybris.platform.odata2services.odata.persistence.lookup;
 
+import de.hybris.platform.core.PK;
 import de.hybris.platform.servicelayer.search.SearchResult;
 
 import java.util.Collections;
@@ -18,6 +19,8 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
+
 /**
  * Result of looking up items by the {@link ItemLookupStrategy}. This result is immutable except it does not guarantee immutability
  * of the items returned by {@link #getEntries()} method.
@@ -26,11 +29,15 @@ public class ItemLookupResult<T>
 {
 	private final List<T> entries;
 	private final int totalCount;
+	private final Boolean nextPage;
+	private final PK lastPK;
 
-	private ItemLookupResult(final List<T> entries, final int totalCount)
+	private ItemLookupResult(final List<T> entries, final int totalCount, final Boolean nextPage, final PK lastPK)
 	{
 		this.entries = Collections.unmodifiableList(entries);
 		this.totalCount = totalCount;
+		this.nextPage = nextPage;
+		this.lastPK = lastPK;
 	}
 
 	public static <T> ItemLookupResult<T> createFrom(final SearchResult<T> result)
@@ -40,12 +47,27 @@ public class ItemLookupResult<T>
 
 	public static <T> ItemLookupResult<T> createFrom(final List<T> entries, final int totalCount)
 	{
-		return new ItemLookupResult<>(entries, totalCount);
+		return new ItemLookupResult<>(entries, totalCount, null, null);
 	}
 
 	public static <T> ItemLookupResult<T> createFrom(final List<T> entries)
 	{
-		return new ItemLookupResult<>(entries, -1);
+		return new ItemLookupResult<>(entries, -1, null, null);
+	}
+
+	/**
+	 * Creates a result for a page of items ordered by PK.
+	 * @param entries items on the page
+	 * @param totalCount total number of matching items or a negative number, if it was not calculated
+	 * @param nextPage {@code true}, if more items match the request after the last item on the page
+	 * @param lastPK PK of the last item on the page or {@code null}, if the page is empty
+	 * @param <T> type of the entries
+	 * @return a result for the page
+	 */
+	public static <T> ItemLookupResult<T> createPage(final List<T> entries, final int totalCount, final boolean nextPage,
+			final PK lastPK)
+	{
+		return new ItemLookupResult<>(entries, totalCount, nextPage, lastPK);
 	}
 
 	/**
@@ -68,6 +90,33 @@ public class ItemLookupResult<T>
 		return totalCount;
 	}
 
+	/**
+	 * Determines whether this result knows if more items follow its entries, without relying on {@link #getTotalCount()}.
+	 * @return {@code true}, if this result was created as a page; {@code false} otherwise.
+	 */
+	public boolean isNextPageKnown()
+	{
+		return nextPage != null;
+	}
+
+	/**
+	 * Determines whether more items match the request conditions after the entries of this result.
+	 * @return {@code true}, if this result is a page and more items follow it; {@code false} otherwise.
+	 */
+	public boolean hasNextPage()
+	{
+		return Boolean.TRUE.equals(nextPage);
+	}
+
+	/**
+	 * Retrieves PK of the last item in this result, which the next page of an unfiltered request can start after.
+	 * @return PK of the last item or {@code null}, if this result is not a page or it is empty.
+	 */
+	public PK getLastPK()
+	{
+		return lastPK;
+	}
+
 	/**
 	 * Transforms this result into a result containing different kind of entries.
 	 * @param f a function to be applied to each entry contained in this result
@@ -79,6 +128,19 @@ public class ItemLookupResult<T>
 		final List<R> mapped = getEntries().stream()
 				.map(f)
 				.collect(Collectors.toList());
-		return ItemLookupResult.createFrom(mapped, getTotalCount());
+		return new ItemLookupResult<>(mapped, getTotalCount(), nextPage, getLastPK());
+	}
+
+	/**
+	 * Transforms this result into a result containing different kind of entries, without transforming the entries up front.
+	 * Unlike {@link #map(Function)}, the function is applied each time an entry of the transformed result is accessed,
+	 * so a caller iterating the entries once holds only one transformed entry at a time.
+	 * @param f a function to be applied to each entry contained in this result, when the entry is accessed
+	 * @param <R> type of the entries in the transformed result
+	 * @return a result containing entries, which are transformed from the original result whenever they are accessed.
+	 */
+	public <R> ItemLookupResult<R> transform(final Function<T, R> f)
+	{
+		return new ItemLookupResult<>(Lists.transform(getEntries(), f::apply), getTotalCount(), nextPage, getLastPK());
 	}
 }
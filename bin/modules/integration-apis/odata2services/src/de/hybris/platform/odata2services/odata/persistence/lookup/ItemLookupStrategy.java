@@ -15,6 +15,10 @@ package de.hybris.platform.odata2services.odata.persistence.lookup;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.olingo.odata2.api.edm.EdmException;
 
 public interface ItemLookupStrategy
@@ -28,6 +32,26 @@ public interface ItemLookupStrategy
 	 */
 	ItemModel lookup(final ItemLookupRequest lookupRequest) throws EdmException;
 
+	/**
+	 * Looks for the {@code Item}s matching several requests for the same entity type at once. The default implementation
+	 * looks them up one by one.
+	 *
+	 * @param lookupRequests requests for items of the same entity type
+	 * @return items found keyed by the integration keys of the requests. An integration key mapped to {@code null} means that
+	 * no item exists for it. Requests, whose integration keys are missing in the map, could not be resolved in bulk and
+	 * have to be looked up with {@link #lookup(ItemLookupRequest)}.
+	 * @throws EdmException when a request is invalid
+	 */
+	default Map<String, ItemModel> lookupByIntegrationKeys(final List<ItemLookupRequest> lookupRequests) throws EdmException
+	{
+		final Map<String, ItemModel> items = new HashMap<>(lookupRequests.size());
+		for (final ItemLookupRequest lookupRequest : lookupRequests)
+		{
+			items.put(lookupRequest.getIntegrationKey(), lookup(lookupRequest));
+		}
+		return items;
+	}
+
 	/**
 	 * Looks for {@code Item}s in the commerce suite based on the given request parameters.
 	 *
@@ -33,8 +33,10 @@ import de.hybris.platform.odata2services.odata.persistence.exception.MissingNavi
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.olingo.odata2.api.edm.EdmAnnotatable;
@@ -77,8 +79,9 @@ public class EntityCollectionPropertyProcessor extends AbstractCollectionPropert
 		{
 			collection.addAll(getModelService().getAttributeValue(item, itemAttributeName));
 		}
+		final Set<ItemModel> existingItems = new HashSet<>(collection);
 		collection.addAll(newCollection.stream()
-				.filter(v -> !collection.contains(v))
+				.filter(v -> !existingItems.contains(v))
 				.collect(Collectors.toList()));
 
 		getModelService().setAttributeValue(item, itemAttributeName, collection);
@@ -100,16 +103,22 @@ public class EntityCollectionPropertyProcessor extends AbstractCollectionPropert
 		final EdmEntitySet relatedEntitySet = request.getEntitySetReferencedByProperty(propertyName);
 
 		final ReferencedIntegrationItems nestedItems = ReferencedIntegrationItems.createFrom(request, propertyName);
-		final Collection<ItemModel> collectionItems = Lists.newLinkedList();
+		final List<StorageRequest> innerStorageRequests = new ArrayList<>(entries.size());
 		for (final ODataEntry oDataEntry : entries)
 		{
 			final IntegrationItem nestedItem = nestedItems.findItemFor(oDataEntry);
-			final StorageRequest innerStorageRequest = storageRequestBuilder().from(request)
+			innerStorageRequests.add(storageRequestBuilder().from(request)
 					.withEntitySet(relatedEntitySet)
 					.withODataEntry(oDataEntry)
 					.withIntegrationItem(nestedItem)
 					.withIntegrationKey(nestedItem.getIntegrationKey())
-					.build();
+					.build());
+		}
+		getModelEntityService().prefetchItems(innerStorageRequests);
+
+		final Collection<ItemModel> collectionItems = new ArrayList<>(entries.size());
+		for (final StorageRequest innerStorageRequest : innerStorageRequests)
+		{
 			final ItemModel item = getModelEntityService()
 					.createOrUpdateItem(innerStorageRequest, getCreateItemStrategy());
 
@@ -0,0 +1,430 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.processor;
+
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.TenantAwareThreadFactory;
+import de.hybris.platform.integrationservices.integrationkey.IntegrationKeyValueGenerator;
+import de.hybris.platform.odata2services.config.ODataServicesConfiguration;
+import de.hybris.platform.odata2services.odata.persistence.InternalProcessingException;
+import de.hybris.platform.servicelayer.session.Session;
+import de.hybris.platform.servicelayer.session.SessionService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.olingo.odata2.api.ODataServiceFactory;
+import org.apache.olingo.odata2.api.batch.BatchHandler;
+import org.apache.olingo.odata2.api.batch.BatchRequestPart;
+import org.apache.olingo.odata2.api.batch.BatchResponsePart;
+import org.apache.olingo.odata2.api.commons.ODataHttpMethod;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.ep.EntityProvider;
+import org.apache.olingo.odata2.api.ep.EntityProviderException;
+import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataContext;
+import org.apache.olingo.odata2.api.processor.ODataRequest;
+import org.apache.olingo.odata2.api.uri.PathSegment;
+import org.apache.olingo.odata2.core.batch.BatchHandlerImpl;
+import org.apache.olingo.odata2.core.batch.BatchRequestPartImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Required;
+
+/**
+ * Executes the change sets of a batch request on a bounded pool of worker threads, when more than one thread is
+ * configured by {@link ODataServicesConfiguration#getChangeSetThreads()}.
+ * <p>
+ * Every change set is executed in a session of its own, which carries the attributes of the session of the batch request,
+ * and by a {@link BatchHandler} of its own, so that it commits or rolls back in its own transaction. Change sets that
+ * create or update items with the same integration key are executed one after another in the order of the request, and so
+ * are change sets, for which the integration keys cannot be determined up front. The responses are returned in the order
+ * of the request.
+ * <p>
+ * Once a change set fails with an exception, the change sets that have not started yet are cancelled, like the sequential
+ * execution stops at the failing change set. Unlike the sequential execution, the change sets that are already running at
+ * that time, including the ones following the failing change set in the request, still complete and commit.
+ */
+public class ConcurrentChangeSetExecutor
+{
+	private static final Logger LOG = LoggerFactory.getLogger(ConcurrentChangeSetExecutor.class);
+	private static final EntityProviderReadProperties READ_CFG =
+			EntityProviderReadProperties.init().mergeSemantic(false).build();
+
+	private ODataServicesConfiguration oDataServicesConfiguration;
+	private SessionService sessionService;
+	private IntegrationKeyValueGenerator<EdmEntitySet, ODataEntry> integrationKeyValueGenerator;
+	private ExecutorService executorService;
+
+	/**
+	 * Determines whether the given batch parts are executed by this executor.
+	 *
+	 * @param batchParts parts of a batch request
+	 * @return {@code true}, if more than one worker thread is configured and the batch request consists of more than one
+	 * part, all of which are change sets; {@code false} otherwise.
+	 */
+	public boolean isApplicable(final List<BatchRequestPart> batchParts)
+	{
+		return batchParts.size() > 1
+				&& batchParts.stream().allMatch(BatchRequestPart::isChangeSet)
+				&& getODataServicesConfiguration().getChangeSetThreads() > 1;
+	}
+
+	/**
+	 * Executes the change sets and waits for all of them to complete. Change sets not started, when a change set fails with
+	 * an exception, are not executed.
+	 *
+	 * @param context context of the batch request
+	 * @param batchParts change sets of the batch request
+	 * @return responses of the change sets in the order of the batch parts
+	 * @throws ODataException the first exception thrown by an executed change set in the order of the batch parts
+	 */
+	public List<BatchResponsePart> execute(final ODataContext context, final List<BatchRequestPart> batchParts)
+			throws ODataException
+	{
+		final Map<String, Object> sessionAttributes = new HashMap<>(getSessionService().getAllSessionAttributes());
+		final List<BatchRequestPart> changeSets = new ArrayList<>(batchParts.size());
+		final List<Set<String>> integrationKeys = new ArrayList<>(batchParts.size());
+		for (final BatchRequestPart batchPart : batchParts)
+		{
+			final BatchRequestPart changeSet = buffer(batchPart);
+			changeSets.add(changeSet);
+			integrationKeys.add(integrationKeysOf(context, changeSet.getRequests()));
+		}
+
+		final AtomicBoolean failed = new AtomicBoolean();
+		final List<CompletableFuture<BatchResponsePart>> responses = new ArrayList<>(changeSets.size());
+		for (int i = 0; i < changeSets.size(); i++)
+		{
+			final BatchRequestPart changeSet = changeSets.get(i);
+			responses.add(CompletableFuture.allOf(conflictingChangeSets(responses, integrationKeys, i))
+					.handle((result, e) -> changeSet)
+					.thenApplyAsync(part -> executeUnlessFailed(context, part, sessionAttributes, failed), getExecutorService()));
+		}
+		return collect(responses);
+	}
+
+	/**
+	 * Determines the integration keys of the items created or updated by a change set.
+	 *
+	 * @param context context of the batch request
+	 * @param requests requests of the change set
+	 * @return entity type names and integration keys of the items in the request bodies, including the nested ones, or
+	 * {@code null}, if the change set contains other requests than <code>POST</code> requests to an entity set or the
+	 * integration keys cannot be calculated.
+	 */
+	protected Set<String> integrationKeysOf(final ODataContext context, final List<ODataRequest> requests)
+	{
+		try
+		{
+			final Set<String> keys = new HashSet<>();
+			for (final ODataRequest request : requests)
+			{
+				final EdmEntitySet entitySet = request.getMethod() == ODataHttpMethod.POST ? entitySetOf(context, request) : null;
+				if (entitySet == null)
+				{
+					return null;
+				}
+				try
+				{
+					collectIntegrationKeys(entitySet, readEntry(request, entitySet), keys);
+				}
+				finally
+				{
+					rewind(request);
+				}
+			}
+			return keys;
+		}
+		catch (final ODataException | RuntimeException e)
+		{
+			LOG.debug("Integration keys of a change set could not be determined. It is executed after all preceding change sets.", e);
+			return null;
+		}
+	}
+
+	protected ODataEntry readEntry(final ODataRequest request, final EdmEntitySet entitySet) throws EntityProviderException
+	{
+		return EntityProvider.readEntry(request.getContentType(), entitySet, request.getBody(), READ_CFG);
+	}
+
+	/**
+	 * Executes a change set in a new session, which carries the given session attributes.
+	 *
+	 * @param context context of the batch request
+	 * @param changeSet change set to execute
+	 * @param sessionAttributes attributes of the session of the batch request
+	 * @return response of the change set
+	 */
+	protected BatchResponsePart executeChangeSet(final ODataContext context, final BatchRequestPart changeSet,
+			final Map<String, Object> sessionAttributes)
+	{
+		final Session session = getSessionService().createNewSession();
+		try
+		{
+			sessionAttributes.forEach(getSessionService()::setAttribute);
+			return createBatchHandler(context).handleBatchPart(changeSet);
+		}
+		catch (final ODataException e)
+		{
+			throw new CompletionException(e);
+		}
+		finally
+		{
+			getSessionService().closeSession(session);
+		}
+	}
+
+	private BatchResponsePart executeUnlessFailed(final ODataContext context, final BatchRequestPart changeSet,
+			final Map<String, Object> sessionAttributes, final AtomicBoolean failed)
+	{
+		if (failed.get())
+		{
+			throw new CancellationException("Change set is not executed, because another change set failed");
+		}
+		try
+		{
+			return executeChangeSet(context, changeSet, sessionAttributes);
+		}
+		catch (final RuntimeException e)
+		{
+			failed.set(true);
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates a handler with a service and processor of its own, because the handler passed to the batch processor keeps
+	 * the content IDs and the context of the change set being handled.
+	 *
+	 * @param context context of the batch request
+	 * @return a new batch handler
+	 * @throws ODataException if the service cannot be created
+	 */
+	protected BatchHandler createBatchHandler(final ODataContext context) throws ODataException
+	{
+		final ODataServiceFactory serviceFactory = context.getServiceFactory();
+		return new BatchHandlerImpl(serviceFactory, serviceFactory.createService(context));
+	}
+
+	protected ExecutorService createExecutorService(final int threads)
+	{
+		return Executors.newFixedThreadPool(threads, new TenantAwareThreadFactory(Registry.getCurrentTenantNoFallback()));
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	@PreDestroy
+	public synchronized void destroy()
+	{
+		if (executorService != null)
+		{
+			executorService.shutdown();
+			executorService = null;
+		}
+	}
+
+	private static BatchRequestPart buffer(final BatchRequestPart changeSet)
+	{
+		final List<ODataRequest> requests = new ArrayList<>(changeSet.getRequests().size());
+		for (final ODataRequest request : changeSet.getRequests())
+		{
+			requests.add(buffer(request));
+		}
+		return new BatchRequestPartImpl(true, requests);
+	}
+
+	private static ODataRequest buffer(final ODataRequest request)
+	{
+		final InputStream body = request.getBody();
+		if (body == null)
+		{
+			return request;
+		}
+		try
+		{
+			return ODataRequest.fromRequest(request).body(new ByteArrayInputStream(IOUtils.toByteArray(body))).build();
+		}
+		catch (final IOException e)
+		{
+			throw new ODataPayloadProcessingException(e);
+		}
+	}
+
+	private static void rewind(final ODataRequest request)
+	{
+		try
+		{
+			request.getBody().reset();
+		}
+		catch (final IOException e)
+		{
+			throw new ODataPayloadProcessingException(e);
+		}
+	}
+
+	private static EdmEntitySet entitySetOf(final ODataContext context, final ODataRequest request) throws ODataException
+	{
+		final List<PathSegment> segments = request.getPathInfo().getODataSegments();
+		if (segments.size() != 1 || !segments.get(0).getMatrixParameters().isEmpty() || segments.get(0).getPath().contains("("))
+		{
+			return null;
+		}
+		return context.getService().getEntityDataModel().getDefaultEntityContainer().getEntitySet(segments.get(0).getPath());
+	}
+
+	private void collectIntegrationKeys(final EdmEntitySet entitySet, final ODataEntry entry, final Set<String> keys)
+			throws EdmException
+	{
+		final EdmEntityType entityType = entitySet.getEntityType();
+		final String integrationKey = getIntegrationKeyValueGenerator().generate(entitySet, entry);
+		if (StringUtils.isNotEmpty(integrationKey))
+		{
+			keys.add(entityType.getName() + "(" + integrationKey + ")");
+		}
+		for (final String navigationPropertyName : entityType.getNavigationPropertyNames())
+		{
+			final Object value = entry.getProperties().get(navigationPropertyName);
+			if (value instanceof ODataEntry || value instanceof ODataFeed)
+			{
+				final EdmEntitySet relatedEntitySet = entitySet.getRelatedEntitySet(
+						(EdmNavigationProperty) entityType.getProperty(navigationPropertyName));
+				final List<ODataEntry> entries = value instanceof ODataFeed
+						? ((ODataFeed) value).getEntries()
+						: Collections.singletonList((ODataEntry) value);
+				for (final ODataEntry nestedEntry : entries)
+				{
+					collectIntegrationKeys(relatedEntitySet, nestedEntry, keys);
+				}
+			}
+		}
+	}
+
+	private static CompletableFuture<?>[] conflictingChangeSets(final List<CompletableFuture<BatchResponsePart>> preceding,
+			final List<Set<String>> integrationKeys, final int index)
+	{
+		final Set<String> keys = integrationKeys.get(index);
+		final List<CompletableFuture<BatchResponsePart>> conflicting = new ArrayList<>();
+		for (int i = 0; i < index; i++)
+		{
+			final Set<String> precedingKeys = integrationKeys.get(i);
+			if (keys == null || precedingKeys == null || !Collections.disjoint(keys, precedingKeys))
+			{
+				conflicting.add(preceding.get(i));
+			}
+		}
+		return conflicting.toArray(new CompletableFuture<?>[0]);
+	}
+
+	private static List<BatchResponsePart> collect(final List<CompletableFuture<BatchResponsePart>> responses)
+			throws ODataException
+	{
+		CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).handle((result, e) -> result).join();
+
+		final List<BatchResponsePart> responseParts = new ArrayList<>(responses.size());
+		Throwable failure = null;
+		for (final CompletableFuture<BatchResponsePart> response : responses)
+		{
+			try
+			{
+				responseParts.add(response.join());
+			}
+			catch (final CompletionException e)
+			{
+				if (failure == null || failure instanceof CancellationException)
+				{
+					failure = e.getCause();
+				}
+			}
+		}
+		if (failure instanceof ODataException)
+		{
+			throw (ODataException) failure;
+		}
+		if (failure instanceof RuntimeException)
+		{
+			throw (RuntimeException) failure;
+		}
+		if (failure != null)
+		{
+			throw new InternalProcessingException(failure);
+		}
+		return responseParts;
+	}
+
+	private synchronized ExecutorService getExecutorService()
+	{
+		if (executorService == null)
+		{
+			executorService = createExecutorService(getODataServicesConfiguration().getChangeSetThreads());
+		}
+		return executorService;
+	}
+
+	protected ODataServicesConfiguration getODataServicesConfiguration()
+	{
+		return oDataServicesConfiguration;
+	}
+
+	@Required
+	public void setODataServicesConfiguration(final ODataServicesConfiguration configuration)
+	{
+		oDataServicesConfiguration = configuration;
+	}
+
+	protected SessionService getSessionService()
+	{
+		return sessionService;
+	}
+
+	@Required
+	public void setSessionService(final SessionService service)
+	{
+		sessionService = service;
+	}
+
+	protected IntegrationKeyValueGenerator<EdmEntitySet, ODataEntry> getIntegrationKeyValueGenerator()
+	{
+		return integrationKeyValueGenerator;
+	}
+
+	@Required
+	public void setIntegrationKeyValueGenerator(final IntegrationKeyValueGenerator<EdmEntitySet, ODataEntry> generator)
+	{
+		integrationKeyValueGenerator = generator;
+	}
+}
@@ -82,6 +82,7 @@ public class DefaultODataProcessor extends ODataSingleProcessor
 	private EntityReaderRegistry entityReaderRegistry;
 	private ItemLookupRequestFactory itemLookupRequestFactory;
 	private StorageRequestFactory storageRequestFactory;
+	private ConcurrentChangeSetExecutor changeSetExecutor;
 
 
 	protected String createLogStatements(
@@ -215,6 +216,11 @@ public class DefaultODataProcessor extends ODataSingleProcessor
 			throw new BatchLimitExceededException(batchLimit);
 		}
 
+		if (getChangeSetExecutor() != null && getChangeSetExecutor().isApplicable(batchParts))
+		{
+			return writeBatchResponse(getChangeSetExecutor().execute(getContext(), batchParts));
+		}
+
 		final List<BatchResponsePart> responseParts = Lists.newArrayList();
 		for (final BatchRequestPart batchPart : batchParts)
 		{
@@ -454,4 +460,14 @@ public class DefaultODataProcessor extends ODataSingleProcessor
 	{
 		this.storageRequestFactory = storageRequestFactory;
 	}
+
+	protected ConcurrentChangeSetExecutor getChangeSetExecutor()
+	{
+		return changeSetExecutor;
+	}
+
+	public void setChangeSetExecutor(final ConcurrentChangeSetExecutor changeSetExecutor)
+	{
+		this.changeSetExecutor = changeSetExecutor;
+	}
 }
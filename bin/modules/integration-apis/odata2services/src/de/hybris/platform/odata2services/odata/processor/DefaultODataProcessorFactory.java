@@ -33,6 +33,7 @@ public class DefaultODataProcessorFactory implements ODataProcessorFactory
 	private EntityReaderRegistry entityReaderRegistry;
 	private ItemLookupRequestFactory itemLookupRequestFactory;
 	private StorageRequestFactory storageRequestFactory;
+	private ConcurrentChangeSetExecutor changeSetExecutor;
 
 	@Override
 	public DefaultODataProcessor createProcessor(final ODataContext context)
@@ -44,6 +45,7 @@ public class DefaultODataProcessorFactory implements ODataProcessorFactory
 		processor.setEntityReaderRegistry(getEntityReaderRegistry());
 		processor.setItemLookupRequestFactory(getItemLookupRequestFactory());
 		processor.setStorageRequestFactory(getStorageRequestFactory());
+		processor.setChangeSetExecutor(getChangeSetExecutor());
 		processor.setContext(context);
 		return processor;
 	}
@@ -113,4 +115,20 @@ public class DefaultODataProcessorFactory implements ODataProcessorFactory
 	{
 		this.storageRequestFactory = storageRequestFactory;
 	}
+
+	protected ConcurrentChangeSetExecutor getChangeSetExecutor()
+	{
+		return changeSetExecutor;
+	}
+
+	/**
+	 * Injects an executor, which runs the change sets of batch requests side by side. Without it the change sets are always
+	 * executed one after another.
+	 *
+	 * @param executor executor of change sets
+	 */
+	public void setChangeSetExecutor(final ConcurrentChangeSetExecutor executor)
+	{
+		changeSetExecutor = executor;
+	}
 }
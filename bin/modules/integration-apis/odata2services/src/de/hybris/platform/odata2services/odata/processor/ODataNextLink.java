@@ -11,6 +11,9 @@
  */
 package de.hybris.platform.odata2services.odata.processor;
 
+import static de.hybris.platform.odata2services.constants.Odata2servicesConstants.SKIPTOKEN_PK_PREFIX;
+
+import de.hybris.platform.core.PK;
 import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
 
 import com.google.common.base.Preconditions;
@@ -22,6 +25,8 @@ public class ODataNextLink
 	private int totalCount;
 	private int skip;
 	private int top;
+	private Boolean nextPage;
+	private PK lastPK;
 	private String nextLink;
 
 	private ODataNextLink() {}
@@ -45,12 +50,12 @@ public class ODataNextLink
 
 	private String newSkipValue()
 	{
-		return String.valueOf(top + skip);
+		return lastPK != null ? SKIPTOKEN_PK_PREFIX + lastPK : String.valueOf(top + skip);
 	}
 
 	private boolean isLastPage()
 	{
-		return totalCount - top <= skip;
+		return nextPage != null ? !nextPage : totalCount - top <= skip;
 	}
 
 	private String prepareLinkForNextSkipToken()
@@ -81,10 +86,22 @@ public class ODataNextLink
 		this.top = top;
 	}
 
+	private void setNextPage(final Boolean nextPage)
+	{
+		this.nextPage = nextPage;
+	}
+
+	private void setLastPK(final PK lastPK)
+	{
+		this.lastPK = lastPK;
+	}
+
 	public static class Builder
 	{
 		private ItemLookupRequest lookupRequest;
 		private Integer totalCount;
+		private Boolean nextPage;
+		private PK lastPK;
 
 		private Builder()
 		{
@@ -107,13 +124,39 @@ public class ODataNextLink
 			return this;
 		}
 		
+		/**
+		 * Specifies whether more items follow the current page. When specified, the total count is not needed to determine
+		 * the last page.
+		 * @param nextPage {@code true}, if a next page exists; {@code false}, if the current page is the last one.
+		 * @return this builder
+		 */
+		public Builder withNextPage(final boolean nextPage)
+		{
+			this.nextPage = nextPage;
+			return this;
+		}
+
+		/**
+		 * Specifies PK of the last item on the current page. When specified, the {@code $skiptoken} of the next link carries
+		 * the PK instead of the number of items to skip, so the next page is read from the items following that PK.
+		 * @param lastPK PK of the last item on the page
+		 * @return this builder
+		 */
+		public Builder withLastPK(final PK lastPK)
+		{
+			this.lastPK = lastPK;
+			return this;
+		}
+
 		public String build()
 		{
 			assertAllRequiredFieldsAreSet();
 			final ODataNextLink oDataNextLink = new ODataNextLink();
 			oDataNextLink.setSkip(lookupRequest.getSkip());
 			oDataNextLink.setTop(lookupRequest.getTop());
-			oDataNextLink.setTotalCount(totalCount);
+			oDataNextLink.setTotalCount(totalCount != null ? totalCount : -1);
+			oDataNextLink.setNextPage(nextPage);
+			oDataNextLink.setLastPK(lastPK);
 			oDataNextLink.setCurrentLink(lookupRequest.getRequestUri().toString());
 			return oDataNextLink.getNextLink();
 		}
@@ -124,7 +167,8 @@ public class ODataNextLink
 			Preconditions.checkArgument(lookupRequest.getRequestUri() != null, "requestUri must be provided");
 			Preconditions.checkArgument(lookupRequest.getSkip() != null, "skip must be provided");
 			Preconditions.checkArgument(lookupRequest.getTop() != null, "top must be provided");
-			Preconditions.checkArgument(totalCount != null && totalCount >= 0, "totalCount must be provided and have a value of 0 or greater");
+			Preconditions.checkArgument(nextPage != null || totalCount != null && totalCount >= 0,
+					"nextPage or totalCount must be provided and totalCount must have a value of 0 or greater");
 		}
 	}
 }
@@ -18,10 +18,11 @@ import static org.apache.olingo.odata2.api.ep.EntityProviderWriteProperties.serv
 import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
 import de.hybris.platform.odata2services.odata.persistence.lookup.ItemLookupResult;
 
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
 import org.apache.olingo.odata2.api.ep.EntityProvider;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
@@ -32,7 +33,8 @@ import org.apache.olingo.odata2.api.processor.ODataResponse;
 import org.springframework.beans.factory.annotation.Required;
 
 /**
- * Default implementation of the {@link ResponseWriter}
+ * Default implementation of the {@link ResponseWriter}. Entries of a feed are taken from the {@link ItemLookupResult} one
+ * at a time while the feed is serialized, so entries converted on access do not have to be held for the whole page.
  */
 public class DefaultResponseWriter implements ResponseWriter
 {
@@ -49,9 +51,7 @@ public class DefaultResponseWriter implements ResponseWriter
 	@Override
 	public ODataResponse write(final ItemLookupRequest request, final EdmEntitySet entitySet, final ItemLookupResult<ODataEntry> result) throws ODataException
 	{
-		final List<Map<String, Object>> feeds = result.getEntries().stream()
-				.map(ODataEntry::getProperties)
-				.collect(Collectors.toList());
+		final List<Map<String, Object>> feeds = new EntryPropertiesList(result.getEntries());
 
 		ODataEntityProviderPropertiesBuilder writePropertiesBuilder = getWriteProperties(request);
 
@@ -59,7 +59,24 @@ public class DefaultResponseWriter implements ResponseWriter
 		{
 			writePropertiesBuilder = populateWriteProperties(writePropertiesBuilder, request, result);
 		}
-		return write(request.getContentType(), entitySet, feeds, writePropertiesBuilder.build());
+		try
+		{
+			return write(request.getContentType(), entitySet, feeds, writePropertiesBuilder.build());
+		}
+		catch (final EntryAccessException e)
+		{
+			throw e.getEntryException();
+		}
+		catch (final EntityProviderException e)
+		{
+			// rethrow the original exception of an entry failing to convert, which the entity provider wrapped
+			final int index = ExceptionUtils.indexOfThrowable(e, EntryAccessException.class);
+			if (index >= 0)
+			{
+				throw ((EntryAccessException) ExceptionUtils.getThrowableList(e).get(index)).getEntryException();
+			}
+			throw e;
+		}
 	}
 
 	protected ODataResponse write(
@@ -114,4 +131,49 @@ public class DefaultResponseWriter implements ResponseWriter
 	{
 		this.populatorRegistry = populatorRegistry;
 	}
+
+	private static final class EntryPropertiesList extends AbstractList<Map<String, Object>>
+	{
+		private final List<ODataEntry> entries;
+
+		private EntryPropertiesList(final List<ODataEntry> entries)
+		{
+			this.entries = entries;
+		}
+
+		@Override
+		public Map<String, Object> get(final int index)
+		{
+			try
+			{
+				return entries.get(index).getProperties();
+			}
+			catch (final RuntimeException e)
+			{
+				throw new EntryAccessException(e);
+			}
+		}
+
+		@Override
+		public int size()
+		{
+			return entries.size();
+		}
+	}
+
+	private static final class EntryAccessException extends RuntimeException
+	{
+		private final RuntimeException entryException;
+
+		private EntryAccessException(final RuntimeException cause)
+		{
+			super(cause);
+			entryException = cause;
+		}
+
+		private RuntimeException getEntryException()
+		{
+			return entryException;
+		}
+	}
 }
@@ -31,10 +31,19 @@ public class NextLinkPropertyPopulator implements ResponseWriterPropertyPopulato
 			final ItemLookupRequest itemLookupRequest,
 			final ItemLookupResult result)
 	{
-		final String nextLink = ODataNextLink.Builder.nextLink()
+		final ODataNextLink.Builder builder = ODataNextLink.Builder.nextLink()
 				.withLookupRequest(itemLookupRequest)
-				.withTotalCount(result.getTotalCount())
-				.build();
+				.withTotalCount(result.getTotalCount());
+		if (result.isNextPageKnown())
+		{
+			builder.withNextPage(result.hasNextPage());
+		}
+		if (itemLookupRequest.getFilter() == null)
+		{
+			// the next page can be read by PK only without a filter, see DefaultItemLookupRequestFactory#deriveLastPK
+			builder.withLastPK(result.getLastPK());
+		}
+		final String nextLink = builder.build();
 		return EntityProviderWriteProperties.fromProperties(properties)
 				.nextLink(nextLink);
 	}
@@ -0,0 +1,179 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.schema;
+
+import de.hybris.platform.cache.Cache;
+import de.hybris.platform.cache.InvalidationListener;
+import de.hybris.platform.cache.InvalidationManager;
+import de.hybris.platform.cache.InvalidationTarget;
+import de.hybris.platform.cache.InvalidationTopic;
+import de.hybris.platform.cache.RemoteInvalidationSource;
+import de.hybris.platform.integrationservices.model.IntegrationObjectItemAttributeModel;
+import de.hybris.platform.integrationservices.model.IntegrationObjectItemModel;
+import de.hybris.platform.integrationservices.model.IntegrationObjectModel;
+import de.hybris.platform.jalo.type.TypeManager;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+import de.hybris.platform.tx.Transaction;
+import de.hybris.platform.util.typesystem.PlatformStringUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.olingo.odata2.api.edm.provider.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Required;
+
+/**
+ * Caches the schemas of the integration objects for the tenant, so only the first request to an integration object
+ * generates its schema. All schemas are discarded whenever an integration object, item or attribute changes. The cache
+ * can be turned off by <code>odata2services.schema.cache.enabled</code> and is not used within transactions, as it
+ * would neither see uncommitted changes of the integration objects nor notice a rollback.
+ */
+public class DefaultSchemaCache implements SchemaCache
+{
+	private static final Logger LOG = LoggerFactory.getLogger(DefaultSchemaCache.class);
+	private static final String ENABLED_PROPERTY_KEY = "odata2services.schema.cache.enabled";
+
+	private ConfigurationService configurationService;
+
+	private final Map<SchemaKey, IndexedSchema> schemas = new ConcurrentHashMap<>();
+	// incremented by each invalidation - a schema generated for an older generation must not be cached
+	private final AtomicLong generation = new AtomicLong();
+	private volatile Set<String> integrationObjectTypeCodes = Collections.emptySet();
+
+	private final InvalidationListener invalidationListener = new InvalidationListener()
+	{
+		@Override
+		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
+				final RemoteInvalidationSource remoteSrc)
+		{
+			if (key.length > 2 && integrationObjectTypeCodes.contains(key[2]))
+			{
+				invalidate();
+			}
+		}
+	};
+
+	@PostConstruct
+	public void init()
+	{
+		integrationObjectTypeCodes = Stream.of(IntegrationObjectModel._TYPECODE, IntegrationObjectItemModel._TYPECODE,
+				IntegrationObjectItemAttributeModel._TYPECODE)
+				.map(code -> PlatformStringUtils.valueOf(TypeManager.getInstance().getComposedType(code).getItemTypeCode()))
+				.collect(Collectors.toSet());
+		final InvalidationTopic topic = InvalidationManager.getInstance().getInvalidationTopic(new String[]
+				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
+		topic.addInvalidationListener(invalidationListener);
+	}
+
+	@Override
+	public IndexedSchema getSchema(final String serviceName, final String type, final Supplier<Schema> generator)
+	{
+		if (!isEnabled())
+		{
+			return new IndexedSchema(generator.get());
+		}
+
+		final SchemaKey key = new SchemaKey(serviceName, type);
+		final IndexedSchema cached = schemas.get(key);
+		if (cached != null)
+		{
+			return cached;
+		}
+
+		final long schemaGeneration = generation.get();
+		LOG.debug("Generating schema for service '{}' and type '{}'.", serviceName, type);
+		final IndexedSchema generated = new IndexedSchema(generator.get());
+		if (schemaGeneration != generation.get())
+		{
+			return generated;
+		}
+		final IndexedSchema previous = schemas.putIfAbsent(key, generated);
+		if (schemaGeneration != generation.get())
+		{
+			// invalidated while adding the schema
+			schemas.remove(key, generated);
+		}
+		return previous != null ? previous : generated;
+	}
+
+	@Override
+	public void invalidate()
+	{
+		generation.incrementAndGet();
+		schemas.clear();
+	}
+
+	protected boolean isEnabled()
+	{
+		return getConfigurationService().getConfiguration().getBoolean(ENABLED_PROPERTY_KEY, true) && !isTransactionRunning();
+	}
+
+	protected boolean isTransactionRunning()
+	{
+		return Transaction.current().isRunning();
+	}
+
+	protected ConfigurationService getConfigurationService()
+	{
+		return configurationService;
+	}
+
+	@Required
+	public void setConfigurationService(final ConfigurationService configurationService)
+	{
+		this.configurationService = configurationService;
+	}
+
+	private static final class SchemaKey
+	{
+		private final String serviceName;
+		private final String type;
+
+		private SchemaKey(final String serviceName, final String type)
+		{
+			this.serviceName = serviceName;
+			this.type = type;
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (this == o)
+			{
+				return true;
+			}
+			if (!(o instanceof SchemaKey))
+			{
+				return false;
+			}
+			final SchemaKey other = (SchemaKey) o;
+			return Objects.equals(serviceName, other.serviceName) && Objects.equals(type, other.type);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(serviceName, type);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.schema;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.olingo.odata2.api.edm.FullQualifiedName;
+import org.apache.olingo.odata2.api.edm.provider.Association;
+import org.apache.olingo.odata2.api.edm.provider.AssociationSet;
+import org.apache.olingo.odata2.api.edm.provider.EntityContainer;
+import org.apache.olingo.odata2.api.edm.provider.EntitySet;
+import org.apache.olingo.odata2.api.edm.provider.EntityType;
+import org.apache.olingo.odata2.api.edm.provider.Schema;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A generated {@link Schema} indexed by the names an {@link org.apache.olingo.odata2.api.edm.provider.EdmProvider} looks
+ * up. The index is built once, so the schema must not be modified after it has been indexed.
+ */
+public final class IndexedSchema
+{
+	private final Schema schema;
+	private final Map<String, EntityType> entityTypes;
+	private final Map<String, Association> associations;
+	private final Map<String, Map<String, EntitySet>> entitySets;
+	private final Map<FullQualifiedName, AssociationSet> associationSets;
+
+	public IndexedSchema(final Schema schema)
+	{
+		Preconditions.checkArgument(schema != null, "Unable to index null schema");
+
+		this.schema = schema;
+		entityTypes = index(schema.getEntityTypes(), EntityType::getName);
+		associations = index(schema.getAssociations(), Association::getName);
+
+		final List<EntityContainer> containers = nullToEmpty(schema.getEntityContainers());
+		final Map<String, Map<String, EntitySet>> setsByContainer = new HashMap<>();
+		for (final EntityContainer container : containers)
+		{
+			if (container.getName() != null)
+			{
+				setsByContainer.putIfAbsent(container.getName(), index(container.getEntitySets(), EntitySet::getName));
+			}
+		}
+		entitySets = Collections.unmodifiableMap(setsByContainer);
+		associationSets = containers.isEmpty()
+				? Collections.emptyMap()
+				: index(containers.get(0).getAssociationSets(), AssociationSet::getAssociation);
+	}
+
+	private static <K, V> Map<K, V> index(final List<V> elements, final Function<V, K> name)
+	{
+		final Map<K, V> index = new HashMap<>();
+		for (final V element : nullToEmpty(elements))
+		{
+			final K key = name.apply(element);
+			if (key != null)
+			{
+				index.putIfAbsent(key, element);
+			}
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+	private static <T> List<T> nullToEmpty(final List<T> list)
+	{
+		return list != null ? list : Collections.emptyList();
+	}
+
+	/**
+	 * @return the indexed schema
+	 */
+	public Schema getSchema()
+	{
+		return schema;
+	}
+
+	/**
+	 * @param name name of the entity type
+	 * @return the first entity type with the given name or {@code null}, if the schema has none
+	 */
+	public EntityType getEntityType(final String name)
+	{
+		return entityTypes.get(name);
+	}
+
+	/**
+	 * @param name name of the association
+	 * @return the first association with the given name or {@code null}, if the schema has none
+	 */
+	public Association getAssociation(final String name)
+	{
+		return associations.get(name);
+	}
+
+	/**
+	 * @param containerName name of the entity container
+	 * @param name name of the entity set
+	 * @return the first entity set with the given name in the given container or {@code null}, if there is none
+	 */
+	public EntitySet getEntitySet(final String containerName, final String name)
+	{
+		final Map<String, EntitySet> sets = entitySets.get(containerName);
+		return sets != null ? sets.get(name) : null;
+	}
+
+	/**
+	 * @param associationName name of the association
+	 * @return the first association set of the association in the first entity container or {@code null}, if there is none
+	 */
+	public AssociationSet getAssociationSet(final FullQualifiedName associationName)
+	{
+		return associationSets.get(associationName);
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.schema;
+
+import java.util.function.Supplier;
+
+import org.apache.olingo.odata2.api.edm.provider.Schema;
+
+/**
+ * Shares the schemas generated for the integration objects between requests.
+ */
+public interface SchemaCache
+{
+	/**
+	 * Gets the schema of an integration object, generating it if it is not cached yet.
+	 * @param serviceName code of the integration object
+	 * @param type entity type the schema is generated for or an empty string, if the schema contains all types of the
+	 * integration object
+	 * @param generator generates the schema, if it is not cached
+	 * @return the indexed schema
+	 */
+	IndexedSchema getSchema(String serviceName, String type, Supplier<Schema> generator);
+
+	/**
+	 * Discards all cached schemas.
+	 */
+	void invalidate();
+}
@@ -0,0 +1,161 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.impl;
+
+import static de.hybris.platform.odata2services.odata.schema.utils.SchemaUtils.toFullQualifiedName;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import de.hybris.bootstrap.annotations.PerformanceTest;
+import de.hybris.platform.integrationservices.service.IntegrationObjectService;
+import de.hybris.platform.odata2services.odata.schema.DefaultSchemaCache;
+import de.hybris.platform.odata2services.odata.schema.SchemaCache;
+import de.hybris.platform.odata2services.odata.schema.SchemaGenerator;
+import de.hybris.platform.odata2services.odata.schema.utils.SchemaUtils;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.olingo.odata2.api.edm.provider.EntityContainer;
+import org.apache.olingo.odata2.api.edm.provider.EntitySet;
+import org.apache.olingo.odata2.api.edm.provider.EntityType;
+import org.apache.olingo.odata2.api.edm.provider.Property;
+import org.apache.olingo.odata2.api.edm.provider.Schema;
+import org.apache.olingo.odata2.api.edm.provider.SimpleProperty;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the throughput of <code>$metadata</code> and entity requests of an integration object with many types with
+ * and without a {@link SchemaCache}.
+ */
+@PerformanceTest
+public class IntegrationObjectEdmProviderPerformanceTest
+{
+	private static final Logger LOG = LoggerFactory.getLogger(IntegrationObjectEdmProviderPerformanceTest.class);
+
+	private static final String SERVICE_VALUE = "InboundProduct";
+	private static final int TYPES = 300;
+	private static final int PROPERTIES = 30;
+	private static final int REQUESTS = 2000;
+
+	private final IntegrationObjectService integrationObjectService = mock(IntegrationObjectService.class);
+	private final SchemaGenerator schemaGenerator = mock(SchemaGenerator.class);
+	private SchemaCache schemaCache;
+
+	@Before
+	public void setUp()
+	{
+		doAnswer(invocation -> generateSchema()).when(schemaGenerator).generateSchema(any());
+
+		final ConfigurationService configurationService = mock(ConfigurationService.class);
+		final Configuration configuration = mock(Configuration.class);
+		doReturn(configuration).when(configurationService).getConfiguration();
+		doReturn(true).when(configuration).getBoolean(anyString(), eq(true));
+		final DefaultSchemaCache cache = new DefaultSchemaCache()
+		{
+			@Override
+			protected boolean isTransactionRunning()
+			{
+				return false;
+			}
+		};
+		cache.setConfigurationService(configurationService);
+		schemaCache = cache;
+	}
+
+	@Test
+	public void testMetadataRequests() throws ODataException
+	{
+		final long uncached = runMetadataRequests(null);
+		final long cached = runMetadataRequests(schemaCache);
+
+		LOG.info("{} $metadata requests: {} ms without cache, {} ms with cache", REQUESTS, uncached, cached);
+	}
+
+	@Test
+	public void testEntityRequests()
+	{
+		final long uncached = runEntityRequests(null);
+		final long cached = runEntityRequests(schemaCache);
+
+		LOG.info("{} entity requests: {} ms without cache, {} ms with cache", REQUESTS, uncached, cached);
+	}
+
+	private long runMetadataRequests(final SchemaCache cache) throws ODataException
+	{
+		final long start = System.currentTimeMillis();
+		for (int i = 0; i < REQUESTS; i++)
+		{
+			final List<Schema> schemas = createProvider(cache).getSchemas();
+			assertThat(schemas.get(0).getEntityTypes()).hasSize(TYPES);
+		}
+		return System.currentTimeMillis() - start;
+	}
+
+	private long runEntityRequests(final SchemaCache cache)
+	{
+		final long start = System.currentTimeMillis();
+		for (int i = 0; i < REQUESTS; i++)
+		{
+			final IntegrationObjectEdmProvider provider = createProvider(cache);
+			final String type = "Type" + (i % TYPES);
+			assertThat(provider.getEntitySet(SchemaUtils.CONTAINER_NAME, type + "s")).isNotNull();
+			assertThat(provider.getEntityType(toFullQualifiedName(type))).isNotNull();
+		}
+		return System.currentTimeMillis() - start;
+	}
+
+	private IntegrationObjectEdmProvider createProvider(final SchemaCache cache)
+	{
+		final ODataContext context = mock(ODataContext.class);
+		doReturn(SERVICE_VALUE).when(context).getParameter("service");
+		return new IntegrationObjectEdmProvider(integrationObjectService, schemaGenerator, cache, context);
+	}
+
+	private static Schema generateSchema()
+	{
+		final List<EntityType> entityTypes = new ArrayList<>(TYPES);
+		final List<EntitySet> entitySets = new ArrayList<>(TYPES);
+		for (int i = 0; i < TYPES; i++)
+		{
+			final List<Property> properties = new ArrayList<>(PROPERTIES);
+			for (int p = 0; p < PROPERTIES; p++)
+			{
+				properties.add(new SimpleProperty().setName("property" + p));
+			}
+			entityTypes.add(new EntityType().setName("Type" + i).setProperties(properties));
+			entitySets.add(new EntitySet().setName("Type" + i + "s").setEntityType(toFullQualifiedName("Type" + i)));
+		}
+		final EntityContainer container = new EntityContainer()
+				.setName(SchemaUtils.CONTAINER_NAME)
+				.setDefaultEntityContainer(true)
+				.setEntitySets(entitySets)
+				.setAssociationSets(Collections.emptyList());
+		return new Schema()
+				.setNamespace(SchemaUtils.NAMESPACE)
+				.setEntityTypes(entityTypes)
+				.setEntityContainers(Collections.singletonList(container));
+	}
+}
@@ -17,13 +17,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import de.hybris.bootstrap.annotations.UnitTest;
 import de.hybris.platform.integrationservices.model.IntegrationObjectItemModel;
 import de.hybris.platform.integrationservices.service.IntegrationObjectService;
+import de.hybris.platform.odata2services.odata.schema.IndexedSchema;
+import de.hybris.platform.odata2services.odata.schema.SchemaCache;
 import de.hybris.platform.odata2services.odata.schema.SchemaGenerator;
 import de.hybris.platform.odata2services.odata.schema.utils.SchemaUtils;
 
@@ -106,6 +110,33 @@ public class IntegrationObjectEdmProviderUnitTest
 		verify(schemaGenerator, times(1)).generateSchema(any());
 	}
 
+	@Test
+	public void testGetSchemas_NoTypeSpecified_IsReadFromSchemaCache() throws ODataException
+	{
+		final SchemaCache schemaCache = mock(SchemaCache.class);
+		doReturn(new IndexedSchema(schema)).when(schemaCache).getSchema(eq(SERVICE_VALUE), eq(""), any());
+		provider = new IntegrationObjectEdmProvider(integrationObjectService, schemaGenerator, schemaCache,
+				mockContextWithNoEntityType());
+
+		final List<Schema> schemas = whenGetSchemasIsCalled();
+
+		thenSchemasAreReturned(schemas);
+		verify(schemaGenerator, never()).generateSchema(any());
+	}
+
+	@Test
+	public void testGetSchemas_ForType_IsReadFromSchemaCache() throws ODataException
+	{
+		final SchemaCache schemaCache = mock(SchemaCache.class);
+		doReturn(new IndexedSchema(schema)).when(schemaCache).getSchema(eq(SERVICE_VALUE), eq(ENTITY_TYPE_VALUE), any());
+		provider = new IntegrationObjectEdmProvider(integrationObjectService, schemaGenerator, schemaCache, mockContext());
+
+		final List<Schema> schemas = whenGetSchemasIsCalled();
+
+		thenSchemasAreReturned(schemas);
+		verify(schemaGenerator, never()).generateSchema(any());
+	}
+
 	@Test(expected = ODataException.class)
 	public void testSomethingBadHappens() throws ODataException
 	{
@@ -0,0 +1,95 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.odata2services.odata.persistence.lookup.InvalidQueryParameterException;
+
+import org.apache.olingo.odata2.api.uri.UriInfo;
+import org.apache.olingo.odata2.api.uri.expression.FilterExpression;
+import org.junit.Test;
+
+@UnitTest
+public class DefaultItemLookupRequestFactoryUnitTest
+{
+	private final DefaultItemLookupRequestFactory factory = new DefaultItemLookupRequestFactory();
+
+	@Test
+	public void testPKSkipTokenIsDerivedAsLastPK()
+	{
+		final UriInfo uriInfo = uriInfo("pk123", null);
+
+		assertThat(factory.deriveLastPK(uriInfo)).isEqualTo(PK.fromLong(123));
+		assertThat(factory.deriveSkip(uriInfo)).isZero();
+	}
+
+	@Test
+	public void testNumericSkipTokenIsStillAcceptedAsSkip()
+	{
+		final UriInfo uriInfo = uriInfo("20", null);
+
+		assertThat(factory.deriveLastPK(uriInfo)).isNull();
+		assertThat(factory.deriveSkip(uriInfo)).isEqualTo(20);
+	}
+
+	@Test
+	public void testNumericSkipTokenIsAcceptedWithFilter()
+	{
+		final UriInfo uriInfo = uriInfo("20", mock(FilterExpression.class));
+
+		assertThat(factory.deriveLastPK(uriInfo)).isNull();
+		assertThat(factory.deriveSkip(uriInfo)).isEqualTo(20);
+	}
+
+	@Test
+	public void testPKSkipTokenIsRejectedWithFilter()
+	{
+		final UriInfo uriInfo = uriInfo("pk123", mock(FilterExpression.class));
+
+		assertThatThrownBy(() -> factory.deriveLastPK(uriInfo))
+				.isInstanceOf(InvalidQueryParameterException.class);
+	}
+
+	@Test
+	public void testOtherSkipTokensAreRejected()
+	{
+		final UriInfo uriInfo = uriInfo("pkabc", null);
+
+		assertThat(factory.deriveLastPK(uriInfo)).isNull();
+		assertThatThrownBy(() -> factory.deriveSkip(uriInfo))
+				.isInstanceOf(InvalidQueryParameterException.class);
+	}
+
+	@Test
+	public void testRequestWithoutSkipTokenHasNoLastPK()
+	{
+		final UriInfo uriInfo = uriInfo(null, null);
+
+		assertThat(factory.deriveLastPK(uriInfo)).isNull();
+		assertThat(factory.deriveSkip(uriInfo)).isZero();
+	}
+
+	private static UriInfo uriInfo(final String skipToken, final FilterExpression filter)
+	{
+		final UriInfo uriInfo = mock(UriInfo.class);
+		doReturn(null).when(uriInfo).getSkip();
+		doReturn(skipToken).when(uriInfo).getSkipToken();
+		doReturn(filter).when(uriInfo).getFilter();
+		return uriInfo;
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.persistence.impl;
+
+import static de.hybris.platform.odata2services.odata.persistence.StorageRequest.storageRequestBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.model.ItemModel;
+import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
+import de.hybris.platform.odata2services.odata.persistence.StorageRequest;
+import de.hybris.platform.odata2services.odata.persistence.creation.CreateItemStrategy;
+import de.hybris.platform.odata2services.odata.persistence.lookup.ItemLookupStrategy;
+import de.hybris.platform.odata2services.odata.persistence.populator.EntityModelPopulator;
+import de.hybris.platform.odata2services.odata.persistence.validator.CreateItemValidator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.core.ep.entry.ODataEntryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+
+@UnitTest
+public class DefaultModelEntityServiceUnitTest
+{
+	private static final String PRODUCT = "Product";
+	private static final String CATALOG = "Catalog";
+
+	private final ItemLookupStrategy itemLookupStrategy = mock(ItemLookupStrategy.class);
+	private final CreateItemValidator validator = mock(CreateItemValidator.class);
+	private final CreateItemStrategy createItemStrategy = mock(CreateItemStrategy.class);
+	private final Map<String, ItemModel> existingItems = new HashMap<>();
+	private final List<List<String>> bulkLookups = new ArrayList<>();
+	private final DefaultModelEntityService service = new DefaultModelEntityService();
+	private EdmEntitySet products;
+	private EdmEntitySet catalogs;
+	private StorageRequest parentRequest;
+
+	@Before
+	public void setUp() throws EdmException
+	{
+		products = entitySet(PRODUCT);
+		catalogs = entitySet(CATALOG);
+		parentRequest = storageRequestBuilder()
+				.withEntitySet(entitySet("Order"))
+				.withAcceptLocale(Locale.ENGLISH)
+				.withContentLocale(Locale.ENGLISH)
+				.withIntegrationObject("InboundOrder")
+				.withIntegrationKey("order")
+				.withODataEntry(entry())
+				.build();
+		doAnswer(this::lookupByIntegrationKeys).when(itemLookupStrategy).lookupByIntegrationKeys(anyListOf(ItemLookupRequest.class));
+
+		service.setItemLookupStrategy(itemLookupStrategy);
+		service.setCreateItemValidators(Collections.singletonList(validator));
+		service.setEntityModelPopulator(mock(EntityModelPopulator.class));
+	}
+
+	@Test
+	public void testItemsAreLookedUpOncePerEntityType() throws EdmException
+	{
+		final ItemModel productA = givenExistingItem("a");
+		final ItemModel catalog = givenExistingItem("default");
+		final StorageRequest requestA = request(products, "a");
+		final StorageRequest requestB = request(products, "b");
+		final StorageRequest catalogRequest = request(catalogs, "default");
+
+		service.prefetchItems(Arrays.asList(requestA, catalogRequest, requestB));
+
+		assertThat(bulkLookups).containsExactly(Arrays.asList("a", "b"), Collections.singletonList("default"));
+		assertThat(requestA.getContextItem()).contains(productA);
+		assertThat(catalogRequest.getContextItem()).contains(catalog);
+		assertThat(requestB.isContextItemResolved()).isTrue();
+		assertThat(requestB.getContextItem()).isEmpty();
+	}
+
+	@Test
+	public void testItemsNotResolvedInBulkAreLeftUnresolved() throws EdmException
+	{
+		final StorageRequest request = request(products, "unresolved");
+
+		service.prefetchItems(Collections.singletonList(request));
+
+		assertThat(request.isContextItemResolved()).isFalse();
+	}
+
+	@Test
+	public void testItemsAlreadyInContextOrWithoutIntegrationKeyAreNotLookedUp() throws EdmException
+	{
+		final StorageRequest resolved = request(products, "a");
+		resolved.putItem(mock(ItemModel.class));
+
+		service.prefetchItems(Arrays.asList(resolved, request(products, null), request(products, "")));
+
+		verify(itemLookupStrategy, never()).lookupByIntegrationKeys(anyListOf(ItemLookupRequest.class));
+	}
+
+	@Test
+	public void testValidatorsAreCalledBeforeBulkLookup() throws EdmException
+	{
+		final StorageRequest requestA = request(products, "a");
+		final StorageRequest requestB = request(products, "b");
+
+		service.prefetchItems(Arrays.asList(requestA, requestB));
+
+		final InOrder inOrder = inOrder(validator, itemLookupStrategy);
+		inOrder.verify(validator).beforeItemLookup(products.getEntityType(), requestA.getODataEntry());
+		inOrder.verify(validator).beforeItemLookup(products.getEntityType(), requestB.getODataEntry());
+		inOrder.verify(itemLookupStrategy).lookupByIntegrationKeys(anyListOf(ItemLookupRequest.class));
+	}
+
+	@Test
+	public void testPrefetchedItemIsUpdatedWithoutLookingItUpAgain() throws EdmException
+	{
+		final ItemModel productA = givenExistingItem("a");
+		final StorageRequest request = request(products, "a");
+		service.prefetchItems(Collections.singletonList(request));
+
+		assertThat(service.createOrUpdateItem(request, createItemStrategy)).isSameAs(productA);
+		verify(itemLookupStrategy, never()).lookup(any(ItemLookupRequest.class));
+		verify(createItemStrategy, never()).createItem(any(StorageRequest.class));
+	}
+
+	@Test
+	public void testItemKnownToBeMissingIsCreatedWithoutLookingItUp() throws EdmException
+	{
+		final ItemModel created = mock(ItemModel.class);
+		doReturn(created).when(createItemStrategy).createItem(any(StorageRequest.class));
+		final StorageRequest request = request(products, "b");
+		service.prefetchItems(Collections.singletonList(request));
+
+		assertThat(service.createOrUpdateItem(request, createItemStrategy)).isSameAs(created);
+		assertThat(request.getContextItem()).contains(created);
+		verify(itemLookupStrategy, never()).lookup(any(ItemLookupRequest.class));
+		verify(createItemStrategy, times(1)).createItem(request);
+	}
+
+	private Map<String, ItemModel> lookupByIntegrationKeys(final InvocationOnMock invocation)
+	{
+		final List<ItemLookupRequest> requests = (List<ItemLookupRequest>) invocation.getArguments()[0];
+		final List<String> keys = requests.stream().map(ItemLookupRequest::getIntegrationKey).collect(Collectors.toList());
+		bulkLookups.add(keys);
+		final Map<String, ItemModel> items = new HashMap<>();
+		keys.stream()
+				.filter(key -> !"unresolved".equals(key))
+				.forEach(key -> items.put(key, existingItems.get(key)));
+		return items;
+	}
+
+	private ItemModel givenExistingItem(final String integrationKey)
+	{
+		final ItemModel item = mock(ItemModel.class);
+		existingItems.put(integrationKey, item);
+		return item;
+	}
+
+	private StorageRequest request(final EdmEntitySet entitySet, final String integrationKey) throws EdmException
+	{
+		return storageRequestBuilder().from(parentRequest)
+				.withEntitySet(entitySet)
+				.withIntegrationKey(integrationKey)
+				.withODataEntry(entry())
+				.build();
+	}
+
+	private static ODataEntry entry()
+	{
+		return new ODataEntryImpl(new HashMap<>(), null, null, null);
+	}
+
+	private static EdmEntitySet entitySet(final String typeName) throws EdmException
+	{
+		final EdmEntityType entityType = mock(EdmEntityType.class);
+		doReturn(typeName).when(entityType).getName();
+		final EdmEntitySet entitySet = mock(EdmEntitySet.class);
+		doReturn(entityType).when(entitySet).getEntityType();
+		return entitySet;
+	}
+}
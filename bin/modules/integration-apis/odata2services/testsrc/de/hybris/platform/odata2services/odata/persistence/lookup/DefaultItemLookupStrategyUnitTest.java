@@ -0,0 +1,364 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.persistence.lookup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.model.ItemModel;
+import de.hybris.platform.integrationservices.search.FlexibleSearchQueryBuilder;
+import de.hybris.platform.integrationservices.search.WhereClauseCondition;
+import de.hybris.platform.integrationservices.search.WhereClauseConditions;
+import de.hybris.platform.integrationservices.service.IntegrationObjectService;
+import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
+import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequestFactory;
+import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
+import de.hybris.platform.servicelayer.search.SearchResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.olingo.odata2.api.edm.EdmAnnotatable;
+import org.apache.olingo.odata2.api.edm.EdmAnnotationAttribute;
+import org.apache.olingo.odata2.api.edm.EdmAnnotations;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmTyped;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.core.ep.entry.ODataEntryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+@UnitTest
+public class DefaultItemLookupStrategyUnitTest
+{
+	private static final String INTEGRATION_OBJECT = "InboundProduct";
+	private static final String PRODUCT = "Product";
+	private static final String CODE = "code";
+	private static final String CATALOG_VERSION = "catalogVersion";
+
+	private final FlexibleSearchService flexibleSearchService = mock(FlexibleSearchService.class);
+	private final IntegrationObjectService integrationObjectService = mock(IntegrationObjectService.class);
+	private final ItemLookupRequestFactory itemLookupRequestFactory = mock(ItemLookupRequestFactory.class);
+	private final EdmEntityType entityType = mock(EdmEntityType.class);
+	private final EdmEntitySet entitySet = mock(EdmEntitySet.class);
+	private final List<ItemModel> existingItems = new ArrayList<>();
+	private final List<FlexibleSearchQuery> queries = new ArrayList<>();
+	private final FlexibleSearchQueryBuilder queryBuilder = mock(FlexibleSearchQueryBuilder.class);
+	private final List<WhereClauseConditions> pageFilters = new ArrayList<>();
+	private final AtomicInteger referenceLookups = new AtomicInteger();
+	private DefaultItemLookupStrategy strategy;
+
+	@Before
+	public void setUp() throws EdmException
+	{
+		doReturn(PRODUCT).when(entityType).getName();
+		doReturn(entityType).when(entitySet).getEntityType();
+		doReturn(Collections.singletonList(CODE)).when(entityType).getPropertyNames();
+		doReturn(Collections.emptyList()).when(entityType).getNavigationPropertyNames();
+		doReturn(keyProperty(EdmProperty.class)).when(entityType).getProperty(CODE);
+		doReturn(PRODUCT).when(integrationObjectService).findItemTypeCode(INTEGRATION_OBJECT, PRODUCT);
+		doReturn(CODE).when(integrationObjectService).findItemAttributeName(INTEGRATION_OBJECT, PRODUCT, CODE);
+		doReturn(CATALOG_VERSION).when(integrationObjectService).findItemAttributeName(INTEGRATION_OBJECT, PRODUCT, CATALOG_VERSION);
+		doAnswer(this::search).when(flexibleSearchService).search(any(FlexibleSearchQuery.class));
+
+		strategy = new DefaultItemLookupStrategy()
+		{
+			@Override
+			public ItemModel lookup(final ItemLookupRequest lookupRequest)
+			{
+				referenceLookups.incrementAndGet();
+				return item(PK.fromLong(100), "Staged", null);
+			}
+		};
+		strategy.setFlexibleSearchService(flexibleSearchService);
+		strategy.setIntegrationObjectService(integrationObjectService);
+		strategy.setItemLookupRequestFactory(itemLookupRequestFactory);
+
+		doReturn(queryBuilder).when(queryBuilder).withStart(anyInt());
+		doReturn(queryBuilder).when(queryBuilder).withCount(anyInt());
+		doReturn(queryBuilder).when(queryBuilder).withTotalCount();
+		doReturn(queryBuilder).when(queryBuilder).orderedByPK();
+	}
+
+	@Test
+	public void testPageIsLookedUpWithOneMoreItemToFindNextPage() throws EdmException
+	{
+		final List<ItemModel> found = Arrays.asList(item(PK.fromLong(1), "a", null), item(PK.fromLong(2), "b", null),
+				item(PK.fromLong(3), "c", null));
+
+		final ItemLookupResult<ItemModel> result = pagingStrategy(found, 0).lookupItems(pageRequest(2, null, false));
+
+		assertThat(result.getEntries()).containsExactly(found.get(0), found.get(1));
+		assertThat(result.hasNextPage()).isTrue();
+		assertThat(result.getLastPK()).isEqualTo(PK.fromLong(2));
+		verify(queryBuilder).withCount(3);
+		verify(queryBuilder).orderedByPK();
+	}
+
+	@Test
+	public void testLastPageHasNoNextPage() throws EdmException
+	{
+		final List<ItemModel> found = Arrays.asList(item(PK.fromLong(1), "a", null), item(PK.fromLong(2), "b", null));
+
+		final ItemLookupResult<ItemModel> result = pagingStrategy(found, 0).lookupItems(pageRequest(2, null, false));
+
+		assertThat(result.getEntries()).containsExactlyElementsOf(found);
+		assertThat(result.isNextPageKnown()).isTrue();
+		assertThat(result.hasNextPage()).isFalse();
+	}
+
+	@Test
+	public void testPageAfterLastPKIsLookedUpByPKCondition() throws EdmException
+	{
+		final ItemLookupRequest request = pageRequest(2, PK.fromLong(5), false);
+
+		pagingStrategy(Collections.emptyList(), 0).lookupItems(request);
+
+		assertThat(pageFilters).hasSize(1);
+		assertThat(pageFilters.get(0).getConditions()).containsExactly(new WhereClauseCondition("{pk} > 5"));
+		verify(queryBuilder).withStart(0);
+	}
+
+	@Test
+	public void testPageWithoutLastPKIsLookedUpByRequestFilter() throws EdmException
+	{
+		final WhereClauseConditions filter = new WhereClauseCondition("{code} = 'a'").toWhereClauseConditions();
+		final ItemLookupRequest request = pageRequest(2, null, false);
+		doReturn(filter).when(request).getFilter();
+
+		pagingStrategy(Collections.emptyList(), 0).lookupItems(request);
+
+		assertThat(pageFilters).containsExactly(filter);
+	}
+
+	@Test
+	public void testItemsAreCountedOnlyForInlineCount() throws EdmException
+	{
+		final ItemLookupResult<ItemModel> uncounted = pagingStrategy(Collections.emptyList(), 42)
+				.lookupItems(pageRequest(2, null, false));
+
+		assertThat(uncounted.getTotalCount()).isNegative();
+		verify(queryBuilder, never()).withTotalCount();
+
+		final ItemLookupResult<ItemModel> counted = pagingStrategy(Collections.emptyList(), 42)
+				.lookupItems(pageRequest(2, null, true));
+
+		assertThat(counted.getTotalCount()).isEqualTo(42);
+		verify(queryBuilder, times(1)).withTotalCount();
+	}
+
+	@Test
+	public void testItemsAreLookedUpWithOneQueryPerChunk() throws EdmException
+	{
+		final ItemModel productA = item(PK.fromLong(1), "a", null);
+		final ItemModel productC = item(PK.fromLong(3), "c", null);
+		existingItems.addAll(Arrays.asList(productA, productC));
+		strategy.setBulkLookupChunkSize(2);
+
+		final Map<String, ItemModel> items = strategy.lookupByIntegrationKeys(requests("a", "b", "c", "d", "e"));
+
+		assertThat(items).hasSize(5)
+				.containsEntry("a", productA)
+				.containsEntry("b", null)
+				.containsEntry("c", productC)
+				.containsEntry("d", null)
+				.containsEntry("e", null);
+		assertThat(queries).hasSize(3);
+		assertThat(queries.get(0).getQueryParameters()).containsOnlyKeys("key0_0", "key1_0").containsValues("a", "b");
+	}
+
+	@Test
+	public void testRequestsWithOtherKeyValuesThanStringsAreNotResolved() throws EdmException
+	{
+		final ItemLookupRequest request = request("1", Collections.singletonMap(CODE, 1));
+
+		assertThat(strategy.lookupByIntegrationKeys(Collections.singletonList(request))).isEmpty();
+	}
+
+	@Test
+	public void testRequestsMatchingItemsDifferingInCaseOnlyAreNotResolved() throws EdmException
+	{
+		existingItems.add(item(PK.fromLong(1), "a", null));
+
+		assertThat(strategy.lookupByIntegrationKeys(requests("A"))).isEmpty();
+	}
+
+	@Test
+	public void testRequestsWithoutMatchAreNotResolvedWhenItemMatchesNoRequestExactly() throws EdmException
+	{
+		final ItemModel productA = item(PK.fromLong(1), "a", null);
+		existingItems.addAll(Arrays.asList(productA, item(PK.fromLong(2), "b", null)));
+
+		final Map<String, ItemModel> items = strategy.lookupByIntegrationKeys(requests("a", "b ", "c"));
+
+		assertThat(items).hasSize(1).containsEntry("a", productA);
+	}
+
+	@Test
+	public void testRequestsMatchingSeveralItemsAreNotResolved() throws EdmException
+	{
+		existingItems.addAll(Arrays.asList(item(PK.fromLong(1), "a", null), item(PK.fromLong(2), "a", null)));
+
+		assertThat(strategy.lookupByIntegrationKeys(requests("a"))).isEmpty();
+	}
+
+	@Test
+	public void testReferencedKeyItemsAreLookedUpOncePerReference() throws EdmException
+	{
+		final EdmNavigationProperty catalogVersion = keyProperty(EdmNavigationProperty.class);
+		doReturn(Collections.singletonList(CATALOG_VERSION)).when(entityType).getNavigationPropertyNames();
+		doReturn(catalogVersion).when(entityType).getProperty(CATALOG_VERSION);
+		doReturn(mock(EdmEntitySet.class)).when(entitySet).getRelatedEntitySet(catalogVersion);
+		final ItemModel productA = item(PK.fromLong(1), "a", PK.fromLong(100));
+		existingItems.addAll(Arrays.asList(productA, item(PK.fromLong(2), "b", PK.fromLong(200))));
+
+		final List<ItemLookupRequest> requests = Arrays.asList("a", "b", "c").stream()
+				.map(code -> request(code, productProperties(code, "Staged")))
+				.collect(Collectors.toList());
+		final Map<String, ItemModel> items = strategy.lookupByIntegrationKeys(requests);
+
+		assertThat(items).hasSize(3)
+				.containsEntry("a", productA)
+				.containsEntry("b", null)
+				.containsEntry("c", null);
+		assertThat(referenceLookups.get()).isEqualTo(1);
+		verify(itemLookupRequestFactory, times(1)).createFrom(eq(requests.get(0)), any(EdmEntitySet.class), any(ODataEntry.class));
+		assertThat(queries).hasSize(1);
+	}
+
+	private DefaultItemLookupStrategy pagingStrategy(final List<ItemModel> found, final int totalCount)
+	{
+		final DefaultItemLookupStrategy pagingStrategy = new DefaultItemLookupStrategy()
+		{
+			@Override
+			protected FlexibleSearchQueryBuilder queryBuilder(final ItemLookupRequest lookupRequest,
+					final WhereClauseConditions filter)
+			{
+				pageFilters.add(filter);
+				return queryBuilder;
+			}
+
+			@Override
+			protected SearchResult<ItemModel> search(final FlexibleSearchQueryBuilder builder)
+			{
+				final SearchResult<ItemModel> result = mock(SearchResult.class);
+				doReturn(found).when(result).getResult();
+				doReturn(totalCount).when(result).getTotalCount();
+				return result;
+			}
+		};
+		pagingStrategy.setFlexibleSearchService(flexibleSearchService);
+		pagingStrategy.setIntegrationObjectService(integrationObjectService);
+		return pagingStrategy;
+	}
+
+	private ItemLookupRequest pageRequest(final int top, final PK lastPK, final boolean count)
+	{
+		final ItemLookupRequest request = mock(ItemLookupRequest.class);
+		doReturn(0).when(request).getSkip();
+		doReturn(top).when(request).getTop();
+		doReturn(lastPK).when(request).getLastPK();
+		doReturn(count).when(request).isCount();
+		return request;
+	}
+
+	private SearchResult<ItemModel> search(final InvocationOnMock invocation)
+	{
+		final FlexibleSearchQuery query = (FlexibleSearchQuery) invocation.getArguments()[0];
+		queries.add(query);
+		final Collection<Object> values = query.getQueryParameters().values();
+		final List<ItemModel> found = existingItems.stream()
+				.filter(item -> values.stream()
+						.anyMatch(value -> String.valueOf(value).trim().equalsIgnoreCase(item.getProperty(CODE))))
+				.filter(item -> item.getProperty(CATALOG_VERSION) == null
+						|| values.contains(((ItemModel) item.getProperty(CATALOG_VERSION)).getPk()))
+				.collect(Collectors.toList());
+		final SearchResult<ItemModel> result = mock(SearchResult.class);
+		doReturn(found).when(result).getResult();
+		return result;
+	}
+
+	private List<ItemLookupRequest> requests(final String... codes)
+	{
+		return Arrays.stream(codes)
+				.map(code -> request(code, Collections.singletonMap(CODE, code)))
+				.collect(Collectors.toList());
+	}
+
+	private ItemLookupRequest request(final String integrationKey, final Map<String, Object> properties)
+	{
+		final ItemLookupRequest request = mock(ItemLookupRequest.class);
+		doReturn(integrationKey).when(request).getIntegrationKey();
+		doReturn(INTEGRATION_OBJECT).when(request).getIntegrationObjectCode();
+		doReturn(entityType).when(request).getEntityType();
+		doReturn(entitySet).when(request).getEntitySet();
+		doReturn(new ODataEntryImpl(properties, null, null, null)).when(request).getODataEntry();
+		return request;
+	}
+
+	private static Map<String, Object> productProperties(final String code, final String version)
+	{
+		final Map<String, Object> properties = new HashMap<>();
+		properties.put(CODE, code);
+		properties.put(CATALOG_VERSION, new ODataEntryImpl(Collections.singletonMap("version", version), null, null, null));
+		return properties;
+	}
+
+	private static ItemModel item(final PK pk, final String code, final PK catalogVersionPK)
+	{
+		final ItemModel item = mock(ItemModel.class);
+		doReturn(pk).when(item).getPk();
+		doReturn(code).when(item).getProperty(CODE);
+		if (catalogVersionPK != null)
+		{
+			final ItemModel catalogVersion = mock(ItemModel.class);
+			doReturn(catalogVersionPK).when(catalogVersion).getPk();
+			doReturn(catalogVersion).when(item).getProperty(CATALOG_VERSION);
+		}
+		return item;
+	}
+
+	private static <T extends EdmTyped> T keyProperty(final Class<T> type) throws EdmException
+	{
+		final EdmAnnotationAttribute unique = mock(EdmAnnotationAttribute.class);
+		doReturn("s:IsUnique").when(unique).getName();
+		doReturn("true").when(unique).getText();
+		final EdmAnnotations annotations = mock(EdmAnnotations.class);
+		doReturn(Collections.singletonList(unique)).when(annotations).getAnnotationAttributes();
+		final T property = mock(type);
+		doReturn(annotations).when((EdmAnnotatable) property).getAnnotations();
+		return property;
+	}
+}
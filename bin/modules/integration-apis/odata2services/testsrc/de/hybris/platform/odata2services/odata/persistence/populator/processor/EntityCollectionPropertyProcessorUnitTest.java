@@ -0,0 +1,171 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.persistence.populator.processor;
+
+import static de.hybris.platform.integrationservices.constants.IntegrationservicesConstants.INTEGRATION_KEY_PROPERTY_NAME;
+import static de.hybris.platform.odata2services.odata.persistence.StorageRequest.storageRequestBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.model.ItemModel;
+import de.hybris.platform.integrationservices.item.IntegrationItem;
+import de.hybris.platform.odata2services.odata.persistence.ModelEntityService;
+import de.hybris.platform.odata2services.odata.persistence.StorageRequest;
+import de.hybris.platform.odata2services.odata.persistence.creation.CreateItemStrategy;
+import de.hybris.platform.odata2services.odata.persistence.exception.MissingNavigationPropertyException;
+import de.hybris.platform.servicelayer.model.ModelService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.olingo.odata2.api.edm.EdmAnnotations;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.core.ep.entry.ODataEntryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+
+@UnitTest
+public class EntityCollectionPropertyProcessorUnitTest
+{
+	private static final String ENTRIES = "entries";
+
+	private final ModelEntityService modelEntityService = mock(ModelEntityService.class);
+	private final ModelService modelService = mock(ModelService.class);
+	private final CreateItemStrategy createItemStrategy = mock(CreateItemStrategy.class);
+	private final EntityCollectionPropertyProcessor processor = new EntityCollectionPropertyProcessor();
+	private final Map<String, ItemModel> items = new HashMap<>();
+	private final List<StorageRequest> prefetchedRequests = new ArrayList<>();
+	private EdmEntitySet orderEntries;
+	private StorageRequest request;
+
+	@Before
+	public void setUp() throws EdmException
+	{
+		final EdmNavigationProperty property = mock(EdmNavigationProperty.class);
+		final EdmAnnotations annotations = mock(EdmAnnotations.class);
+		doReturn(Collections.emptyList()).when(annotations).getAnnotationAttributes();
+		doReturn(annotations).when(property).getAnnotations();
+		final EdmEntitySet orders = entitySet("Order");
+		final EdmEntityType order = orders.getEntityType();
+		doReturn(property).when(order).getProperty(ENTRIES);
+		orderEntries = entitySet("OrderEntry");
+
+		final List<IntegrationItem> nestedItems = Arrays.asList(integrationItem("1"), integrationItem("2"), integrationItem("3"));
+		final IntegrationItem integrationItem = mock(IntegrationItem.class);
+		doReturn(nestedItems).when(integrationItem).getReferencedItems(ENTRIES);
+
+		request = spy(storageRequestBuilder()
+				.withEntitySet(orders)
+				.withAcceptLocale(Locale.ENGLISH)
+				.withContentLocale(Locale.ENGLISH)
+				.withIntegrationObject("InboundOrder")
+				.withIntegrationKey("order")
+				.withODataEntry(new ODataEntryImpl(new HashMap<>(), null, null, null))
+				.withIntegrationItem(integrationItem)
+				.build());
+		doReturn(orderEntries).when(request).getEntitySetReferencedByProperty(ENTRIES);
+
+		doAnswer(this::prefetchItems).when(modelEntityService).prefetchItems(anyListOf(StorageRequest.class));
+		doAnswer(this::createOrUpdateItem).when(modelEntityService).createOrUpdateItem(any(StorageRequest.class), any(CreateItemStrategy.class));
+
+		processor.setModelEntityService(modelEntityService);
+		processor.setModelService(modelService);
+		processor.setCreateItemStrategy(createItemStrategy);
+	}
+
+	@Test
+	public void testNestedItemsAreLookedUpTogetherBeforeTheyAreCreatedOrUpdated() throws EdmException
+	{
+		final Collection<ItemModel> collection = processor.getNewCollectionEntries(request, entries("1", "2", "3"), ENTRIES,
+				mock(ItemModel.class));
+
+		assertThat(collection).containsExactly(items.get("1"), items.get("2"), items.get("3"));
+		assertThat(prefetchedRequests).extracting(StorageRequest::getIntegrationKey).containsExactly("1", "2", "3");
+		assertThat(prefetchedRequests).extracting(StorageRequest::getEntitySet).containsOnly(orderEntries);
+		final InOrder inOrder = inOrder(modelEntityService);
+		inOrder.verify(modelEntityService, times(1)).prefetchItems(anyListOf(StorageRequest.class));
+		for (final StorageRequest prefetchedRequest : prefetchedRequests)
+		{
+			inOrder.verify(modelEntityService).createOrUpdateItem(prefetchedRequest, createItemStrategy);
+		}
+	}
+
+	@Test
+	public void testNewNestedItemIsRejectedAfterBulkLookupUnlessPartOfOrAutoCreate() throws EdmException
+	{
+		doAnswer(invocation -> invocation.getArguments()[0] == items.get("2")).when(modelService).isNew(any());
+
+		assertThatThrownBy(() -> processor.getNewCollectionEntries(request, entries("1", "2", "3"), ENTRIES,
+				mock(ItemModel.class))).isInstanceOf(MissingNavigationPropertyException.class);
+		verify(modelEntityService, times(1)).prefetchItems(anyListOf(StorageRequest.class));
+		verify(modelEntityService, never()).createOrUpdateItem(prefetchedRequests.get(2), createItemStrategy);
+	}
+
+	private Object prefetchItems(final InvocationOnMock invocation)
+	{
+		prefetchedRequests.addAll((List<StorageRequest>) invocation.getArguments()[0]);
+		return null;
+	}
+
+	private ItemModel createOrUpdateItem(final InvocationOnMock invocation)
+	{
+		final StorageRequest storageRequest = (StorageRequest) invocation.getArguments()[0];
+		return items.computeIfAbsent(storageRequest.getIntegrationKey(), key -> mock(ItemModel.class));
+	}
+
+	private static List<ODataEntry> entries(final String... integrationKeys)
+	{
+		return Arrays.stream(integrationKeys)
+				.map(key -> new ODataEntryImpl(Collections.singletonMap(INTEGRATION_KEY_PROPERTY_NAME, key), null, null, null))
+				.collect(Collectors.toList());
+	}
+
+	private static IntegrationItem integrationItem(final String integrationKey)
+	{
+		final IntegrationItem item = mock(IntegrationItem.class);
+		doReturn(integrationKey).when(item).getIntegrationKey();
+		return item;
+	}
+
+	private static EdmEntitySet entitySet(final String typeName) throws EdmException
+	{
+		final EdmEntityType entityType = mock(EdmEntityType.class);
+		doReturn(typeName).when(entityType).getName();
+		final EdmEntitySet entitySet = mock(EdmEntitySet.class);
+		doReturn(entityType).when(entitySet).getEntityType();
+		return entitySet;
+	}
+}
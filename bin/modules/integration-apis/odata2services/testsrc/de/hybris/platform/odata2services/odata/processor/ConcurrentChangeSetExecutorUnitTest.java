@@ -0,0 +1,413 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.integrationservices.integrationkey.IntegrationKeyValueGenerator;
+import de.hybris.platform.odata2services.config.ODataServicesConfiguration;
+import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.servicelayer.session.Session;
+import de.hybris.platform.servicelayer.session.SessionService;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.olingo.odata2.api.ODataService;
+import org.apache.olingo.odata2.api.ODataServiceFactory;
+import org.apache.olingo.odata2.api.batch.BatchHandler;
+import org.apache.olingo.odata2.api.batch.BatchRequestPart;
+import org.apache.olingo.odata2.api.batch.BatchResponsePart;
+import org.apache.olingo.odata2.api.commons.HttpStatusCodes;
+import org.apache.olingo.odata2.api.commons.ODataHttpMethod;
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.edm.EdmEntityContainer;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataContext;
+import org.apache.olingo.odata2.api.processor.ODataRequest;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.uri.PathInfo;
+import org.apache.olingo.odata2.api.uri.PathSegment;
+import org.apache.olingo.odata2.core.batch.BatchRequestPartImpl;
+import org.apache.olingo.odata2.core.ep.entry.ODataEntryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+@UnitTest
+public class ConcurrentChangeSetExecutorUnitTest
+{
+	private static final String CHANGE_SET = "changeSet";
+	private static final int THREADS = 4;
+
+	private final ODataServicesConfiguration configuration = mock(ODataServicesConfiguration.class);
+	private final SessionService sessionService = mock(SessionService.class);
+	private final ModelService modelService = mock(ModelService.class);
+	private final ODataContext context = mock(ODataContext.class);
+	private final Map<String, Set<String>> integrationKeys = new HashMap<>();
+	private final Map<String, Long> delays = new HashMap<>();
+	private final Set<String> failingChangeSets = new HashSet<>();
+	private final Map<String, RuntimeException> exceptions = new HashMap<>();
+	private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+	private final Map<String, String> threads = new ConcurrentHashMap<>();
+	private ConcurrentChangeSetExecutor executor;
+
+	@Before
+	public void setUp() throws ODataException
+	{
+		doReturn(THREADS).when(configuration).getChangeSetThreads();
+		doReturn(Collections.singletonMap("user", "integrationuser")).when(sessionService).getAllSessionAttributes();
+		doReturn(mock(Session.class)).when(sessionService).createNewSession();
+
+		final ODataServiceFactory serviceFactory = mock(ODataServiceFactory.class);
+		doReturn(serviceFactory).when(context).getServiceFactory();
+		doAnswer(this::createService).when(serviceFactory).createService(context);
+
+		executor = new ConcurrentChangeSetExecutor()
+		{
+			@Override
+			protected Set<String> integrationKeysOf(final ODataContext ctx, final List<ODataRequest> requests)
+			{
+				return integrationKeys.get(nameOf(requests.get(0)));
+			}
+
+			@Override
+			protected ExecutorService createExecutorService(final int threads)
+			{
+				return Executors.newFixedThreadPool(threads);
+			}
+		};
+		executor.setODataServicesConfiguration(configuration);
+		executor.setSessionService(sessionService);
+	}
+
+	@After
+	public void tearDown()
+	{
+		executor.destroy();
+	}
+
+	@Test
+	public void testNotApplicableWithSingleThread()
+	{
+		doReturn(1).when(configuration).getChangeSetThreads();
+
+		assertThat(executor.isApplicable(changeSets(3))).isFalse();
+	}
+
+	@Test
+	public void testNotApplicableWithSingleChangeSet()
+	{
+		assertThat(executor.isApplicable(changeSets(1))).isFalse();
+	}
+
+	@Test
+	public void testNotApplicableWhenBatchContainsQueries()
+	{
+		final List<BatchRequestPart> parts = changeSets(2);
+		parts.add(new BatchRequestPartImpl(false, Collections.singletonList(request("query"))));
+
+		assertThat(executor.isApplicable(parts)).isFalse();
+	}
+
+	@Test
+	public void testApplicableToChangeSetsWithMultipleThreads()
+	{
+		assertThat(executor.isApplicable(changeSets(2))).isTrue();
+	}
+
+	@Test
+	public void testResponsesAreReturnedInRequestOrder() throws ODataException
+	{
+		final int count = 12;
+		IntStream.range(0, count).forEach(i -> {
+			integrationKeys.put(CHANGE_SET + i, Collections.singleton("Product(" + i + ")"));
+			delays.put(CHANGE_SET + i, (long) (count - i) * 10);
+		});
+
+		final List<BatchResponsePart> responses = executor.execute(context, changeSets(count));
+
+		assertThat(responses.stream().map(ConcurrentChangeSetExecutorUnitTest::nameOf).collect(Collectors.toList()))
+				.containsExactlyElementsOf(IntStream.range(0, count).mapToObj(i -> CHANGE_SET + i).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testChangeSetsWithSameIntegrationKeyAreExecutedInRequestOrder() throws ODataException
+	{
+		integrationKeys.put(CHANGE_SET + 0, new HashSet<>(Arrays.asList("Product(a)", "Catalog(default)")));
+		integrationKeys.put(CHANGE_SET + 1, Collections.singleton("Product(b)"));
+		integrationKeys.put(CHANGE_SET + 2, new HashSet<>(Arrays.asList("Product(c)", "Catalog(default)")));
+		delays.put(CHANGE_SET + 0, 200L);
+
+		executor.execute(context, changeSets(3));
+
+		assertThat(events.indexOf("commit " + CHANGE_SET + 1)).isLessThan(events.indexOf("commit " + CHANGE_SET + 0));
+		assertThat(events.indexOf("commit " + CHANGE_SET + 0)).isLessThan(events.indexOf("begin " + CHANGE_SET + 2));
+	}
+
+	@Test
+	public void testChangeSetWithUnknownIntegrationKeysIsExecutedAfterPrecedingChangeSets() throws ODataException
+	{
+		integrationKeys.put(CHANGE_SET + 0, Collections.singleton("Product(a)"));
+		integrationKeys.put(CHANGE_SET + 2, Collections.singleton("Product(c)"));
+		delays.put(CHANGE_SET + 0, 200L);
+
+		executor.execute(context, changeSets(3));
+
+		assertThat(events.indexOf("commit " + CHANGE_SET + 0)).isLessThan(events.indexOf("begin " + CHANGE_SET + 1));
+		assertThat(events.indexOf("commit " + CHANGE_SET + 1)).isLessThan(events.indexOf("begin " + CHANGE_SET + 2));
+	}
+
+	@Test
+	public void testFailedChangeSetIsRolledBackWithoutAffectingOtherChangeSets() throws ODataException
+	{
+		IntStream.range(0, 3).forEach(i -> integrationKeys.put(CHANGE_SET + i, Collections.singleton("Product(" + i + ")")));
+		failingChangeSets.add(CHANGE_SET + 1);
+		delays.put(CHANGE_SET + 0, 100L);
+		delays.put(CHANGE_SET + 2, 100L);
+
+		final List<BatchResponsePart> responses = executor.execute(context, changeSets(3));
+
+		assertThat(responses).extracting(part -> part.getResponses().get(0).getStatus())
+				.containsExactly(HttpStatusCodes.CREATED, HttpStatusCodes.BAD_REQUEST, HttpStatusCodes.CREATED);
+		assertThat(events).contains("commit " + CHANGE_SET + 0, "rollback " + CHANGE_SET + 1, "commit " + CHANGE_SET + 2)
+				.doesNotContain("rollback " + CHANGE_SET + 0, "commit " + CHANGE_SET + 1, "rollback " + CHANGE_SET + 2);
+		assertThat(new HashSet<>(threads.values())).hasSize(3).doesNotContain(Thread.currentThread().getName());
+		verify(modelService).detachAll();
+	}
+
+	@Test
+	public void testChangeSetsNotStartedAreCancelledWhenChangeSetThrowsException()
+	{
+		integrationKeys.put(CHANGE_SET + 0, Collections.singleton("Product(a)"));
+		integrationKeys.put(CHANGE_SET + 1, Collections.singleton("Product(a)"));
+		integrationKeys.put(CHANGE_SET + 2, Collections.singleton("Product(b)"));
+		final RuntimeException failure = new IllegalStateException("change set 0 failed");
+		exceptions.put(CHANGE_SET + 0, failure);
+		delays.put(CHANGE_SET + 0, 100L);
+		delays.put(CHANGE_SET + 2, 300L);
+
+		assertThatThrownBy(() -> executor.execute(context, changeSets(3))).isSameAs(failure);
+		assertThat(events).contains("begin " + CHANGE_SET + 0, "commit " + CHANGE_SET + 2)
+				.doesNotContain("begin " + CHANGE_SET + 1);
+	}
+
+	@Test
+	public void testExceptionOfExecutedChangeSetIsThrownRatherThanCancellationOfPrecedingChangeSet()
+	{
+		integrationKeys.put(CHANGE_SET + 0, Collections.singleton("Product(a)"));
+		integrationKeys.put(CHANGE_SET + 1, Collections.singleton("Product(a)"));
+		integrationKeys.put(CHANGE_SET + 2, Collections.singleton("Product(b)"));
+		final RuntimeException failure = new IllegalStateException("change set 2 failed");
+		exceptions.put(CHANGE_SET + 2, failure);
+		delays.put(CHANGE_SET + 0, 200L);
+
+		assertThatThrownBy(() -> executor.execute(context, changeSets(3))).isSameAs(failure);
+		assertThat(events).contains("commit " + CHANGE_SET + 0).doesNotContain("begin " + CHANGE_SET + 1);
+	}
+
+	@Test
+	public void testChangeSetsAreExecutedInSessionsOfTheirOwn() throws ODataException
+	{
+		IntStream.range(0, 3).forEach(i -> integrationKeys.put(CHANGE_SET + i, Collections.singleton("Product(" + i + ")")));
+
+		executor.execute(context, changeSets(3));
+
+		verify(sessionService, times(3)).createNewSession();
+		verify(sessionService, times(3)).setAttribute("user", "integrationuser");
+		verify(sessionService, times(3)).closeSession(any(Session.class));
+	}
+
+	@Test
+	public void testIntegrationKeysIncludeNestedItems() throws ODataException
+	{
+		final EdmEntitySet products = entitySet("Product");
+		final EdmEntitySet catalogVersions = entitySet("CatalogVersion");
+		final EdmEntityType product = products.getEntityType();
+		final EdmNavigationProperty catalogVersion = mock(EdmNavigationProperty.class);
+		doReturn(Collections.singletonList("catalogVersion")).when(product).getNavigationPropertyNames();
+		doReturn(catalogVersion).when(product).getProperty("catalogVersion");
+		doReturn(catalogVersions).when(products).getRelatedEntitySet(catalogVersion);
+		givenEntitySet("Products", products);
+
+		final ODataEntry nested = new ODataEntryImpl(Collections.emptyMap(), null, null, null);
+		final ODataEntry entry = new ODataEntryImpl(Collections.singletonMap("catalogVersion", nested), null, null, null);
+		final IntegrationKeyValueGenerator<EdmEntitySet, ODataEntry> generator = mock(IntegrationKeyValueGenerator.class);
+		doReturn("Staged|Default|pr1").when(generator).generate(products, entry);
+		doReturn("Staged|Default").when(generator).generate(catalogVersions, nested);
+
+		final ConcurrentChangeSetExecutor keyExecutor = new ConcurrentChangeSetExecutor()
+		{
+			@Override
+			protected ODataEntry readEntry(final ODataRequest request, final EdmEntitySet entitySet)
+			{
+				return entry;
+			}
+		};
+		keyExecutor.setIntegrationKeyValueGenerator(generator);
+
+		assertThat(keyExecutor.integrationKeysOf(context, Collections.singletonList(post("Products"))))
+				.containsOnly("Product(Staged|Default|pr1)", "CatalogVersion(Staged|Default)");
+	}
+
+	@Test
+	public void testIntegrationKeysAreUnknownForOtherRequestsThanPost() throws ODataException
+	{
+		final ODataRequest request = post("Products('pr1')");
+		doReturn(ODataHttpMethod.DELETE).when(request).getMethod();
+
+		assertThat(new ConcurrentChangeSetExecutor().integrationKeysOf(context, Collections.singletonList(request))).isNull();
+	}
+
+	private ODataService createService(final InvocationOnMock invocation) throws ODataException
+	{
+		final DefaultODataProcessor processor = new DefaultODataProcessor()
+		{
+			private final ThreadLocal<String> changeSet = new ThreadLocal<>();
+
+			@Override
+			protected Object executeInTransaction(final BatchHandler handler, final List<ODataRequest> requests)
+			{
+				final String name = nameOf(requests.get(0));
+				changeSet.set(name);
+				events.add("begin " + name);
+				threads.put(name, Thread.currentThread().getName());
+				sleep(delays.getOrDefault(name, 0L));
+				if (exceptions.containsKey(name))
+				{
+					throw exceptions.get(name);
+				}
+				final HttpStatusCodes status = failingChangeSets.contains(name) ? HttpStatusCodes.BAD_REQUEST : HttpStatusCodes.CREATED;
+				return Collections.singletonList(ODataResponse.status(status).header(CHANGE_SET, name).build());
+			}
+
+			@Override
+			protected void beginTransaction()
+			{
+				// the transaction is recorded, when it executes the change set
+			}
+
+			@Override
+			protected void commitTransaction()
+			{
+				events.add("commit " + changeSet.get());
+			}
+
+			@Override
+			protected void rollbackTransaction()
+			{
+				events.add("rollback " + changeSet.get());
+			}
+		};
+		processor.setModelService(modelService);
+		final ODataService service = mock(ODataService.class);
+		doReturn(processor).when(service).getBatchProcessor();
+		doReturn(processor).when(service).getProcessor();
+		return service;
+	}
+
+	private void givenEntitySet(final String name, final EdmEntitySet entitySet) throws ODataException
+	{
+		final ODataService service = mock(ODataService.class);
+		final Edm edm = mock(Edm.class);
+		final EdmEntityContainer container = mock(EdmEntityContainer.class);
+		doReturn(service).when(context).getService();
+		doReturn(edm).when(service).getEntityDataModel();
+		doReturn(container).when(edm).getDefaultEntityContainer();
+		doReturn(entitySet).when(container).getEntitySet(name);
+	}
+
+	private static EdmEntitySet entitySet(final String typeName) throws ODataException
+	{
+		final EdmEntitySet entitySet = mock(EdmEntitySet.class);
+		final EdmEntityType entityType = mock(EdmEntityType.class);
+		doReturn(entityType).when(entitySet).getEntityType();
+		doReturn(typeName).when(entityType).getName();
+		return entitySet;
+	}
+
+	private static List<BatchRequestPart> changeSets(final int count)
+	{
+		return IntStream.range(0, count)
+				.mapToObj(i -> new BatchRequestPartImpl(true, Collections.singletonList(request(CHANGE_SET + i))))
+				.collect(Collectors.toList());
+	}
+
+	private static ODataRequest request(final String name)
+	{
+		final Map<String, List<String>> headers = Collections.singletonMap(CHANGE_SET, Collections.singletonList(name));
+		return ODataRequest.method(ODataHttpMethod.POST)
+				.requestHeaders(headers)
+				.body(new ByteArrayInputStream(new byte[0]))
+				.build();
+	}
+
+	private static ODataRequest post(final String path)
+	{
+		final PathSegment segment = mock(PathSegment.class);
+		doReturn(path).when(segment).getPath();
+		final PathInfo pathInfo = mock(PathInfo.class);
+		doReturn(Collections.singletonList(segment)).when(pathInfo).getODataSegments();
+		final ODataRequest request = mock(ODataRequest.class);
+		doReturn(ODataHttpMethod.POST).when(request).getMethod();
+		doReturn(pathInfo).when(request).getPathInfo();
+		doReturn(new ByteArrayInputStream(new byte[0])).when(request).getBody();
+		return request;
+	}
+
+	private static String nameOf(final ODataRequest request)
+	{
+		return request.getRequestHeaderValue(CHANGE_SET);
+	}
+
+	private static String nameOf(final BatchResponsePart part)
+	{
+		return part.getResponses().get(0).getHeader(CHANGE_SET);
+	}
+
+	private static void sleep(final long millis)
+	{
+		try
+		{
+			Thread.sleep(millis);
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
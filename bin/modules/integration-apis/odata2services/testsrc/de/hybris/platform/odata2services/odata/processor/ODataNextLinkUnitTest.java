@@ -0,0 +1,95 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
+
+import java.net.URI;
+
+import org.junit.Test;
+
+@UnitTest
+public class ODataNextLinkUnitTest
+{
+	private static final String PRODUCTS = "https://localhost:9002/odata2webservices/InboundProduct/Products";
+
+	@Test
+	public void testNextLinkSkipsItemsOfCurrentPage()
+	{
+		final String link = ODataNextLink.Builder.nextLink()
+				.withLookupRequest(lookupRequest(PRODUCTS + "?$skiptoken=10", 10))
+				.withTotalCount(25)
+				.build();
+
+		assertThat(link).isEqualTo(PRODUCTS + "?$skiptoken=20");
+	}
+
+	@Test
+	public void testNoNextLinkForLastPage()
+	{
+		final String link = ODataNextLink.Builder.nextLink()
+				.withLookupRequest(lookupRequest(PRODUCTS + "?$skiptoken=20", 20))
+				.withTotalCount(25)
+				.build();
+
+		assertThat(link).isNull();
+	}
+
+	@Test
+	public void testNextLinkContinuesAfterLastPK()
+	{
+		final String link = ODataNextLink.Builder.nextLink()
+				.withLookupRequest(lookupRequest(PRODUCTS + "?$skiptoken=pk100&$expand=catalogVersion", 0))
+				.withNextPage(true)
+				.withLastPK(PK.fromLong(200))
+				.build();
+
+		assertThat(link).isEqualTo(PRODUCTS + "?$expand=catalogVersion&$skiptoken=pk200");
+	}
+
+	@Test
+	public void testNoNextLinkWithoutNextPage()
+	{
+		final String link = ODataNextLink.Builder.nextLink()
+				.withLookupRequest(lookupRequest(PRODUCTS, 0))
+				.withTotalCount(-1)
+				.withNextPage(false)
+				.withLastPK(PK.fromLong(200))
+				.build();
+
+		assertThat(link).isNull();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNextPageOrTotalCountMustBeProvided()
+	{
+		ODataNextLink.Builder.nextLink()
+				.withLookupRequest(lookupRequest(PRODUCTS, 0))
+				.withTotalCount(-1)
+				.build();
+	}
+
+	private static ItemLookupRequest lookupRequest(final String uri, final int skip)
+	{
+		final ItemLookupRequest request = mock(ItemLookupRequest.class);
+		doReturn(URI.create(uri)).when(request).getRequestUri();
+		doReturn(skip).when(request).getSkip();
+		doReturn(10).when(request).getTop();
+		return request;
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.processor.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import de.hybris.bootstrap.annotations.PerformanceTest;
+import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
+import de.hybris.platform.odata2services.odata.persistence.lookup.ItemLookupResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.apache.olingo.odata2.api.edm.FullQualifiedName;
+import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
+import org.apache.olingo.odata2.api.edm.provider.EntityContainer;
+import org.apache.olingo.odata2.api.edm.provider.EntityContainerInfo;
+import org.apache.olingo.odata2.api.edm.provider.EntitySet;
+import org.apache.olingo.odata2.api.edm.provider.EntityType;
+import org.apache.olingo.odata2.api.edm.provider.Key;
+import org.apache.olingo.odata2.api.edm.provider.Property;
+import org.apache.olingo.odata2.api.edm.provider.PropertyRef;
+import org.apache.olingo.odata2.api.edm.provider.Schema;
+import org.apache.olingo.odata2.api.edm.provider.SimpleProperty;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
+import org.apache.olingo.odata2.core.ep.entry.ODataEntryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the peak heap usage of writing a large feed, whose entries are either converted before the feed is written or
+ * while it is written.
+ */
+@PerformanceTest
+public class DefaultResponseWriterPerformanceTest
+{
+	private static final Logger LOG = LoggerFactory.getLogger(DefaultResponseWriterPerformanceTest.class);
+
+	private static final String NAMESPACE = "HybrisCommerceOData";
+	private static final String CONTAINER = "Container";
+	private static final String ENTITY_SET = "Items";
+	private static final int ENTRIES = 1000;
+	private static final int PROPERTIES = 200;
+
+	private final AtomicInteger converted = new AtomicInteger();
+	private final DefaultResponseWriter writer = new DefaultResponseWriter();
+	private final ItemLookupRequest request = mock(ItemLookupRequest.class);
+	private EdmEntitySet entitySet;
+
+	@Before
+	public void setUp() throws ODataException
+	{
+		writer.setPopulatorRegistry(mock(ResponseWriterPropertyPopulatorRegistry.class));
+		doReturn(URI.create("https://localhost:9002/odata2webservices/InboundItem/")).when(request).getServiceRoot();
+		doReturn("application/json").when(request).getContentType();
+		entitySet = RuntimeDelegate.createEdm(new ItemEdmProvider()).getDefaultEntityContainer().getEntitySet(ENTITY_SET);
+	}
+
+	@Test
+	public void testPeakHeapOfFeed() throws ODataException, IOException
+	{
+		final List<Integer> items = IntStream.range(0, ENTRIES).boxed().collect(Collectors.toList());
+
+		resetPeakHeap();
+		final List<ODataEntry> materialized = items.stream().map(this::convert).collect(Collectors.toList());
+		final long materializedSize = writeFeed(ItemLookupResult.createFrom(materialized));
+		final long materializedPeak = getPeakHeap();
+		materialized.clear();
+
+		converted.set(0);
+		resetPeakHeap();
+		final long streamedSize = writeFeed(ItemLookupResult.createFrom(items).transform(this::convert));
+		final long streamedPeak = getPeakHeap();
+
+		assertThat(converted.get()).isEqualTo(ENTRIES);
+		assertThat(streamedSize).isEqualTo(materializedSize);
+		LOG.info("wrote {} entries with {} properties ({} KB): peak heap {} MB converted up front, {} MB converted while writing",
+				ENTRIES, PROPERTIES, streamedSize / 1024, materializedPeak / (1024 * 1024), streamedPeak / (1024 * 1024));
+	}
+
+	private long writeFeed(final ItemLookupResult<ODataEntry> result) throws ODataException, IOException
+	{
+		final ODataResponse response = writer.write(request, entitySet, result);
+		long size = 0;
+		try (final InputStream content = (InputStream) response.getEntity())
+		{
+			final byte[] buffer = new byte[8192];
+			for (int read = content.read(buffer); read >= 0; read = content.read(buffer))
+			{
+				size += read;
+			}
+		}
+		return size;
+	}
+
+	private ODataEntry convert(final Integer item)
+	{
+		converted.incrementAndGet();
+		final Map<String, Object> properties = new HashMap<>();
+		properties.put("id", "item" + item);
+		for (int i = 0; i < PROPERTIES; i++)
+		{
+			properties.put("property" + i, "value " + i + " of item " + item);
+		}
+		return new ODataEntryImpl(properties, null, null, null);
+	}
+
+	private static void resetPeakHeap()
+	{
+		System.gc();
+		heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+	}
+
+	private static long getPeakHeap()
+	{
+		return heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+	}
+
+	private static List<MemoryPoolMXBean> heapPools()
+	{
+		return ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP)
+				.collect(Collectors.toList());
+	}
+
+	private static class ItemEdmProvider extends EdmProvider
+	{
+		private final EntityType entityType;
+		private final EntitySet entitySet;
+
+		private ItemEdmProvider()
+		{
+			final List<Property> properties = new ArrayList<>();
+			properties.add(new SimpleProperty().setName("id").setType(EdmSimpleTypeKind.String));
+			for (int i = 0; i < PROPERTIES; i++)
+			{
+				properties.add(new SimpleProperty().setName("property" + i).setType(EdmSimpleTypeKind.String));
+			}
+			entityType = new EntityType()
+					.setName("Item")
+					.setProperties(properties)
+					.setKey(new Key().setKeys(Collections.singletonList(new PropertyRef().setName("id"))));
+			entitySet = new EntitySet().setName(ENTITY_SET).setEntityType(new FullQualifiedName(NAMESPACE, "Item"));
+		}
+
+		@Override
+		public EntityContainerInfo getEntityContainerInfo(final String name)
+		{
+			return name == null || CONTAINER.equals(name)
+					? new EntityContainerInfo().setName(CONTAINER).setDefaultEntityContainer(true)
+					: null;
+		}
+
+		@Override
+		public EntityType getEntityType(final FullQualifiedName name)
+		{
+			return entityType.getName().equals(name.getName()) ? entityType : null;
+		}
+
+		@Override
+		public EntitySet getEntitySet(final String container, final String name)
+		{
+			return ENTITY_SET.equals(name) ? entitySet : null;
+		}
+
+		@Override
+		public List<Schema> getSchemas()
+		{
+			final EntityContainer container = new EntityContainer()
+					.setName(CONTAINER)
+					.setDefaultEntityContainer(true)
+					.setEntitySets(Collections.singletonList(entitySet));
+			return Collections.singletonList(new Schema()
+					.setNamespace(NAMESPACE)
+					.setEntityTypes(Collections.singletonList(entityType))
+					.setEntityContainers(Collections.singletonList(container)));
+		}
+	}
+}
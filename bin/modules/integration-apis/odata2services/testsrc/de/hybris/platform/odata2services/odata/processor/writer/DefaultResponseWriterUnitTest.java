@@ -0,0 +1,180 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.processor.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.odata2services.odata.persistence.ItemLookupRequest;
+import de.hybris.platform.odata2services.odata.persistence.lookup.ItemLookupResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.apache.olingo.odata2.api.edm.FullQualifiedName;
+import org.apache.olingo.odata2.api.edm.provider.EdmProvider;
+import org.apache.olingo.odata2.api.edm.provider.EntityContainer;
+import org.apache.olingo.odata2.api.edm.provider.EntityContainerInfo;
+import org.apache.olingo.odata2.api.edm.provider.EntitySet;
+import org.apache.olingo.odata2.api.edm.provider.EntityType;
+import org.apache.olingo.odata2.api.edm.provider.Key;
+import org.apache.olingo.odata2.api.edm.provider.PropertyRef;
+import org.apache.olingo.odata2.api.edm.provider.Schema;
+import org.apache.olingo.odata2.api.edm.provider.SimpleProperty;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.exception.ODataException;
+import org.apache.olingo.odata2.api.processor.ODataResponse;
+import org.apache.olingo.odata2.api.rt.RuntimeDelegate;
+import org.apache.olingo.odata2.core.ep.entry.ODataEntryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+@UnitTest
+public class DefaultResponseWriterUnitTest
+{
+	private static final String NAMESPACE = "HybrisCommerceOData";
+	private static final String CONTAINER = "Container";
+	private static final String ENTITY_SET = "Items";
+	private static final String JSON = "application/json";
+	private static final String ATOM = "application/atom+xml";
+
+	private final Map<String, AtomicInteger> conversions = new ConcurrentHashMap<>();
+	private final DefaultResponseWriter writer = new DefaultResponseWriter();
+	private final ItemLookupRequest request = mock(ItemLookupRequest.class);
+	private EdmEntitySet entitySet;
+
+	@Before
+	public void setUp() throws ODataException
+	{
+		writer.setPopulatorRegistry(mock(ResponseWriterPropertyPopulatorRegistry.class));
+		doReturn(URI.create("https://localhost:9002/odata2webservices/InboundItem/")).when(request).getServiceRoot();
+		entitySet = RuntimeDelegate.createEdm(new ItemEdmProvider()).getDefaultEntityContainer().getEntitySet(ENTITY_SET);
+	}
+
+	@Test
+	public void testEachEntryIsConvertedOnceWhileWritingJsonFeed() throws ODataException, IOException
+	{
+		assertEachEntryIsConvertedOnce(JSON);
+	}
+
+	@Test
+	public void testEachEntryIsConvertedOnceWhileWritingAtomFeed() throws ODataException, IOException
+	{
+		assertEachEntryIsConvertedOnce(ATOM);
+	}
+
+	@Test
+	public void testConversionFailureIsRethrownUnwrappedFromJsonFeed()
+	{
+		assertConversionFailureIsRethrownUnwrapped(JSON);
+	}
+
+	@Test
+	public void testConversionFailureIsRethrownUnwrappedFromAtomFeed()
+	{
+		assertConversionFailureIsRethrownUnwrapped(ATOM);
+	}
+
+	private void assertEachEntryIsConvertedOnce(final String contentType) throws ODataException, IOException
+	{
+		doReturn(contentType).when(request).getContentType();
+		final List<String> items = Arrays.asList("a", "b", "c");
+
+		final ODataResponse response = writer.write(request, entitySet, ItemLookupResult.createFrom(items).transform(this::convert));
+
+		assertThat(conversions).containsOnlyKeys("a", "b", "c");
+		assertThat(conversions.values()).extracting(AtomicInteger::get).containsOnly(1);
+		try (final InputStream content = (InputStream) response.getEntity())
+		{
+			assertThat(IOUtils.toString(content, StandardCharsets.UTF_8)).contains("item a", "item b", "item c");
+		}
+	}
+
+	private void assertConversionFailureIsRethrownUnwrapped(final String contentType)
+	{
+		doReturn(contentType).when(request).getContentType();
+		final RuntimeException failure = new IllegalStateException("item b cannot be converted");
+		final ItemLookupResult<ODataEntry> result = ItemLookupResult.createFrom(Arrays.asList("a", "b", "c"))
+				.transform(item -> {
+					if ("b".equals(item))
+					{
+						throw failure;
+					}
+					return convert(item);
+				});
+
+		assertThatThrownBy(() -> writer.write(request, entitySet, result)).isSameAs(failure);
+	}
+
+	private ODataEntry convert(final String item)
+	{
+		conversions.computeIfAbsent(item, i -> new AtomicInteger()).incrementAndGet();
+		return new ODataEntryImpl(Collections.singletonMap("id", "item " + item), null, null, null);
+	}
+
+	private static class ItemEdmProvider extends EdmProvider
+	{
+		private final EntityType entityType = new EntityType()
+				.setName("Item")
+				.setProperties(Collections.singletonList(new SimpleProperty().setName("id").setType(EdmSimpleTypeKind.String)))
+				.setKey(new Key().setKeys(Collections.singletonList(new PropertyRef().setName("id"))));
+		private final EntitySet entitySet = new EntitySet().setName(ENTITY_SET)
+				.setEntityType(new FullQualifiedName(NAMESPACE, "Item"));
+
+		@Override
+		public EntityContainerInfo getEntityContainerInfo(final String name)
+		{
+			return name == null || CONTAINER.equals(name)
+					? new EntityContainerInfo().setName(CONTAINER).setDefaultEntityContainer(true)
+					: null;
+		}
+
+		@Override
+		public EntityType getEntityType(final FullQualifiedName name)
+		{
+			return entityType.getName().equals(name.getName()) ? entityType : null;
+		}
+
+		@Override
+		public EntitySet getEntitySet(final String container, final String name)
+		{
+			return ENTITY_SET.equals(name) ? entitySet : null;
+		}
+
+		@Override
+		public List<Schema> getSchemas()
+		{
+			final EntityContainer container = new EntityContainer()
+					.setName(CONTAINER)
+					.setDefaultEntityContainer(true)
+					.setEntitySets(Collections.singletonList(entitySet));
+			return Collections.singletonList(new Schema()
+					.setNamespace(NAMESPACE)
+					.setEntityTypes(Collections.singletonList(entityType))
+					.setEntityContainers(Collections.singletonList(container)));
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.odata2services.odata.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.servicelayer.config.ConfigurationService;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.olingo.odata2.api.edm.provider.EntityContainer;
+import org.apache.olingo.odata2.api.edm.provider.EntitySet;
+import org.apache.olingo.odata2.api.edm.provider.EntityType;
+import org.apache.olingo.odata2.api.edm.provider.Schema;
+import org.junit.Before;
+import org.junit.Test;
+
+@UnitTest
+public class DefaultSchemaCacheUnitTest
+{
+	private static final String SERVICE = "InboundProduct";
+	private static final String TYPE = "Product";
+
+	private final Configuration configuration = mock(Configuration.class);
+	private final AtomicInteger generated = new AtomicInteger();
+	private boolean transactionRunning;
+	private DefaultSchemaCache cache;
+
+	@Before
+	public void setUp()
+	{
+		final ConfigurationService configurationService = mock(ConfigurationService.class);
+		doReturn(configuration).when(configurationService).getConfiguration();
+		doReturn(true).when(configuration).getBoolean(anyString(), eq(true));
+
+		cache = new DefaultSchemaCache()
+		{
+			@Override
+			protected boolean isTransactionRunning()
+			{
+				return transactionRunning;
+			}
+		};
+		cache.setConfigurationService(configurationService);
+	}
+
+	@Test
+	public void testSchemaIsGeneratedOnce()
+	{
+		final IndexedSchema schema = cache.getSchema(SERVICE, "", generator());
+
+		assertThat(cache.getSchema(SERVICE, "", generator())).isSameAs(schema);
+		assertThat(generated.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testSchemasAreCachedPerServiceAndType()
+	{
+		final IndexedSchema schema = cache.getSchema(SERVICE, "", generator());
+
+		assertThat(cache.getSchema(SERVICE, TYPE, generator())).isNotSameAs(schema);
+		assertThat(cache.getSchema("OtherService", "", generator())).isNotSameAs(schema);
+		assertThat(generated.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void testSchemaIsGeneratedAgainAfterInvalidation()
+	{
+		final IndexedSchema schema = cache.getSchema(SERVICE, "", generator());
+		cache.invalidate();
+
+		assertThat(cache.getSchema(SERVICE, "", generator())).isNotSameAs(schema);
+		assertThat(generated.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testSchemaInvalidatedWhileGeneratingIsNotCached()
+	{
+		cache.getSchema(SERVICE, "", () -> {
+			cache.invalidate();
+			return generator().get();
+		});
+		cache.getSchema(SERVICE, "", generator());
+
+		assertThat(generated.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testCacheIsNotUsedWhenDisabled()
+	{
+		doReturn(false).when(configuration).getBoolean(anyString(), eq(true));
+
+		cache.getSchema(SERVICE, "", generator());
+		cache.getSchema(SERVICE, "", generator());
+
+		assertThat(generated.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testCacheIsNotUsedWithinTransactions()
+	{
+		transactionRunning = true;
+		cache.getSchema(SERVICE, "", generator());
+		transactionRunning = false;
+		cache.getSchema(SERVICE, "", generator());
+
+		assertThat(generated.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testSchemaIsIndexedByName()
+	{
+		final IndexedSchema schema = cache.getSchema(SERVICE, "", generator());
+
+		assertThat(schema.getEntityType(TYPE)).isNotNull();
+		assertThat(schema.getEntityType("Unknown")).isNull();
+		assertThat(schema.getEntitySet("Container", "Products")).isNotNull();
+		assertThat(schema.getEntitySet("Unknown", "Products")).isNull();
+		assertThat(schema.getAssociation(TYPE)).isNull();
+	}
+
+	private Supplier<Schema> generator()
+	{
+		return () -> {
+			generated.incrementAndGet();
+			final EntityContainer container = new EntityContainer()
+					.setName("Container")
+					.setEntitySets(Collections.singletonList(new EntitySet().setName("Products")));
+			return new Schema()
+					.setEntityTypes(Collections.singletonList(new EntityType().setName(TYPE)))
+					.setEntityContainers(Collections.singletonList(container));
+		};
+	}
+}
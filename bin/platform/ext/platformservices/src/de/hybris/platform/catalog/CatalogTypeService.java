@@ -13,10 +13,14 @@ package de.hybris.platform.catalog;
 import de.hybris.platform.catalog.data.CatalogVersionOverview;
 import de.hybris.platform.catalog.exceptions.CatalogAwareObjectResolvingException;
 import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.core.model.type.ComposedTypeModel;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -105,6 +109,38 @@ public interface CatalogTypeService
 	ItemModel getCatalogVersionAwareModel(CatalogVersionModel version, String typeCode, Map<String, Object> uniqueKeyValues)
 			throws CatalogAwareObjectResolvingException;
 
+	/**
+	 * Looks up the items of a catalog version for many unique key value combinations at once, like
+	 * {@link #getCatalogVersionAwareModel(CatalogVersionModel, String, Map)} does for a single one.
+	 * <p>
+	 * The default implementation looks up each combination on its own and therefore fails with an
+	 * {@link de.hybris.platform.servicelayer.exceptions.AmbiguousIdentifierException} if a combination matches multiple
+	 * items.
+	 *
+	 * @param version         the {@link CatalogVersionModel}
+	 * @param typeCode        String typeCode of the {@link ComposedTypeModel}
+	 * @param uniqueKeyValues maps with <b>ALL</b> unique catalog key attributes and their values to be searched for
+	 * @return the PKs of the matching items by unique key value combination, combinations without any match are missing
+	 * @throws CatalogAwareObjectResolvingException if <code>version<code> in not persisted <b>OR<b> one of the unique
+	 *                                              parameters is a model and is not persisted.
+	 */
+	default Map<Map<String, Object>, List<PK>> getCatalogVersionAwareModelPKs(final CatalogVersionModel version,
+	                                                                         final String typeCode,
+	                                                                         final Collection<Map<String, Object>> uniqueKeyValues)
+			throws CatalogAwareObjectResolvingException
+	{
+		final Map<Map<String, Object>, List<PK>> result = new LinkedHashMap<>();
+		for (final Map<String, Object> values : uniqueKeyValues)
+		{
+			final ItemModel item = getCatalogVersionAwareModel(version, typeCode, values);
+			if (item != null)
+			{
+				result.put(values, Collections.singletonList(item.getPk()));
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Returns all composed types which are catalog version aware (or catalog contained).</br> The method has two modes
 	 * of operation:
@@ -16,6 +16,8 @@ import de.hybris.platform.catalog.model.ItemSyncTimestampModel;
 import de.hybris.platform.catalog.model.SyncItemJobModel;
 import de.hybris.platform.core.model.ItemModel;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -60,5 +62,41 @@ public interface ItemSyncTimestampDao
 	 */
 	List<ItemSyncTimestampModel> findLastTargetSyncTimestamps(final SyncItemJobModel syncJob, final ItemModel source);
 
+	/**
+	 * Returns list of {@link ItemSyncTimestampModel} for all given source items of the
+	 * <code>syncJob<code>.<br>For each source item the timestamps are ordered like in
+	 * {@link #findLastSourceSyncTimestamps(SyncItemJobModel, ItemModel)}.
+	 *
+	 * @param syncJob {@link ItemModel} for which syncJob are searching sync timestamps
+	 * @param sources {@link ItemModel} source items
+	 */
+	default List<ItemSyncTimestampModel> findSourceSyncTimestamps(final SyncItemJobModel syncJob,
+	                                                              final Collection<? extends ItemModel> sources)
+	{
+		final List<ItemSyncTimestampModel> ret = new ArrayList<>();
+		for (final ItemModel source : sources)
+		{
+			ret.addAll(findLastSourceSyncTimestamps(syncJob, source));
+		}
+		return ret;
+	}
 
+	/**
+	 * Returns list of {@link ItemSyncTimestampModel} for all given target items of the
+	 * <code>syncJob<code>.<br>For each target item the timestamps are ordered like in
+	 * {@link #findLastTargetSyncTimestamps(SyncItemJobModel, ItemModel)}.
+	 *
+	 * @param syncJob {@link ItemModel} for which syncJob are searching sync timestamps
+	 * @param targets {@link ItemModel} target items
+	 */
+	default List<ItemSyncTimestampModel> findTargetSyncTimestamps(final SyncItemJobModel syncJob,
+	                                                              final Collection<? extends ItemModel> targets)
+	{
+		final List<ItemSyncTimestampModel> ret = new ArrayList<>();
+		for (final ItemModel target : targets)
+		{
+			ret.addAll(findLastTargetSyncTimestamps(syncJob, target));
+		}
+		return ret;
+	}
 }
@@ -19,6 +19,8 @@ import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.FlexibleSearchService;
 import de.hybris.platform.servicelayer.search.SearchResult;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,12 +29,16 @@ import java.util.Map;
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.beans.factory.annotation.Required;
 
+import com.google.common.collect.Lists;
+
 
 /**
  * Default implementation of {@link ItemSyncTimestampDao}.
  */
 public class DefaultItemSyncTimestampDao implements ItemSyncTimestampDao
 {
+	private static final int ITEMS_QUERY_CHUNK_SIZE = 1000;
+
 	private FlexibleSearchService flexibleSearchService;
 
 	@Override
@@ -138,6 +144,58 @@ public class DefaultItemSyncTimestampDao implements ItemSyncTimestampDao
 	}
 
 
+	@Override
+	public List<ItemSyncTimestampModel> findSourceSyncTimestamps(final SyncItemJobModel syncJob,
+	                                                             final Collection<? extends ItemModel> sources)
+	{
+		return findSyncTimestamps(syncJob, sources, true);
+	}
+
+	@Override
+	public List<ItemSyncTimestampModel> findTargetSyncTimestamps(final SyncItemJobModel syncJob,
+	                                                             final Collection<? extends ItemModel> targets)
+	{
+		return findSyncTimestamps(syncJob, targets, false);
+	}
+
+	private List<ItemSyncTimestampModel> findSyncTimestamps(final SyncItemJobModel syncJob,
+	                                                        final Collection<? extends ItemModel> items, final boolean bySource)
+	{
+		if (items.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+		final boolean excl = BooleanUtils.toBoolean(syncJob.getExclusiveMode());
+		final String versionAttribute = bySource ? ItemSyncTimestampModel.TARGETVERSION : ItemSyncTimestampModel.SOURCEVERSION;
+		final String itemAttribute = bySource ? ItemSyncTimestampModel.SOURCEITEM : ItemSyncTimestampModel.TARGETITEM;
+		final String query = "SELECT {" + ItemSyncTimestampModel.PK + "} " //
+				+ "FROM {" + ItemSyncTimestampModel._TYPECODE + "*} " //
+				+ "WHERE {" + ItemSyncTimestampModel.SYNCJOB + "}" + (excl ? "=?syncJob" : "=0") + " AND "//
+				+ (excl ? "" : "{" + versionAttribute + "}=?version AND ") //
+				+ "{" + itemAttribute + "} IN (?items) " //
+				+ "ORDER BY {" + ItemSyncTimestampModel.LASTSYNCTIME + "} DESC, " //
+				+ "{" + ItemModel.CREATIONTIME + "} DESC";
+
+		final List<ItemSyncTimestampModel> ret = new ArrayList<>();
+		for (final List<? extends ItemModel> chunk : Lists.partition(new ArrayList<>(items), ITEMS_QUERY_CHUNK_SIZE))
+		{
+			final Map<String, Object> params = new HashMap();
+			params.put("items", chunk);
+			if (excl)
+			{
+				params.put("syncJob", syncJob);
+			}
+			else
+			{
+				params.put("version", bySource ? syncJob.getTargetVersion() : syncJob.getSourceVersion());
+			}
+			final SearchResult<ItemSyncTimestampModel> rows = flexibleSearchService.search(query, params);
+			ret.addAll(rows.getResult());
+		}
+		return ret;
+	}
+
+
 	@Required
 	public void setFlexibleSearchService(final FlexibleSearchService flexibleSearchService)
 	{
@@ -16,9 +16,13 @@ import de.hybris.platform.catalog.exceptions.CatalogAwareObjectResolvingExceptio
 import de.hybris.platform.catalog.model.CatalogModel;
 import de.hybris.platform.catalog.model.CatalogVersionModel;
 import de.hybris.platform.category.daos.CatalogTypeDao;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.ItemModel;
+import de.hybris.platform.core.model.type.AtomicTypeModel;
 import de.hybris.platform.core.model.type.AttributeDescriptorModel;
 import de.hybris.platform.core.model.type.ComposedTypeModel;
+import de.hybris.platform.core.model.type.TypeModel;
+import de.hybris.platform.jalo.Item;
 import de.hybris.platform.search.restriction.SearchRestrictionService;
 import de.hybris.platform.servicelayer.exceptions.AmbiguousIdentifierException;
 import de.hybris.platform.servicelayer.internal.service.AbstractBusinessService;
@@ -29,18 +33,23 @@ import de.hybris.platform.servicelayer.session.SessionExecutionBody;
 import de.hybris.platform.servicelayer.type.TypeService;
 import de.hybris.platform.servicelayer.util.ServicesUtil;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Required;
 
+import com.google.common.collect.Lists;
+
 
 /**
  * Default implementation of the {@link CatalogTypeService}.
@@ -54,6 +63,8 @@ public class DefaultCatalogTypeService extends AbstractBusinessService implement
 	private SearchRestrictionService searchRestrictionService;
 
 	private static final String UNION = "UNION ALL\n";
+	private static final int SINGLE_KEY_CHUNK_SIZE = 1000;
+	private static final int MULTI_KEY_CHUNK_SIZE = 100;
 	private static final String TYPE_MUST_NOT_BE_NULL = "Type must not be null";
 
 	@Override
@@ -99,6 +110,31 @@ public class DefaultCatalogTypeService extends AbstractBusinessService implement
 		// find root type for query -> otherwise we'd miss sibling items with the same key !!!
 		composeType = getCatalogAwareRootType(composeType);
 
+		final List<ItemModel> items = findCatalogVersionAwareModels(composeType, versionAD, keyAttributes, version,
+				uniqueKeyValues);
+
+		if (items.isEmpty())
+		{
+			return null;
+		}
+		else if (items.size() > 1)
+		{
+			throw new AmbiguousIdentifierException("multiple matches for type '" + typeCode + "' and '" + uniqueKeyValues
+					+ "' - found " + items.size() + " items");
+		}
+		else
+		{
+			return items.get(0);
+		}
+	}
+
+	private List<ItemModel> findCatalogVersionAwareModels(final ComposedTypeModel composeType,
+	                                                      final AttributeDescriptorModel versionAD,
+	                                                      final Collection<AttributeDescriptorModel> keyAttributes,
+	                                                      final CatalogVersionModel version,
+	                                                      final Map<String, Object> uniqueKeyValues)
+			throws CatalogAwareObjectResolvingException
+	{
 		final StringBuilder strbuil = new StringBuilder();
 		strbuil.append("SELECT {").append(ItemModel.PK).append("} FROM {").append(composeType.getCode()).append("} ");
 		strbuil.append("WHERE {").append(versionAD.getQualifier()).append("}=?tgtVer ");
@@ -148,7 +184,7 @@ public class DefaultCatalogTypeService extends AbstractBusinessService implement
 		}
 		strbuil.append("ORDER BY {").append(ItemModel.CREATIONTIME).append("} DESC");
 
-		final List<ItemModel> items = getSessionService().executeInLocalView(new SessionExecutionBody()
+		return getSessionService().executeInLocalView(new SessionExecutionBody()
 		{
 			@Override
 			public Object execute()
@@ -158,20 +194,210 @@ public class DefaultCatalogTypeService extends AbstractBusinessService implement
 				return result.getResult();
 			}
 		});
+	}
 
-		if (items.isEmpty())
+	/**
+	 * Searches the key combinations in chunks, selecting the key values along with the PKs to assign the matches. The
+	 * database may compare values differently than Java does, e.g. strings case insensitively - if any match cannot be
+	 * assigned the combinations of that chunk are searched one by one.
+	 */
+	@Override
+	public Map<Map<String, Object>, List<PK>> getCatalogVersionAwareModelPKs(final CatalogVersionModel version,
+	                                                                        final String typeCode,
+	                                                                        final Collection<Map<String, Object>> uniqueKeyValues)
+			throws CatalogAwareObjectResolvingException
+	{
+		ServicesUtil.validateParameterNotNull(version, "version must not be null");
+		ServicesUtil.validateParameterNotNull(uniqueKeyValues, "uniqueKeyValues must not be null");
+		if (getModelService().isNew(version))
 		{
-			return null;
+			throw new CatalogAwareObjectResolvingException("CatalogVersion is not persisted", null, version);
 		}
-		else if (items.size() > 1)
+		ComposedTypeModel composeType = typeService.getComposedTypeForCode(typeCode);
+		if (!isCatalogVersionAwareType(composeType))
 		{
-			throw new AmbiguousIdentifierException("multiple matches for type '" + typeCode + "' and '" + uniqueKeyValues
-					+ "' - found " + items.size() + " items");
+			throw new IllegalArgumentException("type " + typeCode + " is not catalog item type");
+		}
+		final AttributeDescriptorModel versionAD = composeType.getCatalogVersionAttribute();
+		if (composeType.getUniqueKeyAttributes() == null || composeType.getUniqueKeyAttributes().isEmpty())
+		{
+			throw new IllegalStateException("no key attribute(s) defined for catalog item type " + typeCode);
+		}
+		final List<AttributeDescriptorModel> keyAttributes = new ArrayList<>(composeType.getUniqueKeyAttributes());
+		composeType = getCatalogAwareRootType(composeType);
+
+		final List<Class> keyClasses = new ArrayList<>(keyAttributes.size());
+		for (final AttributeDescriptorModel keyAD : keyAttributes)
+		{
+			if (!keyAD.getSearch().booleanValue())
+			{
+				throw new IllegalStateException("key attribute " + keyAD.getQualifier() + " out of " + keyAttributes
+						+ " of catalog item type " + composeType.getCode() + " is not searchable");
+			}
+			final TypeModel keyType = keyAD.getAttributeType();
+			if (keyType instanceof ComposedTypeModel)
+			{
+				keyClasses.add(PK.class);
+			}
+			else if (keyType instanceof AtomicTypeModel)
+			{
+				keyClasses.add(((AtomicTypeModel) keyType).getJavaClass());
+			}
+			else
+			{
+				// key values cannot be read back for comparison
+				return CatalogTypeService.super.getCatalogVersionAwareModelPKs(version, typeCode, uniqueKeyValues);
+			}
+		}
+
+		final Map<Map<String, Object>, List<PK>> result = new LinkedHashMap<>();
+		final Map<List<Object>, Map<String, Object>> combinations = new LinkedHashMap<>(uniqueKeyValues.size() * 2);
+		for (final Map<String, Object> values : uniqueKeyValues)
+		{
+			final List<Object> key = toKey(keyAttributes, values);
+			if (key.contains(null))
+			{
+				// NULL key values cannot be part of an IN list
+				putPKs(result, values, findCatalogVersionAwareModels(composeType, versionAD, keyAttributes, version, values));
+			}
+			else
+			{
+				combinations.put(key, values);
+			}
+		}
+
+		final int chunkSize = keyAttributes.size() == 1 ? SINGLE_KEY_CHUNK_SIZE : MULTI_KEY_CHUNK_SIZE;
+		for (final List<List<Object>> chunk : Lists.partition(new ArrayList<>(combinations.keySet()), chunkSize))
+		{
+			final List<List<Object>> rows = findCatalogVersionAwareModelKeys(composeType, versionAD, keyAttributes, keyClasses,
+					version, chunk);
+			final Map<List<Object>, List<PK>> matches = new HashMap<>();
+			boolean unassigned = false;
+			for (final List<Object> row : rows)
+			{
+				final List<Object> key = row.subList(1, row.size());
+				if (combinations.containsKey(key))
+				{
+					matches.computeIfAbsent(key, k -> new ArrayList<>()).add((PK) row.get(0));
+				}
+				else
+				{
+					unassigned = true;
+				}
+			}
+			if (unassigned)
+			{
+				for (final List<Object> key : chunk)
+				{
+					final Map<String, Object> values = combinations.get(key);
+					putPKs(result, values, findCatalogVersionAwareModels(composeType, versionAD, keyAttributes, version, values));
+				}
+			}
+			else
+			{
+				for (final Map.Entry<List<Object>, List<PK>> entry : matches.entrySet())
+				{
+					result.put(combinations.get(entry.getKey()), entry.getValue());
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void putPKs(final Map<Map<String, Object>, List<PK>> result, final Map<String, Object> uniqueKeyValues,
+	                           final List<ItemModel> items)
+	{
+		if (!items.isEmpty())
+		{
+			result.put(uniqueKeyValues, items.stream().map(ItemModel::getPk).collect(Collectors.toList()));
+		}
+	}
+
+	/**
+	 * @return the key values in the order of the key attributes, with models and enums replaced by their PKs
+	 */
+	private List<Object> toKey(final List<AttributeDescriptorModel> keyAttributes, final Map<String, Object> uniqueKeyValues)
+			throws CatalogAwareObjectResolvingException
+	{
+		final List<Object> key = new ArrayList<>(keyAttributes.size());
+		for (final AttributeDescriptorModel keyAD : keyAttributes)
+		{
+			final String qualifier = keyAD.getQualifier();
+			if (!uniqueKeyValues.containsKey(qualifier))
+			{
+				throw new IllegalArgumentException("missing unqiue key value for '" + qualifier + "' - got " + uniqueKeyValues);
+			}
+			final Object value = uniqueKeyValues.get(qualifier);
+			final Object persistent;
+			try
+			{
+				persistent = getModelService().toPersistenceLayer(value);
+			}
+			catch (final IllegalStateException e)
+			{
+				throw new CatalogAwareObjectResolvingException("Unpersisted model for unique attribute [" + qualifier + "]", e,
+						value);
+			}
+			key.add(persistent instanceof Item ? ((Item) persistent).getPK() : persistent);
+		}
+		return key;
+	}
+
+	private List<List<Object>> findCatalogVersionAwareModelKeys(final ComposedTypeModel composeType,
+	                                                           final AttributeDescriptorModel versionAD,
+	                                                           final List<AttributeDescriptorModel> keyAttributes,
+	                                                           final List<Class> keyClasses,
+	                                                           final CatalogVersionModel version,
+	                                                           final List<List<Object>> keys)
+	{
+		final StringBuilder strbuil = new StringBuilder();
+		strbuil.append("SELECT {").append(ItemModel.PK).append("}");
+		for (final AttributeDescriptorModel keyAD : keyAttributes)
+		{
+			strbuil.append(", {").append(keyAD.getQualifier()).append("}");
+		}
+		strbuil.append(" FROM {").append(composeType.getCode()).append("} ");
+		strbuil.append("WHERE {").append(versionAD.getQualifier()).append("}=?tgtVer AND ");
+
+		final Map<String, Object> params = new HashMap<>();
+		params.put("tgtVer", version);
+		if (keyAttributes.size() == 1)
+		{
+			strbuil.append("{").append(keyAttributes.get(0).getQualifier()).append("} IN (?keyValues)");
+			params.put("keyValues", keys.stream().map(k -> k.get(0)).collect(Collectors.toList()));
 		}
 		else
 		{
-			return items.get(0);
+			strbuil.append("(");
+			for (int i = 0; i < keys.size(); i++)
+			{
+				strbuil.append(i == 0 ? "(" : " OR (");
+				for (int k = 0; k < keyAttributes.size(); k++)
+				{
+					final String token = "key" + i + "_" + k;
+					strbuil.append(k == 0 ? "{" : " AND {").append(keyAttributes.get(k).getQualifier()).append("}=?").append(token);
+					params.put(token, keys.get(i).get(k));
+				}
+				strbuil.append(")");
+			}
+			strbuil.append(")");
 		}
+
+		final List<Class> resultClasses = new ArrayList<>(keyClasses.size() + 1);
+		resultClasses.add(PK.class);
+		resultClasses.addAll(keyClasses);
+		return getSessionService().executeInLocalView(new SessionExecutionBody()
+		{
+			@Override
+			public Object execute()
+			{
+				searchRestrictionService.disableSearchRestrictions();
+				final FlexibleSearchQuery query = new FlexibleSearchQuery(strbuil.toString(), params);
+				query.setResultClassList(resultClasses);
+				final SearchResult<List<Object>> result = flexibleSearchService.search(query);
+				return result.getResult();
+			}
+		});
 	}
 
 	private ComposedTypeModel getCatalogAwareRootType(ComposedTypeModel composedType)
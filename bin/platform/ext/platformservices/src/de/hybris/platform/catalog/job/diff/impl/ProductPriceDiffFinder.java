@@ -21,6 +21,7 @@ import de.hybris.platform.core.model.user.UserModel;
 import de.hybris.platform.enumeration.EnumerationService;
 import de.hybris.platform.jalo.order.price.PriceInformation;
 import de.hybris.platform.product.PriceService;
+import de.hybris.platform.servicelayer.exceptions.ModelSavingException;
 import de.hybris.platform.servicelayer.exceptions.SystemException;
 import de.hybris.platform.servicelayer.model.ModelService;
 import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
@@ -29,12 +30,16 @@ import de.hybris.platform.servicelayer.search.SearchResult;
 import de.hybris.platform.servicelayer.session.SessionExecutionBody;
 import de.hybris.platform.servicelayer.session.SessionService;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang.BooleanUtils;
 import org.apache.log4j.Logger;
@@ -49,6 +54,13 @@ public class ProductPriceDiffFinder implements CatalogVersionDifferenceFinder<Pr
 {
 	private static final Logger LOG = Logger.getLogger(ProductPriceDiffFinder.class.getName());
 
+	private static final int DEFAULT_PAGE_SIZE = 1000;
+
+	/**
+	 * Pages with fewer product pairs are compared on the job thread.
+	 */
+	private static final int MIN_PARALLEL_PAGE_SIZE = 100;
+
 	private EnumerationService enumerationService;
 
 	private PriceService priceService;
@@ -61,6 +73,10 @@ public class ProductPriceDiffFinder implements CatalogVersionDifferenceFinder<Pr
 
 	private double maximumPriceTolerance = 0.0;
 
+	private int pageSize = DEFAULT_PAGE_SIZE;
+
+	private int workerThreads = 1;
+
 	@Required
 	public void setEnumerationService(final EnumerationService enumerationService)
 	{
@@ -91,6 +107,23 @@ public class ProductPriceDiffFinder implements CatalogVersionDifferenceFinder<Pr
 		this.sessionService = sessionService;
 	}
 
+	/**
+	 * Sets the number of product pairs whose prices are looked up and compared at once. Defaults to 1000.
+	 */
+	public void setPageSize(final int pageSize)
+	{
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Sets the number of threads comparing the prices of a page. Values below 2 compare on the job thread, which is the
+	 * default.
+	 */
+	public void setWorkerThreads(final int workerThreads)
+	{
+		this.workerThreads = workerThreads;
+	}
+
 
 	protected ProductCatalogVersionDifferenceModel populateDifferenceModel(final ProductModel srcProduct,
 	                                                                       final ProductModel targetProduct,
@@ -129,129 +162,207 @@ public class ProductPriceDiffFinder implements CatalogVersionDifferenceFinder<Pr
 
 	private int comparePrices(final CompareCatalogVersionsCronJobModel cronJob, final double maxPriceTolerance)
 	{
-		Collection<List<ProductModel>> productPairs;
-		int start = 0;
-		final int range = 1000;
 		int processedStepsCounter = 0;
 		if (shouldProcess(cronJob))
 		{
-
-			do
+			final ForkJoinPool pool = workerThreads > 1 ? new ForkJoinPool(workerThreads) : null;
+			try
 			{
-				productPairs = getSameProductsAsPair(start, range, cronJob);
-				start += range;
-
-				for (final Iterator<List<ProductModel>> it = productPairs.iterator(); it.hasNext(); )
+				List<List<ProductModel>> productPairs;
+				List<ProductModel> lastPair = null;
+				do
 				{
-					final List<ProductModel> pair = it.next();
-					final ProductModel product1 = pair.get(0);
-					final ProductModel product2 = pair.get(1);
-
-					try
+					productPairs = getSameProductsAsPair(lastPair, pageSize, cronJob);
+					if (!productPairs.isEmpty())
 					{
-
-						final Collection<PriceInformation> newPriceInfos = (Collection<PriceInformation>) sessionService
-								.executeInLocalView(new SessionExecutionBody()
-								                    {
-									                    @Override
-									                    public Object execute()
-									                    {
-										                    return priceService.getPriceInformationsForProduct(
-												                    product1);//p1.getPriceInformations(true);
-
-									                    }
-								                    },
-										cronJob.getPriceCompareCustomer() == null ? (UserModel) sessionService.getAttribute(
-												"user")
-												: cronJob.getPriceCompareCustomer());
-
-						final Collection<PriceInformation> oldPriceInfos = (Collection<PriceInformation>) sessionService
-								.executeInLocalView(new SessionExecutionBody()
-								                    {
-									                    @Override
-									                    public Object execute()
-									                    {
-										                    return priceService.getPriceInformationsForProduct(product2);
-
-									                    }
-								                    },
-										cronJob.getPriceCompareCustomer() == null ? (UserModel) sessionService.getAttribute(
-												"user")
-												: cronJob.getPriceCompareCustomer());
-
-
-						CatalogVersionDifferenceModel diff = null;
-
-						if (newPriceInfos.size() != oldPriceInfos.size())
-						{
-							diff = populateDifferenceModel(product1, product2, cronJob);
-							diff.setDifferenceText(
-									"Difference in price info count! oldPrices: " + oldPriceInfos.size() + " newPrices: "
-											+ newPriceInfos.size());
-						}
-						for (final Iterator<PriceInformation> priceIt = newPriceInfos.iterator(); priceIt.hasNext(); )
-						{
-							final PriceInformation priceInfo = priceIt.next();
-							final PriceInformation equivalentPriceInfo = findEquivalentPriceInfo(priceInfo, oldPriceInfos);
-							if (equivalentPriceInfo != null)
-							{
-								final double newPrice = priceInfo.getPriceValue().getValue();
-								final double oldPrice = equivalentPriceInfo.getPriceValue().getValue();
-								final double difference = oldPrice - newPrice;
-								final double tolerance = Math.abs((difference * 100) / oldPrice);
-								if (tolerance > maxPriceTolerance)
-								{
-									if (tolerance > maximumPriceTolerance)
-									{
-										maximumPriceTolerance = tolerance;
-									}
-									final StringBuilder diffText = new StringBuilder();
-									if (diff == null)
-									{
-										diff = populateDifferenceModel(product1, product2, cronJob);
-									}
-									else
-									{
-										diffText.append(diff.getDifferenceText()).append("\n");
-									}
-									diffText.append(
-											"Difference above max tolerance ( " + maxPriceTolerance + " ) in price: (new: "
-													+ newPrice + " old: " + oldPrice + " for PriceInfo: " + priceInfo + ".");
-									diff.setDifferenceText(diffText.toString());
-									diff.setDifferenceValue(new Double(tolerance));
-								}
-							}
-							else
-							{
-								LOG.warn("No equivalent PriceInfo found for PriceInfo:" + priceInfo);
-							}
-
-						}
-						if (diff != null)
+						processedStepsCounter += comparePrices(productPairs, cronJob, maxPriceTolerance, pool);
+						if (productPairs.size() == pageSize)
 						{
-							modelService.save(diff);
-							processedStepsCounter++;
+							lastPair = productPairs.get(productPairs.size() - 1);
 						}
 					}
-					catch (final SystemException e)
-					{
-						LOG.error(e.getMessage(), e);
-					}
+				}
+				while (productPairs.size() == pageSize);
+			}
+			finally
+			{
+				if (pool != null)
+				{
+					pool.shutdown();
 				}
 			}
-			while (productPairs.size() == range);
 		}
 
 		return processedStepsCounter;
 	}
 
+	/**
+	 * Compares the prices of one page of product pairs: the prices of all products are looked up at once, compared on the
+	 * worker pool for large pages and the differences found are saved together.
+	 */
+	private int comparePrices(final List<List<ProductModel>> productPairs, final CompareCatalogVersionsCronJobModel cronJob,
+	                          final double maxPriceTolerance, final ForkJoinPool pool)
+	{
+		final List<ProductModel> products1 = new ArrayList<>(productPairs.size());
+		final List<ProductModel> products2 = new ArrayList<>(productPairs.size());
+		for (final List<ProductModel> pair : productPairs)
+		{
+			products1.add(pair.get(0));
+			products2.add(pair.get(1));
+		}
+
+		final List<PriceComparison> comparisons = new ArrayList<>(productPairs.size());
+		try
+		{
+			final List<List<PriceInformation>> newPriceInfos = getPriceInformations(products1, cronJob);
+			final List<List<PriceInformation>> oldPriceInfos = getPriceInformations(products2, cronJob);
+			for (int i = 0; i < productPairs.size(); i++)
+			{
+				comparisons.add(new PriceComparison(newPriceInfos.get(i), oldPriceInfos.get(i)));
+			}
+		}
+		catch (final SystemException e)
+		{
+			LOG.error(e.getMessage(), e);
+			// look up product by product to skip only the failing pairs
+			comparisons.clear();
+			for (int i = 0; i < productPairs.size(); i++)
+			{
+				try
+				{
+					comparisons.add(new PriceComparison(getPriceInformations(products1.subList(i, i + 1), cronJob).get(0),
+							getPriceInformations(products2.subList(i, i + 1), cronJob).get(0)));
+				}
+				catch (final SystemException se)
+				{
+					LOG.error(se.getMessage(), se);
+					comparisons.add(null);
+				}
+			}
+		}
+
+		final List<PriceDifference> differences = compare(comparisons, maxPriceTolerance, pool);
+
+		final List<CatalogVersionDifferenceModel> diffs = new ArrayList<>();
+		for (int i = 0; i < differences.size(); i++)
+		{
+			final PriceDifference difference = differences.get(i);
+			if (difference != null)
+			{
+				if (difference.maxTolerance > maximumPriceTolerance)
+				{
+					maximumPriceTolerance = difference.maxTolerance;
+				}
+				final CatalogVersionDifferenceModel diff = populateDifferenceModel(products1.get(i), products2.get(i), cronJob);
+				diff.setDifferenceText(difference.text);
+				if (difference.value != null)
+				{
+					diff.setDifferenceValue(difference.value);
+				}
+				diffs.add(diff);
+			}
+		}
+		return saveDifferences(diffs);
+	}
+
+	/**
+	 * Saves the differences of a page together. If that fails they are saved one by one to skip only the failing ones.
+	 *
+	 * @return the number of differences saved
+	 */
+	private int saveDifferences(final List<CatalogVersionDifferenceModel> diffs)
+	{
+		if (diffs.isEmpty())
+		{
+			return 0;
+		}
+		try
+		{
+			modelService.saveAll(diffs);
+			return diffs.size();
+		}
+		catch (final ModelSavingException e)
+		{
+			LOG.error(e.getMessage(), e);
+		}
+		int saved = 0;
+		for (final CatalogVersionDifferenceModel diff : diffs)
+		{
+			try
+			{
+				modelService.save(diff);
+				saved++;
+			}
+			catch (final ModelSavingException se)
+			{
+				LOG.error(se.getMessage(), se);
+			}
+		}
+		return saved;
+	}
+
+	private List<List<PriceInformation>> getPriceInformations(final List<ProductModel> products,
+	                                                          final CompareCatalogVersionsCronJobModel cronJob)
+	{
+		return (List<List<PriceInformation>>) sessionService.executeInLocalView(new SessionExecutionBody()
+		{
+			@Override
+			public Object execute()
+			{
+				return priceService.getPriceInformationsForProducts(products);
+			}
+		}, cronJob.getPriceCompareCustomer() == null ? (UserModel) sessionService.getAttribute("user")
+				: cronJob.getPriceCompareCustomer());
+	}
+
+	private List<PriceDifference> compare(final List<PriceComparison> comparisons, final double maxPriceTolerance,
+	                                      final ForkJoinPool pool)
+	{
+		if (pool == null || comparisons.size() < MIN_PARALLEL_PAGE_SIZE)
+		{
+			final List<PriceDifference> differences = new ArrayList<>(comparisons.size());
+			for (final PriceComparison comparison : comparisons)
+			{
+				differences.add(comparison == null ? null : comparison.compare(maxPriceTolerance));
+			}
+			return differences;
+		}
+		try
+		{
+			return pool.submit(() -> comparisons.parallelStream()
+			                                    .map(comparison -> comparison == null ? null : comparison.compare(maxPriceTolerance))
+			                                    .collect(Collectors.toList())).get();
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new SystemException(e.getMessage(), e);
+		}
+		catch (final ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException) e.getCause();
+			}
+			throw new SystemException(e.getCause().getMessage(), e.getCause());
+		}
+	}
+
 
-	private Collection<List<ProductModel>> getSameProductsAsPair(final int start, final int count,
-	                                                             final CompareCatalogVersionsCronJobModel ccvCronJob)
+	/**
+	 * Returns the next page of product pairs ordered by their PKs, starting after the given pair.
+	 */
+	private List<List<ProductModel>> getSameProductsAsPair(final List<ProductModel> lastPair, final int count,
+	                                                       final CompareCatalogVersionsCronJobModel ccvCronJob)
 	{
 		final Map values = new HashMap();
 		values.put("version1", ccvCronJob.getSourceVersion());
 		values.put("version2", ccvCronJob.getTargetVersion());
+		if (lastPair != null)
+		{
+			values.put("lastPk1", lastPair.get(0).getPk());
+			values.put("lastPk2", lastPair.get(1).getPk());
+		}
 
 
 		final FlexibleSearchQuery query = new FlexibleSearchQuery("SELECT {p1:" + ItemModel.PK + "} as pk1, {p2:" + ItemModel.PK
@@ -264,12 +375,12 @@ public class ProductPriceDiffFinder implements CatalogVersionDifferenceFinder<Pr
 				+ "AND {p2:" + ProductModel.CODE + "} = {p3:" + ProductModel.CODE + "} " //
 				+ "}}) " //
 				+ "AND {p1:" + ProductModel.CATALOGVERSION + "} = ?version2 " //
-				+ "AND {p2:" + ProductModel.CATALOGVERSION + "} = ?version1 "
-//
-				, values);
+				+ "AND {p2:" + ProductModel.CATALOGVERSION + "} = ?version1 " //
+				+ (lastPair == null ? "" : "AND ({p1:" + ItemModel.PK + "} > ?lastPk1 OR ({p1:" + ItemModel.PK + "} = ?lastPk1 AND {p2:"
+						+ ItemModel.PK + "} > ?lastPk2)) ") //
+				+ "ORDER BY {p1:" + ItemModel.PK + "}, {p2:" + ItemModel.PK + "}", values);
 		query.setResultClassList(Arrays.asList(new Class[]
 				{ ProductModel.class, ProductModel.class }));
-		query.setStart(start);
 		query.setCount(count);
 
 		final SearchResult<List<ProductModel>> result = flexibleSearchService.search(query);
@@ -278,7 +389,7 @@ public class ProductPriceDiffFinder implements CatalogVersionDifferenceFinder<Pr
 	}
 
 
-	private PriceInformation findEquivalentPriceInfo(final PriceInformation priceInfo, final Collection priceInfos)
+	private static PriceInformation findEquivalentPriceInfo(final PriceInformation priceInfo, final Collection priceInfos)
 	{
 		PriceInformation equivalentPriceInfo = null;
 		for (final Iterator it = priceInfos.iterator(); it.hasNext(); )
@@ -293,4 +404,77 @@ public class ProductPriceDiffFinder implements CatalogVersionDifferenceFinder<Pr
 		return equivalentPriceInfo;
 	}
 
+
+	/**
+	 * Prices of a product pair to be compared.
+	 */
+	private static final class PriceComparison
+	{
+		private final Collection<PriceInformation> newPriceInfos;
+		private final Collection<PriceInformation> oldPriceInfos;
+
+		private PriceComparison(final Collection<PriceInformation> newPriceInfos,
+		                        final Collection<PriceInformation> oldPriceInfos)
+		{
+			this.newPriceInfos = newPriceInfos;
+			this.oldPriceInfos = oldPriceInfos;
+		}
+
+		/**
+		 * @return the difference of the prices or <code>null</code> if they match within the given tolerance
+		 */
+		private PriceDifference compare(final double maxPriceTolerance)
+		{
+			PriceDifference diff = null;
+
+			if (newPriceInfos.size() != oldPriceInfos.size())
+			{
+				diff = new PriceDifference();
+				diff.text = "Difference in price info count! oldPrices: " + oldPriceInfos.size() + " newPrices: "
+						+ newPriceInfos.size();
+			}
+			for (final Iterator<PriceInformation> priceIt = newPriceInfos.iterator(); priceIt.hasNext(); )
+			{
+				final PriceInformation priceInfo = priceIt.next();
+				final PriceInformation equivalentPriceInfo = findEquivalentPriceInfo(priceInfo, oldPriceInfos);
+				if (equivalentPriceInfo != null)
+				{
+					final double newPrice = priceInfo.getPriceValue().getValue();
+					final double oldPrice = equivalentPriceInfo.getPriceValue().getValue();
+					final double difference = oldPrice - newPrice;
+					final double tolerance = Math.abs((difference * 100) / oldPrice);
+					if (tolerance > maxPriceTolerance)
+					{
+						final StringBuilder diffText = new StringBuilder();
+						if (diff == null)
+						{
+							diff = new PriceDifference();
+						}
+						else
+						{
+							diffText.append(diff.text).append("\n");
+						}
+						diffText.append(
+								"Difference above max tolerance ( " + maxPriceTolerance + " ) in price: (new: " + newPrice + " old: "
+										+ oldPrice + " for PriceInfo: " + priceInfo + ".");
+						diff.text = diffText.toString();
+						diff.value = Double.valueOf(tolerance);
+						diff.maxTolerance = Math.max(diff.maxTolerance, tolerance);
+					}
+				}
+				else
+				{
+					LOG.warn("No equivalent PriceInfo found for PriceInfo:" + priceInfo);
+				}
+			}
+			return diff;
+		}
+	}
+
+	private static final class PriceDifference
+	{
+		private String text;
+		private Double value;
+		private double maxTolerance;
+	}
 }
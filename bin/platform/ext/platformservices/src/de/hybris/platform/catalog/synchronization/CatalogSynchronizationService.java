@@ -15,12 +15,15 @@ import de.hybris.platform.catalog.model.ItemSyncTimestampModel;
 import de.hybris.platform.catalog.model.SyncItemJobModel;
 import de.hybris.platform.catalog.model.synchronization.CatalogVersionSyncCronJobModel;
 import de.hybris.platform.catalog.model.synchronization.CatalogVersionSyncJobModel;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.core.model.security.PrincipalModel;
 import de.hybris.platform.core.model.user.UserModel;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 public interface CatalogSynchronizationService
@@ -104,6 +107,44 @@ public interface CatalogSynchronizationService
 	 */
 	ItemSyncTimestampModel getSynchronizationTargetTimestampFor(final SyncItemJobModel theSyncJob, final ItemModel target);
 
+	/**
+	 * Returns the existing {@link ItemSyncTimestampModel}s for all given <code>sources</code> in the scope of the given
+	 * sync job, mapped by the PK of the source item. Items never synchronized before are not contained.
+	 */
+	default Map<PK, ItemSyncTimestampModel> getSynchronizationSourceTimestampsFor(final SyncItemJobModel theSyncJob,
+	                                                                              final Collection<? extends ItemModel> sources)
+	{
+		final Map<PK, ItemSyncTimestampModel> ret = new HashMap<>();
+		for (final ItemModel source : sources)
+		{
+			final ItemSyncTimestampModel timestamp = getSynchronizationSourceTimestampFor(theSyncJob, source);
+			if (timestamp != null)
+			{
+				ret.put(source.getPk(), timestamp);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the existing {@link ItemSyncTimestampModel}s for all given <code>targets</code> in the scope of the given
+	 * sync job, mapped by the PK of the target item. Items whose original source item has been deleted are not contained.
+	 */
+	default Map<PK, ItemSyncTimestampModel> getSynchronizationTargetTimestampsFor(final SyncItemJobModel theSyncJob,
+	                                                                              final Collection<? extends ItemModel> targets)
+	{
+		final Map<PK, ItemSyncTimestampModel> ret = new HashMap<>();
+		for (final ItemModel target : targets)
+		{
+			final ItemSyncTimestampModel timestamp = getSynchronizationTargetTimestampFor(theSyncJob, target);
+			if (timestamp != null)
+			{
+				ret.put(target.getPk(), timestamp);
+			}
+		}
+		return ret;
+	}
+
 	/**
 	 * Returns the counterpart for the <code>target</code> item against given sync job <code>theSyncJob</code>.
 	 */
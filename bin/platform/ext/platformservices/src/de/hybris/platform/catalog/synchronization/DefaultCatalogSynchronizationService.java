@@ -155,19 +155,28 @@ public class DefaultCatalogSynchronizationService implements CatalogSynchronizat
 	                                             final List<ItemModel> applicableItems)
 	{
 		final SyncConfig myCfg = cloneSyncConfig(syncConfig);
+		final List<ItemModel> targetItems = new ArrayList<>();
+		for (final ItemModel theItem : applicableItems)
+		{
+			if (!isFromSource(syncJob, theItem))
+			{
+				targetItems.add(theItem);
+			}
+		}
+		// lookup existing sync timestamps of all target items at once
+		final Map<PK, ItemSyncTimestampModel> targetTimestamps = getSynchronizationTargetTimestampsFor(syncJob, targetItems);
+
 		for (final ItemModel theItem : applicableItems)
 		{
 			// item is from source
-			if (ObjectUtils
-					.equals(syncJob.getSourceVersion(), catalogTypeService.getCatalogVersionForCatalogVersionAwareModel(theItem)))
+			if (isFromSource(syncJob, theItem))
 			{
 				myCfg.addItemToSync(theItem.getPk());
 			}
 			// item is from target
 			else
 			{
-				// lookup existing sync timestamp
-				final ItemSyncTimestampModel timestamp = getSynchronizationTargetTimestampFor(syncJob, theItem);
+				final ItemSyncTimestampModel timestamp = targetTimestamps.get(theItem.getPk());
 				// update via source item
 				if (timestamp != null && timestamp.getSourceItem() != null)
 				{
@@ -183,6 +192,11 @@ public class DefaultCatalogSynchronizationService implements CatalogSynchronizat
 		return myCfg;
 	}
 
+	private boolean isFromSource(final SyncItemJobModel syncJob, final ItemModel item)
+	{
+		return ObjectUtils.equals(syncJob.getSourceVersion(), catalogTypeService.getCatalogVersionForCatalogVersionAwareModel(item));
+	}
+
 	@Override
 	public SyncItemJobModel getSyncJob(final CatalogVersionModel source, final CatalogVersionModel target, final String qualifier)
 	{
@@ -263,6 +277,38 @@ public class DefaultCatalogSynchronizationService implements CatalogSynchronizat
 		return CollectionUtils.isNotEmpty(timestamps) ? timestamps.iterator().next() : null;
 	}
 
+	@Override
+	public Map<PK, ItemSyncTimestampModel> getSynchronizationSourceTimestampsFor(final SyncItemJobModel theSyncJob,
+	                                                                             final Collection<? extends ItemModel> sources)
+	{
+		return mapByItem(itemSyncTimestampDao.findSourceSyncTimestamps(theSyncJob, sources), true);
+	}
+
+	@Override
+	public Map<PK, ItemSyncTimestampModel> getSynchronizationTargetTimestampsFor(final SyncItemJobModel theSyncJob,
+	                                                                             final Collection<? extends ItemModel> targets)
+	{
+		return mapByItem(itemSyncTimestampDao.findTargetSyncTimestamps(theSyncJob, targets), false);
+	}
+
+	/**
+	 * Maps the timestamps by source or target item, keeping the first - i.e. latest - one of each item.
+	 */
+	private static Map<PK, ItemSyncTimestampModel> mapByItem(final List<ItemSyncTimestampModel> timestamps,
+	                                                        final boolean bySource)
+	{
+		final Map<PK, ItemSyncTimestampModel> ret = new HashMap<>(timestamps.size() * 2);
+		for (final ItemSyncTimestampModel timestamp : timestamps)
+		{
+			final ItemModel item = bySource ? timestamp.getSourceItem() : timestamp.getTargetItem();
+			if (item != null)
+			{
+				ret.putIfAbsent(item.getPk(), timestamp);
+			}
+		}
+		return ret;
+	}
+
 	@Override
 	public ItemModel getSynchronizationSourceFor(final SyncItemJobModel theSyncJob, final ItemModel targetItem)
 	{
@@ -16,12 +16,15 @@ import de.hybris.platform.catalog.model.CatalogVersionModel;
 import de.hybris.platform.catalog.model.ItemSyncTimestampModel;
 import de.hybris.platform.catalog.model.SyncItemJobModel;
 import de.hybris.platform.catalog.synchronization.strategy.SyncJobApplicableTypesStrategy;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.servicelayer.model.ModelService;
 import de.hybris.platform.servicelayer.util.ServicesUtil;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.ObjectUtils;
@@ -52,46 +55,22 @@ public class DefaultSynchronizationStatusService implements SynchronizationStatu
 		ServicesUtil.validateParameterNotNullStandardMessage("syncItemJob", syncItemJob);
 
 		final SyncItemStatus syncStatus;
-		final boolean isRemoved = modelService.isRemoved(item);
 		Boolean fromSourceFlag = null;
 		ItemSyncTimestampModel timestamp = null;
 
 		if (syncJobApplicableTypesStrategy.checkIfApplicable(item, syncItemJob))
 		{
-			if (isRemoved)
+			if (modelService.isRemoved(item))
 			{
 				syncStatus = SyncItemStatus.ITEM_MISSING;
 			}
 			else
 			{
-				final boolean fromSource = ObjectUtils.equals(syncItemJob.getSourceVersion(), getCatalogVersionForItem(item));
+				final boolean fromSource = isFromSource(item, syncItemJob);
 				fromSourceFlag = Boolean.valueOf(fromSource);
-				final ItemModel sourceItem;
-				final ItemModel targetItem;
-				if (fromSource)
-				{
-					timestamp = catalogSynchronizationService.getSynchronizationSourceTimestampFor(syncItemJob, item);
-					sourceItem = item;
-					targetItem = timestamp == null ? null : timestamp.getTargetItem();
-				}
-				else
-				{
-					timestamp = catalogSynchronizationService.getSynchronizationTargetTimestampFor(syncItemJob, item);
-					targetItem = item;
-					sourceItem = timestamp == null ? null : timestamp.getSourceItem();
-				}
-				if (sourceItem == null || targetItem == null)
-				{
-					syncStatus = SyncItemStatus.COUNTERPART_MISSING;
-				}
-				else if (timestamp.getLastSyncSourceModifiedTime().getTime() < sourceItem.getModifiedtime().getTime())
-				{
-					syncStatus = SyncItemStatus.NOT_SYNC;
-				}
-				else
-				{
-					syncStatus = SyncItemStatus.IN_SYNC;
-				}
+				timestamp = fromSource ? catalogSynchronizationService.getSynchronizationSourceTimestampFor(syncItemJob, item)
+						: catalogSynchronizationService.getSynchronizationTargetTimestampFor(syncItemJob, item);
+				syncStatus = getSyncStatus(item, fromSource, timestamp);
 			}
 		}
 		else
@@ -99,11 +78,49 @@ public class DefaultSynchronizationStatusService implements SynchronizationStatu
 			syncStatus = SyncItemStatus.NOT_APPLICABLE;
 		}
 
+		return createSyncItemInfo(item, syncItemJob, syncStatus, fromSourceFlag, timestamp);
+	}
+
+	private boolean isFromSource(final ItemModel item, final SyncItemJobModel syncItemJob)
+	{
+		return ObjectUtils.equals(syncItemJob.getSourceVersion(), getCatalogVersionForItem(item));
+	}
+
+	private static SyncItemStatus getSyncStatus(final ItemModel item, final boolean fromSource,
+	                                            final ItemSyncTimestampModel timestamp)
+	{
+		final ItemModel sourceItem;
+		final ItemModel targetItem;
+		if (fromSource)
+		{
+			sourceItem = item;
+			targetItem = timestamp == null ? null : timestamp.getTargetItem();
+		}
+		else
+		{
+			targetItem = item;
+			sourceItem = timestamp == null ? null : timestamp.getSourceItem();
+		}
+		if (sourceItem == null || targetItem == null)
+		{
+			return SyncItemStatus.COUNTERPART_MISSING;
+		}
+		else if (timestamp.getLastSyncSourceModifiedTime().getTime() < sourceItem.getModifiedtime().getTime())
+		{
+			return SyncItemStatus.NOT_SYNC;
+		}
+		return SyncItemStatus.IN_SYNC;
+	}
+
+	private static SyncItemInfo createSyncItemInfo(final ItemModel item, final SyncItemJobModel syncItemJob,
+	                                               final SyncItemStatus syncStatus, final Boolean fromSource,
+	                                               final ItemSyncTimestampModel timestamp)
+	{
 		final SyncItemInfo syncItemInfo = new SyncItemInfo();
 		syncItemInfo.setSyncStatus(syncStatus);
 		syncItemInfo.setItemPk(item.getPk());
 		syncItemInfo.setSyncJobPk(syncItemJob.getPk());
-		syncItemInfo.setFromSource(fromSourceFlag);
+		syncItemInfo.setFromSource(fromSource);
 		syncItemInfo.setSyncTimestampPk(timestamp == null ? null : timestamp.getPk());
 		return syncItemInfo;
 	}
@@ -151,11 +168,10 @@ public class DefaultSynchronizationStatusService implements SynchronizationStatu
 		ServicesUtil.validateParameterNotNullStandardMessage("syncStatus", syncStatus);
 
 
-		for (final ItemModel theItem : givenItems)
+		for (final SyncItemJobModel theJob : syncItemJobs)
 		{
-			for (final SyncItemJobModel theJob : syncItemJobs)
+			for (final SyncItemInfo syncItemInfo : getSyncInfo(givenItems, theJob))
 			{
-				final SyncItemInfo syncItemInfo = getSyncInfo(theItem, theJob);
 				if (syncItemInfo != null && !syncStatus.equals(syncItemInfo.getSyncStatus()))
 				{
 					return false;
@@ -173,7 +189,74 @@ public class DefaultSynchronizationStatusService implements SynchronizationStatu
 		ServicesUtil.validateParameterNotNullStandardMessage("givenItems", givenItems);
 		ServicesUtil.validateParameterNotNullStandardMessage("syncItemJob", syncItemJob);
 
-		return givenItems.stream().map(theItem -> getSyncInfo(theItem, syncItemJob)).collect(Collectors.toList());
+		final int size = givenItems.size();
+		final SyncItemStatus[] syncStatuses = new SyncItemStatus[size];
+		final Boolean[] fromSourceFlags = new Boolean[size];
+		final List<ItemModel> sourceItems = new ArrayList<>();
+		final List<ItemModel> targetItems = new ArrayList<>();
+
+		for (int i = 0; i < size; i++)
+		{
+			final ItemModel item = givenItems.get(i);
+			if (!syncJobApplicableTypesStrategy.checkIfApplicable(item, syncItemJob))
+			{
+				syncStatuses[i] = SyncItemStatus.NOT_APPLICABLE;
+			}
+			else if (modelService.isRemoved(item))
+			{
+				syncStatuses[i] = SyncItemStatus.ITEM_MISSING;
+			}
+			else
+			{
+				final boolean fromSource = isFromSource(item, syncItemJob);
+				fromSourceFlags[i] = Boolean.valueOf(fromSource);
+				(fromSource ? sourceItems : targetItems).add(item);
+			}
+		}
+
+		// resolve the timestamps of all items at once instead of item by item
+		final Map<PK, ItemSyncTimestampModel> sourceTimestamps = sourceItems.isEmpty() ? Collections.emptyMap()
+				: catalogSynchronizationService.getSynchronizationSourceTimestampsFor(syncItemJob, sourceItems);
+		final Map<PK, ItemSyncTimestampModel> targetTimestamps = targetItems.isEmpty() ? Collections.emptyMap()
+				: catalogSynchronizationService.getSynchronizationTargetTimestampsFor(syncItemJob, targetItems);
+
+		final List<SyncItemInfo> ret = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+		{
+			final ItemModel item = givenItems.get(i);
+			if (fromSourceFlags[i] == null)
+			{
+				ret.add(createSyncItemInfo(item, syncItemJob, syncStatuses[i], null, null));
+			}
+			else
+			{
+				final boolean fromSource = fromSourceFlags[i].booleanValue();
+				final ItemSyncTimestampModel timestamp = (fromSource ? sourceTimestamps : targetTimestamps).get(item.getPk());
+				ret.add(createSyncItemInfo(item, syncItemJob, getSyncStatus(item, fromSource, timestamp), fromSourceFlags[i],
+						timestamp));
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public List<SyncItemInfo> getSyncInfo(final List<ItemModel> givenItems, final List<SyncItemJobModel> syncItemJobs)
+	{
+		ServicesUtil.validateParameterNotNullStandardMessage("givenItems", givenItems);
+		ServicesUtil.validateParameterNotNullStandardMessage("syncItemJobs", syncItemJobs);
+
+		final List<List<SyncItemInfo>> syncInfosByJob = syncItemJobs.stream()
+		                                                            .map(theJob -> getSyncInfo(givenItems, theJob))
+		                                                            .collect(Collectors.toList());
+		final List<SyncItemInfo> ret = new ArrayList<>(givenItems.size() * syncItemJobs.size());
+		for (int i = 0; i < givenItems.size(); i++)
+		{
+			for (final List<SyncItemInfo> syncInfos : syncInfosByJob)
+			{
+				ret.add(syncInfos.get(i));
+			}
+		}
+		return ret;
 	}
 
 	protected CatalogVersionModel getCatalogVersionForItem(final ItemModel item)
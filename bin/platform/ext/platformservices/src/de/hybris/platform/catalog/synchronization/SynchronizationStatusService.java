@@ -15,6 +15,7 @@ import de.hybris.platform.catalog.enums.SyncItemStatus;
 import de.hybris.platform.catalog.model.SyncItemJobModel;
 import de.hybris.platform.core.model.ItemModel;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -63,6 +64,28 @@ public interface SynchronizationStatusService
 	 */
 	List<SyncItemInfo> getSyncInfo(final List<ItemModel> givenItems, SyncItemJobModel syncItemJob);
 
+	/**
+	 * Gets the list of {@link SyncItemStatus} from all sources of the synchronization side defined by
+	 * <code>syncItemJobs</code> for a given items <code>givenItems</code>. The default implementation resolves the status
+	 * of each item and job on its own.
+	 *
+	 * @param givenItems   list of given item
+	 * @param syncItemJobs synchronization jobs
+	 * @return {@link SyncItemStatus} for each item and job, ordered by item and then by job
+	 */
+	default List<SyncItemInfo> getSyncInfo(final List<ItemModel> givenItems, final List<SyncItemJobModel> syncItemJobs)
+	{
+		final List<SyncItemInfo> ret = new ArrayList<>(givenItems.size() * syncItemJobs.size());
+		for (final ItemModel item : givenItems)
+		{
+			for (final SyncItemJobModel syncItemJob : syncItemJobs)
+			{
+				ret.add(getSyncInfo(item, syncItemJob));
+			}
+		}
+		return ret;
+	}
+
 	/**
 	 * Returns all defined inbound synchronization sync jobs for a given item.
 	 */
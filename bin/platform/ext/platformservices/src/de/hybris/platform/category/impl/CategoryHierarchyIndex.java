@@ -0,0 +1,288 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.category.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Immutable index of all category to category links, kept in primitive arrays. The categories are identified by their
+ * PKs; sub and super categories of each category are stored in the order of the corresponding relation attributes.
+ * Ancestors and descendants are collected by walking the arrays, so they cost time in proportion to the result only.
+ */
+final class CategoryHierarchyIndex
+{
+	// all links with their categories and sequence numbers - needed to apply link changes
+	private final long[] links;
+	private final long[] sources;
+	private final long[] targets;
+	private final int[] sequenceNumbers;
+	private final int[] reverseSequenceNumbers;
+
+	// sorted PKs of all linked categories, the position is the id used below
+	private final long[] categories;
+	private final int[] subcategoryOffsets;
+	private final int[] subcategories;
+	private final int[] supercategoryOffsets;
+	private final int[] supercategories;
+
+	private CategoryHierarchyIndex(final long[] links, final long[] sources, final long[] targets, final int[] sequenceNumbers,
+	                               final int[] reverseSequenceNumbers)
+	{
+		this.links = links;
+		this.sources = sources;
+		this.targets = targets;
+		this.sequenceNumbers = sequenceNumbers;
+		this.reverseSequenceNumbers = reverseSequenceNumbers;
+
+		final long[] all = new long[links.length * 2];
+		System.arraycopy(sources, 0, all, 0, links.length);
+		System.arraycopy(targets, 0, all, links.length, links.length);
+		Arrays.sort(all);
+		int count = 0;
+		for (int i = 0; i < all.length; i++)
+		{
+			if (i == 0 || all[i] != all[i - 1])
+			{
+				all[count++] = all[i];
+			}
+		}
+		categories = Arrays.copyOf(all, count);
+
+		subcategoryOffsets = new int[count + 1];
+		subcategories = new int[links.length];
+		fill(sources, targets, sequenceNumbers, subcategoryOffsets, subcategories);
+		supercategoryOffsets = new int[count + 1];
+		supercategories = new int[links.length];
+		fill(targets, sources, reverseSequenceNumbers, supercategoryOffsets, supercategories);
+	}
+
+	/**
+	 * Fills the adjacency arrays from <code>from</code> to <code>to</code>, ordering the neighbours of a category by the
+	 * given sequence numbers and link PKs.
+	 */
+	private void fill(final long[] from, final long[] to, final int[] sequence, final int[] offsets, final int[] adjacent)
+	{
+		final Integer[] order = new Integer[links.length];
+		for (int i = 0; i < order.length; i++)
+		{
+			order[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(order, Comparator.<Integer> comparingLong(i -> from[i.intValue()])
+				.thenComparingInt(i -> sequence[i.intValue()]).thenComparingLong(i -> links[i.intValue()]));
+
+		for (final Integer link : order)
+		{
+			offsets[idOf(from[link.intValue()]) + 1]++;
+		}
+		for (int i = 1; i < offsets.length; i++)
+		{
+			offsets[i] += offsets[i - 1];
+		}
+		for (int i = 0; i < order.length; i++)
+		{
+			adjacent[i] = idOf(to[order[i].intValue()]);
+		}
+	}
+
+	private int idOf(final long category)
+	{
+		return Arrays.binarySearch(categories, category);
+	}
+
+	int size()
+	{
+		return links.length;
+	}
+
+	/**
+	 * @return the PKs of all direct and indirect sub categories, including the category itself only if it is part of a
+	 * cycle
+	 */
+	long[] getDescendants(final long category)
+	{
+		return collect(category, subcategoryOffsets, subcategories);
+	}
+
+	/**
+	 * @return the PKs of all direct and indirect super categories, including the category itself only if it is part of a
+	 * cycle
+	 */
+	long[] getAncestors(final long category)
+	{
+		return collect(category, supercategoryOffsets, supercategories);
+	}
+
+	private long[] collect(final long category, final int[] offsets, final int[] adjacent)
+	{
+		final int start = idOf(category);
+		if (start < 0)
+		{
+			return new long[0];
+		}
+		final BitSet found = new BitSet(categories.length);
+		int[] result = new int[Math.max(4, offsets[start + 1] - offsets[start])];
+		int size = 0;
+		int next = 0;
+		int current = start;
+		while (true)
+		{
+			for (int i = offsets[current]; i < offsets[current + 1]; i++)
+			{
+				final int candidate = adjacent[i];
+				if (!found.get(candidate))
+				{
+					found.set(candidate);
+					if (size == result.length)
+					{
+						result = Arrays.copyOf(result, size * 2);
+					}
+					result[size++] = candidate;
+				}
+			}
+			if (next == size)
+			{
+				break;
+			}
+			current = result[next++];
+		}
+		final long[] pks = new long[size];
+		for (int i = 0; i < size; i++)
+		{
+			pks[i] = categories[result[i]];
+		}
+		return pks;
+	}
+
+	/**
+	 * Returns all paths from a root category down to the given category, in the same way as
+	 * {@link DefaultCategoryService#getPathsForCategory(de.hybris.platform.category.model.CategoryModel)}: super categories
+	 * already on the current path are skipped and a category without super categories forms a path of its own.
+	 */
+	List<long[]> getPaths(final long category)
+	{
+		final int id = idOf(category);
+		if (id < 0)
+		{
+			return Collections.singletonList(new long[]
+					{ category });
+		}
+		final BitSet onPath = new BitSet(categories.length);
+		onPath.set(id);
+		final List<long[]> paths = new ArrayList<>();
+		for (final List<Integer> path : getPathsInternal(id, onPath))
+		{
+			final long[] pks = new long[path.size()];
+			int i = 0;
+			for (final Integer element : path)
+			{
+				pks[i++] = categories[element.intValue()];
+			}
+			paths.add(pks);
+		}
+		return paths;
+	}
+
+	private Collection<List<Integer>> getPathsInternal(final int category, final BitSet onPath)
+	{
+		Collection<List<Integer>> result = null;
+		for (int i = supercategoryOffsets[category]; i < supercategoryOffsets[category + 1]; i++)
+		{
+			final int parent = supercategories[i];
+			if (!onPath.get(parent))
+			{
+				onPath.set(parent);
+				if (result == null)
+				{
+					result = new ArrayList<>();
+				}
+				for (final List<Integer> parentPath : getPathsInternal(parent, onPath))
+				{
+					final List<Integer> path = parentPath instanceof LinkedList ? parentPath : new LinkedList<>(parentPath);
+					path.add(Integer.valueOf(category));
+					result.add(path);
+				}
+				onPath.clear(parent);
+			}
+		}
+		return result == null ? Collections.singletonList(Collections.singletonList(Integer.valueOf(category))) : result;
+	}
+
+	/**
+	 * Creates a new index from this one, replacing the given links by their current state. Changed links missing from
+	 * the current links have been removed.
+	 */
+	CategoryHierarchyIndex withChangedLinks(final Set<Long> changedLinks, final Builder currentLinks)
+	{
+		final Builder builder = new Builder();
+		for (int i = 0; i < links.length; i++)
+		{
+			if (!changedLinks.contains(Long.valueOf(links[i])))
+			{
+				builder.add(links[i], sources[i], targets[i], sequenceNumbers[i], reverseSequenceNumbers[i]);
+			}
+		}
+		builder.addAll(currentLinks);
+		return builder.build();
+	}
+
+	static final class Builder
+	{
+		private long[] links = new long[16];
+		private long[] sources = new long[16];
+		private long[] targets = new long[16];
+		private int[] sequenceNumbers = new int[16];
+		private int[] reverseSequenceNumbers = new int[16];
+		private int size;
+
+		Builder add(final long link, final long source, final long target, final int sequenceNumber,
+		            final int reverseSequenceNumber)
+		{
+			if (size == links.length)
+			{
+				links = Arrays.copyOf(links, size * 2);
+				sources = Arrays.copyOf(sources, size * 2);
+				targets = Arrays.copyOf(targets, size * 2);
+				sequenceNumbers = Arrays.copyOf(sequenceNumbers, size * 2);
+				reverseSequenceNumbers = Arrays.copyOf(reverseSequenceNumbers, size * 2);
+			}
+			links[size] = link;
+			sources[size] = source;
+			targets[size] = target;
+			sequenceNumbers[size] = sequenceNumber;
+			reverseSequenceNumbers[size] = reverseSequenceNumber;
+			size++;
+			return this;
+		}
+
+		private void addAll(final Builder other)
+		{
+			for (int i = 0; i < other.size; i++)
+			{
+				add(other.links[i], other.sources[i], other.targets[i], other.sequenceNumbers[i], other.reverseSequenceNumbers[i]);
+			}
+		}
+
+		CategoryHierarchyIndex build()
+		{
+			return new CategoryHierarchyIndex(Arrays.copyOf(links, size), Arrays.copyOf(sources, size),
+					Arrays.copyOf(targets, size), Arrays.copyOf(sequenceNumbers, size), Arrays.copyOf(reverseSequenceNumbers, size));
+		}
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.category.impl;
+
+import de.hybris.platform.cache.Cache;
+import de.hybris.platform.cache.InvalidationListener;
+import de.hybris.platform.cache.InvalidationManager;
+import de.hybris.platform.cache.InvalidationTarget;
+import de.hybris.platform.cache.InvalidationTopic;
+import de.hybris.platform.cache.RemoteInvalidationSource;
+import de.hybris.platform.category.constants.CategoryConstants;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.model.link.LinkModel;
+import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
+import de.hybris.platform.servicelayer.search.SearchResult;
+import de.hybris.platform.tx.Transaction;
+import de.hybris.platform.util.Config;
+import de.hybris.platform.util.typesystem.PlatformStringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Required;
+
+import com.google.common.collect.Lists;
+
+
+/**
+ * Holds the {@link CategoryHierarchyIndex} used by {@link DefaultCategoryService} if enabled by
+ * <code>category.hierarchy.index</code>. Changed category links are applied to the next index one by one, so editing
+ * a category does not reload the links of the whole system. The index reflects the persisted links only and does not
+ * apply search restrictions.
+ */
+public class CategoryHierarchyIndexCache
+{
+	private static final Logger LOG = Logger.getLogger(CategoryHierarchyIndexCache.class);
+
+	public static final String KEY_INDEX = "category.hierarchy.index";
+	public static final String KEY_INCREMENTAL_THRESHOLD = "category.hierarchy.index.incremental.threshold";
+	private static final int DEFAULT_INCREMENTAL_THRESHOLD = 1000;
+	private static final int QUERY_CHUNK_SIZE = 1000;
+
+	private static final String LINK_COLUMNS = "SELECT {" + LinkModel.PK + "}, {" + LinkModel.SOURCE + "}, {" + LinkModel.TARGET
+			+ "}, {" + LinkModel.SEQUENCENUMBER + "}, {" + LinkModel.REVERSESEQUENCENUMBER + "} FROM {"
+			+ CategoryConstants.Relations.CATEGORYCATEGORYRELATION + "}";
+	private static final String ALL_LINKS_QUERY = LINK_COLUMNS;
+	private static final String CHANGED_LINKS_QUERY = LINK_COLUMNS + " WHERE {" + LinkModel.PK + "} IN (?pks)";
+
+	private FlexibleSearchService flexibleSearchService;
+
+	private final AtomicReference<CategoryHierarchyIndex> index = new AtomicReference<>();
+
+	//incremented by each full invalidation - an index loaded for an older generation has to be reloaded
+	private final AtomicLong invalidationGeneration = new AtomicLong();
+	private volatile long indexGeneration = -1;
+
+	private final Set<PK> pendingLinkChanges = ConcurrentHashMap.newKeySet();
+
+	private final ReentrantLock updateLock = new ReentrantLock();
+
+	private final InvalidationListener invalidationListener = new InvalidationListener()
+	{
+		private final String categoryCategoryRelationTypeCode = PlatformStringUtils.valueOf(144);
+
+		@Override
+		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
+		                           final RemoteInvalidationSource remoteSrc)
+		{
+			if (categoryCategoryRelationTypeCode.equals(key[2]))
+			{
+				linkInvalidated(key);
+			}
+		}
+	};
+
+	@PostConstruct
+	public void init()
+	{
+		final InvalidationTopic topic = InvalidationManager.getInstance().getInvalidationTopic(new String[]
+				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
+		topic.addInvalidationListener(invalidationListener);
+	}
+
+	/**
+	 * Records a changed link to be applied to the next index. Falls back to a full reload if the link cannot be
+	 * identified or too many changes are pending.
+	 */
+	void linkInvalidated(final Object[] key)
+	{
+		if (key.length > 3 && key[3] instanceof PK)
+		{
+			pendingLinkChanges.add((PK) key[3]);
+			if (pendingLinkChanges.size() <= getIncrementalThreshold())
+			{
+				return;
+			}
+		}
+		invalidateIndex();
+	}
+
+	public void invalidateIndex()
+	{
+		invalidationGeneration.incrementAndGet();
+	}
+
+	/**
+	 * The index is not used within transactions, as it neither sees uncommitted links nor would it notice a rollback.
+	 */
+	public boolean isEnabled()
+	{
+		return Config.getBoolean(KEY_INDEX, false) && !Transaction.current().isRunning();
+	}
+
+	/**
+	 * Returns the current index, applying pending link changes or reloading it first if needed.
+	 */
+	CategoryHierarchyIndex getIndex()
+	{
+		final CategoryHierarchyIndex current = index.get();
+		if (current != null && indexGeneration == invalidationGeneration.get() && pendingLinkChanges.isEmpty())
+		{
+			return current;
+		}
+		updateLock.lock();
+		try
+		{
+			return updateIndex();
+		}
+		finally
+		{
+			updateLock.unlock();
+		}
+	}
+
+	private CategoryHierarchyIndex updateIndex()
+	{
+		final long generation = invalidationGeneration.get();
+		final CategoryHierarchyIndex current = index.get();
+		if (current != null && indexGeneration == generation && pendingLinkChanges.isEmpty())
+		{
+			return current;
+		}
+
+		final Set<PK> changes = new HashSet<>(pendingLinkChanges);
+		pendingLinkChanges.removeAll(changes);
+		try
+		{
+			final CategoryHierarchyIndex updated;
+			if (current == null || indexGeneration != generation)
+			{
+				updated = loadLinks(ALL_LINKS_QUERY, Collections.emptyMap()).build();
+				LOG.debug("Loaded category hierarchy index with " + updated.size() + " links");
+			}
+			else
+			{
+				updated = current.withChangedLinks(toLongs(changes), loadChangedLinks(changes));
+			}
+			index.set(updated);
+			indexGeneration = generation;
+			return updated;
+		}
+		catch (final RuntimeException e)
+		{
+			pendingLinkChanges.addAll(changes);
+			throw e;
+		}
+	}
+
+	private CategoryHierarchyIndex.Builder loadChangedLinks(final Set<PK> changes)
+	{
+		final CategoryHierarchyIndex.Builder builder = new CategoryHierarchyIndex.Builder();
+		for (final List<PK> chunk : Lists.partition(new ArrayList<>(changes), QUERY_CHUNK_SIZE))
+		{
+			addLinks(builder, CHANGED_LINKS_QUERY, Collections.singletonMap("pks", chunk));
+		}
+		return builder;
+	}
+
+	private CategoryHierarchyIndex.Builder loadLinks(final String query, final Map<String, ?> params)
+	{
+		final CategoryHierarchyIndex.Builder builder = new CategoryHierarchyIndex.Builder();
+		addLinks(builder, query, params);
+		return builder;
+	}
+
+	private void addLinks(final CategoryHierarchyIndex.Builder builder, final String query, final Map<String, ?> params)
+	{
+		final FlexibleSearchQuery fsq = new FlexibleSearchQuery(query, params);
+		fsq.setResultClassList(Arrays.asList(PK.class, PK.class, PK.class, Integer.class, Integer.class));
+		final SearchResult<List<Object>> result = flexibleSearchService.search(fsq);
+		for (final List<Object> row : result.getResult())
+		{
+			builder.add(((PK) row.get(0)).getLongValue(), ((PK) row.get(1)).getLongValue(), ((PK) row.get(2)).getLongValue(),
+					toInt(row.get(3)), toInt(row.get(4)));
+		}
+	}
+
+	private static int toInt(final Object sequenceNumber)
+	{
+		return sequenceNumber == null ? 0 : ((Integer) sequenceNumber).intValue();
+	}
+
+	private static Set<Long> toLongs(final Set<PK> pks)
+	{
+		final Set<Long> longs = new HashSet<>(pks.size() * 2);
+		for (final PK pk : pks)
+		{
+			longs.add(Long.valueOf(pk.getLongValue()));
+		}
+		return longs;
+	}
+
+	protected int getIncrementalThreshold()
+	{
+		return Config.getInt(KEY_INCREMENTAL_THRESHOLD, DEFAULT_INCREMENTAL_THRESHOLD);
+	}
+
+	@Required
+	public void setFlexibleSearchService(final FlexibleSearchService flexibleSearchService)
+	{
+		this.flexibleSearchService = flexibleSearchService;
+	}
+}
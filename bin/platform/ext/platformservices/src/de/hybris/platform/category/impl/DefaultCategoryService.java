@@ -20,6 +20,7 @@ import de.hybris.platform.category.constants.CategoryConstants;
 import de.hybris.platform.category.daos.CategoryDao;
 import de.hybris.platform.category.model.CategoryModel;
 import de.hybris.platform.category.strategies.CategoryPrincipalStrategy;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.product.ProductModel;
 import de.hybris.platform.core.model.security.PrincipalModel;
 import de.hybris.platform.servicelayer.exceptions.AmbiguousIdentifierException;
@@ -54,6 +55,7 @@ public class DefaultCategoryService extends AbstractBusinessService implements C
 	private CategoryDao categoryDao;
 	private CatalogVersionService catalogVersionService;
 	private volatile CategoryPrincipalStrategy categoryPrincipalStrategy;
+	private CategoryHierarchyIndexCache categoryHierarchyIndexCache;
 
 	@Override
 	public void disableSubcategoryRemovalCheck()
@@ -253,6 +255,16 @@ public class DefaultCategoryService extends AbstractBusinessService implements C
 	public Collection<List<CategoryModel>> getPathsForCategory(final CategoryModel category)
 	{
 		validateParameterNotNull(category, "Parameter 'category' was null.");
+		final CategoryHierarchyIndex index = getHierarchyIndex(category);
+		if (index != null)
+		{
+			final Collection<List<CategoryModel>> paths = new ArrayList<List<CategoryModel>>();
+			for (final long[] path : index.getPaths(category.getPk().getLongValue()))
+			{
+				paths.add(new LinkedList<CategoryModel>(toCategories(path)));
+			}
+			return paths;
+		}
 		return getPathsInternal(category, new HashSet<CategoryModel>(Collections.singleton(category)));
 	}
 
@@ -309,6 +321,11 @@ public class DefaultCategoryService extends AbstractBusinessService implements C
 	public Collection<CategoryModel> getAllSubcategoriesForCategory(final CategoryModel category)
 	{
 		Preconditions.checkArgument(category != null, "Category is required to perform this operation, null given");
+		final CategoryHierarchyIndex index = getHierarchyIndex(category);
+		if (index != null)
+		{
+			return toCategories(index.getDescendants(category.getPk().getLongValue()));
+		}
 		return getAllSubcategories(Collections.singletonList(category));
 	}
 
@@ -356,6 +373,11 @@ public class DefaultCategoryService extends AbstractBusinessService implements C
 	public Collection<CategoryModel> getAllSupercategoriesForCategory(final CategoryModel category)
 	{
 		Preconditions.checkArgument(category != null, "Category is required to perform this operation, null given");
+		final CategoryHierarchyIndex index = getHierarchyIndex(category);
+		if (index != null)
+		{
+			return toCategories(index.getAncestors(category.getPk().getLongValue()));
+		}
 		return getAllSupercategories(Collections.singletonList(category));
 	}
 
@@ -399,6 +421,34 @@ public class DefaultCategoryService extends AbstractBusinessService implements C
 		return result == null ? Collections.EMPTY_LIST : result;
 	}
 
+	/**
+	 * Returns the hierarchy index if it is enabled and the category has been saved without pending changes, since the
+	 * index only knows about persisted links.
+	 */
+	private CategoryHierarchyIndex getHierarchyIndex(final CategoryModel category)
+	{
+		if (categoryHierarchyIndexCache == null || category.getPk() == null || !categoryHierarchyIndexCache.isEnabled()
+				|| getModelService().isModified(category))
+		{
+			return null;
+		}
+		return categoryHierarchyIndexCache.getIndex();
+	}
+
+	private List<CategoryModel> toCategories(final long[] pks)
+	{
+		if (pks.length == 0)
+		{
+			return Collections.EMPTY_LIST;
+		}
+		final List<CategoryModel> categories = new ArrayList<CategoryModel>(pks.length);
+		for (final long pk : pks)
+		{
+			categories.add((CategoryModel) getModelService().get(PK.fromLong(pk)));
+		}
+		return categories;
+	}
+
 	@Required
 	public void setCatalogVersionService(final CatalogVersionService catalogVersionService)
 	{
@@ -417,6 +467,14 @@ public class DefaultCategoryService extends AbstractBusinessService implements C
 		this.categoryPrincipalStrategy = categoryPrincipalStrategy;
 	}
 
+	/**
+	 * Sets the optional index used to resolve sub categories, super categories and category paths.
+	 */
+	public void setCategoryHierarchyIndexCache(final CategoryHierarchyIndexCache categoryHierarchyIndexCache)
+	{
+		this.categoryHierarchyIndexCache = categoryHierarchyIndexCache;
+	}
+
 	private String getCatalogVersionsString()
 	{
 		return CatalogUtils.getCatalogVersionsString(catalogVersionService.getSessionCatalogVersions());
@@ -23,7 +23,9 @@ import de.hybris.platform.servicelayer.exceptions.AmbiguousIdentifierException;
 import de.hybris.platform.servicelayer.exceptions.UnknownIdentifierException;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -126,4 +128,21 @@ public interface ClassificationService
 	 * @throws IllegalArgumentException thrown when <code>product</code> is null or is not persisted
 	 */
 	FeatureList getFeatures(ProductModel product, List<ClassAttributeAssignmentModel> assignments);
+
+	/**
+	 * Returns the classification features of several products at once, e.g. for feeds or product lists.
+	 *
+	 * @param products the products to load the features for
+	 * @return the features by product, in the order of <code>products</code>
+	 * @throws IllegalArgumentException thrown when <code>products</code> is null or any of them is not persisted
+	 */
+	default Map<ProductModel, FeatureList> getFeatures(final List<ProductModel> products)
+	{
+		final Map<ProductModel, FeatureList> result = new LinkedHashMap<>();
+		for (final ProductModel product : products)
+		{
+			result.put(product, getFeatures(product));
+		}
+		return result;
+	}
 }
@@ -16,6 +16,7 @@ import de.hybris.platform.catalog.model.classification.ClassificationAttributeVa
 import de.hybris.platform.catalog.model.classification.ClassificationSystemVersionModel;
 import de.hybris.platform.category.model.CategoryModel;
 import de.hybris.platform.classification.impl.PossibleAttributeValue;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.product.ProductModel;
 import de.hybris.platform.servicelayer.internal.dao.Dao;
 import de.hybris.platform.servicelayer.search.SearchResult;
@@ -47,6 +48,12 @@ public interface ClassificationDao extends Dao
 	                                                         Map<ClassAttributeAssignmentModel, Object> attributeValues,
 	                                                         int start, int count);
 
+	/**
+	 * Finds the page of the given products ordered by name like
+	 * {@link #findProductsByAttributeValues(CategoryModel, Map, int, int)}, each product once.
+	 */
+	SearchResult<ProductModel> findProductsByPks(Collection<PK> pks, int start, int count);
+
 	/**
 	 * Find attribute values by code.
 	 */
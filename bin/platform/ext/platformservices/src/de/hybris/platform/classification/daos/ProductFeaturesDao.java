@@ -12,9 +12,12 @@ package de.hybris.platform.classification.daos;
 
 import de.hybris.platform.catalog.model.ProductFeatureModel;
 import de.hybris.platform.catalog.model.classification.ClassAttributeAssignmentModel;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.core.model.product.ProductModel;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -48,6 +51,30 @@ public interface ProductFeaturesDao
 	                                                                List<ClassAttributeAssignmentModel> assignments,
 	                                                                List<ProductFeatureModel> excludes);
 
+	/**
+	 * Find product features of several products by assignment. Each row holds the {@link ProductFeatureModel}, the PK of
+	 * its product and the PK of its assignment (<code>null</code> for untyped features). Rows of the same product follow
+	 * each other, ordered by value position.
+	 *
+	 * @param products    the products for which find features
+	 * @param assignments the assignments, untyped features are searched if empty
+	 * @return the result list
+	 */
+	default List<List<Object>> findProductFeaturesByProductsAndAssignment(final List<ProductModel> products,
+	                                                                      final List<ClassAttributeAssignmentModel> assignments)
+	{
+		final List<List<Object>> result = new ArrayList<>();
+		for (final ProductModel product : products)
+		{
+			for (final List<ItemModel> row : findProductFeaturesByProductAndAssignment(product, assignments))
+			{
+				final ItemModel assignment = row.get(1);
+				result.add(Arrays.asList(row.get(0), product.getPk(), assignment == null ? null : assignment.getPk()));
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Gets the product feature's max value position.
 	 *
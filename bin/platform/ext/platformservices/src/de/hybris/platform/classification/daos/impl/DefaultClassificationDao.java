@@ -39,6 +39,7 @@ import de.hybris.platform.servicelayer.internal.dao.AbstractItemDao;
 import de.hybris.platform.servicelayer.model.AbstractItemModel;
 import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.SearchResult;
+import de.hybris.platform.servicelayer.search.impl.SearchResultImpl;
 import de.hybris.platform.util.Config;
 import de.hybris.platform.util.Utilities;
 
@@ -186,6 +187,27 @@ public class DefaultClassificationDao extends AbstractItemDao implements Classif
 		return search(flexibleSearchQuery);
 	}
 
+	/**
+	 * Pages the given products with the same order by name as {@link #findProductsByAttributeValues}, so the database
+	 * collation decides the order.
+	 */
+	@Override
+	public SearchResult<ProductModel> findProductsByPks(final Collection<PK> pks, final int start, final int count)
+	{
+		validateParameterNotNull(pks, "pks must not be null");
+		if (pks.isEmpty())
+		{
+			return new SearchResultImpl<ProductModel>(Collections.<ProductModel> emptyList(), 0, count, start);
+		}
+		final FlexibleSearchQuery query = new FlexibleSearchQuery(
+				"SELECT {pk} FROM {Product} WHERE {pk} IN (?pks) ORDER BY {name}");
+		query.addQueryParameter("pks", pks);
+		query.setCount(count);
+		query.setStart(start);
+		query.setNeedTotal(true);
+		return search(query);
+	}
+
 	/**
 	 * Create a query to find product by filter. Utilizes GenericQuery.
 	 */
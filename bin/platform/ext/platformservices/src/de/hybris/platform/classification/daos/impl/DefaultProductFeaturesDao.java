@@ -57,6 +57,60 @@ public class DefaultProductFeaturesDao implements ProductFeaturesDao
 		return searchResult.getResult();
 	}
 
+	@Override
+	public List<List<Object>> findProductFeaturesByProductsAndAssignment(final List<ProductModel> products,
+	                                                                     final List<ClassAttributeAssignmentModel> assignments)
+	{
+		if (products.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+		final Map<String, Object> params = new HashMap<String, Object>();
+		final StringBuilder builder = new StringBuilder();
+
+		builder.append("SELECT {").append(ProductFeatureModel.PK).append("},{").append(ProductFeatureModel.PRODUCT).append("},{")
+		       .append(ProductFeatureModel.CLASSIFICATIONATTRIBUTEASSIGNMENT).append("} ");
+		builder.append("FROM {").append(ProductFeatureModel._TYPECODE).append("} ");
+		builder.append("WHERE {").append(ProductFeatureModel.PRODUCT).append("} IN ( ?products ) AND ");
+		builder.append("{").append(ProductFeatureModel.CLASSIFICATIONATTRIBUTEASSIGNMENT).append("} ");
+
+		final List<PK> _products = new ArrayList<PK>(products.size());
+		for (final ProductModel product : products)
+		{
+			_products.add(product.getPk());
+		}
+		params.put("products", _products);
+
+		if (isUntyped(assignments))
+		{
+			builder.append(" IS NULL ");
+		}
+		else
+		{
+			builder.append(" IN ( ?assignments ) ");
+			final List<PK> _assignments = new ArrayList<PK>(assignments.size());
+			for (final ClassAttributeAssignmentModel assignment : assignments)
+			{
+				_assignments.add(assignment.getPk());
+			}
+			params.put("assignments", _assignments);
+		}
+		builder.append("ORDER BY {").append(ProductFeatureModel.PRODUCT).append("},{").append(ProductFeatureModel.VALUEPOSITION)
+		       .append("},{").append(ProductFeatureModel.PK).append("}");
+
+		if (LOG.isDebugEnabled())
+		{
+			LOG.debug("Sql query: [" + builder.toString() + "], Params: [" + params + "]");
+		}
+
+		final FlexibleSearchQuery fQuery = new FlexibleSearchQuery(builder.toString());
+		fQuery.addQueryParameters(params);
+		fQuery.setResultClassList(Arrays.asList(ProductFeatureModel.class, PK.class, PK.class));
+
+		final SearchResult<List<Object>> searchResult = flexibleSearchService.search(fQuery);
+		return searchResult.getResult();
+	}
+
 	@Override
 	public List<Integer> getProductFeatureMaxValuePosition(final ProductModel product,
 	                                                       final ClassAttributeAssignmentModel assignment)
@@ -0,0 +1,288 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.classification.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Index of the product features of all products linked to the categories of one catalog version. Each product gets a
+ * dense id, so the products of a category and the products having a feature value are kept as bit sets and a filter is
+ * answered by intersecting them.
+ * <p>
+ * The index is not thread safe, {@link ClassificationFilterIndexCache} guards all access.
+ */
+final class ClassificationFilterIndex
+{
+	private final Map<Long, Integer> productIds = new HashMap<>();
+	private long[] products = new long[16];
+
+	// category PK -> ids of the products directly linked to it
+	private final Map<Long, BitSet> productsByCategory = new HashMap<>();
+
+	// assignment PK -> values of this assignment
+	private final Map<Long, Map<ValueKey, FeatureValues>> valuesByAssignment = new HashMap<>();
+
+	// product feature PK -> its row, needed to remove changed features
+	private final Map<Long, FeatureRow> features = new HashMap<>();
+
+	/**
+	 * Adds a link between a category and a product.
+	 */
+	void addLink(final long category, final long product)
+	{
+		Integer id = productIds.get(Long.valueOf(product));
+		if (id == null)
+		{
+			id = Integer.valueOf(productIds.size());
+			productIds.put(Long.valueOf(product), id);
+			if (id.intValue() == products.length)
+			{
+				products = Arrays.copyOf(products, products.length * 2);
+			}
+			products[id.intValue()] = product;
+		}
+		productsByCategory.computeIfAbsent(Long.valueOf(category), c -> new BitSet()).set(id.intValue());
+	}
+
+	/**
+	 * Adds or replaces a product feature. Features of products not linked to any category of the index are ignored.
+	 *
+	 * @param value the value of the feature, the PK for item values
+	 */
+	void addFeature(final long feature, final long product, final long assignment, final Object value, final Long unit)
+	{
+		removeFeature(feature);
+		final Integer id = productIds.get(Long.valueOf(product));
+		if (id == null)
+		{
+			return;
+		}
+		final FeatureValues values = valuesByAssignment.computeIfAbsent(Long.valueOf(assignment), a -> new HashMap<>())
+		                                               .computeIfAbsent(new ValueKey(value, unit),
+				                                               k -> new FeatureValues(value, unit));
+		values.addRow(id.intValue());
+		features.put(Long.valueOf(feature), new FeatureRow(id.intValue(), assignment, values));
+	}
+
+	void removeFeature(final long feature)
+	{
+		final FeatureRow row = features.remove(Long.valueOf(feature));
+		if (row != null && row.values.removeRow(row.product))
+		{
+			final Map<ValueKey, FeatureValues> values = valuesByAssignment.get(Long.valueOf(row.assignment));
+			values.remove(new ValueKey(row.values.value, row.values.unit));
+			if (values.isEmpty())
+			{
+				valuesByAssignment.remove(Long.valueOf(row.assignment));
+			}
+		}
+	}
+
+	int size()
+	{
+		return features.size();
+	}
+
+	/**
+	 * @return the products linked directly to any of the given categories
+	 */
+	BitSet getProducts(final Collection<Long> categories)
+	{
+		final BitSet result = new BitSet(productIds.size());
+		for (final Long category : categories)
+		{
+			final BitSet linked = productsByCategory.get(category);
+			if (linked != null)
+			{
+				result.or(linked);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all products from the given set which have no feature of the assignment with the given value.
+	 */
+	void retainProducts(final BitSet products, final long assignment, final Object value)
+	{
+		final BitSet matching = new BitSet(productIds.size());
+		for (final FeatureValues values : getValues(assignment))
+		{
+			if (values.value.equals(value))
+			{
+				matching.or(values.products);
+			}
+		}
+		products.and(matching);
+	}
+
+	/**
+	 * @return all values of the given assignment with their units
+	 */
+	Collection<FeatureValues> getValues(final long assignment)
+	{
+		final Map<ValueKey, FeatureValues> values = valuesByAssignment.get(Long.valueOf(assignment));
+		return values == null ? Collections.emptyList() : new ArrayList<>(values.values());
+	}
+
+	long[] toPks(final BitSet ids)
+	{
+		final long[] pks = new long[ids.cardinality()];
+		int i = 0;
+		for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1))
+		{
+			pks[i++] = products[id];
+		}
+		return pks;
+	}
+
+	/**
+	 * The products having a feature with a certain value and unit. A product may have several such features, e.g. one
+	 * per language, which are counted separately like the rows of a database query would be.
+	 */
+	static final class FeatureValues
+	{
+		private final Object value;
+		private final Long unit;
+		private final BitSet products = new BitSet();
+		// product id -> number of rows beyond the first one
+		private Map<Integer, Integer> extraRows;
+
+		private FeatureValues(final Object value, final Long unit)
+		{
+			this.value = value;
+			this.unit = unit;
+		}
+
+		Object getValue()
+		{
+			return value;
+		}
+
+		Long getUnit()
+		{
+			return unit;
+		}
+
+		/**
+		 * @return the number of features with this value of the given products
+		 */
+		long count(final BitSet filter)
+		{
+			final BitSet matching = (BitSet) products.clone();
+			matching.and(filter);
+			long count = matching.cardinality();
+			if (extraRows != null)
+			{
+				for (final Map.Entry<Integer, Integer> entry : extraRows.entrySet())
+				{
+					if (filter.get(entry.getKey().intValue()))
+					{
+						count += entry.getValue().intValue();
+					}
+				}
+			}
+			return count;
+		}
+
+		private void addRow(final int product)
+		{
+			if (products.get(product))
+			{
+				if (extraRows == null)
+				{
+					extraRows = new HashMap<>();
+				}
+				extraRows.merge(Integer.valueOf(product), Integer.valueOf(1), Integer::sum);
+			}
+			else
+			{
+				products.set(product);
+			}
+		}
+
+		/**
+		 * @return <code>true</code> if no product is left
+		 */
+		private boolean removeRow(final int product)
+		{
+			final Integer extra = extraRows == null ? null : extraRows.get(Integer.valueOf(product));
+			if (extra == null)
+			{
+				products.clear(product);
+			}
+			else if (extra.intValue() == 1)
+			{
+				extraRows.remove(Integer.valueOf(product));
+			}
+			else
+			{
+				extraRows.put(Integer.valueOf(product), Integer.valueOf(extra.intValue() - 1));
+			}
+			return products.isEmpty();
+		}
+	}
+
+	private static final class FeatureRow
+	{
+		private final int product;
+		private final long assignment;
+		private final FeatureValues values;
+
+		private FeatureRow(final int product, final long assignment, final FeatureValues values)
+		{
+			this.product = product;
+			this.assignment = assignment;
+			this.values = values;
+		}
+	}
+
+	private static final class ValueKey
+	{
+		private final Object value;
+		private final Long unit;
+
+		private ValueKey(final Object value, final Long unit)
+		{
+			this.value = value;
+			this.unit = unit;
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (this == o)
+			{
+				return true;
+			}
+			if (!(o instanceof ValueKey))
+			{
+				return false;
+			}
+			final ValueKey other = (ValueKey) o;
+			return value.equals(other.value) && Objects.equals(unit, other.unit);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * value.hashCode() + Objects.hashCode(unit);
+		}
+	}
+}
@@ -0,0 +1,445 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.classification.impl;
+
+import de.hybris.platform.cache.Cache;
+import de.hybris.platform.cache.InvalidationListener;
+import de.hybris.platform.cache.InvalidationManager;
+import de.hybris.platform.cache.InvalidationTarget;
+import de.hybris.platform.cache.InvalidationTopic;
+import de.hybris.platform.cache.RemoteInvalidationSource;
+import de.hybris.platform.catalog.enums.ClassificationAttributeTypeEnum;
+import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.catalog.model.ProductFeatureModel;
+import de.hybris.platform.catalog.model.classification.ClassAttributeAssignmentModel;
+import de.hybris.platform.catalog.model.classification.ClassificationAttributeUnitModel;
+import de.hybris.platform.category.constants.CategoryConstants;
+import de.hybris.platform.category.model.CategoryModel;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.model.ItemModel;
+import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
+import de.hybris.platform.servicelayer.search.SearchResult;
+import de.hybris.platform.tx.Transaction;
+import de.hybris.platform.util.Config;
+import de.hybris.platform.util.Utilities;
+import de.hybris.platform.util.typesystem.PlatformStringUtils;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Required;
+
+import com.google.common.collect.Lists;
+
+
+/**
+ * Holds the {@link ClassificationFilterIndex}es used by {@link DefaultClassificationService#getProductsByFilter} if
+ * enabled by <code>classification.filter.index</code>, one per catalog version of the filtered categories. Changed
+ * product features are applied to the indexes one by one, changed category product links reload them. The indexes
+ * reflect the persisted features only and do not apply search restrictions.
+ */
+public class ClassificationFilterIndexCache
+{
+	private static final Logger LOG = Logger.getLogger(ClassificationFilterIndexCache.class);
+
+	public static final String KEY_INDEX = "classification.filter.index";
+	public static final String KEY_INCREMENTAL_THRESHOLD = "classification.filter.index.incremental.threshold";
+	private static final int DEFAULT_INCREMENTAL_THRESHOLD = 1000;
+	private static final int QUERY_CHUNK_SIZE = 1000;
+
+	private static final String LINKED_PRODUCTS = "SELECT {l.target} FROM {" + CategoryConstants.Relations.CATEGORYPRODUCTRELATION
+			+ " AS l JOIN " + CategoryModel._TYPECODE + " AS c ON {l.source} = {c.pk} } WHERE {c." + CategoryModel.CATALOGVERSION
+			+ "} = ?catalogVersion";
+	private static final String LINKS_QUERY = "SELECT {l.source}, {l.target} FROM {"
+			+ CategoryConstants.Relations.CATEGORYPRODUCTRELATION + " AS l JOIN " + CategoryModel._TYPECODE
+			+ " AS c ON {l.source} = {c.pk} } WHERE {c." + CategoryModel.CATALOGVERSION + "} = ?catalogVersion";
+
+	private FlexibleSearchService flexibleSearchService;
+	private ModelService modelService;
+
+	// guarded by lock, written only with the write lock held
+	private final Map<PK, ClassificationFilterIndex> indexes = new ConcurrentHashMap<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	//incremented by each full invalidation - indexes loaded for an older generation have to be reloaded
+	private final AtomicLong invalidationGeneration = new AtomicLong();
+	private volatile long indexGeneration = -1;
+
+	private final Set<PK> pendingFeatureChanges = ConcurrentHashMap.newKeySet();
+
+	private final InvalidationListener invalidationListener = new InvalidationListener()
+	{
+		private final String productFeatureTypeCode = PlatformStringUtils.valueOf(611);
+		private final String categoryProductRelationTypeCode = PlatformStringUtils.valueOf(143);
+
+		@Override
+		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
+		                           final RemoteInvalidationSource remoteSrc)
+		{
+			if (productFeatureTypeCode.equals(key[2]))
+			{
+				featureInvalidated(key);
+			}
+			else if (categoryProductRelationTypeCode.equals(key[2]))
+			{
+				invalidateIndexes();
+			}
+		}
+	};
+
+	@PostConstruct
+	public void init()
+	{
+		final InvalidationTopic topic = InvalidationManager.getInstance().getInvalidationTopic(new String[]
+				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
+		topic.addInvalidationListener(invalidationListener);
+	}
+
+	/**
+	 * Records a changed product feature to be applied to the indexes. Falls back to reloading them if the feature cannot
+	 * be identified or too many changes are pending.
+	 */
+	void featureInvalidated(final Object[] key)
+	{
+		if (key.length > 3 && key[3] instanceof PK)
+		{
+			pendingFeatureChanges.add((PK) key[3]);
+			if (pendingFeatureChanges.size() <= getIncrementalThreshold())
+			{
+				return;
+			}
+		}
+		invalidateIndexes();
+	}
+
+	public void invalidateIndexes()
+	{
+		invalidationGeneration.incrementAndGet();
+	}
+
+	/**
+	 * The indexes are not used within transactions, as they neither see uncommitted features nor would they notice a
+	 * rollback.
+	 */
+	public boolean isEnabled()
+	{
+		return Config.getBoolean(KEY_INDEX, false) && !Transaction.current().isRunning();
+	}
+
+	/**
+	 * Finds the products of the category and its sub categories matching all given attribute values, together with the
+	 * values of the given assignments among these products.
+	 *
+	 * @return the result or <code>null</code> if the category cannot be looked up in an index
+	 */
+	public Result filter(final CategoryModel category, final Collection<ClassAttributeAssignmentModel> assignments,
+	                     final Map<ClassAttributeAssignmentModel, Object> attributeValues)
+	{
+		final CatalogVersionModel catalogVersion = category.getCatalogVersion();
+		if (category.getPk() == null || catalogVersion == null || catalogVersion.getPk() == null)
+		{
+			return null;
+		}
+		final Set<Long> categories = new HashSet<>();
+		categories.add(Long.valueOf(category.getPk().getLongValue()));
+		for (final CategoryModel subcategory : category.getAllSubcategories())
+		{
+			categories.add(Long.valueOf(subcategory.getPk().getLongValue()));
+		}
+
+		prepareIndex(catalogVersion.getPk());
+
+		final long[] products;
+		final List<Object[]> values = new ArrayList<>();
+		lock.readLock().lock();
+		try
+		{
+			final ClassificationFilterIndex index = indexes.get(catalogVersion.getPk());
+			if (index == null)
+			{
+				return null;
+			}
+			final BitSet matching = index.getProducts(categories);
+			for (final Map.Entry<ClassAttributeAssignmentModel, Object> entry : attributeValues.entrySet())
+			{
+				index.retainProducts(matching, entry.getKey().getPk().getLongValue(), toIndexValue(entry.getValue()));
+			}
+			products = index.toPks(matching);
+			for (final ClassAttributeAssignmentModel assignment : assignments)
+			{
+				for (final ClassificationFilterIndex.FeatureValues featureValues : index.getValues(assignment.getPk().getLongValue()))
+				{
+					final long count = featureValues.count(matching);
+					if (count > 0)
+					{
+						values.add(new Object[]
+								{ assignment, featureValues.getValue(), featureValues.getUnit(), Long.valueOf(count) });
+					}
+				}
+			}
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+		return new Result(products, toPossibleAttributeValues(values));
+	}
+
+	private List<PossibleAttributeValue> toPossibleAttributeValues(final List<Object[]> values)
+	{
+		final List<PossibleAttributeValue> result = new ArrayList<>(values.size());
+		for (final Object[] value : values)
+		{
+			final Object attributeValue = value[1] instanceof PK ? modelService.get((PK) value[1]) : value[1];
+			final ClassificationAttributeUnitModel unit = value[2] == null ? null
+					: (ClassificationAttributeUnitModel) modelService.get(PK.fromLong(((Long) value[2]).longValue()));
+			result.add(new PossibleAttributeValue((ClassAttributeAssignmentModel) value[0], attributeValue, unit, (Long) value[3]));
+		}
+		return result;
+	}
+
+	/**
+	 * Item values are kept by their PK and numbers as doubles, like the filter values are converted from strings.
+	 */
+	private static Object toIndexValue(final Object value)
+	{
+		if (value instanceof ItemModel)
+		{
+			return ((ItemModel) value).getPk();
+		}
+		else if (value instanceof Number)
+		{
+			return Double.valueOf(((Number) value).doubleValue());
+		}
+		return value;
+	}
+
+	/**
+	 * Makes sure the index of the catalog version is loaded and all pending changes are applied.
+	 */
+	private void prepareIndex(final PK catalogVersion)
+	{
+		if (indexGeneration == invalidationGeneration.get() && pendingFeatureChanges.isEmpty()
+				&& indexes.containsKey(catalogVersion))
+		{
+			return;
+		}
+		lock.writeLock().lock();
+		try
+		{
+			final long generation = invalidationGeneration.get();
+			if (indexGeneration != generation)
+			{
+				indexes.clear();
+				pendingFeatureChanges.clear();
+				indexGeneration = generation;
+			}
+			applyPendingChanges();
+			if (!indexes.containsKey(catalogVersion))
+			{
+				indexes.put(catalogVersion, loadIndex(catalogVersion));
+			}
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void applyPendingChanges()
+	{
+		final Set<PK> changes = new HashSet<>(pendingFeatureChanges);
+		pendingFeatureChanges.removeAll(changes);
+		if (changes.isEmpty() || indexes.isEmpty())
+		{
+			return;
+		}
+		try
+		{
+			final List<List<Object>> rows = new ArrayList<>();
+			for (final List<PK> chunk : Lists.partition(new ArrayList<>(changes), QUERY_CHUNK_SIZE))
+			{
+				rows.addAll(searchFeatures("{pf." + ProductFeatureModel.PK + "} IN (?pks)", Collections.singletonMap("pks", chunk)));
+			}
+			final Map<PK, ClassificationAttributeTypeEnum> attributeTypes = new HashMap<>();
+			for (final ClassificationFilterIndex index : indexes.values())
+			{
+				for (final PK feature : changes)
+				{
+					index.removeFeature(feature.getLongValue());
+				}
+				for (final List<Object> row : rows)
+				{
+					addFeature(index, row, attributeTypes);
+				}
+			}
+		}
+		catch (final RuntimeException e)
+		{
+			pendingFeatureChanges.addAll(changes);
+			throw e;
+		}
+	}
+
+	private ClassificationFilterIndex loadIndex(final PK catalogVersion)
+	{
+		final ClassificationFilterIndex index = new ClassificationFilterIndex();
+		final Map<String, Object> params = Collections.<String, Object> singletonMap("catalogVersion", catalogVersion);
+
+		final FlexibleSearchQuery linksQuery = new FlexibleSearchQuery(LINKS_QUERY, params);
+		linksQuery.setResultClassList(Arrays.asList(PK.class, PK.class));
+		final SearchResult<List<PK>> links = flexibleSearchService.search(linksQuery);
+		for (final List<PK> link : links.getResult())
+		{
+			index.addLink(link.get(0).getLongValue(), link.get(1).getLongValue());
+		}
+
+		final Map<PK, ClassificationAttributeTypeEnum> attributeTypes = new HashMap<>();
+		for (final List<Object> row : searchFeatures("{pf." + ProductFeatureModel.PRODUCT + "} IN ({{" + LINKED_PRODUCTS + "}})",
+				params))
+		{
+			addFeature(index, row, attributeTypes);
+		}
+		LOG.debug("Loaded classification filter index of catalog version " + catalogVersion + " with " + index.size()
+				+ " product features");
+		return index;
+	}
+
+	private List<List<Object>> searchFeatures(final String condition, final Map<String, ?> params)
+	{
+		final String stringValue = Config.isOracleUsed() || Config.isHanaUsed() ? "to_char({pf." + ProductFeatureModel.STRINGVALUE
+				+ "})" : "{pf." + ProductFeatureModel.STRINGVALUE + "}";
+		final String query = "SELECT {pf." + ProductFeatureModel.PK + "}, {pf." + ProductFeatureModel.PRODUCT + "}, {pf."
+				+ ProductFeatureModel.CLASSIFICATIONATTRIBUTEASSIGNMENT + "}, " + stringValue + ", {pf." + ProductFeatureModel.UNIT
+				+ "} FROM {" + ProductFeatureModel._TYPECODE + " AS pf} WHERE {pf."
+				+ ProductFeatureModel.CLASSIFICATIONATTRIBUTEASSIGNMENT + "} IS NOT NULL AND " + condition;
+		final FlexibleSearchQuery fsq = new FlexibleSearchQuery(query, params);
+		fsq.setResultClassList(Arrays.asList(PK.class, PK.class, PK.class, String.class, PK.class));
+		final SearchResult<List<Object>> result = flexibleSearchService.search(fsq);
+		return result.getResult();
+	}
+
+	private void addFeature(final ClassificationFilterIndex index, final List<Object> row,
+	                        final Map<PK, ClassificationAttributeTypeEnum> attributeTypes)
+	{
+		final PK feature = (PK) row.get(0);
+		final PK assignment = (PK) row.get(2);
+		final String stringValue = (String) row.get(3);
+		final PK unit = (PK) row.get(4);
+		if (stringValue == null)
+		{
+			index.removeFeature(feature.getLongValue());
+			return;
+		}
+		final ClassificationAttributeTypeEnum attributeType = attributeTypes.computeIfAbsent(assignment,
+				pk -> ((ClassAttributeAssignmentModel) modelService.get(pk)).getAttributeType());
+		try
+		{
+			index.addFeature(feature.getLongValue(), ((PK) row.get(1)).getLongValue(), assignment.getLongValue(),
+					convertValue(attributeType, stringValue), unit == null ? null : Long.valueOf(unit.getLongValue()));
+		}
+		catch (final ParseException | RuntimeException e)
+		{
+			LOG.warn("Ignoring invalid value '" + stringValue + "' of product feature " + feature + ": " + e.getMessage());
+			index.removeFeature(feature.getLongValue());
+		}
+	}
+
+	/**
+	 * Converts the string value of a product feature like {@link de.hybris.platform.classification.daos.ClassificationDao}
+	 * does, keeping item values as PKs.
+	 */
+	private static Object convertValue(final ClassificationAttributeTypeEnum attributeType, final String stringValue)
+			throws ParseException
+	{
+		if (attributeType == null)
+		{
+			return stringValue;
+		}
+		switch (attributeType)
+		{
+			case BOOLEAN:
+				return Boolean.valueOf(stringValue);
+			case ENUM:
+				return PK.parse(stringValue);
+			case NUMBER:
+				return Double.valueOf(stringValue);
+			case DATE:
+				return Utilities.getDateTimeInstance().parse(stringValue);
+			default:
+				return stringValue;
+		}
+	}
+
+	protected int getIncrementalThreshold()
+	{
+		return Config.getInt(KEY_INCREMENTAL_THRESHOLD, DEFAULT_INCREMENTAL_THRESHOLD);
+	}
+
+	@Required
+	public void setFlexibleSearchService(final FlexibleSearchService flexibleSearchService)
+	{
+		this.flexibleSearchService = flexibleSearchService;
+	}
+
+	@Required
+	public void setModelService(final ModelService modelService)
+	{
+		this.modelService = modelService;
+	}
+
+	/**
+	 * The products matching a filter and the values found among them.
+	 */
+	public static final class Result
+	{
+		private final long[] products;
+		private final List<PossibleAttributeValue> possibleAttributeValues;
+
+		private Result(final long[] products, final List<PossibleAttributeValue> possibleAttributeValues)
+		{
+			this.products = products;
+			this.possibleAttributeValues = possibleAttributeValues;
+		}
+
+		public List<PK> getProducts()
+		{
+			final List<PK> pks = new ArrayList<>(products.length);
+			for (final long product : products)
+			{
+				pks.add(PK.fromLong(product));
+			}
+			return pks;
+		}
+
+		public List<PossibleAttributeValue> getPossibleAttributeValues()
+		{
+			return possibleAttributeValues;
+		}
+	}
+}
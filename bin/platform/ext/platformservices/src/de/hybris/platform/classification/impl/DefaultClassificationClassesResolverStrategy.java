@@ -12,18 +12,32 @@ package de.hybris.platform.classification.impl;
 
 import static de.hybris.platform.servicelayer.util.ServicesUtil.validateParameterNotNull;
 
+import de.hybris.platform.cache.Cache;
+import de.hybris.platform.cache.InvalidationListener;
+import de.hybris.platform.cache.InvalidationManager;
+import de.hybris.platform.cache.InvalidationTarget;
+import de.hybris.platform.cache.InvalidationTopic;
+import de.hybris.platform.cache.RemoteInvalidationSource;
 import de.hybris.platform.catalog.CatalogVersionService;
 import de.hybris.platform.catalog.model.classification.ClassAttributeAssignmentModel;
 import de.hybris.platform.catalog.model.classification.ClassificationClassModel;
 import de.hybris.platform.catalog.model.classification.ClassificationSystemVersionModel;
 import de.hybris.platform.category.model.CategoryModel;
 import de.hybris.platform.classification.ClassificationClassesResolverStrategy;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.Tenant;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.tx.Transaction;
 import de.hybris.platform.util.Config;
+import de.hybris.platform.util.config.ConfigIntf;
+import de.hybris.platform.util.typesystem.PlatformStringUtils;
 import de.hybris.platform.variants.model.VariantProductModel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -33,6 +47,11 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.factory.annotation.Required;
@@ -43,7 +62,52 @@ import org.springframework.beans.factory.annotation.Required;
  */
 public class DefaultClassificationClassesResolverStrategy implements ClassificationClassesResolverStrategy
 {
+	public static final String KEY_CACHE = "classification.resolve.classes.cache";
+	public static final String KEY_CACHE_MAX_SIZE = "classification.resolve.classes.cache.maxsize";
+	public static final String KEY_RESOLVE_MODE = "classification.resolve.classes.mode";
+	private static final int DEFAULT_CACHE_MAX_SIZE = 10000;
+	private static final Set<String> CONFIG_KEYS = new HashSet<>(Arrays.asList(KEY_CACHE, KEY_CACHE_MAX_SIZE, KEY_RESOLVE_MODE));
+
 	private CatalogVersionService catalogVersionService;
+	private ModelService modelService;
+
+	//direct super categories + system versions + mode -> PKs of the resolved classes
+	private final Map<ResolvedClassesKey, long[]> resolvedClasses = new ConcurrentHashMap<>();
+	//incremented by each invalidation - classes resolved meanwhile are not cached
+	private final AtomicLong invalidationGeneration = new AtomicLong();
+
+	// read once in init() and refreshed by the config listener, not on every call
+	private volatile boolean cachingEnabled = false;
+	private volatile int cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+	private volatile boolean includingOnlyClosestClasses = false;
+
+	private final ConfigIntf.ConfigChangeListener configChangeListener = new ConfigIntf.ConfigChangeListener()
+	{
+		@Override
+		public void configChanged(final String key, final String newValue)
+		{
+			if (CONFIG_KEYS.contains(key))
+			{
+				readConfiguration();
+			}
+		}
+	};
+
+	private final InvalidationListener invalidationListener = new InvalidationListener()
+	{
+		private final String categoryTypeCode = PlatformStringUtils.valueOf(142);
+		private final String categoryCategoryRelationTypeCode = PlatformStringUtils.valueOf(144);
+
+		@Override
+		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
+		                           final RemoteInvalidationSource remoteSrc)
+		{
+			if (categoryTypeCode.equals(key[2]) || categoryCategoryRelationTypeCode.equals(key[2]))
+			{
+				invalidateCache();
+			}
+		}
+	};
 
 	private final SuperCategoriesResolver<ProductModel> productSuperCatResolver = new SuperCategoriesResolver<ProductModel>()
 	{
@@ -193,101 +257,209 @@ public class DefaultClassificationClassesResolverStrategy implements Classificat
 		else
 		{
 			final boolean includeOnlyClosestClasses = isIncludingOnlyClosestClasses();
+			final long generation = invalidationGeneration.get();
+			final Set<CategoryModel> superCategories = scr.getSuperCategories(item);
 
-			Set<CategoryModel> touchedCategorieModels = null;
-			Set<ClassificationClassModel> returnCCModels = null;
-			final Map<ClassificationSystemVersionModel, Set<ClassificationClassModel>> permittedVersions = new HashMap<ClassificationSystemVersionModel, Set<ClassificationClassModel>>();
-			for (final ClassificationSystemVersionModel clSysVer : systemVersions)
+			final ResolvedClassesKey key = isCacheable() ? ResolvedClassesKey.create(superCategories, systemVersions,
+					includeOnlyClosestClasses) : null;
+			if (key != null)
 			{
-				permittedVersions.put(clSysVer, null);
+				final long[] cached = resolvedClasses.get(key);
+				if (cached != null)
+				{
+					return toClassificationClasses(cached);
+				}
 			}
-			Set<CategoryModel> currentCategoriesLevel = scr.getSuperCategories(item);
-			while (currentCategoriesLevel != null && !currentCategoriesLevel.isEmpty() && !permittedVersions.isEmpty())
+
+			final Set<ClassificationClassModel> classes = resolveClasses(superCategories, systemVersions,
+					includeOnlyClosestClasses);
+			if (key != null && classes.stream().allMatch(c -> c.getPk() != null))
 			{
-				Set<CategoryModel> nextCategoriesLevel = null;
-				for (final CategoryModel category : currentCategoriesLevel)
+				if (resolvedClasses.size() >= getCacheMaxSize())
 				{
-					// avoid endless turns due to cycles using a control set
-					if (touchedCategorieModels == null)
-					{
-						touchedCategorieModels = new HashSet<CategoryModel>();
-						touchedCategorieModels.add(category);
-					}
-					else if (!touchedCategorieModels.add(category))
-					{
-						continue; // skip this category since we've ran across it before
-					}
+					resolvedClasses.clear();
+				}
+				resolvedClasses.put(key, classes.stream().mapToLong(c -> c.getPk().getLongValue()).toArray());
+				// do not keep classes which may have missed an invalidation while resolving
+				if (generation != invalidationGeneration.get())
+				{
+					resolvedClasses.remove(key);
+				}
+			}
+			return classes;
+		}
+	}
+
+	/**
+	 * Walks the super categories level by level, collecting the classification classes of the given system versions.
+	 */
+	private Set<ClassificationClassModel> resolveClasses(final Set<CategoryModel> superCategories,
+	                                                     final Collection<ClassificationSystemVersionModel> systemVersions,
+	                                                     final boolean includeOnlyClosestClasses)
+	{
+		Set<CategoryModel> touchedCategorieModels = null;
+		Set<ClassificationClassModel> returnCCModels = null;
+		final Map<ClassificationSystemVersionModel, Set<ClassificationClassModel>> permittedVersions = new HashMap<ClassificationSystemVersionModel, Set<ClassificationClassModel>>();
+		for (final ClassificationSystemVersionModel clSysVer : systemVersions)
+		{
+			permittedVersions.put(clSysVer, null);
+		}
+		Set<CategoryModel> currentCategoriesLevel = superCategories;
+		while (currentCategoriesLevel != null && !currentCategoriesLevel.isEmpty() && !permittedVersions.isEmpty())
+		{
+			Set<CategoryModel> nextCategoriesLevel = null;
+			for (final CategoryModel category : currentCategoriesLevel)
+			{
+				// avoid endless turns due to cycles using a control set
+				if (touchedCategorieModels == null)
+				{
+					touchedCategorieModels = new HashSet<CategoryModel>();
+					touchedCategorieModels.add(category);
+				}
+				else if (!touchedCategorieModels.add(category))
+				{
+					continue; // skip this category since we've ran across it before
+				}
 
-					// filter by system if required
-					if (category instanceof ClassificationClassModel)
+				// filter by system if required
+				if (category instanceof ClassificationClassModel)
+				{
+					final ClassificationClassModel cCcategory = (ClassificationClassModel) category;
+					final ClassificationSystemVersionModel clVer = cCcategory.getCatalogVersion();
+					if (permittedVersions.containsKey(clVer))
 					{
-						final ClassificationClassModel cCcategory = (ClassificationClassModel) category;
-						final ClassificationSystemVersionModel clVer = cCcategory.getCatalogVersion();
-						if (permittedVersions.containsKey(clVer))
+						// only closest: needs some extra work to collect classes for that version on *this* level only ( see below )
+						if (includeOnlyClosestClasses)
 						{
-							// only closest: needs some extra work to collect classes for that version on *this* level only ( see below )
-							if (includeOnlyClosestClasses)
+							Set<ClassificationClassModel> matchSet = permittedVersions.get(clVer);
+							if (matchSet == null)
 							{
-								Set<ClassificationClassModel> matchSet = permittedVersions.get(clVer);
-								if (matchSet == null)
-								{
-									permittedVersions.put(clVer, matchSet = new LinkedHashSet<ClassificationClassModel>());
-								}
-								matchSet.add(cCcategory);
+								permittedVersions.put(clVer, matchSet = new LinkedHashSet<ClassificationClassModel>());
 							}
-							// all: we can add them to the result right away
-							else
+							matchSet.add(cCcategory);
+						}
+						// all: we can add them to the result right away
+						else
+						{
+							if (returnCCModels == null)
 							{
-								if (returnCCModels == null)
-								{
-									returnCCModels = new LinkedHashSet<ClassificationClassModel>();
-								}
-								returnCCModels.add(cCcategory);
+								returnCCModels = new LinkedHashSet<ClassificationClassModel>();
 							}
+							returnCCModels.add(cCcategory);
 						}
-						continue; // never add a classification class super category to next level
 					}
-					// no need to go further if at least one class has been found on this level
-					else
+					continue; // never add a classification class super category to next level
+				}
+				// no need to go further if at least one class has been found on this level
+				else
+				{
+					if (nextCategoriesLevel == null)
 					{
-						if (nextCategoriesLevel == null)
-						{
-							nextCategoriesLevel = new LinkedHashSet<CategoryModel>();
-						}
-						nextCategoriesLevel.addAll(category.getSupercategories());
+						nextCategoriesLevel = new LinkedHashSet<CategoryModel>();
 					}
+					nextCategoriesLevel.addAll(category.getSupercategories());
 				}
+			}
 
-				if (includeOnlyClosestClasses)
+			if (includeOnlyClosestClasses)
+			{
+				/*
+				 * now prune all matching versions to avoid finding classes for them within next level
+				 */
+				for (final Iterator<Map.Entry<ClassificationSystemVersionModel, Set<ClassificationClassModel>>> it = permittedVersions
+						.entrySet().iterator(); it.hasNext(); )
 				{
-					/*
-					 * now prune all matching versions to avoid finding classes for them within next level
-					 */
-					for (final Iterator<Map.Entry<ClassificationSystemVersionModel, Set<ClassificationClassModel>>> it = permittedVersions
-							.entrySet().iterator(); it.hasNext(); )
+					if (returnCCModels == null)
 					{
-						if (returnCCModels == null)
-						{
-							returnCCModels = new LinkedHashSet<ClassificationClassModel>();
-						}
-						final Map.Entry<ClassificationSystemVersionModel, Set<ClassificationClassModel>> mapentry = it.next();
-						if (mapentry.getValue() != null && !mapentry.getValue().isEmpty())
-						{
-							returnCCModels.addAll(mapentry.getValue());
-							it.remove(); // stop looking for classes for this version ( since we just want 'closest' classes )
-						}
+						returnCCModels = new LinkedHashSet<ClassificationClassModel>();
+					}
+					final Map.Entry<ClassificationSystemVersionModel, Set<ClassificationClassModel>> mapentry = it.next();
+					if (mapentry.getValue() != null && !mapentry.getValue().isEmpty())
+					{
+						returnCCModels.addAll(mapentry.getValue());
+						it.remove(); // stop looking for classes for this version ( since we just want 'closest' classes )
 					}
 				}
-				currentCategoriesLevel = nextCategoriesLevel;
 			}
-			return returnCCModels == null ? Collections.EMPTY_SET : returnCCModels;
+			currentCategoriesLevel = nextCategoriesLevel;
+		}
+		return returnCCModels == null ? Collections.EMPTY_SET : returnCCModels;
+	}
+
+	private Set<ClassificationClassModel> toClassificationClasses(final long[] pks)
+	{
+		if (pks.length == 0)
+		{
+			return Collections.EMPTY_SET;
 		}
+		final Set<ClassificationClassModel> classes = new LinkedHashSet<ClassificationClassModel>(pks.length * 2);
+		for (final long pk : pks)
+		{
+			classes.add((ClassificationClassModel) modelService.get(PK.fromLong(pk)));
+		}
+		return classes;
+	}
+
+	void invalidateCache()
+	{
+		invalidationGeneration.incrementAndGet();
+		resolvedClasses.clear();
+	}
+
+	/**
+	 * Resolved classes are cached if enabled by <code>classification.resolve.classes.cache</code>, but not within
+	 * transactions, as a rollback would not be noticed.
+	 */
+	protected boolean isCacheable()
+	{
+		return modelService != null && cachingEnabled && !Transaction.current().isRunning();
+	}
+
+	protected int getCacheMaxSize()
+	{
+		return cacheMaxSize;
+	}
+
+	@PostConstruct
+	public void init()
+	{
+		getInvalidationTopic().addInvalidationListener(invalidationListener);
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			readConfiguration();
+			tenant.getConfig().registerConfigChangeListener(configChangeListener);
+		}
+	}
+
+	@PreDestroy
+	public void destroy()
+	{
+		getInvalidationTopic().removeInvalidationListener(invalidationListener);
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			tenant.getConfig().unregisterConfigChangeListener(configChangeListener);
+		}
+	}
+
+	private InvalidationTopic getInvalidationTopic()
+	{
+		return InvalidationManager.getInstance().getInvalidationTopic(new String[]
+				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
+	}
+
+	private void readConfiguration()
+	{
+		cachingEnabled = Config.getBoolean(KEY_CACHE, false);
+		cacheMaxSize = Config.getInt(KEY_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+		includingOnlyClosestClasses = "closest".equalsIgnoreCase(Config.getParameter(KEY_RESOLVE_MODE));
+		invalidateCache();
 	}
 
 	protected boolean isIncludingOnlyClosestClasses()
 	{
-		return "closest".equalsIgnoreCase(Config
-				.getParameter("classification.resolve.classes.mode"));
+		return includingOnlyClosestClasses;
 	}
 
 	/**
@@ -307,6 +479,14 @@ public class DefaultClassificationClassesResolverStrategy implements Classificat
 		this.catalogVersionService = catalogVersionService;
 	}
 
+	/**
+	 * Sets the model service used to load cached classes. Without it nothing is cached.
+	 */
+	public void setModelService(final ModelService modelService)
+	{
+		this.modelService = modelService;
+	}
+
 	@Override
 	public List<ClassAttributeAssignmentModel> getAllClassAttributeAssignments(
 			final Set<ClassificationClassModel> classificationClasses)
@@ -349,4 +529,74 @@ public class DefaultClassificationClassesResolverStrategy implements Classificat
 			return Collections.EMPTY_LIST;
 		}
 	}
+
+	private static final class ResolvedClassesKey
+	{
+		private final long[] superCategories;
+		private final long[] systemVersions;
+		private final boolean includeOnlyClosestClasses;
+
+		private ResolvedClassesKey(final long[] superCategories, final long[] systemVersions,
+		                           final boolean includeOnlyClosestClasses)
+		{
+			this.superCategories = superCategories;
+			this.systemVersions = systemVersions;
+			this.includeOnlyClosestClasses = includeOnlyClosestClasses;
+		}
+
+		/**
+		 * @return the key or <code>null</code> if any of the categories or versions has not been saved yet
+		 */
+		private static ResolvedClassesKey create(final Set<CategoryModel> superCategories,
+		                                         final Collection<ClassificationSystemVersionModel> systemVersions,
+		                                         final boolean includeOnlyClosestClasses)
+		{
+			// the order of the super categories determines the order of the classes, so it is kept
+			final long[] categoryPks = new long[superCategories.size()];
+			int i = 0;
+			for (final CategoryModel category : superCategories)
+			{
+				if (category.getPk() == null)
+				{
+					return null;
+				}
+				categoryPks[i++] = category.getPk().getLongValue();
+			}
+			final long[] versionPks = new long[systemVersions.size()];
+			i = 0;
+			for (final ClassificationSystemVersionModel version : systemVersions)
+			{
+				if (version.getPk() == null)
+				{
+					return null;
+				}
+				versionPks[i++] = version.getPk().getLongValue();
+			}
+			Arrays.sort(versionPks);
+			return new ResolvedClassesKey(categoryPks, versionPks, includeOnlyClosestClasses);
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (this == o)
+			{
+				return true;
+			}
+			if (!(o instanceof ResolvedClassesKey))
+			{
+				return false;
+			}
+			final ResolvedClassesKey other = (ResolvedClassesKey) o;
+			return includeOnlyClosestClasses == other.includeOnlyClosestClasses
+					&& Arrays.equals(superCategories, other.superCategories) && Arrays.equals(systemVersions, other.systemVersions);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * (31 * Arrays.hashCode(superCategories) + Arrays.hashCode(systemVersions))
+					+ (includeOnlyClosestClasses ? 1 : 0);
+		}
+	}
 }
@@ -36,6 +36,7 @@ import de.hybris.platform.servicelayer.exceptions.UnknownIdentifierException;
 import de.hybris.platform.servicelayer.i18n.FormatFactory;
 import de.hybris.platform.servicelayer.internal.service.AbstractBusinessService;
 import de.hybris.platform.servicelayer.search.SearchResult;
+import de.hybris.platform.util.Config;
 
 import org.springframework.beans.factory.annotation.Required;
 
@@ -52,12 +53,16 @@ import static de.hybris.platform.servicelayer.util.ServicesUtil.validateParamete
  */
 public class DefaultClassificationService extends AbstractBusinessService implements ClassificationService
 {
+	public static final String KEY_FILTER_INDEX_SORT_LIMIT = "classification.filter.index.sortlimit";
+	private static final int DEFAULT_FILTER_INDEX_SORT_LIMIT = 1000;
+
 	private ClassificationDao classificationDao;
 	private ProductService productService;
 	private FormatFactory formatFactory;
 
 	private LoadStoreFeaturesStrategy loadStoreFeaturesStrategy;
 	private ClassificationClassesResolverStrategy classResolverStrategy;
+	private ClassificationFilterIndexCache classificationFilterIndexCache;
 
 
 	/**
@@ -93,6 +98,34 @@ public class DefaultClassificationService extends AbstractBusinessService implem
 		return new FeatureList(loadStoreFeaturesStrategy.loadFeatures(getAssignmentsForProduct(product), product));
 	}
 
+	/**
+	 * Groups the products by their assignments and loads the features of each group in bulk.
+	 */
+	@Override
+	public Map<ProductModel, FeatureList> getFeatures(final List<ProductModel> products)
+	{
+		Preconditions.checkArgument(products != null, "products can't be null");
+
+		final Map<List<ClassAttributeAssignmentModel>, List<ProductModel>> productsByAssignments = new LinkedHashMap<>();
+		for (final ProductModel product : products)
+		{
+			productsByAssignments.computeIfAbsent(getAssignmentsForProduct(product), a -> new ArrayList<>()).add(product);
+		}
+
+		final Map<ProductModel, List<Feature>> features = new HashMap<>(products.size() * 2);
+		for (final Entry<List<ClassAttributeAssignmentModel>, List<ProductModel>> entry : productsByAssignments.entrySet())
+		{
+			features.putAll(loadStoreFeaturesStrategy.loadFeatures(entry.getKey(), entry.getValue()));
+		}
+
+		final Map<ProductModel, FeatureList> result = new LinkedHashMap<>(products.size() * 2);
+		for (final ProductModel product : products)
+		{
+			result.put(product, new FeatureList(features.get(product)));
+		}
+		return result;
+	}
+
 	private List<ClassAttributeAssignmentModel> getAssignmentsForProduct(final ProductModel product)
 	{
 		final Set<ClassificationClassModel> classificationClasses = classResolverStrategy.resolve(product);
@@ -143,29 +176,41 @@ public class DefaultClassificationService extends AbstractBusinessService implem
 		final Map<ClassAttributeAssignmentModel, Object> attributeValues = new HashMap<ClassAttributeAssignmentModel, Object>(
 				attributeFilter.size());
 
+		// The filter map contains a map of attribute code to value. We now convert this mapping to a
+		// ClassAttributeAssignmentModel/value mapping
+		final Map<String, ClassAttributeAssignmentModel> assignmentsByCode = attributeFilter.isEmpty() ? Collections.emptyMap()
+				: getAssignmentsByCode(assignments);
+		for (final Entry<String, Object> entry : attributeFilter.entrySet())
+		{
+			final String code = entry.getKey();
+			Object value = entry.getValue();
+			final ClassAttributeAssignmentModel assignment = assignmentsByCode.get(code);
+			// If we cannot find an assignment with this code throw an exception
+			if (assignment == null)
+			{
+				throw new UnknownIdentifierException("No attribute with code " + code + " found in category with code "
+						+ category.getCode());
+			}
+			value = convertFilterValue(assignment, value);
+			attributeValues.put(assignment, value);
+		}
+
+		final ClassificationFilterIndexCache.Result indexResult = classificationFilterIndexCache != null
+				&& classificationFilterIndexCache.isEnabled() ? classificationFilterIndexCache.filter(category, assignments,
+				attributeValues) : null;
+
 		// If the filter is empty simple return all products in a category
 		if (attributeFilter.isEmpty())
 		{
 			result = productService.getProducts(category, filter.getStart(), filter.getCount());
 		}
+		else if (indexResult != null && indexResult.getProducts().size() <= getFilterIndexSortLimit())
+		{
+			// the index returns each product once, while the join below repeats products linked to several categories
+			result = classificationDao.findProductsByPks(indexResult.getProducts(), filter.getStart(), filter.getCount());
+		}
 		else
 		{
-			// The filter map contains a map of attribute code to value. We now convert this mapping to a
-			// ClassAttributeAssignmentModel/value mapping
-			for (final Entry<String, Object> entry : attributeFilter.entrySet())
-			{
-				final String code = entry.getKey();
-				Object value = entry.getValue();
-				final ClassAttributeAssignmentModel assignment = findAssignmentWithCode(assignments, code);
-				// If we cannot find an assignment with this code throw an exception
-				if (assignment == null)
-				{
-					throw new UnknownIdentifierException("No attribute with code " + code + " found in category with code "
-							+ category.getCode());
-				}
-				value = convertFilterValue(assignment, value);
-				attributeValues.put(assignment, value);
-			}
 			// Now perform the actual search
 			result = classificationDao
 					.findProductsByAttributeValues(category, attributeValues, filter.getStart(), filter.getCount());
@@ -180,21 +225,27 @@ public class DefaultClassificationService extends AbstractBusinessService implem
 		else
 		{
 			// Find the set of possible attributes
-			possibleAttributes = getFilterAttributes(category, assignments, attributeValues);
+			possibleAttributes = getFilterAttributes(attributeValues, indexResult == null ? classificationDao
+					.findPossibleAttributeValues(category, assignments, attributeValues) : indexResult.getPossibleAttributeValues());
 		}
 		return new ProductFilterResult(result.getResult(), possibleAttributes, result.getTotalCount());
 	}
 
+	/**
+	 * Products matching a filter are paged by a database query restricted to their PKs up to
+	 * <code>classification.filter.index.sortlimit</code>, larger results are searched by the database as before.
+	 */
+	protected int getFilterIndexSortLimit()
+	{
+		return Config.getInt(KEY_FILTER_INDEX_SORT_LIMIT, DEFAULT_FILTER_INDEX_SORT_LIMIT);
+	}
+
 	/**
 	 * Returns a list of list of valid attribute values for a given filter.
 	 */
-	private List<FilterAttribute> getFilterAttributes(final CategoryModel category,
-	                                                  final Collection<ClassAttributeAssignmentModel> assignments,
-	                                                  final Map<ClassAttributeAssignmentModel, Object> attributeValues)
+	private List<FilterAttribute> getFilterAttributes(final Map<ClassAttributeAssignmentModel, Object> attributeValues,
+	                                                  final List<PossibleAttributeValue> dbResult)
 	{
-		// Get the database result
-		final List<PossibleAttributeValue> dbResult = classificationDao.findPossibleAttributeValues(category, assignments,
-				attributeValues);
 		// Now map each ClassAttributeAssignmentModel to a list of FilterAttributeValues
 		final Map<ClassAttributeAssignmentModel, List<FilterAttributeValue>> valuesMap = new HashMap<ClassAttributeAssignmentModel, List<FilterAttributeValue>>();
 		for (final PossibleAttributeValue possibleAttributeValue : dbResult)
@@ -272,17 +323,17 @@ public class DefaultClassificationService extends AbstractBusinessService implem
 		return returnobj;
 	}
 
-	private ClassAttributeAssignmentModel findAssignmentWithCode(final Collection<ClassAttributeAssignmentModel> assignments,
-	                                                             final String code)
+	private Map<String, ClassAttributeAssignmentModel> getAssignmentsByCode(
+			final Collection<ClassAttributeAssignmentModel> assignments)
 	{
+		final Map<String, ClassAttributeAssignmentModel> result = new HashMap<String, ClassAttributeAssignmentModel>(
+				assignments.size() * 2);
 		for (final ClassAttributeAssignmentModel assignment : assignments)
 		{
-			if (assignment.getClassificationAttribute().getCode().equals(code))
-			{
-				return assignment;
-			}
+			// the first assignment with a code wins
+			result.putIfAbsent(assignment.getClassificationAttribute().getCode(), assignment);
 		}
-		return null;
+		return result;
 	}
 
 	private ClassificationAttributeValueModel findAttributeValueByCode(final String code) throws UnknownIdentifierException,
@@ -353,6 +404,14 @@ public class DefaultClassificationService extends AbstractBusinessService implem
 		this.loadStoreFeaturesStrategy = loadStoreFeaturesStrategy;
 	}
 
+	/**
+	 * Sets the optional filter index cache used by {@link #getProductsByFilter(ProductFilter)} if enabled.
+	 */
+	public void setClassificationFilterIndexCache(final ClassificationFilterIndexCache classificationFilterIndexCache)
+	{
+		this.classificationFilterIndexCache = classificationFilterIndexCache;
+	}
+
 	@Required
 	public void setClassResolverStrategy(final ClassificationClassesResolverStrategy classResolverStrategy)
 	{
@@ -14,7 +14,9 @@ import de.hybris.platform.catalog.model.classification.ClassAttributeAssignmentM
 import de.hybris.platform.classification.features.Feature;
 import de.hybris.platform.core.model.product.ProductModel;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -33,6 +35,25 @@ public interface LoadStoreFeaturesStrategy
 	 */
 	List<Feature> loadFeatures(List<ClassAttributeAssignmentModel> assignments, ProductModel product);
 
+	/**
+	 * Load features for several products sharing the same assignments.
+	 *
+	 * @param assignments the assignments of all products
+	 * @param products    the products for which lists of <code>Feature</code>s will be loaded
+	 * @return the lists of <code>Feature</code> objects by product, in the order of <code>products</code>
+	 * @throws IllegalArgumentException thrown when any of the <code>products</code> is not persisted
+	 */
+	default Map<ProductModel, List<Feature>> loadFeatures(final List<ClassAttributeAssignmentModel> assignments,
+	                                                      final List<ProductModel> products)
+	{
+		final Map<ProductModel, List<Feature>> result = new LinkedHashMap<>();
+		for (final ProductModel product : products)
+		{
+			result.put(product, loadFeatures(assignments, product));
+		}
+		return result;
+	}
+
 	/**
 	 * Store features for particular product to the database. If <code>removeRemaining</code> flag is set to
 	 * <code>true</code> all existing features which are not on the <code>features</code> list will be removed.
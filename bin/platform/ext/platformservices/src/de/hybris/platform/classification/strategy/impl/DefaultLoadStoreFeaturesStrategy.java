@@ -55,11 +55,13 @@ import com.google.common.collect.Lists;
 public class DefaultLoadStoreFeaturesStrategy implements LoadStoreFeaturesStrategy
 {
 	private static final Logger LOG = Logger.getLogger(DefaultLoadStoreFeaturesStrategy.class);
+	private static final int DEFAULT_BULK_LOAD_CHUNK_SIZE = 500;
 	private ProductFeaturesDao productFeaturesDao;
 	private ModelService modelService;
 	private TransactionTemplate txTemplate;
 	private I18NService i18nService;
 	private CommonI18NService commonI18nService;
+	private int bulkLoadChunkSize = DEFAULT_BULK_LOAD_CHUNK_SIZE;
 
 	@Override
 	public List<Feature> loadFeatures(final List<ClassAttributeAssignmentModel> assignments, final ProductModel product)
@@ -76,14 +78,57 @@ public class DefaultLoadStoreFeaturesStrategy implements LoadStoreFeaturesStrate
 		}
 	}
 
+	/**
+	 * Loads the features of the products in chunks, fetching the product features of each chunk by a single query.
+	 */
+	@Override
+	public Map<ProductModel, List<Feature>> loadFeatures(final List<ClassAttributeAssignmentModel> assignments,
+	                                                     final List<ProductModel> products)
+	{
+		for (final ProductModel product : products)
+		{
+			checkProductModelIsPersisted(product);
+		}
+
+		final boolean untyped = assignments == null || assignments.isEmpty();
+		final Map<PK, ClassAttributeAssignmentModel> assignmentsByPk = new HashMap<PK, ClassAttributeAssignmentModel>();
+		if (!untyped)
+		{
+			for (final ClassAttributeAssignmentModel assignment : assignments)
+			{
+				assignmentsByPk.put(assignment.getPk(), assignment);
+			}
+		}
+
+		final Map<ProductModel, List<Feature>> result = new LinkedHashMap<ProductModel, List<Feature>>();
+		for (final List<ProductModel> chunk : Lists.partition(products, bulkLoadChunkSize))
+		{
+			final Map<PK, Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>>> featuresByProduct = groupFeaturesResult(
+					productFeaturesDao.findProductFeaturesByProductsAndAssignment(chunk, untyped ? null : assignments),
+					assignmentsByPk);
+			for (final ProductModel product : chunk)
+			{
+				final Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>> featuresMap = featuresByProduct.get(product
+						.getPk());
+				final Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>> productFeatures = featuresMap == null
+						? Collections.<ClassAttributeAssignmentModel, List<ProductFeatureModel>> emptyMap() : featuresMap;
+				result.put(product,
+						untyped ? createUntypedFeatures(productFeatures) : createTypedFeatures(assignments, productFeatures));
+			}
+		}
+		return result;
+	}
+
 	protected List<Feature> loadUntypedFeatures(final ProductModel product)
 	{
-		final List<Feature> result = new ArrayList<Feature>();
+		return createUntypedFeatures(convertFeaturesResult(productFeaturesDao.findProductFeaturesByProductAndAssignment(
+				product,
+				null)));
+	}
 
-		final Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>> featuresMap = convertFeaturesResult(productFeaturesDao
-				.findProductFeaturesByProductAndAssignment(
-						product,
-						null));
+	private List<Feature> createUntypedFeatures(final Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>> featuresMap)
+	{
+		final List<Feature> result = new ArrayList<Feature>();
 
 		final List<ProductFeatureModel> productFeatures = featuresMap.get(null);
 		if (productFeatures != null)
@@ -120,12 +165,15 @@ public class DefaultLoadStoreFeaturesStrategy implements LoadStoreFeaturesStrate
 
 	protected List<Feature> loadTypedFeatures(final List<ClassAttributeAssignmentModel> assignments, final ProductModel product)
 	{
-		final List<Feature> result = new ArrayList<Feature>();
+		return createTypedFeatures(assignments, convertFeaturesResult(productFeaturesDao.findProductFeaturesByProductAndAssignment(
+				product,
+				assignments)));
+	}
 
-		final Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>> featuresMap = convertFeaturesResult(productFeaturesDao
-				.findProductFeaturesByProductAndAssignment(
-						product,
-						assignments));
+	private List<Feature> createTypedFeatures(final List<ClassAttributeAssignmentModel> assignments,
+	                                          final Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>> featuresMap)
+	{
+		final List<Feature> result = new ArrayList<Feature>();
 
 		for (final ClassAttributeAssignmentModel assignment : assignments)
 		{
@@ -230,6 +278,15 @@ public class DefaultLoadStoreFeaturesStrategy implements LoadStoreFeaturesStrate
 		}
 	}
 
+	/**
+	 * Sets the number of products whose features are fetched by a single query when loading features in bulk.
+	 */
+	public void setBulkLoadChunkSize(final int bulkLoadChunkSize)
+	{
+		Preconditions.checkArgument(bulkLoadChunkSize > 0, "bulkLoadChunkSize must be positive");
+		this.bulkLoadChunkSize = bulkLoadChunkSize;
+	}
+
 	@Required
 	public void setProductFeaturesDao(final ProductFeaturesDao productFeaturesDao)
 	{
@@ -339,6 +396,36 @@ public class DefaultLoadStoreFeaturesStrategy implements LoadStoreFeaturesStrate
 		return result;
 	}
 
+	/**
+	 * Groups the rows of {@link ProductFeaturesDao#findProductFeaturesByProductsAndAssignment(List, List)} by product and
+	 * assignment in a single pass.
+	 */
+	private Map<PK, Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>>> groupFeaturesResult(
+			final List<List<Object>> rows, final Map<PK, ClassAttributeAssignmentModel> assignmentsByPk)
+	{
+		final Map<PK, Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>>> result = new HashMap<PK, Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>>>();
+		PK currentProduct = null;
+		Map<ClassAttributeAssignmentModel, List<ProductFeatureModel>> currentFeatures = null;
+		for (final List<Object> row : rows)
+		{
+			final PK product = (PK) row.get(1);
+			if (currentFeatures == null || !product.equals(currentProduct))
+			{
+				currentProduct = product;
+				currentFeatures = result.computeIfAbsent(product,
+						pk -> new LinkedHashMap<ClassAttributeAssignmentModel, List<ProductFeatureModel>>());
+			}
+			final PK assignmentPk = (PK) row.get(2);
+			final ClassAttributeAssignmentModel assignment = assignmentPk == null ? null : assignmentsByPk.get(assignmentPk);
+			if (assignmentPk != null && assignment == null)
+			{
+				continue;
+			}
+			currentFeatures.computeIfAbsent(assignment, a -> new ArrayList<ProductFeatureModel>()).add((ProductFeatureModel) row.get(0));
+		}
+		return result;
+	}
+
 	private Set<ProductFeatureModel> writeFeatureValues(final ProductModel product,
 	                                                    final ClassAttributeAssignmentModel assignment, final int featurePosition,
 	                                                    final Feature feature,
@@ -0,0 +1,236 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.converters;
+
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.model.ItemModel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+
+
+/**
+ * Memo of the conversions done by the current thread, e.g. while handling one request. Within an open memo a converter
+ * converting the same saved item again returns the target it created before, and a configurable populator skips
+ * populating such a target with options it was populated with already. Entries are keyed by the bean name of the
+ * converter or populator, the PK of the source and the options.
+ * <p>
+ * Memoizing is opt-in: nothing is memoized unless a memo has been opened by {@link #open()}, usually through the
+ * {@link de.hybris.platform.servicelayer.web.ConversionMemoFilter}. The memo does not notice changes of the source
+ * items and hands out the same target to every caller, so converters whose targets are modified afterwards have to be
+ * marked as not memoizable.
+ *
+ * <pre>
+ * try (final ConversionMemo memo = ConversionMemo.open())
+ * {
+ * 	...
+ * }
+ * </pre>
+ */
+public final class ConversionMemo implements AutoCloseable
+{
+	private static final Logger LOG = Logger.getLogger(ConversionMemo.class);
+
+	private static final ThreadLocal<ConversionMemo> CURRENT = new ThreadLocal<>();
+
+	private final Map<Key, Object> targets = new HashMap<>();
+	private final Map<Object, Set<Key>> populated = new IdentityHashMap<>();
+	private final Map<String, long[]> statistics = new HashMap<>();
+	private int depth = 1;
+
+	private ConversionMemo()
+	{
+		// opened through open() only
+	}
+
+	/**
+	 * Opens a memo for the current thread. If a memo is open already it is shared, and it is only discarded when the
+	 * outermost caller closes it.
+	 */
+	public static ConversionMemo open()
+	{
+		final ConversionMemo current = CURRENT.get();
+		if (current != null)
+		{
+			current.depth++;
+			return current;
+		}
+		final ConversionMemo memo = new ConversionMemo();
+		CURRENT.set(memo);
+		return memo;
+	}
+
+	/**
+	 * @return the memo of the current thread or <code>null</code> if none is open
+	 */
+	public static ConversionMemo getCurrent()
+	{
+		return CURRENT.get();
+	}
+
+	/**
+	 * Returns the target memoized for the given converter, source and options, or converts the source and memoizes the
+	 * result. Sources which are no saved items are always converted.
+	 *
+	 * @param name       the bean name of the converter
+	 * @param source     the source to convert
+	 * @param options    the options of the conversion, may be empty
+	 * @param conversion converts the source
+	 * @return the target
+	 */
+	public <TARGET> TARGET convert(final String name, final Object source, final Collection<?> options,
+	                               final Supplier<TARGET> conversion)
+	{
+		final Key key = Key.create(name, source, options);
+		if (key == null)
+		{
+			return conversion.get();
+		}
+		final TARGET memoized = (TARGET) targets.get(key);
+		if (memoized != null)
+		{
+			count(name, true);
+			return memoized;
+		}
+		count(name, false);
+		final TARGET target = conversion.get();
+		if (target != null)
+		{
+			targets.put(key, target);
+			populated.computeIfAbsent(target, t -> new HashSet<>());
+		}
+		return target;
+	}
+
+	/**
+	 * Records that a target handed out by this memo is populated from the given source by a populator with the given
+	 * options. Other targets are not tracked.
+	 *
+	 * @return <code>false</code> if the target has been populated that way before, so populating it again can be skipped
+	 */
+	public boolean markPopulated(final String name, final Object source, final Object target, final Collection<?> options)
+	{
+		final Set<Key> keys = populated.get(target);
+		final Key key = keys == null ? null : Key.create(name, source, options);
+		if (key == null)
+		{
+			return true;
+		}
+		final boolean added = keys.add(key);
+		count(name, !added);
+		return added;
+	}
+
+	private void count(final String name, final boolean hit)
+	{
+		statistics.computeIfAbsent(name, n -> new long[2])[hit ? 0 : 1]++;
+	}
+
+	/**
+	 * @return the number of memoized conversions reused by the given converter or populator
+	 */
+	public long getHits(final String name)
+	{
+		final long[] counts = statistics.get(name);
+		return counts == null ? 0 : counts[0];
+	}
+
+	/**
+	 * @return the number of conversions the given converter or populator could not reuse
+	 */
+	public long getMisses(final String name)
+	{
+		final long[] counts = statistics.get(name);
+		return counts == null ? 0 : counts[1];
+	}
+
+	/**
+	 * @return the names of all converters and populators which used this memo
+	 */
+	public Set<String> getNames()
+	{
+		return Collections.unmodifiableSet(new LinkedHashSet<>(statistics.keySet()));
+	}
+
+	@Override
+	public void close()
+	{
+		if (--depth > 0)
+		{
+			return;
+		}
+		CURRENT.remove();
+		if (LOG.isDebugEnabled())
+		{
+			for (final Map.Entry<String, long[]> entry : statistics.entrySet())
+			{
+				final long hits = entry.getValue()[0];
+				final long total = hits + entry.getValue()[1];
+				LOG.debug(entry.getKey() + " reused " + hits + " of " + total + " conversions (" + (100 * hits / total) + "%)");
+			}
+		}
+	}
+
+	private static final class Key
+	{
+		private final String name;
+		private final PK source;
+		private final Set<?> options;
+
+		private Key(final String name, final PK source, final Set<?> options)
+		{
+			this.name = name;
+			this.source = source;
+			this.options = options;
+		}
+
+		private static Key create(final String name, final Object source, final Collection<?> options)
+		{
+			if (name == null || !(source instanceof ItemModel) || ((ItemModel) source).getPk() == null)
+			{
+				return null;
+			}
+			return new Key(name, ((ItemModel) source).getPk(),
+					options == null || options.isEmpty() ? Collections.emptySet() : new HashSet<>(options));
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (this == o)
+			{
+				return true;
+			}
+			if (!(o instanceof Key))
+			{
+				return false;
+			}
+			final Key other = (Key) o;
+			return name.equals(other.name) && source.equals(other.source) && options.equals(other.options);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(name, source, options);
+		}
+	}
+}
@@ -10,11 +10,18 @@
  */
 package de.hybris.platform.converters.impl;
 
+import de.hybris.platform.converters.ConversionMemo;
 import de.hybris.platform.converters.Populator;
 import de.hybris.platform.servicelayer.dto.converter.ConversionException;
 import de.hybris.platform.servicelayer.dto.converter.Converter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
 
 import org.apache.commons.lang.NotImplementedException;
 import org.springframework.beans.factory.BeanNameAware;
@@ -33,9 +40,25 @@ public abstract class AbstractConverter<SOURCE, TARGET>
 		implements Converter<SOURCE, TARGET>, Populator<SOURCE, TARGET>, InitializingBean, BeanNameAware
 {
 	private Class<TARGET> targetClass;
+	private MethodHandle targetConstructor;
+	private boolean memoizable = true;
 
+	/**
+	 * Converts the source. Within an open {@link ConversionMemo} the target converted before for the same saved item is
+	 * returned, unless this converter is not {@link #setMemoizable(boolean) memoizable}.
+	 */
 	@Override
 	public TARGET convert(final SOURCE source) throws ConversionException
+	{
+		final ConversionMemo memo = memoizable ? ConversionMemo.getCurrent() : null;
+		if (memo != null)
+		{
+			return memo.convert(myBeanName, source, Collections.emptySet(), () -> createAndPopulate(source));
+		}
+		return createAndPopulate(source);
+	}
+
+	private TARGET createAndPopulate(final SOURCE source)
 	{
 		final TARGET target = targetClass == null ? createTarget() : createFromClass();
 		populate(source, target);
@@ -66,6 +89,7 @@ public abstract class AbstractConverter<SOURCE, TARGET>
 	public void setTargetClass(final Class<TARGET> targetClass)
 	{
 		this.targetClass = targetClass;
+		this.targetConstructor = targetClass == null ? null : findConstructor(targetClass);
 
 		// sanity check - can we instantiate that class ?
 		if (targetClass != null)
@@ -74,8 +98,62 @@ public abstract class AbstractConverter<SOURCE, TARGET>
 		}
 	}
 
+	/**
+	 * Allows to exclude the converter from the {@link ConversionMemo}, e.g. if callers modify the converted targets or the
+	 * conversion depends on more than the source. Default is true.
+	 */
+	public void setMemoizable(final boolean memoizable)
+	{
+		this.memoizable = memoizable;
+	}
+
+	public boolean isMemoizable()
+	{
+		return memoizable;
+	}
+
+	/**
+	 * Looks up the default constructor once, so creating a target neither needs the reflective access checks of
+	 * {@link Class#newInstance()} nor a constructor lookup.
+	 */
+	private static MethodHandle findConstructor(final Class<?> targetClass)
+	{
+		try
+		{
+			final Constructor<?> constructor = targetClass.getDeclaredConstructor();
+			if (Modifier.isAbstract(targetClass.getModifiers()) || !Modifier.isPublic(constructor.getModifiers()))
+			{
+				// keep the behaviour and error of Class#newInstance
+				return null;
+			}
+			constructor.setAccessible(true);
+			return MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+		}
+		catch (final NoSuchMethodException | IllegalAccessException | SecurityException e)
+		{
+			return null;
+		}
+	}
+
 	protected TARGET createFromClass()
 	{
+		final MethodHandle constructor = targetConstructor;
+		if (constructor != null)
+		{
+			try
+			{
+				final Object target = constructor.invokeExact();
+				return (TARGET) target;
+			}
+			catch (final RuntimeException | Error e)
+			{
+				throw e;
+			}
+			catch (final Throwable e)
+			{
+				throw new RuntimeException(e);
+			}
+		}
 		try
 		{
 			return targetClass.newInstance();
@@ -14,8 +14,10 @@ import de.hybris.platform.converters.Populator;
 import de.hybris.platform.converters.PopulatorList;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 
 import javax.annotation.PostConstruct;
 
@@ -27,6 +29,10 @@ import org.apache.log4j.Logger;
  * Populating converter that uses a list of configured populators to populate the target during conversion. Class used
  * to be but is no longer abstract. It allows to declare it as an abstract bean in Spring, otherwise we'd get
  * BeanInstantiationException.
+ * <p>
+ * Once the bean is initialized the populators are kept in a list which also holds them as an array without
+ * <code>null</code> entries, so populating just runs through that array. Changes of the list, e.g. by a
+ * {@link ModifyPopulatorListBeanPostProcessor}, rebuild the array.
  */
 public class AbstractPopulatingConverter<SOURCE, TARGET> extends AbstractConverter<SOURCE, TARGET> implements
 		PopulatorList<SOURCE, TARGET>
@@ -64,6 +70,15 @@ public class AbstractPopulatingConverter<SOURCE, TARGET> extends AbstractConvert
 			return;
 		}
 
+		if (list instanceof PopulatorArrayList)
+		{
+			for (final Populator<SOURCE, TARGET> populator : ((PopulatorArrayList<SOURCE, TARGET>) list).toPopulatorArray())
+			{
+				populator.populate(source, target);
+			}
+			return;
+		}
+
 		for (final Populator<SOURCE, TARGET> populator : list)
 		{
 			if (populator != null)
@@ -90,11 +105,55 @@ public class AbstractPopulatingConverter<SOURCE, TARGET> extends AbstractConvert
 							+ getMyBeanName() + "! The duplication has been removed.");
 				}
 			}
-			this.populators = new ArrayList<>(distinctPopulators);
+			this.populators = new PopulatorArrayList<>(distinctPopulators);
 		}
 		else
 		{
 			LOG.warn("Empty populators list found for converter " + getMyBeanName() + "!");
 		}
 	}
+
+	/**
+	 * List of populators caching its non <code>null</code> entries as an array until it is modified.
+	 */
+	private static final class PopulatorArrayList<SOURCE, TARGET> extends ArrayList<Populator<SOURCE, TARGET>>
+	{
+		private transient volatile Snapshot<SOURCE, TARGET> snapshot;
+
+		private PopulatorArrayList(final Collection<Populator<SOURCE, TARGET>> populators)
+		{
+			super(populators);
+		}
+
+		@Override
+		public Populator<SOURCE, TARGET> set(final int index, final Populator<SOURCE, TARGET> element)
+		{
+			// replacing an element is no structural modification of an ArrayList
+			modCount++;
+			return super.set(index, element);
+		}
+
+		private Populator<SOURCE, TARGET>[] toPopulatorArray()
+		{
+			Snapshot<SOURCE, TARGET> current = snapshot;
+			if (current == null || current.modCount != modCount)
+			{
+				current = new Snapshot<>(modCount, stream().filter(Objects::nonNull).toArray(Populator[]::new));
+				snapshot = current;
+			}
+			return current.populators;
+		}
+	}
+
+	private static final class Snapshot<SOURCE, TARGET>
+	{
+		private final int modCount;
+		private final Populator<SOURCE, TARGET>[] populators;
+
+		private Snapshot(final int modCount, final Populator<SOURCE, TARGET>[] populators)
+		{
+			this.modCount = modCount;
+			this.populators = populators;
+		}
+	}
 }
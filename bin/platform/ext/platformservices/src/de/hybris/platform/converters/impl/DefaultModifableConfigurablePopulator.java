@@ -12,6 +12,7 @@ package de.hybris.platform.converters.impl;
 
 
 import de.hybris.platform.converters.ConfigurablePopulator;
+import de.hybris.platform.converters.ConversionMemo;
 import de.hybris.platform.converters.ModifiableConfigurablePopulator;
 import de.hybris.platform.converters.Populator;
 import de.hybris.platform.converters.config.ConfigurablePopulatorModification;
@@ -22,20 +23,26 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.log4j.Logger;
+import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 
 /**
- * Default implementation of the {@link ConfigurablePopulator} implementing {@link ModifiableConfigurablePopulator}
+ * Default implementation of the {@link ConfigurablePopulator} implementing {@link ModifiableConfigurablePopulator}.
+ * Within an open {@link ConversionMemo} a target handed out by the memo is not populated again with the same options.
  */
 public class DefaultModifableConfigurablePopulator<SOURCE, TARGET, OPTION> implements
-		ModifiableConfigurablePopulator<SOURCE, TARGET, OPTION>
+		ModifiableConfigurablePopulator<SOURCE, TARGET, OPTION>, BeanNameAware
 {
 	private static final Logger LOG = Logger.getLogger(DefaultModifableConfigurablePopulator.class);
 
 	private Map<OPTION, Populator<SOURCE, TARGET>> populators = new ConcurrentHashMap<OPTION, Populator<SOURCE, TARGET>>();
 
+	private String beanName;
+
+	private boolean memoizable = true;
+
 	@Override
 	public void applyModification(final ConfigurablePopulatorModification<SOURCE, TARGET, OPTION> modification)
 	{
@@ -56,6 +63,12 @@ public class DefaultModifableConfigurablePopulator<SOURCE, TARGET, OPTION> imple
 		Assert.notNull(target, "Parameter [target] must not be null");
 		Assert.notEmpty(options, "Parameter [options] must not be empty");
 
+		final ConversionMemo memo = memoizable ? ConversionMemo.getCurrent() : null;
+		if (memo != null && !memo.markPopulated(beanName, source, target, options))
+		{
+			return;
+		}
+
 		if (!CollectionUtils.isEmpty(getPopulators()))
 		{
 			for (final OPTION option : options)
@@ -82,4 +95,19 @@ public class DefaultModifableConfigurablePopulator<SOURCE, TARGET, OPTION> imple
 	{
 		this.populators = populators;
 	}
+
+	@Override
+	public void setBeanName(final String name)
+	{
+		this.beanName = name;
+	}
+
+	/**
+	 * Allows to exclude the populator from the {@link ConversionMemo}, e.g. if its populators are not idempotent. Default
+	 * is true.
+	 */
+	public void setMemoizable(final boolean memoizable)
+	{
+		this.memoizable = memoizable;
+	}
 }
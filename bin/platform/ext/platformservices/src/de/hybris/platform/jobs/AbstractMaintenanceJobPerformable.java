@@ -12,6 +12,8 @@ package de.hybris.platform.jobs;
 
 import de.hybris.platform.core.LazyLoadItemList;
 import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.TenantAwareThreadFactory;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.cronjob.enums.CronJobResult;
 import de.hybris.platform.cronjob.enums.CronJobStatus;
@@ -25,9 +27,19 @@ import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.SearchResult;
 import de.hybris.platform.servicelayer.search.impl.LazyLoadModelList;
 import de.hybris.platform.servicelayer.search.internal.resolver.ItemObjectResolver;
+import de.hybris.platform.servicelayer.session.Session;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Required;
@@ -39,7 +51,8 @@ import org.springframework.beans.factory.annotation.Required;
  * small) and for each sublist (100 elements as default, modify with {@link #setPageSize(int)}) the
  * {@link MaintenanceCleanupStrategy#process(List)} is executed. If {@link #setAbortOnError(boolean)} is set to true
  * this performable will stop when during {@link MaintenanceCleanupStrategy#process(List)} an exception is thrown and
- * the performable stops with an error/aborted. When set to false (default) the exception is just logged.
+ * the performable stops with an error/aborted. When set to false (default) the exception is just logged. With
+ * {@link #setWorkerThreads(int)} greater than 1 the pages are processed concurrently by that many threads.
  */
 public abstract class AbstractMaintenanceJobPerformable extends AbstractJobPerformable<CronJobModel> implements
 		TypeAwareJobPerformable
@@ -48,6 +61,7 @@ public abstract class AbstractMaintenanceJobPerformable extends AbstractJobPerfo
 	private ItemObjectResolver modelResolver;
 	private boolean abortOnError = false;
 	private int pageSize = 100;
+	private int workerThreads = 1;
 
 	/**
 	 * @see MaintenanceCleanupStrategy#createFetchQuery(CronJobModel)
@@ -85,18 +99,16 @@ public abstract class AbstractMaintenanceJobPerformable extends AbstractJobPerfo
 
 		//paging through the PKs and for each page, we get the real deal
 		final int totalCount = searchRes.getTotalCount();
+		if (workerThreads > 1 && totalCount > pageSize)
+		{
+			return performInParallel(cronJob, searchRes, expectedClassList);
+		}
 		for (int i = 0; i < totalCount; i += pageSize)
 		{
 			final List<PK> sublist = searchRes.getResult().subList(i, Math.min(i + pageSize, totalCount));
-			final LazyLoadModelList llml = new LazyLoadModelList(new LazyLoadItemList(null, sublist, pageSize), pageSize,
-					expectedClassList, modelResolver);
 			try
 			{
-				process(llml, cronJob);
-				for (final Object obj : llml)
-				{
-					modelService.detach(obj);
-				}
+				processPage(sublist, expectedClassList, cronJob);
 			}
 			catch (final Exception e)
 			{
@@ -112,6 +124,136 @@ public abstract class AbstractMaintenanceJobPerformable extends AbstractJobPerfo
 		return new PerformResult(caughtExeption ? CronJobResult.FAILURE : CronJobResult.SUCCESS, CronJobStatus.FINISHED);
 	}
 
+	/**
+	 * Hands the pages of the given PKs over to {@link #workerThreads} threads. The job thread only slices the PK list
+	 * and blocks as soon as every worker is busy and a page is queued for each of them, so memory stays bounded by the
+	 * page size. Abort requests and errors are checked before each page is handed over.
+	 */
+	private PerformResult performInParallel(final CronJobModel cronJob, final SearchResult<PK> searchRes,
+	                                        final List<Class> expectedClassList)
+	{
+		final int totalCount = searchRes.getTotalCount();
+		final Map<String, Object> sessionAttributes = new HashMap<>(sessionService.getAllSessionAttributes());
+		final AtomicBoolean caughtException = new AtomicBoolean(false);
+		final AtomicBoolean aborted = new AtomicBoolean(false);
+		final AtomicInteger processedCount = new AtomicInteger(0);
+		final Semaphore freeSlots = new Semaphore(workerThreads * 2);
+
+		final ExecutorService workers = Executors.newFixedThreadPool(workerThreads,
+				new TenantAwareThreadFactory(Registry.getCurrentTenantNoFallback()));
+		boolean abortRequested = false;
+		try
+		{
+			for (int i = 0; i < totalCount && !aborted.get(); i += pageSize)
+			{
+				if (clearAbortRequestedIfNeeded(cronJob))
+				{
+					abortRequested = true;
+					break;
+				}
+				final List<PK> sublist = new ArrayList<PK>(searchRes.getResult().subList(i, Math.min(i + pageSize, totalCount)));
+				freeSlots.acquire();
+				workers.execute(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						try
+						{
+							if (!aborted.get())
+							{
+								processPageInSession(sessionAttributes, sublist, expectedClassList, cronJob);
+								logProgress(processedCount.addAndGet(sublist.size()), totalCount);
+							}
+						}
+						catch (final Exception e)
+						{
+							caughtException.set(true);
+							LOG.error("Caught exception during process call. " + e.getClass().getName() + ": " + e.getMessage());
+							if (abortOnError)
+							{
+								LOG.error("stacktrace:", e);
+								aborted.set(true);
+							}
+						}
+						finally
+						{
+							freeSlots.release();
+						}
+					}
+				});
+			}
+			workers.shutdown();
+			while (!workers.awaitTermination(1, TimeUnit.MINUTES))
+			{
+				if (LOG.isDebugEnabled())
+				{
+					LOG.debug("Waiting for " + workerThreads + " workers of " + cronJob.getCode() + " to finish, processed "
+							+ processedCount.get() + " of " + totalCount + " elements.");
+				}
+			}
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			workers.shutdownNow();
+			LOG.error("Interrupted while processing " + cronJob.getCode());
+			return new PerformResult(CronJobResult.ERROR, CronJobStatus.ABORTED);
+		}
+		finally
+		{
+			workers.shutdown();
+		}
+
+		if (aborted.get())
+		{
+			return new PerformResult(CronJobResult.ERROR, CronJobStatus.ABORTED);
+		}
+		if (abortRequested)
+		{
+			return new PerformResult(CronJobResult.UNKNOWN, CronJobStatus.ABORTED);
+		}
+		return new PerformResult(caughtException.get() ? CronJobResult.FAILURE : CronJobResult.SUCCESS, CronJobStatus.FINISHED);
+	}
+
+	/**
+	 * Processes the page in a session of its own with the attributes of the session running the job, like its user,
+	 * language, currency, catalog versions and search restriction settings.
+	 */
+	private void processPageInSession(final Map<String, Object> sessionAttributes, final List<PK> pks,
+	                                  final List<Class> expectedClassList, final CronJobModel cronJob)
+	{
+		final Session session = sessionService.createNewSession();
+		try
+		{
+			sessionAttributes.forEach(sessionService::setAttribute);
+			processPage(pks, expectedClassList, cronJob);
+		}
+		finally
+		{
+			sessionService.closeSession(session);
+		}
+	}
+
+	private void processPage(final List<PK> pks, final List<Class> expectedClassList, final CronJobModel cronJob)
+	{
+		final LazyLoadModelList llml = new LazyLoadModelList(new LazyLoadItemList(null, pks, pageSize), pageSize,
+				expectedClassList, modelResolver);
+		process(llml, cronJob);
+		for (final Object obj : llml)
+		{
+			modelService.detach(obj);
+		}
+	}
+
+	private void logProgress(final int processed, final int totalCount)
+	{
+		if (LOG.isDebugEnabled())
+		{
+			LOG.debug("Processed " + processed + " of " + totalCount + " elements.");
+		}
+	}
+
 	@Required
 	public void setModelResolver(final ItemObjectResolver modelResolver)
 	{
@@ -131,6 +273,20 @@ public abstract class AbstractMaintenanceJobPerformable extends AbstractJobPerfo
 		this.pageSize = pagesize;
 	}
 
+	/**
+	 * Sets the number of threads processing the pages concurrently. Default is 1, which processes all pages one after
+	 * another in the job thread. Only use more threads if {@link #process(List, CronJobModel)} of the strategy can run
+	 * concurrently for different pages; set it on the bean of such a job, it is not applied to all maintenance jobs.
+	 */
+	public void setWorkerThreads(final int workerThreads)
+	{
+		if (workerThreads < 1)
+		{
+			throw new IllegalArgumentException("workerThreads must be at least 1");
+		}
+		this.workerThreads = workerThreads;
+	}
+
 	/**
 	 * If set to true the job will abort by the first thrown exception. When set to false (default) the exception is just
 	 * logged.
@@ -140,6 +296,15 @@ public abstract class AbstractMaintenanceJobPerformable extends AbstractJobPerfo
 		this.abortOnError = abort;
 	}
 
+	/**
+	 * Jobs processing their pages concurrently check for abort requests before each page.
+	 */
+	@Override
+	public boolean isAbortable()
+	{
+		return workerThreads > 1;
+	}
+
 	@Override
 	public String getType()
 	{
@@ -10,30 +10,56 @@
  */
 package de.hybris.platform.jobs;
 
+import de.hybris.platform.core.LazyLoadItemList;
 import de.hybris.platform.core.PK;
 import de.hybris.platform.core.PK.PKException;
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.TenantAwareThreadFactory;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.core.model.user.UserModel;
 import de.hybris.platform.cronjob.enums.CronJobResult;
 import de.hybris.platform.cronjob.enums.CronJobStatus;
 import de.hybris.platform.cronjob.model.RemoveItemsCronJobModel;
+import de.hybris.platform.jalo.Item;
 import de.hybris.platform.servicelayer.cronjob.AbstractJobPerformable;
 import de.hybris.platform.servicelayer.cronjob.PerformResult;
 import de.hybris.platform.servicelayer.exceptions.ModelLoadingException;
 import de.hybris.platform.servicelayer.exceptions.ModelRemovalException;
 import de.hybris.platform.servicelayer.media.MediaService;
+import de.hybris.platform.servicelayer.search.impl.LazyLoadModelList;
+import de.hybris.platform.servicelayer.search.internal.resolver.ItemObjectResolver;
 import de.hybris.platform.servicelayer.security.permissions.PermissionCheckResult;
 import de.hybris.platform.servicelayer.security.permissions.PermissionCheckValue;
 import de.hybris.platform.servicelayer.security.permissions.PermissionCheckingService;
 import de.hybris.platform.servicelayer.security.permissions.PermissionsConstants;
+import de.hybris.platform.servicelayer.session.Session;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Required;
 
+import com.google.common.collect.Lists;
+
 
 /**
+ * Removes the items listed in {@link RemoveItemsCronJobModel#getItemPKs()}. By default the items are loaded, checked and
+ * removed one by one. With {@link #setBatchSize(int)} greater than 0 the PKs are read in batches, the items of a batch
+ * are loaded per type at once and removed with {@link de.hybris.platform.servicelayer.model.ModelService#removeAll} in
+ * chunks of {@link #setTransactionSize(int)} items. With {@link #setWorkerThreads(int)} greater than 1 the batches are
+ * processed concurrently.
+ *
  * @spring.bean removeItemsJob
  * @since 4.3
  */
@@ -51,6 +77,14 @@ public class RemoveItemsJobPerformable extends AbstractJobPerformable<RemoveItem
 
 	private MediaService mediaService;
 
+	private ItemObjectResolver modelResolver;
+
+	private int batchSize = 0;
+
+	private int transactionSize = 100;
+
+	private int workerThreads = 1;
+
 	@Required
 	public void setPermissionCheckingService(final PermissionCheckingService permissionCheckingService)
 	{
@@ -63,9 +97,65 @@ public class RemoveItemsJobPerformable extends AbstractJobPerformable<RemoveItem
 		this.mediaService = mediaService;
 	}
 
+	public void setModelResolver(final ItemObjectResolver modelResolver)
+	{
+		this.modelResolver = modelResolver;
+	}
+
+	/**
+	 * Sets the number of PKs read and processed at once. Default is 0, which removes the items one by one.
+	 */
+	public void setBatchSize(final int batchSize)
+	{
+		if (batchSize < 0)
+		{
+			throw new IllegalArgumentException("batchSize cannot be negative");
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the number of items removed by one {@link de.hybris.platform.servicelayer.model.ModelService#removeAll} call
+	 * in batch mode. Default is 100.
+	 */
+	public void setTransactionSize(final int transactionSize)
+	{
+		if (transactionSize < 1)
+		{
+			throw new IllegalArgumentException("transactionSize must be at least 1");
+		}
+		this.transactionSize = transactionSize;
+	}
+
+	/**
+	 * Sets the number of threads processing the batches concurrently. Default is 1, which processes all batches one after
+	 * another in the job thread. Only used in batch mode.
+	 */
+	public void setWorkerThreads(final int workerThreads)
+	{
+		if (workerThreads < 1)
+		{
+			throw new IllegalArgumentException("workerThreads must be at least 1");
+		}
+		this.workerThreads = workerThreads;
+	}
+
+	/**
+	 * Jobs removing in batches check for abort requests before each batch.
+	 */
+	@Override
+	public boolean isAbortable()
+	{
+		return batchSize > 0;
+	}
+
 	@Override
 	public PerformResult perform(final RemoveItemsCronJobModel cronJob)
 	{
+		if (batchSize > 0)
+		{
+			return performInBatches(cronJob);
+		}
 		final DisposableRemovedItemPKProcessor disposableIterator = new RemovedItemPKProcessor();
 		((RemovedItemPKProcessor) disposableIterator).setMediaService(mediaService);
 		int deleted = cronJob.getItemsDeleted() == null ? 0 : cronJob.getItemsDeleted().intValue();
@@ -137,6 +227,364 @@ public class RemoveItemsJobPerformable extends AbstractJobPerformable<RemoveItem
 				CronJobStatus.FINISHED);
 	}
 
+	/**
+	 * Reads the PKs in batches and hands them over to {@link #workerThreads} threads, blocking as soon as every worker is
+	 * busy and a batch is queued for each of them. Batches may finish out of order, so the stored counters only cover
+	 * the batches finished without a gap from the start of the stream. This keeps skipping the processed entries after a
+	 * restart correct, although items of later batches may be reported as refused then since they are gone already.
+	 */
+	private PerformResult performInBatches(final RemoveItemsCronJobModel cronJob)
+	{
+		final RemovedItemPKProcessor pkProcessor = new RemovedItemPKProcessor();
+		pkProcessor.setMediaService(mediaService);
+		final BatchProgress progress = new BatchProgress(
+				cronJob.getItemsDeleted() == null ? 0 : cronJob.getItemsDeleted().intValue(),
+				cronJob.getItemsRefused() == null ? 0 : cronJob.getItemsRefused().intValue());
+		final AtomicBoolean failed = new AtomicBoolean(false);
+		final Semaphore freeSlots = new Semaphore(workerThreads * 2);
+		final ExecutorService workers = workerThreads > 1 ? createWorkers(workerThreads) : null;
+
+		boolean error = false;
+		boolean abortRequested = false;
+		long timestamp = System.currentTimeMillis();
+		try
+		{
+			if (cronJob.getItemPKs() == null)
+			{
+				throw new IllegalStateException("ItemPKs media is null ");
+			}
+			if (cronJob.getCreateSavedValues() != null && !cronJob.getCreateSavedValues().booleanValue())
+			{
+				sessionService.removeAttribute(IS_HMC_SESSION);
+			}
+			// taken after the changes above, the workers run in sessions of their own carrying these attributes
+			final Map<String, Object> sessionAttributes = workers == null ? null : new HashMap<>(
+					sessionService.getAllSessionAttributes());
+			pkProcessor.init(cronJob);
+
+			for (long sequence = 0; pkProcessor.hasNext() && !failed.get(); sequence++)
+			{
+				if (clearAbortRequestedIfNeeded(cronJob))
+				{
+					abortRequested = true;
+					break;
+				}
+				final List<PK> batch = readBatch(pkProcessor);
+				if (workers == null)
+				{
+					progress.complete(sequence, removeBatch(batch));
+				}
+				else
+				{
+					final long batchSequence = sequence;
+					freeSlots.acquire();
+					workers.execute(() -> {
+						try
+						{
+							if (!failed.get())
+							{
+								progress.complete(batchSequence, removeBatchInSession(sessionAttributes, batch));
+							}
+						}
+						catch (final Exception e)
+						{
+							failed.set(true);
+							LOG.error("Other error : " + e.getMessage() + ", to get detail information set debug log level");
+							if (LOG.isDebugEnabled())
+							{
+								LOG.debug(e.getMessage(), e);
+							}
+						}
+						finally
+						{
+							freeSlots.release();
+						}
+					});
+				}
+				if (isUpdateProgressNeeded(timestamp))
+				{
+					cronJob.setItemsDeleted(Integer.valueOf(progress.getDeleted()));
+					cronJob.setItemsRefused(Integer.valueOf(progress.getRefused()));
+					modelService.save(cronJob);
+					timestamp = System.currentTimeMillis();
+				}
+			}
+		}
+		catch (final PKException pke)
+		{
+			LOG.error("Incorrect PK in the stream  : " + pke.getMessage() + ", to get detail information set debug log level");
+			if (LOG.isDebugEnabled())
+			{
+				LOG.debug(pke.getMessage(), pke);
+			}
+			error = true;
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			LOG.error("Interrupted while removing items of " + cronJob.getCode());
+			error = true;
+		}
+		catch (final Exception e)
+		{
+			LOG.error("Other error : " + e.getMessage() + ", to get detail information set debug log level");
+			if (LOG.isDebugEnabled())
+			{
+				LOG.debug(e.getMessage(), e);
+			}
+			error = true;
+		}
+		finally
+		{
+			if (workers != null)
+			{
+				error |= !awaitWorkers(workers, cronJob);
+			}
+			error |= failed.get();
+			cronJob.setItemsDeleted(Integer.valueOf(progress.getDeleted()));
+			cronJob.setItemsRefused(Integer.valueOf(progress.getRefused()));
+			cronJob.setItemsFound(Integer.valueOf(progress.getRefused() + progress.getDeleted()));
+			modelService.save(cronJob);
+			pkProcessor.dispose();
+		}
+		if (abortRequested)
+		{
+			return new PerformResult(CronJobResult.UNKNOWN, CronJobStatus.ABORTED);
+		}
+		return new PerformResult((!error && progress.getRefused() == 0) ? CronJobResult.SUCCESS : CronJobResult.FAILURE,
+				CronJobStatus.FINISHED);
+	}
+
+	/**
+	 * Creates the pool of threads removing the batches in the current tenant.
+	 */
+	protected ExecutorService createWorkers(final int threads)
+	{
+		return Executors.newFixedThreadPool(threads, new TenantAwareThreadFactory(Registry.getCurrentTenantNoFallback()));
+	}
+
+	private boolean awaitWorkers(final ExecutorService workers, final RemoveItemsCronJobModel cronJob)
+	{
+		workers.shutdown();
+		try
+		{
+			while (!workers.awaitTermination(1, TimeUnit.MINUTES))
+			{
+				LOG.info("Waiting for " + workerThreads + " workers of " + cronJob.getCode() + " to finish.");
+			}
+			return true;
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			workers.shutdownNow();
+			LOG.error("Interrupted while waiting for the workers of " + cronJob.getCode());
+			return false;
+		}
+	}
+
+	private List<PK> readBatch(final RemovedItemPKProcessor pkProcessor)
+	{
+		final List<PK> batch = new ArrayList<>(batchSize);
+		while (batch.size() < batchSize && pkProcessor.hasNext())
+		{
+			batch.add(pkProcessor.next());
+		}
+		return batch;
+	}
+
+	/**
+	 * Removes the batch in a session of its own with the attributes of the session running the job, like its user,
+	 * language, currency, catalog versions and search restriction settings.
+	 */
+	private int[] removeBatchInSession(final Map<String, Object> sessionAttributes, final List<PK> pks)
+	{
+		final Session session = sessionService.createNewSession();
+		try
+		{
+			sessionAttributes.forEach(sessionService::setAttribute);
+			return removeBatch(pks);
+		}
+		finally
+		{
+			sessionService.closeSession(session);
+		}
+	}
+
+	/**
+	 * @return the number of deleted and refused items of the batch
+	 */
+	protected int[] removeBatch(final List<PK> pks)
+	{
+		final Map<Integer, List<PK>> pksByType = new LinkedHashMap<>();
+		for (final PK pk : pks)
+		{
+			pksByType.computeIfAbsent(Integer.valueOf(pk.getTypeCode()), t -> new ArrayList<>()).add(pk);
+		}
+		int deleted = 0;
+		int refused = 0;
+		for (final List<PK> typePks : pksByType.values())
+		{
+			final List<ItemModel> models = loadItems(typePks);
+			final List<ItemModel> removable = new ArrayList<>(models.size());
+			for (int i = 0; i < typePks.size(); i++)
+			{
+				final ItemModel model = models.get(i);
+				if (model != null && isRemovalPermitted(model))
+				{
+					removable.add(model);
+				}
+				else
+				{
+					if (model == null)
+					{
+						LOG.warn("Failed to load item model " + typePks.get(i));
+					}
+					refused++;
+				}
+			}
+			for (final List<ItemModel> chunk : Lists.partition(removable, transactionSize))
+			{
+				final int removed = removeAll(chunk);
+				deleted += removed;
+				refused += chunk.size() - removed;
+			}
+			for (final ItemModel model : models)
+			{
+				if (model != null)
+				{
+					modelService.detach(model);
+				}
+			}
+		}
+		return new int[]
+				{ deleted, refused };
+	}
+
+	/**
+	 * Loads the items of the given PKs at once.
+	 *
+	 * @return the models in the order of the PKs, <code>null</code> for items which cannot be loaded
+	 */
+	protected List<ItemModel> loadItems(final List<PK> pks)
+	{
+		final LazyLoadModelList models = new LazyLoadModelList(new LazyLoadItemList(null, pks, pks.size()), pks.size(),
+				Collections.<Class> singletonList(Item.class), modelResolver);
+		final List<ItemModel> result = new ArrayList<>(pks.size());
+		for (int i = 0; i < pks.size(); i++)
+		{
+			try
+			{
+				result.add((ItemModel) models.get(i));
+			}
+			catch (final ModelLoadingException mle)
+			{
+				if (LOG.isDebugEnabled())
+				{
+					LOG.debug(mle.getMessage(), mle);
+				}
+				result.add(null);
+			}
+		}
+		return result;
+	}
+
+	private boolean isRemovalPermitted(final ItemModel model)
+	{
+		final PermissionCheckResult permission = permissionCheckingService.checkItemPermission(model,
+				PermissionsConstants.REMOVE);
+		if (permission != null && PermissionCheckValue.ALLOWED.equals(permission.getCheckValue()))
+		{
+			return true;
+		}
+		if (LOG.isDebugEnabled())
+		{
+			LOG.debug("Permission result is a " + permission + " for the " + model);
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the given items at once. If that fails they are removed one by one, so a single item which cannot be
+	 * removed only refuses itself.
+	 *
+	 * @return the number of removed items
+	 */
+	private int removeAll(final List<ItemModel> models)
+	{
+		try
+		{
+			modelService.removeAll(models);
+			return models.size();
+		}
+		catch (final ModelRemovalException mre)
+		{
+			if (LOG.isDebugEnabled())
+			{
+				LOG.debug("Failed to remove " + models.size() + " items at once, removing them one by one", mre);
+			}
+		}
+		int removed = 0;
+		for (final ItemModel model : models)
+		{
+			final PK pk = model.getPk();
+			try
+			{
+				modelService.remove(pk);
+				removed++;
+			}
+			catch (final ModelRemovalException mre)
+			{
+				LOG.warn("Failed to remove item model " + pk + ", with message :" + mre.getMessage()
+						+ " for more details set log level as debug");
+				if (LOG.isDebugEnabled())
+				{
+					LOG.debug(mre.getMessage(), mre);
+				}
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Counts the deleted and refused items of all batches finished without a gap from the first one.
+	 */
+	static final class BatchProgress
+	{
+		private final Map<Long, int[]> finished = new HashMap<>();
+		private long nextSequence = 0;
+		private int deleted;
+		private int refused;
+
+		BatchProgress(final int deleted, final int refused)
+		{
+			this.deleted = deleted;
+			this.refused = refused;
+		}
+
+		synchronized void complete(final long sequence, final int[] counts)
+		{
+			finished.put(Long.valueOf(sequence), counts);
+			for (int[] next = finished.remove(Long.valueOf(nextSequence)); next != null; next = finished.remove(
+					Long.valueOf(nextSequence)))
+			{
+				deleted += next[0];
+				refused += next[1];
+				nextSequence++;
+			}
+		}
+
+		synchronized int getDeleted()
+		{
+			return deleted;
+		}
+
+		synchronized int getRefused()
+		{
+			return refused;
+		}
+	}
+
 	/**
 	 * Returs true if update progress in needed
 	 */
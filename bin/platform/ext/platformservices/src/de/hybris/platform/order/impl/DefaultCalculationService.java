@@ -38,6 +38,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -61,6 +62,8 @@ public class DefaultCalculationService extends AbstractBusinessService implement
 
 	private static final Logger LOG = Logger.getLogger(DefaultCalculationService.class);
 
+	private static final String KEY_BATCH_ENTRY_LOOKUP = "ordercalculation.entries.batch.lookup";
+
 	private List<FindTaxValuesStrategy> findTaxesStrategies;
 	private List<FindDiscountValuesStrategy> findDiscountsStrategies;
 	private FindPriceStrategy findPriceStrategy;
@@ -68,6 +71,7 @@ public class DefaultCalculationService extends AbstractBusinessService implement
 	private FindPaymentCostStrategy findPaymentCostStrategy;
 	private OrderRequiresCalculationStrategy orderRequiresCalculationStrategy;
 	private static final ThreadLocal<Boolean> saveOrderEntryUnneeded = new ThreadLocal<>();
+	private static final ThreadLocal<Map<AbstractOrderEntryModel, PrefetchedEntryValues>> prefetchedEntryValues = new ThreadLocal<>();
 	private CommonI18NService commonI18NService;
 
 	//see PLA-11851
@@ -338,14 +342,37 @@ public class DefaultCalculationService extends AbstractBusinessService implement
 
 	public void calculateEntries(final AbstractOrderModel order, final boolean forceRecalculate) throws CalculationException
 	{
-		double subtotal = 0.0;
-		for (final AbstractOrderEntryModel e : order.getEntries())
+		final Map<AbstractOrderEntryModel, PrefetchedEntryValues> previousPrefetchedValues = prefetchedEntryValues.get();
+		if (isBatchEntryLookup() && !hasJaloStrategies())
+		{
+			prefetchedEntryValues.set(prefetchEntryValues(order.getEntries(), forceRecalculate));
+		}
+		try
+		{
+			double subtotal = 0.0;
+			for (final AbstractOrderEntryModel e : order.getEntries())
+			{
+				recalculateOrderEntryIfNeeded(e, forceRecalculate);
+				subtotal += e.getTotalPrice().doubleValue();
+			}
+			order.setTotalPrice(Double.valueOf(subtotal));
+		}
+		finally
 		{
-			recalculateOrderEntryIfNeeded(e, forceRecalculate);
-			subtotal += e.getTotalPrice().doubleValue();
+			if (previousPrefetchedValues == null)
+			{
+				prefetchedEntryValues.remove();
+			}
+			else
+			{
+				prefetchedEntryValues.set(previousPrefetchedValues);
+			}
 		}
-		order.setTotalPrice(Double.valueOf(subtotal));
+	}
 
+	protected boolean isBatchEntryLookup()
+	{
+		return Config.getBoolean(KEY_BATCH_ENTRY_LOOKUP, true);
 	}
 
 	@Override
@@ -425,6 +452,64 @@ public class DefaultCalculationService extends AbstractBusinessService implement
 		}
 	}
 
+	/**
+	 * Looks up taxes, prices and discounts of all given entries which need recalculation at once. The values are returned
+	 * by {@link #findTaxValues(AbstractOrderEntryModel)}, {@link #findBasePrice(AbstractOrderEntryModel)} and
+	 * {@link #findDiscountValues(AbstractOrderEntryModel)} while the entries are calculated, so overridden hooks still
+	 * apply.
+	 */
+	private Map<AbstractOrderEntryModel, PrefetchedEntryValues> prefetchEntryValues(final List<AbstractOrderEntryModel> entries,
+			final boolean forceRecalculation) throws CalculationException
+	{
+		final List<AbstractOrderEntryModel> entriesToRecalculate = new ArrayList<>(entries.size());
+		for (final AbstractOrderEntryModel entry : entries)
+		{
+			if (forceRecalculation || orderRequiresCalculationStrategy.requiresCalculation(entry))
+			{
+				entriesToRecalculate.add(entry);
+			}
+		}
+		if (entriesToRecalculate.size() < 2)
+		{
+			return Collections.emptyMap();
+		}
+		final List<Collection<TaxValue>> entriesTaxes = findTaxValuesForEntries(entriesToRecalculate);
+		final List<PriceValue> basePrices = findBasePrices(entriesToRecalculate);
+		final List<List<DiscountValue>> entriesDiscounts = findDiscountValuesForEntries(entriesToRecalculate);
+
+		final Map<AbstractOrderEntryModel, PrefetchedEntryValues> values = new IdentityHashMap<>(entriesToRecalculate.size());
+		for (int i = 0; i < entriesToRecalculate.size(); i++)
+		{
+			values.put(entriesToRecalculate.get(i),
+					new PrefetchedEntryValues(entriesTaxes.get(i), basePrices.get(i), entriesDiscounts.get(i)));
+		}
+		return values;
+	}
+
+	private static PrefetchedEntryValues getPrefetchedEntryValues(final AbstractOrderEntryModel entry)
+	{
+		final Map<AbstractOrderEntryModel, PrefetchedEntryValues> values = prefetchedEntryValues.get();
+		return values == null ? null : values.get(entry);
+	}
+
+	/**
+	 * Taxes, base price and discounts of an entry looked up together with the other entries of its order.
+	 */
+	private static final class PrefetchedEntryValues
+	{
+		private final Collection<TaxValue> taxValues;
+		private final PriceValue basePrice;
+		private final List<DiscountValue> discountValues;
+
+		private PrefetchedEntryValues(final Collection<TaxValue> taxValues, final PriceValue basePrice,
+				final List<DiscountValue> discountValues)
+		{
+			this.taxValues = taxValues;
+			this.basePrice = basePrice;
+			this.discountValues = discountValues;
+		}
+	}
+
 	@Override
 	public void recalculate(final AbstractOrderEntryModel entry) throws CalculationException
 	{
@@ -896,6 +981,11 @@ public class DefaultCalculationService extends AbstractBusinessService implement
 
 	protected Collection<TaxValue> findTaxValues(final AbstractOrderEntryModel entry) throws CalculationException
 	{
+		final PrefetchedEntryValues prefetched = getPrefetchedEntryValues(entry);
+		if (prefetched != null)
+		{
+			return new ArrayList<TaxValue>(prefetched.taxValues);
+		}
 		if (findTaxesStrategies.isEmpty())
 		{
 			LOG.warn("No strategies for finding tax values could be found!");
@@ -914,6 +1004,11 @@ public class DefaultCalculationService extends AbstractBusinessService implement
 
 	protected List<DiscountValue> findDiscountValues(final AbstractOrderEntryModel entry) throws CalculationException
 	{
+		final PrefetchedEntryValues prefetched = getPrefetchedEntryValues(entry);
+		if (prefetched != null)
+		{
+			return new ArrayList<DiscountValue>(prefetched.discountValues);
+		}
 		if (findDiscountsStrategies.isEmpty())
 		{
 			LOG.warn("No strategies for finding discount values could be found!");
@@ -930,6 +1025,52 @@ public class DefaultCalculationService extends AbstractBusinessService implement
 		}
 	}
 
+	protected List<Collection<TaxValue>> findTaxValuesForEntries(final List<AbstractOrderEntryModel> entries)
+			throws CalculationException
+	{
+		final List<Collection<TaxValue>> result = new ArrayList<>(entries.size());
+		for (int i = 0; i < entries.size(); i++)
+		{
+			result.add(new ArrayList<TaxValue>());
+		}
+		if (findTaxesStrategies.isEmpty())
+		{
+			LOG.warn("No strategies for finding tax values could be found!");
+		}
+		for (final FindTaxValuesStrategy findStrategy : findTaxesStrategies)
+		{
+			final List<Collection<TaxValue>> found = findStrategy.findTaxValuesForEntries(entries);
+			for (int i = 0; i < entries.size(); i++)
+			{
+				result.get(i).addAll(found.get(i));
+			}
+		}
+		return result;
+	}
+
+	protected List<List<DiscountValue>> findDiscountValuesForEntries(final List<AbstractOrderEntryModel> entries)
+			throws CalculationException
+	{
+		final List<List<DiscountValue>> result = new ArrayList<>(entries.size());
+		for (int i = 0; i < entries.size(); i++)
+		{
+			result.add(new ArrayList<DiscountValue>());
+		}
+		if (findDiscountsStrategies.isEmpty())
+		{
+			LOG.warn("No strategies for finding discount values could be found!");
+		}
+		for (final FindDiscountValuesStrategy findStrategy : findDiscountsStrategies)
+		{
+			final List<List<DiscountValue>> found = findStrategy.findDiscountValuesForEntries(entries);
+			for (int i = 0; i < entries.size(); i++)
+			{
+				result.get(i).addAll(found.get(i));
+			}
+		}
+		return result;
+	}
+
 	protected List<DiscountValue> findGlobalDiscounts(final AbstractOrderModel order) throws CalculationException
 	{
 		if (findDiscountsStrategies.isEmpty())
@@ -951,9 +1092,19 @@ public class DefaultCalculationService extends AbstractBusinessService implement
 
 	protected PriceValue findBasePrice(final AbstractOrderEntryModel entry) throws CalculationException
 	{
+		final PrefetchedEntryValues prefetched = getPrefetchedEntryValues(entry);
+		if (prefetched != null)
+		{
+			return prefetched.basePrice;
+		}
 		return findPriceStrategy.findBasePrice(entry);
 	}
 
+	protected List<PriceValue> findBasePrices(final List<AbstractOrderEntryModel> entries) throws CalculationException
+	{
+		return findPriceStrategy.findBasePrices(entries);
+	}
+
 	private static boolean isSaveOrderEntryUnneeded()
 	{
 		return Boolean.TRUE.equals(saveOrderEntryUnneeded.get());
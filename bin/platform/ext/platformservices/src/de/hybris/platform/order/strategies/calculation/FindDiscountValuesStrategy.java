@@ -19,6 +19,7 @@ import de.hybris.platform.order.impl.DefaultCalculationService;
 import de.hybris.platform.product.BaseCriteria;
 import de.hybris.platform.util.DiscountValue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -37,6 +38,24 @@ public interface FindDiscountValuesStrategy extends ServiceLayerOnlyCalculationV
 	 */
 	List<DiscountValue> findDiscountValues(AbstractOrderEntryModel entry) throws CalculationException;
 
+	/**
+	 * Find applicable {@link DiscountValue}s for several order entries at once. The default implementation calls
+	 * {@link #findDiscountValues(AbstractOrderEntryModel)} for each entry.
+	 *
+	 * @param entries
+	 * @return Lists of {@link DiscountValue}s, in the order of the given entries
+	 */
+	default List<List<DiscountValue>> findDiscountValuesForEntries(final List<AbstractOrderEntryModel> entries)
+			throws CalculationException
+	{
+		final List<List<DiscountValue>> result = new ArrayList<>(entries.size());
+		for (final AbstractOrderEntryModel entry : entries)
+		{
+			result.add(findDiscountValues(entry));
+		}
+		return result;
+	}
+
 	/**
 	 * Find applicable global {@link DiscountValue}s for the target order. They may originate from the current session's
 	 * price factory or {@link DiscountModel}s directly attached to the target order.
@@ -17,6 +17,7 @@ import de.hybris.platform.order.strategies.calculation.impl.FindPricingWithCurre
 import de.hybris.platform.product.BaseCriteria;
 import de.hybris.platform.util.PriceValue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -35,6 +36,23 @@ public interface FindPriceStrategy extends ServiceLayerOnlyCalculationVerifier
 	 */
 	PriceValue findBasePrice(AbstractOrderEntryModel entry) throws CalculationException;
 
+	/**
+	 * Resolves price values for several {@link AbstractOrderEntryModel}s at once. The default implementation calls
+	 * {@link #findBasePrice(AbstractOrderEntryModel)} for each entry.
+	 *
+	 * @param entries the {@link AbstractOrderEntryModel}s
+	 * @return the {@link PriceValue}s, in the order of the given entries
+	 */
+	default List<PriceValue> findBasePrices(final List<AbstractOrderEntryModel> entries) throws CalculationException
+	{
+		final List<PriceValue> result = new ArrayList<>(entries.size());
+		for (final AbstractOrderEntryModel entry : entries)
+		{
+			result.add(findBasePrice(entry));
+		}
+		return result;
+	}
+
 	/**
 	 * Get prices information {@link PriceInformation} for given criteria.
 	 *
@@ -46,4 +64,22 @@ public interface FindPriceStrategy extends ServiceLayerOnlyCalculationVerifier
 	{
 		throw new UnsupportedOperationException("Not implemented");
 	}
+
+	/**
+	 * Get prices information {@link PriceInformation} for several criteria at once. The default implementation calls
+	 * {@link #getPriceInformation(BaseCriteria)} for each criteria.
+	 *
+	 * @param baseCriteria the {@link BaseCriteria}s
+	 * @return the {@link PriceInformation}s matching each criteria, in the order of the given criteria
+	 */
+	default List<List<PriceInformation>> getPriceInformationsForCriteria(final List<? extends BaseCriteria> baseCriteria)
+			throws CalculationException
+	{
+		final List<List<PriceInformation>> result = new ArrayList<>(baseCriteria.size());
+		for (final BaseCriteria criteria : baseCriteria)
+		{
+			result.add(getPriceInformation(criteria));
+		}
+		return result;
+	}
 }
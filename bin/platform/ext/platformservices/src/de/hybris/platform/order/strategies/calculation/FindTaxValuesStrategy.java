@@ -16,6 +16,7 @@ import de.hybris.platform.order.exceptions.CalculationException;
 import de.hybris.platform.product.BaseCriteria;
 import de.hybris.platform.util.TaxValue;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -33,6 +34,24 @@ public interface FindTaxValuesStrategy extends ServiceLayerOnlyCalculationVerifi
 	 */
 	Collection<TaxValue> findTaxValues(AbstractOrderEntryModel entry) throws CalculationException;
 
+	/**
+	 * Resolves tax values for several {@link AbstractOrderEntryModel}s at once. The default implementation calls
+	 * {@link #findTaxValues(AbstractOrderEntryModel)} for each entry.
+	 *
+	 * @param entries the {@link AbstractOrderEntryModel}s
+	 * @return collections of {@link TaxValue}s, in the order of the given entries
+	 */
+	default List<Collection<TaxValue>> findTaxValuesForEntries(final List<AbstractOrderEntryModel> entries)
+			throws CalculationException
+	{
+		final List<Collection<TaxValue>> result = new ArrayList<>(entries.size());
+		for (final AbstractOrderEntryModel entry : entries)
+		{
+			result.add(findTaxValues(entry));
+		}
+		return result;
+	}
+
 
 	/**
 	 * Get taxes information {@link TaxInformation} for given criteria.
@@ -75,6 +75,13 @@ final class FindPDTValuesInformationsSwitcher implements FindTaxValuesStrategy,
 		return getFindPriceStrategy().getPriceInformation(priceCriteria);
 	}
 
+	@Override
+	public List<List<PriceInformation>> getPriceInformationsForCriteria(final List<? extends BaseCriteria> priceCriteria)
+			throws CalculationException
+	{
+		return getFindPriceStrategy().getPriceInformationsForCriteria(priceCriteria);
+	}
+
 	@Override
 	public List<TaxInformation> getTaxInformation(final BaseCriteria priceCriteria) throws CalculationException
 	{
@@ -99,12 +106,25 @@ final class FindPDTValuesInformationsSwitcher implements FindTaxValuesStrategy,
 		return getFindPriceStrategy().findBasePrice(entry);
 	}
 
+	@Override
+	public List<PriceValue> findBasePrices(final List<AbstractOrderEntryModel> entries) throws CalculationException
+	{
+		return getFindPriceStrategy().findBasePrices(entries);
+	}
+
 	@Override
 	public List<DiscountValue> findDiscountValues(final AbstractOrderEntryModel entry) throws CalculationException
 	{
 		return getFindDiscountValuesStrategy().findDiscountValues(entry);
 	}
 
+	@Override
+	public List<List<DiscountValue>> findDiscountValuesForEntries(final List<AbstractOrderEntryModel> entries)
+			throws CalculationException
+	{
+		return getFindDiscountValuesStrategy().findDiscountValuesForEntries(entries);
+	}
+
 	@Override
 	public List<DiscountValue> findDiscountValues(final AbstractOrderModel order) throws CalculationException
 	{
@@ -117,6 +137,13 @@ final class FindPDTValuesInformationsSwitcher implements FindTaxValuesStrategy,
 		return getFindTaxValuesStrategy().findTaxValues(entry);
 	}
 
+	@Override
+	public List<Collection<TaxValue>> findTaxValuesForEntries(final List<AbstractOrderEntryModel> entries)
+			throws CalculationException
+	{
+		return getFindTaxValuesStrategy().findTaxValuesForEntries(entries);
+	}
+
 	@Override
 	public PriceValue getPaymentCost(final AbstractOrderModel order)
 	{
@@ -10,6 +10,13 @@
  */
 package de.hybris.platform.order.strategies.calculation.impl.servicelayer;
 
+import de.hybris.platform.cache.Cache;
+import de.hybris.platform.cache.InvalidationListener;
+import de.hybris.platform.cache.InvalidationManager;
+import de.hybris.platform.cache.InvalidationTarget;
+import de.hybris.platform.cache.InvalidationTopic;
+import de.hybris.platform.cache.RemoteInvalidationSource;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.c2l.CountryModel;
 import de.hybris.platform.core.model.c2l.CurrencyModel;
 import de.hybris.platform.core.model.order.AbstractOrderEntryModel;
@@ -20,6 +27,8 @@ import de.hybris.platform.deliveryzone.constants.ZoneDeliveryModeConstants;
 import de.hybris.platform.deliveryzone.jalo.ZoneDeliveryModeValue;
 import de.hybris.platform.deliveryzone.model.ZoneDeliveryModeModel;
 import de.hybris.platform.deliveryzone.model.ZoneDeliveryModeValueModel;
+import de.hybris.platform.jalo.JaloSession;
+import de.hybris.platform.jalo.SessionContext;
 import de.hybris.platform.jalo.link.Link;
 import de.hybris.platform.order.exceptions.CalculationException;
 import de.hybris.platform.order.strategies.calculation.FindDeliveryCostStrategy;
@@ -28,11 +37,20 @@ import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.FlexibleSearchService;
 import de.hybris.platform.servicelayer.search.SearchResult;
 import de.hybris.platform.servicelayer.util.ServicesUtil;
+import de.hybris.platform.tx.Transaction;
+import de.hybris.platform.util.Config;
 import de.hybris.platform.util.PriceValue;
+import de.hybris.platform.util.typesystem.PlatformStringUtils;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +74,45 @@ public class DefaultSLFindDeliveryCostStrategy implements FindDeliveryCostStrate
 			+ ZoneDeliveryModeValue.CURRENCY + "} = ?curr AND " + "{v." + ZoneDeliveryModeValue.MINIMUM + "} <= ?amount AND "
 			+ "{z2cRel." + Link.TARGET + "} = ?country " + "ORDER BY {v." + ZoneDeliveryModeValue.MINIMUM + "} DESC ";// get closest minimum at top
 
+	private static final String ALL_ZONE_DELIVERY_MODE_VALUES_QUERY = "SELECT {v." + ZoneDeliveryModeValue.DELIVERYMODE
+			+ "}, {z2cRel." + Link.TARGET + "}, {v." + ZoneDeliveryModeValue.CURRENCY + "}, {v." + ZoneDeliveryModeValue.MINIMUM
+			+ "}, {v." + ZoneDeliveryModeValue.VALUE + "} FROM {" + ZoneDeliveryModeConstants.TC.ZONEDELIVERYMODEVALUE + " AS v "
+			+ "JOIN " + ZoneDeliveryModeConstants.Relations.ZONECOUNTRYRELATION + " AS z2cRel " + "ON {v."
+			+ ZoneDeliveryModeValue.ZONE + "}={z2cRel." + Link.SOURCE + "} }";
+
+	/**
+	 * Looks up delivery costs in an in-memory index of all delivery mode values instead of querying them.
+	 */
+	public static final String KEY_INDEX = "pdt.deliverycost.index";
+
+	/**
+	 * Queries each delivery cost from the database in addition to the index and logs differences and the time taken.
+	 */
+	public static final String KEY_INDEX_VERIFY = "pdt.deliverycost.index.verify";
+
+	private final AtomicReference<ZoneDeliveryCostIndex> deliveryCostIndex = new AtomicReference<>();
+
+	//incremented by each invalidation - an index loaded meanwhile is not published
+	private final AtomicLong invalidationGeneration = new AtomicLong();
+
+	private final InvalidationListener invalidationListener = new InvalidationListener()
+	{
+		private final String zoneDeliveryModeValueTypeCode = PlatformStringUtils.valueOf(1202);
+		private final String zoneTypeCode = PlatformStringUtils.valueOf(1203);
+		private final String zoneCountryRelationTypeCode = PlatformStringUtils.valueOf(1204);
+
+		@Override
+		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
+		                           final RemoteInvalidationSource remoteSrc)
+		{
+			if (zoneDeliveryModeValueTypeCode.equals(key[2]) || zoneTypeCode.equals(key[2])
+					|| zoneCountryRelationTypeCode.equals(key[2]))
+			{
+				invalidateDeliveryCostIndex();
+			}
+		}
+	};
+
 
 	@Override
 	public PriceValue getDeliveryCost(final AbstractOrderModel order)
@@ -111,48 +168,34 @@ public class DefaultSLFindDeliveryCostStrategy implements FindDeliveryCostStrate
 
 			final double amount = getCalculationBaseValue(order, propName);
 
-			final Map<String, Object> params = new HashMap<>();
-			params.put("me", zoneDeliveryMode);
-			params.put("curr", curr);
-			params.put("country", country);
-			params.put("amount", Double.valueOf(amount));
-
-			FlexibleSearchQuery searchQuery = new FlexibleSearchQuery(ZONE_DELIVERY_MODE_QUERY, params);
-
-			SearchResult<ZoneDeliveryModeValueModel> results = flexibleSearchService.search(searchQuery);
-			List<ZoneDeliveryModeValueModel> values = results.getResult();
+			CurrencyModel myCurr = curr;
+			Double value = findDeliveryCostValue(zoneDeliveryMode, country, curr, amount);
 
 			// fallback to base currency if nothing has been found
-			if (values.isEmpty() && !curr.getBase().booleanValue() && commonI18NService.getBaseCurrency() != null)
+			if (value == null && !curr.getBase().booleanValue() && commonI18NService.getBaseCurrency() != null)
 			{
-				params.put("curr", commonI18NService.getBaseCurrency());
-				searchQuery = new FlexibleSearchQuery(ZONE_DELIVERY_MODE_QUERY, params);
-				results = flexibleSearchService.search(searchQuery);
-				values = results.getResult();
+				myCurr = commonI18NService.getBaseCurrency();
+				value = findDeliveryCostValue(zoneDeliveryMode, country, myCurr, amount);
 			}
-			if (values.isEmpty())
+			if (value == null)
 			{
 				throw new CalculationException(
 						"no delivery price defined for mode " + this + ", country " + country + ", currency "
 								+ curr + " and amount " + amount);
 			}
 
-			final ZoneDeliveryModeValueModel bestMatch = values.get(0);
-
-			final CurrencyModel myCurr = bestMatch.getCurrency();
-			if (!curr.equals(myCurr) && myCurr != null)
+			if (!curr.equals(myCurr))
 			{
 				return new PriceValue(curr.getIsocode(),
 						commonI18NService.convertAndRoundCurrency(myCurr.getConversion().doubleValue(),
 								curr.getConversion().doubleValue(),
 								curr.getDigits().intValue(),
-								bestMatch.getValue().doubleValue()),
+								value.doubleValue()),
 						zoneDeliveryMode.getNet().booleanValue());
 			}
 			else
 			{
-				return new PriceValue(curr.getIsocode(), bestMatch.getValue().doubleValue(),
-						zoneDeliveryMode.getNet().booleanValue());
+				return new PriceValue(curr.getIsocode(), value.doubleValue(), zoneDeliveryMode.getNet().booleanValue());
 			}
 		}
 		else
@@ -165,6 +208,135 @@ public class DefaultSLFindDeliveryCostStrategy implements FindDeliveryCostStrate
 		}
 	}
 
+	/**
+	 * Finds the value of the delivery mode for the country and currency with the closest minimum below the amount. Uses
+	 * the delivery cost index unless it is disabled or a transaction is running.
+	 *
+	 * @return the value or <code>null</code> if no value matches
+	 */
+	protected Double findDeliveryCostValue(final ZoneDeliveryModeModel zoneDeliveryMode, final CountryModel country,
+	                                       final CurrencyModel currency, final double amount)
+	{
+		if (!isIndexEnabled() || Transaction.current().isRunning())
+		{
+			return queryDeliveryCostValue(zoneDeliveryMode, country, currency, amount);
+		}
+		if (!isIndexVerificationEnabled())
+		{
+			return getDeliveryCostIndex().findValue(zoneDeliveryMode.getPk(), country.getPk(), currency.getPk(), amount);
+		}
+
+		final long indexStart = System.nanoTime();
+		final Double indexed = getDeliveryCostIndex().findValue(zoneDeliveryMode.getPk(), country.getPk(), currency.getPk(),
+				amount);
+		final long queryStart = System.nanoTime();
+		final Double queried = queryDeliveryCostValue(zoneDeliveryMode, country, currency, amount);
+		final long queryEnd = System.nanoTime();
+		if (!Objects.equals(indexed, queried))
+		{
+			LOG.warn("Delivery cost index returned {} instead of {} for mode {}, country {}, currency {} and amount {}", indexed,
+					queried, zoneDeliveryMode.getCode(), country.getIsocode(), currency.getIsocode(), Double.valueOf(amount));
+		}
+		LOG.debug("Delivery cost lookup took {} ns from the index and {} ns from the database",
+				Long.valueOf(queryStart - indexStart), Long.valueOf(queryEnd - queryStart));
+		return queried;
+	}
+
+	protected Double queryDeliveryCostValue(final ZoneDeliveryModeModel zoneDeliveryMode, final CountryModel country,
+	                                        final CurrencyModel currency, final double amount)
+	{
+		final Map<String, Object> params = new HashMap<>();
+		params.put("me", zoneDeliveryMode);
+		params.put("curr", currency);
+		params.put("country", country);
+		params.put("amount", Double.valueOf(amount));
+
+		final FlexibleSearchQuery searchQuery = new FlexibleSearchQuery(ZONE_DELIVERY_MODE_QUERY, params);
+		searchQuery.setCount(1);
+
+		final SearchResult<ZoneDeliveryModeValueModel> results = flexibleSearchService.search(searchQuery);
+		final List<ZoneDeliveryModeValueModel> values = results.getResult();
+		return values.isEmpty() ? null : values.get(0).getValue();
+	}
+
+	/**
+	 * Returns the index of all delivery mode values, loading it if it has been invalidated.
+	 */
+	protected ZoneDeliveryCostIndex getDeliveryCostIndex()
+	{
+		final ZoneDeliveryCostIndex index = deliveryCostIndex.get();
+		if (index != null)
+		{
+			return index;
+		}
+		final long generation = invalidationGeneration.get();
+		final ZoneDeliveryCostIndex loaded = loadDeliveryCostIndex();
+		// do not publish an index which may have missed an invalidation during loading
+		if (generation == invalidationGeneration.get())
+		{
+			deliveryCostIndex.compareAndSet(null, loaded);
+		}
+		return loaded;
+	}
+
+	/**
+	 * Loads all delivery mode values without search restrictions, as the index is shared by all sessions.
+	 */
+	private ZoneDeliveryCostIndex loadDeliveryCostIndex()
+	{
+		SessionContext ctx = null;
+		try
+		{
+			ctx = JaloSession.getCurrentSession().createLocalSessionContext();
+			ctx.setAttribute("disableRestrictions", Boolean.TRUE);
+
+			final FlexibleSearchQuery query = new FlexibleSearchQuery(ALL_ZONE_DELIVERY_MODE_VALUES_QUERY);
+			query.setResultClassList(Arrays.asList(PK.class, PK.class, PK.class, Double.class, Double.class));
+			final SearchResult<List<Object>> result = flexibleSearchService.search(query);
+
+			final ZoneDeliveryCostIndex.Builder builder = ZoneDeliveryCostIndex.builder();
+			for (final List<Object> row : result.getResult())
+			{
+				builder.add((PK) row.get(0), (PK) row.get(1), (PK) row.get(2), ((Double) row.get(3)).doubleValue(),
+						((Double) row.get(4)).doubleValue());
+			}
+			final ZoneDeliveryCostIndex index = builder.build();
+			LOG.debug("Loaded delivery cost index with {} entries", Integer.valueOf(index.size()));
+			return index;
+		}
+		finally
+		{
+			if (ctx != null)
+			{
+				JaloSession.getCurrentSession().removeLocalSessionContext();
+			}
+		}
+	}
+
+	void invalidateDeliveryCostIndex()
+	{
+		invalidationGeneration.incrementAndGet();
+		deliveryCostIndex.set(null);
+	}
+
+	@PostConstruct
+	public void init()
+	{
+		final InvalidationTopic topic = InvalidationManager.getInstance().getInvalidationTopic(new String[]
+				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
+		topic.addInvalidationListener(invalidationListener);
+	}
+
+	protected boolean isIndexEnabled()
+	{
+		return Config.getBoolean(KEY_INDEX, false);
+	}
+
+	protected boolean isIndexVerificationEnabled()
+	{
+		return Config.getBoolean(KEY_INDEX_VERIFY, false);
+	}
+
 	protected void validateOrder(final AbstractOrderModel order) throws CalculationException
 	{
 		if (order.getDeliveryAddress() == null)
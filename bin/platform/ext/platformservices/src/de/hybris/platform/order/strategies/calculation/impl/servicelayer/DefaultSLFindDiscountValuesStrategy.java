@@ -21,6 +21,7 @@ import de.hybris.platform.order.strategies.calculation.pdt.criteria.DiscountValu
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PDTCriteriaFactory;
 import de.hybris.platform.util.DiscountValue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Required;
@@ -55,6 +56,18 @@ public class DefaultSLFindDiscountValuesStrategy implements FindDiscountValuesSt
 		return findDiscountValueInfoStrategy.getPDTValues(discountCriteria);
 	}
 
+	@Override
+	public List<List<DiscountValue>> findDiscountValuesForEntries(final List<AbstractOrderEntryModel> entries)
+			throws CalculationException
+	{
+		final List<DiscountValueInfoCriteria> discountCriteria = new ArrayList<>(entries.size());
+		for (final AbstractOrderEntryModel entry : entries)
+		{
+			discountCriteria.add(pdtCriteriaFactory.discountValueCriteriaFromOrderEntry(entry));
+		}
+		return findDiscountValueInfoStrategy.getAllPDTValues(discountCriteria);
+	}
+
 	@Override
 	public List<DiscountInformation> getDiscountInformation(final BaseCriteria baseCriteria) throws CalculationException
 	{
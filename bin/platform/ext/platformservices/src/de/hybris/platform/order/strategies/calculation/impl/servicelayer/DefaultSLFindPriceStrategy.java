@@ -20,6 +20,7 @@ import de.hybris.platform.order.strategies.calculation.pdt.criteria.PDTCriteriaF
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PriceValueInfoCriteria;
 import de.hybris.platform.util.PriceValue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Required;
@@ -54,6 +55,23 @@ public class DefaultSLFindPriceStrategy implements FindPriceStrategy
 		return pdtValues.isEmpty() ? null : pdtValues.get(0);
 	}
 
+	@Override
+	public List<PriceValue> findBasePrices(final List<AbstractOrderEntryModel> entries) throws CalculationException
+	{
+		final List<PriceValueInfoCriteria> priceValuesCriteria = new ArrayList<>(entries.size());
+		for (final AbstractOrderEntryModel entry : entries)
+		{
+			priceValuesCriteria.add(pdtCriteriaFactory.priceValueCriteriaFromOrderEntry(entry));
+		}
+
+		final List<PriceValue> result = new ArrayList<>(entries.size());
+		for (final List<PriceValue> pdtValues : findPriceValueInfoStrategy.getAllPDTValues(priceValuesCriteria))
+		{
+			result.add(pdtValues.isEmpty() ? null : pdtValues.get(0));
+		}
+		return result;
+	}
+
 	@Override
 	public List<PriceInformation> getPriceInformation(final BaseCriteria priceCriteria) throws CalculationException
 	{
@@ -61,6 +79,18 @@ public class DefaultSLFindPriceStrategy implements FindPriceStrategy
 		return findPriceValueInfoStrategy.getPDTInformation(pvc);
 	}
 
+	@Override
+	public List<List<PriceInformation>> getPriceInformationsForCriteria(final List<? extends BaseCriteria> priceCriteria)
+			throws CalculationException
+	{
+		final List<PriceValueInfoCriteria> pvcs = new ArrayList<>(priceCriteria.size());
+		for (final BaseCriteria criteria : priceCriteria)
+		{
+			pvcs.add(pdtCriteriaFactory.priceInfoCriteriaFromBaseCriteria(criteria));
+		}
+		return findPriceValueInfoStrategy.getAllPDTInformation(pvcs);
+	}
+
 	@Required
 	public void setPdtCriteriaFactory(final PDTCriteriaFactory pdtCriteriaFactory)
 	{
@@ -20,6 +20,7 @@ import de.hybris.platform.order.strategies.calculation.pdt.criteria.PDTCriteriaF
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.TaxValueInfoCriteria;
 import de.hybris.platform.util.TaxValue;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -47,6 +48,18 @@ public class DefaultSLFindTaxValuesStrategy implements FindTaxValuesStrategy
 		return findTaxValueInfoStrategy.getPDTValues(taxCriteria);
 	}
 
+	@Override
+	public List<Collection<TaxValue>> findTaxValuesForEntries(final List<AbstractOrderEntryModel> entries)
+			throws CalculationException
+	{
+		final List<TaxValueInfoCriteria> taxCriteria = new ArrayList<>(entries.size());
+		for (final AbstractOrderEntryModel entry : entries)
+		{
+			taxCriteria.add(pdtCriteriaFactory.taxValueCriteriaFromOrderEntry(entry));
+		}
+		return new ArrayList<>(findTaxValueInfoStrategy.getAllPDTValues(taxCriteria));
+	}
+
 	@Override
 	public List<TaxInformation> getTaxInformation(final BaseCriteria baseCriteria) throws CalculationException
 	{
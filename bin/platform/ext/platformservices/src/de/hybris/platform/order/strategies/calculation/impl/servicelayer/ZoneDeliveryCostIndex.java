@@ -0,0 +1,171 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.order.strategies.calculation.impl.servicelayer;
+
+import de.hybris.platform.core.PK;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Immutable index of all zone delivery mode values used by {@link DefaultSLFindDeliveryCostStrategy}. The values of
+ * each delivery mode, country and currency are kept sorted by their minimum, so the value with the closest minimum
+ * below an amount is found by a binary search.
+ */
+final class ZoneDeliveryCostIndex
+{
+	private final Map<Key, Thresholds> thresholds;
+
+	private ZoneDeliveryCostIndex(final Map<Key, Thresholds> thresholds)
+	{
+		this.thresholds = thresholds;
+	}
+
+	/**
+	 * Finds the value of the given delivery mode, country and currency with the highest minimum not above the amount.
+	 *
+	 * @return the delivery cost value or <code>null</code> if there is none
+	 */
+	Double findValue(final PK deliveryMode, final PK country, final PK currency, final double amount)
+	{
+		final Thresholds candidates = thresholds.get(new Key(deliveryMode, country, currency));
+		return candidates == null ? null : candidates.findValue(amount);
+	}
+
+	int size()
+	{
+		return thresholds.size();
+	}
+
+	static Builder builder()
+	{
+		return new Builder();
+	}
+
+	static final class Builder
+	{
+		private final Map<Key, List<double[]>> rows = new HashMap<>();
+
+		private Builder()
+		{
+		}
+
+		/**
+		 * Adds a delivery mode value of a zone for one of the countries of the zone.
+		 */
+		Builder add(final PK deliveryMode, final PK country, final PK currency, final double minimum, final double value)
+		{
+			rows.computeIfAbsent(new Key(deliveryMode, country, currency), k -> new ArrayList<>()).add(new double[]
+					{ minimum, value });
+			return this;
+		}
+
+		ZoneDeliveryCostIndex build()
+		{
+			final Map<Key, Thresholds> thresholds = new HashMap<>(rows.size() * 2);
+			for (final Map.Entry<Key, List<double[]>> entry : rows.entrySet())
+			{
+				final List<double[]> sorted = entry.getValue();
+				sorted.sort(Comparator.comparingDouble(row -> row[0]));
+				final double[] minimums = new double[sorted.size()];
+				final double[] values = new double[sorted.size()];
+				for (int i = 0; i < sorted.size(); i++)
+				{
+					minimums[i] = sorted.get(i)[0];
+					values[i] = sorted.get(i)[1];
+				}
+				thresholds.put(entry.getKey(), new Thresholds(minimums, values));
+			}
+			return new ZoneDeliveryCostIndex(thresholds);
+		}
+	}
+
+	private static final class Thresholds
+	{
+		private final double[] minimums;
+		private final double[] values;
+
+		private Thresholds(final double[] minimums, final double[] values)
+		{
+			this.minimums = minimums;
+			this.values = values;
+		}
+
+		private Double findValue(final double amount)
+		{
+			int low = 0;
+			int high = minimums.length - 1;
+			int match = -1;
+			while (low <= high)
+			{
+				final int middle = (low + high) >>> 1;
+				if (minimums[middle] <= amount)
+				{
+					match = middle;
+					low = middle + 1;
+				}
+				else
+				{
+					high = middle - 1;
+				}
+			}
+			return match < 0 ? null : Double.valueOf(values[match]);
+		}
+
+		@Override
+		public String toString()
+		{
+			return Arrays.toString(minimums) + " -> " + Arrays.toString(values);
+		}
+	}
+
+	private static final class Key
+	{
+		private final PK deliveryMode;
+		private final PK country;
+		private final PK currency;
+
+		private Key(final PK deliveryMode, final PK country, final PK currency)
+		{
+			this.deliveryMode = deliveryMode;
+			this.country = country;
+			this.currency = currency;
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (this == o)
+			{
+				return true;
+			}
+			if (!(o instanceof Key))
+			{
+				return false;
+			}
+			final Key other = (Key) o;
+			return Objects.equals(deliveryMode, other.deliveryMode) && Objects.equals(country, other.country)
+					&& Objects.equals(currency, other.currency);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(deliveryMode, country, currency);
+		}
+	}
+}
@@ -16,6 +16,7 @@ import de.hybris.platform.order.exceptions.CalculationException;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PDTCriteria;
 import de.hybris.platform.util.PDTValue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -46,4 +47,40 @@ public interface FindPDTValueInfoStrategy<VALUE extends PDTValue, INFO extends P
 	 * @throws CalculationException the calculation exception
 	 */
 	List<INFO> getPDTInformation(CRITERIA criteria) throws CalculationException;
+
+	/**
+	 * Gets the price/discount/tax values for several criteria at once, e.g. for all entries of a cart. The default
+	 * implementation calls {@link #getPDTValues(PDTCriteria)} for each criteria.
+	 *
+	 * @param criteria the price/discount/tax criteria list.
+	 * @return the price/discount/tax values, in the order of the given criteria.
+	 * @throws CalculationException the calculation exception
+	 */
+	default List<List<VALUE>> getAllPDTValues(final List<CRITERIA> criteria) throws CalculationException
+	{
+		final List<List<VALUE>> result = new ArrayList<>(criteria.size());
+		for (final CRITERIA singleCriteria : criteria)
+		{
+			result.add(getPDTValues(singleCriteria));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the price/discount/tax information for several criteria at once. The default implementation calls
+	 * {@link #getPDTInformation(PDTCriteria)} for each criteria.
+	 *
+	 * @param criteria the price/discount/tax criteria list.
+	 * @return the price/discount/tax information, in the order of the given criteria.
+	 * @throws CalculationException the calculation exception
+	 */
+	default List<List<INFO>> getAllPDTInformation(final List<CRITERIA> criteria) throws CalculationException
+	{
+		final List<List<INFO>> result = new ArrayList<>(criteria.size());
+		for (final CRITERIA singleCriteria : criteria)
+		{
+			result.add(getPDTInformation(singleCriteria));
+		}
+		return result;
+	}
 }
@@ -13,11 +13,19 @@ package de.hybris.platform.order.strategies.calculation.pdt.filter.impl;
 
 import static java.lang.String.format;
 
+import de.hybris.platform.cache.Cache;
+import de.hybris.platform.cache.InvalidationListener;
+import de.hybris.platform.cache.InvalidationManager;
+import de.hybris.platform.cache.InvalidationTarget;
+import de.hybris.platform.cache.InvalidationTopic;
+import de.hybris.platform.cache.RemoteInvalidationSource;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.c2l.CurrencyModel;
 import de.hybris.platform.core.model.product.UnitModel;
 import de.hybris.platform.europe1.channel.strategies.RetrieveChannelStrategy;
 import de.hybris.platform.europe1.enums.PriceRowChannel;
 import de.hybris.platform.europe1.model.PriceRowModel;
+import de.hybris.platform.jalo.type.TypeManager;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PriceValueInfoCriteria;
 import de.hybris.platform.order.strategies.calculation.pdt.filter.PDTRowFilter;
 import de.hybris.platform.servicelayer.i18n.CommonI18NService;
@@ -25,13 +33,20 @@ import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.FlexibleSearchService;
 import de.hybris.platform.servicelayer.search.SearchResult;
 import de.hybris.platform.util.DateRange;
+import de.hybris.platform.util.typesystem.PlatformStringUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Required;
 
@@ -42,6 +57,39 @@ public class DefaultPriceRowValueFilter implements PDTRowFilter<PriceValueInfoCr
 	FlexibleSearchService flexibleSearchService;
 	RetrieveChannelStrategy retrieveChannelStrategy;
 
+	//unit type -> PKs of all units of this type, cleared on any unit change
+	private final Map<String, Set<PK>> unitsByType = new ConcurrentHashMap<>();
+	//resolved in init() before the listener is registered
+	private volatile String unitTypeCode;
+
+	private final InvalidationListener unitInvalidationListener = new InvalidationListener()
+	{
+		@Override
+		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
+		                           final RemoteInvalidationSource remoteSrc)
+		{
+			if (key.length > 2 && unitTypeCode.equals(key[2]))
+			{
+				invalidateConvertibleUnits();
+			}
+		}
+	};
+
+	@PostConstruct
+	public void init()
+	{
+		unitTypeCode = PlatformStringUtils.valueOf(TypeManager.getInstance().getComposedType(UnitModel._TYPECODE)
+		                                                      .getItemTypeCode());
+		final InvalidationTopic topic = InvalidationManager.getInstance().getInvalidationTopic(new String[]
+				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
+		topic.addInvalidationListener(unitInvalidationListener);
+	}
+
+	void invalidateConvertibleUnits()
+	{
+		unitsByType.clear();
+	}
+
 	@Override
 	public Collection<PriceRowModel> filter(final Collection<PriceRowModel> collection, final PriceValueInfoCriteria criteria)
 	{
@@ -51,8 +99,9 @@ public class DefaultPriceRowValueFilter implements PDTRowFilter<PriceValueInfoCr
 		}
 
 		final CurrencyModel base = getBaseCurrencyModel(criteria.getCurrency());
-		final List<UnitModel> convertible = getConvertibleUnits(criteria.getUnit());
+		final Set<PK> convertible = getConvertibleUnits(criteria.getUnit());
 		final long quantity = getQuantity(criteria.getQuantity());
+		final PriceRowChannel channel = retrieveChannelStrategy.getChannel(null);
 
 		boolean hasChannelRowMatching = false;
 		final List<PriceRowModel> ret = new ArrayList<>(collection);
@@ -60,8 +109,6 @@ public class DefaultPriceRowValueFilter implements PDTRowFilter<PriceValueInfoCr
 		{
 			final PriceRowValidator priceRowV = new PriceRowValidator(it.next());
 
-			final PriceRowChannel channel = retrieveChannelStrategy.getChannel(null);
-
 			boolean isPriceRowInvalid = priceRowV.isMinQuantityInvalid(quantity);
 			isPriceRowInvalid = isPriceRowInvalid || priceRowV.isCurrencyInvalid(criteria.getCurrency(), base);
 			isPriceRowInvalid = isPriceRowInvalid || priceRowV.isUnitInvalid(criteria.getUnit(), convertible);
@@ -101,25 +148,33 @@ public class DefaultPriceRowValueFilter implements PDTRowFilter<PriceValueInfoCr
 		return curr.getBase().booleanValue() ? null : commonI18NService.getBaseCurrency();
 	}
 
-	private List<UnitModel> getConvertibleUnits(final UnitModel unitModel)
+	/**
+	 * Returns the PKs of all units having the same unit type as the given one. Units are looked up once per unit type and
+	 * kept until any unit changes.
+	 */
+	Set<PK> getConvertibleUnits(final UnitModel unitModel)
 	{
 		final String myType = unitModel.getUnitType();
 		if (myType == null || myType.length() == 0)
 		{
-			return Collections.emptyList();
+			return Collections.emptySet();
 		}
 		else
 		{
-			final FlexibleSearchQuery flexibleSearchQuery = new FlexibleSearchQuery(
-					format("select {%s} from {%s} where {%s}= ?type and {%s}<>?me ", UnitModel.PK, UnitModel._TYPECODE,
-							UnitModel.UNITTYPE, UnitModel.PK));
-			flexibleSearchQuery.addQueryParameter("type", myType);
-			flexibleSearchQuery.addQueryParameter("me", unitModel);
+			return unitsByType.computeIfAbsent(myType, this::findUnitsOfType);
+		}
+	}
 
-			final SearchResult<UnitModel> search = flexibleSearchService.search(flexibleSearchQuery);
+	private Set<PK> findUnitsOfType(final String unitType)
+	{
+		final FlexibleSearchQuery flexibleSearchQuery = new FlexibleSearchQuery(
+				format("select {%s} from {%s} where {%s}= ?type", UnitModel.PK, UnitModel._TYPECODE, UnitModel.UNITTYPE));
+		flexibleSearchQuery.addQueryParameter("type", unitType);
+		flexibleSearchQuery.setResultClassList(Collections.singletonList(PK.class));
 
-			return search.getResult();
-		}
+		final SearchResult<PK> search = flexibleSearchService.search(flexibleSearchQuery);
+
+		return Collections.unmodifiableSet(new HashSet<>(search.getResult()));
 	}
 
 	static void removePriceRowsWithoutChannel(final List<PriceRowModel> ret, final boolean hasChannelRowMatching)
@@ -171,10 +226,10 @@ public class DefaultPriceRowValueFilter implements PDTRowFilter<PriceValueInfoCr
 			return !curr.equals(currency) && (base == null || !base.equals(currency));
 		}
 
-		boolean isUnitInvalid(final UnitModel unit, final List<UnitModel> convertible)
+		boolean isUnitInvalid(final UnitModel unit, final Set<PK> convertible)
 		{
 			final UnitModel user = priceRow.getUnit();
-			return !unit.equals(user) && !convertible.contains(user);
+			return !unit.equals(user) && (user == null || !convertible.contains(user.getPk()));
 		}
 
 		boolean isMinQuantityInvalid(final long quantity)
@@ -0,0 +1,40 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+
+package de.hybris.platform.order.strategies.calculation.pdt.impl;
+
+import de.hybris.platform.europe1.model.PriceRowModel;
+import de.hybris.platform.jalo.order.price.PriceInformation;
+import de.hybris.platform.order.strategies.calculation.pdt.criteria.PriceValueInfoCriteria;
+import de.hybris.platform.order.strategies.calculation.pdt.repository.impl.CachingPriceRowRepository;
+import de.hybris.platform.util.Config;
+import de.hybris.platform.util.PriceValue;
+
+
+/**
+ * Price lookup strategy matching price rows against the in-memory index of {@link CachingPriceRowRepository} instead of
+ * querying the database. Filtering, sorting, post matching and conversion are the same as for the database based
+ * lookup. Used by {@link DefaultFindPriceValueInfoStrategy} if {@link #KEY_CACHE_PRICES} is enabled.
+ */
+public class CachingFindPriceValueInfoStrategy
+		extends GenericPDTFindValueInfoStrategy<PriceValue, PriceInformation, PriceValueInfoCriteria, PriceRowModel>
+{
+	public static final String KEY_CACHE_PRICES = "pdt.prices.cache";
+
+	/**
+	 * Reads {@link #KEY_CACHE_PRICES} from the configuration; {@link DefaultFindPriceValueInfoStrategy} keeps the value and
+	 * refreshes it on configuration changes.
+	 */
+	public static boolean isCachingEnabled()
+	{
+		return Config.getBoolean(KEY_CACHE_PRICES, false);
+	}
+}
@@ -19,6 +19,9 @@ import de.hybris.platform.cache.InvalidationTopic;
 import de.hybris.platform.cache.RemoteInvalidationSource;
 import de.hybris.platform.catalog.model.CatalogVersionModel;
 import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.Tenant;
+import de.hybris.platform.core.TenantAwareThreadFactory;
 import de.hybris.platform.core.model.c2l.CurrencyModel;
 import de.hybris.platform.core.model.order.price.TaxModel;
 import de.hybris.platform.core.model.product.ProductModel;
@@ -39,10 +42,12 @@ import de.hybris.platform.servicelayer.i18n.CommonI18NService;
 import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.FlexibleSearchService;
 import de.hybris.platform.servicelayer.search.SearchResult;
+import de.hybris.platform.tx.Transaction;
 import de.hybris.platform.util.Config;
 import de.hybris.platform.util.DateRange;
 import de.hybris.platform.util.TaxValue;
 import de.hybris.platform.util.collections.fast.YLongToObjectMap;
+import de.hybris.platform.util.config.ConfigIntf;
 import de.hybris.platform.util.typesystem.PlatformStringUtils;
 
 import java.util.ArrayList;
@@ -53,22 +58,92 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
+import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Required;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Lists;
+
 
 public class CachingFindTaxValueInfoStrategy implements FindPDTValueInfoStrategy<TaxValue, TaxInformation, TaxValueInfoCriteria>
 {
+	private static final Logger LOG = Logger.getLogger(CachingFindTaxValueInfoStrategy.class);
+
+	/**
+	 * Enables applying single tax row changes to the cache instead of reloading all tax rows.
+	 */
+	public static final String KEY_INCREMENTAL_INVALIDATION = "pdt.taxes.cache.incremental";
+	/**
+	 * Maximum number of pending tax row changes applied incrementally; above it the cache is rebuilt completely.
+	 */
+	public static final String KEY_INCREMENTAL_THRESHOLD = "pdt.taxes.cache.incremental.threshold";
+	/**
+	 * Reloads all tax rows in a background thread instead of the first reader noticing a full invalidation; readers keep
+	 * using the previous snapshot meanwhile.
+	 */
+	public static final String KEY_BACKGROUND_RELOAD = "pdt.taxes.cache.background.reload";
+
+	private static final String METRIC_PREFIX = "pdt.taxes.cache";
+
+	private static final Set<String> CONFIG_KEYS = new HashSet<>(Arrays.asList(Europe1Constants.KEY_CACHE_TAXES,
+			KEY_INCREMENTAL_INVALIDATION, KEY_INCREMENTAL_THRESHOLD, KEY_BACKGROUND_RELOAD));
+
+	private static final int DEFAULT_INCREMENTAL_THRESHOLD = 500;
+	private static final int TAX_ROW_QUERY_CHUNK_SIZE = 1000;
+
 	private FlexibleSearchService flexibleSearchService;
 	private CommonI18NService commonI18NService;
 
 	private PDTEnumGroupsHelper pdtEnumGroupsHelper;
 
-	//private cache - entries are catalog version aware
-	private final YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> catalogAwareCachedTaxes = new YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>>();
-	private volatile Boolean cachesTaxes = null;
+	private MetricRegistry metricRegistry;
+
+	//private cache - entries are catalog version aware; snapshots are never modified once published
+	private final AtomicReference<TaxCacheSnapshot> taxCacheSnapshot = new AtomicReference<>();
+	//incremented by each full invalidation - a snapshot loaded for an older generation has to be rebuilt
+	private final AtomicLong invalidationGeneration = new AtomicLong();
+
+	//tax rows changed since the current snapshot has been published
+	private final Set<PK> pendingTaxRowChanges = ConcurrentHashMap.newKeySet();
+	//held by the single thread building the next snapshot, never by readers of a published one
+	private final ReentrantLock snapshotUpdateLock = new ReentrantLock();
+
+	private final AtomicReference<Future<?>> scheduledReload = new AtomicReference<>();
+	private ExecutorService backgroundLoader;
+	private Timer rebuildTimer;
+
+	//read once and refreshed on configuration changes instead of on every lookup
+	private volatile boolean cachingEnabled = true;
+	private volatile boolean incrementalInvalidation = true;
+	private volatile int incrementalThreshold = DEFAULT_INCREMENTAL_THRESHOLD;
+	private volatile boolean backgroundReload = true;
+
+	private final ConfigIntf.ConfigChangeListener configChangeListener = new ConfigIntf.ConfigChangeListener()
+	{
+		@Override
+		public void configChanged(final String key, final String newValue)
+		{
+			if (CONFIG_KEYS.contains(key))
+			{
+				readConfiguration();
+			}
+		}
+	};
 
 	public static final long MATCH_ANY = PK.NULL_PK.getLongValue();
 	public static final long MATCH_BY_PRODUCT_ID = MATCH_ANY - 1;
@@ -85,31 +160,109 @@ public class CachingFindTaxValueInfoStrategy implements FindPDTValueInfoStrategy
 		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
 		                           final RemoteInvalidationSource remoteSrc)
 		{
-			if (taxRowTypeCode.equals(key[2]) || taxTypeCode.equals(key[2]))
+			if (taxRowTypeCode.equals(key[2]))
+			{
+				taxRowInvalidated(key);
+			}
+			else if (taxTypeCode.equals(key[2]))
 			{
 				invalidateTaxCache();
 			}
 		}
 	};
 
-	synchronized void invalidateTaxCache()
+	void invalidateTaxCache()
 	{
-		cachesTaxes = null;
+		invalidationGeneration.incrementAndGet();
+	}
+
+	/**
+	 * Records a changed tax row to be applied to the next snapshot. Falls back to a full invalidation if incremental mode
+	 * is disabled, the row cannot be identified or too many changes are pending.
+	 */
+	void taxRowInvalidated(final Object[] key)
+	{
+		if (isIncrementalInvalidationEnabled() && key.length > 3 && key[3] instanceof PK)
+		{
+			pendingTaxRowChanges.add((PK) key[3]);
+			if (pendingTaxRowChanges.size() <= getIncrementalThreshold())
+			{
+				return;
+			}
+		}
+		invalidateTaxCache();
 	}
 
 
-	private void registerInvalidationListener()
+	private InvalidationTopic getInvalidationTopic()
 	{
-		final InvalidationTopic topic = InvalidationManager.getInstance().getInvalidationTopic(new String[]
+		return InvalidationManager.getInstance().getInvalidationTopic(new String[]
 				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
-		topic.addInvalidationListener(invalidationListener);
 	}
 
 
 	@PostConstruct
 	public void init()
 	{
-		registerInvalidationListener();
+		getInvalidationTopic().addInvalidationListener(invalidationListener);
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			readConfiguration();
+			tenant.getConfig().registerConfigChangeListener(configChangeListener);
+			registerMetrics(tenant);
+			backgroundLoader = Executors.newSingleThreadExecutor(new TenantAwareThreadFactory(tenant));
+		}
+	}
+
+	@PreDestroy
+	public void destroy()
+	{
+		getInvalidationTopic().removeInvalidationListener(invalidationListener);
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			tenant.getConfig().unregisterConfigChangeListener(configChangeListener);
+		}
+		if (backgroundLoader != null)
+		{
+			backgroundLoader.shutdownNow();
+		}
+	}
+
+	private void readConfiguration()
+	{
+		cachingEnabled = isCachingEnabled();
+		incrementalInvalidation = Config.getBoolean(KEY_INCREMENTAL_INVALIDATION, true);
+		incrementalThreshold = Config.getInt(KEY_INCREMENTAL_THRESHOLD, DEFAULT_INCREMENTAL_THRESHOLD);
+		backgroundReload = Config.getBoolean(KEY_BACKGROUND_RELOAD, true);
+	}
+
+	private void registerMetrics(final Tenant tenant)
+	{
+		if (metricRegistry == null)
+		{
+			return;
+		}
+		//the metric registry is shared by all tenants
+		final String prefix = MetricRegistry.name("tenant", tenant.getTenantID(), METRIC_PREFIX);
+		rebuildTimer = metricRegistry.timer(MetricRegistry.name(prefix, "rebuild"));
+		registerGauge(MetricRegistry.name(prefix, "age"), () -> {
+			final TaxCacheSnapshot snapshot = taxCacheSnapshot.get();
+			return Long.valueOf(snapshot != null ? System.currentTimeMillis() - snapshot.getCreationTime() : -1);
+		});
+		registerGauge(MetricRegistry.name(prefix, "size"), () -> {
+			final TaxCacheSnapshot snapshot = taxCacheSnapshot.get();
+			return Long.valueOf(snapshot != null ? snapshot.size() : 0);
+		});
+		registerGauge(MetricRegistry.name(prefix, "version"), () -> Long.valueOf(getTaxCacheVersion()));
+	}
+
+	private void registerGauge(final String metricName, final Gauge<Long> gauge)
+	{
+		//replaces the gauge of a previous instance, e.g. after a refresh of the application context
+		metricRegistry.remove(metricName);
+		metricRegistry.register(metricName, gauge);
 	}
 
 	public static boolean isCachingEnabled()
@@ -117,10 +270,25 @@ public class CachingFindTaxValueInfoStrategy implements FindPDTValueInfoStrategy
 		return Config.getBoolean(Europe1Constants.KEY_CACHE_TAXES, true);
 	}
 
+	protected boolean isIncrementalInvalidationEnabled()
+	{
+		return incrementalInvalidation;
+	}
+
+	protected int getIncrementalThreshold()
+	{
+		return incrementalThreshold;
+	}
+
+	protected boolean isBackgroundReloadEnabled()
+	{
+		return backgroundReload;
+	}
+
 	@Override
 	public List<TaxValue> getPDTValues(final TaxValueInfoCriteria criteria)
 	{
-		if (!isCachingEnabled())
+		if (!cachingEnabled)
 		{
 			return DefaultPDTProcessor.NO_RESULT;
 		}
@@ -130,7 +298,7 @@ public class CachingFindTaxValueInfoStrategy implements FindPDTValueInfoStrategy
 	@Override
 	public List<TaxInformation> getPDTInformation(final TaxValueInfoCriteria criteria)
 	{
-		if (!isCachingEnabled())
+		if (!cachingEnabled)
 		{
 			return DefaultPDTProcessor.NO_RESULT;
 		}
@@ -206,10 +374,12 @@ public class CachingFindTaxValueInfoStrategy implements FindPDTValueInfoStrategy
 	private Collection<CachedTaxValue> getCachedTaxes(final ProductModel product, final ProductTaxGroup productTaxGroup,
 	                                                  final UserModel user, final UserTaxGroup userTaxGroup, final Date date)
 	{
-		if (isNotCachingTaxes())
+		final TaxCacheSnapshot snapshot = getTaxCacheSnapshot();
+		if (snapshot == null)
 		{
 			return Collections.emptySet();
 		}
+		final YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> catalogAwareCachedTaxes = snapshot.getIndex();
 
 		final long pPK = product != null ? product.getPk().getLongValue() : MATCH_ANY;
 		final long ptgPK = productTaxGroup != null ? pdtEnumGroupsHelper.getPkFromEnum(productTaxGroup)
@@ -277,41 +447,179 @@ public class CachingFindTaxValueInfoStrategy implements FindPDTValueInfoStrategy
 		return ret;
 	}
 
-	private boolean isNotCachingTaxes()
+	protected boolean isCachingTaxes()
+	{
+		return getTaxCacheSnapshot() != null;
+	}
+
+	/**
+	 * Returns the version of the currently published tax cache snapshot or <code>-1</code> if there is none.
+	 */
+	long getTaxCacheVersion()
 	{
-		return !isCachingTaxes();
+		final TaxCacheSnapshot snapshot = taxCacheSnapshot.get();
+		return snapshot != null ? snapshot.getVersion() : -1;
 	}
 
-	protected boolean isCachingTaxes()
+	/**
+	 * Returns the published snapshot or <code>null</code> if taxes are not cached. Never blocks once a snapshot has been
+	 * published: pending tax row changes are applied by the calling thread, a full reload is left to the background
+	 * loader if background reload is enabled. Meanwhile all other readers keep using the published snapshot. Only the very
+	 * first load is waited for.
+	 */
+	private TaxCacheSnapshot getTaxCacheSnapshot()
 	{
-		Boolean localCaches = cachesTaxes;
-		if (localCaches == null)
+		final TaxCacheSnapshot snapshot = taxCacheSnapshot.get();
+		if (!cachingEnabled)
 		{
-			synchronized (this)
+			if (snapshot != null)
 			{
-				localCaches = cachesTaxes;
-				if (localCaches == null)
-				{
-					if (Config.getBoolean(Europe1Constants.KEY_CACHE_TAXES, true))
-					{
-						fillTaxCache();
-						localCaches = Boolean.TRUE;
-					}
-					else
-					{
-						localCaches = Boolean.FALSE;
-					}
-					cachesTaxes = localCaches;
-				}
+				taxCacheSnapshot.compareAndSet(snapshot, null);
+			}
+			return null;
+		}
+		if (snapshot != null && isCurrent(snapshot))
+		{
+			return snapshot;
+		}
+		if (snapshot != null && isReloadedInBackground(snapshot))
+		{
+			scheduleBackgroundReload();
+			return snapshot;
+		}
+		if (snapshot != null)
+		{
+			if (!snapshotUpdateLock.tryLock())
+			{
+				return snapshot;
 			}
 		}
-		return localCaches.booleanValue();
+		else
+		{
+			snapshotUpdateLock.lock();
+		}
+		try
+		{
+			return loadNextSnapshot();
+		}
+		finally
+		{
+			snapshotUpdateLock.unlock();
+		}
+	}
+
+	private boolean isCurrent(final TaxCacheSnapshot snapshot)
+	{
+		return snapshot.getGeneration() == invalidationGeneration.get() && pendingTaxRowChanges.isEmpty();
 	}
 
 	/**
-	 * Fills private cache with catalog version aware tax entries
+	 * A full reload is left to the background loader unless the caller runs in a transaction: the loader would not see the
+	 * tax rows changed in it.
 	 */
-	private void fillTaxCache()
+	private boolean isReloadedInBackground(final TaxCacheSnapshot snapshot)
+	{
+		return backgroundLoader != null && isBackgroundReloadEnabled() && needsFullReload(snapshot)
+				&& !Transaction.current().isRunning();
+	}
+
+	private boolean needsFullReload(final TaxCacheSnapshot snapshot)
+	{
+		return snapshot.getGeneration() != invalidationGeneration.get()
+				|| pendingTaxRowChanges.size() > getIncrementalThreshold();
+	}
+
+	/**
+	 * Triggers the background loader unless it is already running and returns the pending reload.
+	 */
+	Future<?> scheduleBackgroundReload()
+	{
+		final Future<?> scheduled = scheduledReload.get();
+		if (scheduled != null && !scheduled.isDone())
+		{
+			return scheduled;
+		}
+		final FutureTask<Void> reload = new FutureTask<>(() -> {
+			snapshotUpdateLock.lock();
+			try
+			{
+				loadNextSnapshot();
+			}
+			catch (final RuntimeException e)
+			{
+				LOG.error("error reloading tax cache - keeping version " + getTaxCacheVersion(), e);
+			}
+			finally
+			{
+				snapshotUpdateLock.unlock();
+			}
+		}, null);
+		if (scheduledReload.compareAndSet(scheduled, reload))
+		{
+			backgroundLoader.execute(reload);
+			return reload;
+		}
+		return scheduledReload.get();
+	}
+
+	/**
+	 * Builds and publishes the next snapshot: pending tax row changes are applied to a copy of the published snapshot, a
+	 * full invalidation or too many changes lead to a complete reload. Must be called holding the snapshot update lock.
+	 */
+	private TaxCacheSnapshot loadNextSnapshot()
+	{
+		final TaxCacheSnapshot latest = taxCacheSnapshot.get();
+		if (latest != null && isCurrent(latest))
+		{
+			return latest;
+		}
+		//changes recorded from now on are applied to the next version
+		final long generation = invalidationGeneration.get();
+		final List<PK> changedRows = new ArrayList<>(pendingTaxRowChanges);
+		pendingTaxRowChanges.removeAll(changedRows);
+
+		final long start = System.nanoTime();
+		final TaxCacheSnapshot next;
+		try
+		{
+			if (latest == null || latest.getGeneration() != generation || changedRows.size() > getIncrementalThreshold())
+			{
+				next = TaxCacheSnapshot.create(latest != null ? latest.getVersion() + 1 : 0, generation, loadAllTaxRows());
+			}
+			else
+			{
+				next = latest.withChangedRows(changedRows, loadTaxRows(changedRows));
+			}
+		}
+		catch (final RuntimeException e)
+		{
+			pendingTaxRowChanges.addAll(changedRows);
+			throw e;
+		}
+		if (rebuildTimer != null)
+		{
+			rebuildTimer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+		taxCacheSnapshot.set(next);
+		return next;
+	}
+
+	protected List<TaxRowModel> loadAllTaxRows()
+	{
+		return searchTaxRows("SELECT {PK} FROM {" + Europe1Constants.TC.TAXROW + "}", Collections.emptyList());
+	}
+
+	private List<TaxRowModel> loadTaxRows(final List<PK> taxRowPKs)
+	{
+		final List<TaxRowModel> taxRows = new ArrayList<>(taxRowPKs.size());
+		for (final List<PK> chunk : Lists.partition(taxRowPKs, TAX_ROW_QUERY_CHUNK_SIZE))
+		{
+			taxRows.addAll(searchTaxRows("SELECT {PK} FROM {" + Europe1Constants.TC.TAXROW + "} WHERE {PK} IN (?pks)", chunk));
+		}
+		return taxRows;
+	}
+
+	private List<TaxRowModel> searchTaxRows(final String query, final List<PK> taxRowPKs)
 	{
 		SessionContext ctx = null;
 		try
@@ -319,45 +627,164 @@ public class CachingFindTaxValueInfoStrategy implements FindPDTValueInfoStrategy
 			ctx = JaloSession.getCurrentSession().createLocalSessionContext();
 			ctx.setAttribute("disableRestrictions", Boolean.TRUE);
 
-			final FlexibleSearchQuery searchQuery = new FlexibleSearchQuery(
-					"SELECT {PK} FROM {" + Europe1Constants.TC.TAXROW + "}");
+			final FlexibleSearchQuery searchQuery = new FlexibleSearchQuery(query);
+			if (!taxRowPKs.isEmpty())
+			{
+				searchQuery.addQueryParameter("pks", taxRowPKs);
+			}
 			searchQuery.setResultClassList(Arrays.asList(TaxRowModel.class));
 
 			final SearchResult<TaxRowModel> taxRowsResult = flexibleSearchService.search(searchQuery);
-			final List<TaxRowModel> taxRows = taxRowsResult.getResult();
-			catalogAwareCachedTaxes.clear();
+			return taxRowsResult.getResult();
+		}
+		finally
+		{
+			if (ctx != null)
+			{
+				JaloSession.getCurrentSession().removeLocalSessionContext();
+			}
+		}
+	}
+
+	/**
+	 * Immutable, versioned index of catalog version aware tax entries. Changes are applied copy-on-write: only the touched
+	 * buckets are copied, so readers of a published snapshot are never affected.
+	 */
+	private static final class TaxCacheSnapshot
+	{
+		private final long version;
+		private final long generation;
+		private final long creationTime;
+		//cached taxes linked by product and user match qualifier
+		private final YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> index;
+		//cached taxes by tax row PK
+		private final YLongToObjectMap<CatalogVersionAwareCachedTax> rows;
+
+		private TaxCacheSnapshot(final long version, final long generation,
+		                         final YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> index,
+		                         final YLongToObjectMap<CatalogVersionAwareCachedTax> rows)
+		{
+			this.version = version;
+			this.generation = generation;
+			this.creationTime = System.currentTimeMillis();
+			this.index = index;
+			this.rows = rows;
+		}
+
+		static TaxCacheSnapshot create(final long version, final long generation, final Collection<TaxRowModel> taxRows)
+		{
+			final YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> index = new YLongToObjectMap<>();
+			final YLongToObjectMap<CatalogVersionAwareCachedTax> rows = new YLongToObjectMap<>(taxRows.size());
 			for (final TaxRowModel tr : taxRows)
 			{
 				if (tr == null)
 				{
 					continue;
 				}
-				final CatalogVersionAwareCachedTax catalogVersionAwareCachedTax = new CatalogVersionAwareCachedTax(tr);
+				final CatalogVersionAwareCachedTax cachedTax = new CatalogVersionAwareCachedTax(tr);
+				rows.put(cachedTax.rowPK.getLongValue(), cachedTax);
 				// link by product qualifier
-				Collection<CatalogVersionAwareCachedTax> coll = catalogAwareCachedTaxes
-						.get(catalogVersionAwareCachedTax.getProductMatchQualifier());
-				if (coll == null)
+				bucketFor(index, cachedTax.getProductMatchQualifier()).add(cachedTax);
+				// link by user qualifier
+				bucketFor(index, cachedTax.getUserMatchQualifier()).add(cachedTax);
+			}
+			return new TaxCacheSnapshot(version, generation, index, rows);
+		}
+
+		/**
+		 * Creates the next snapshot version: all changed rows are unlinked, then the ones which still exist are linked again.
+		 */
+		TaxCacheSnapshot withChangedRows(final Collection<PK> changedRowPKs, final Collection<TaxRowModel> existingRows)
+		{
+			final YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> newIndex = new YLongToObjectMap<>(index.size());
+			index.forEachEntry((qualifier, bucket) -> newIndex.put(qualifier, bucket));
+			final YLongToObjectMap<CatalogVersionAwareCachedTax> newRows = new YLongToObjectMap<>(rows.size());
+			rows.forEachEntry((rowPK, cachedTax) -> newRows.put(rowPK, cachedTax));
+
+			//buckets copied for this version - only those may be modified
+			final Set<Long> copiedBuckets = new HashSet<>();
+
+			for (final PK rowPK : changedRowPKs)
+			{
+				final CatalogVersionAwareCachedTax old = newRows.get(rowPK.getLongValue());
+				if (old != null)
 				{
-					coll = new ArrayList<>();
-					catalogAwareCachedTaxes.put(catalogVersionAwareCachedTax.getProductMatchQualifier(), coll);
+					newRows.remove(rowPK.getLongValue());
+					copiedBucketFor(newIndex, copiedBuckets, old.getProductMatchQualifier()).remove(old);
+					copiedBucketFor(newIndex, copiedBuckets, old.getUserMatchQualifier()).remove(old);
 				}
-				coll.add(catalogVersionAwareCachedTax);
-				// link by user qualifier
-				coll = catalogAwareCachedTaxes.get(catalogVersionAwareCachedTax.getUserMatchQualifier());
-				if (coll == null)
+			}
+			for (final TaxRowModel tr : existingRows)
+			{
+				if (tr == null)
 				{
-					coll = new ArrayList<>();
-					catalogAwareCachedTaxes.put(catalogVersionAwareCachedTax.getUserMatchQualifier(), coll);
+					continue;
 				}
-				coll.add(catalogVersionAwareCachedTax);
+				final CatalogVersionAwareCachedTax cachedTax = new CatalogVersionAwareCachedTax(tr);
+				newRows.put(cachedTax.rowPK.getLongValue(), cachedTax);
+				copiedBucketFor(newIndex, copiedBuckets, cachedTax.getProductMatchQualifier()).add(cachedTax);
+				copiedBucketFor(newIndex, copiedBuckets, cachedTax.getUserMatchQualifier()).add(cachedTax);
 			}
+			for (final Long qualifier : copiedBuckets)
+			{
+				if (newIndex.get(qualifier.longValue()).isEmpty())
+				{
+					newIndex.remove(qualifier.longValue());
+				}
+			}
+			return new TaxCacheSnapshot(version + 1, generation, newIndex, newRows);
 		}
-		finally
+
+		private static Collection<CatalogVersionAwareCachedTax> bucketFor(
+				final YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> index, final long qualifier)
 		{
-			if (ctx != null)
+			Collection<CatalogVersionAwareCachedTax> coll = index.get(qualifier);
+			if (coll == null)
 			{
-				JaloSession.getCurrentSession().removeLocalSessionContext();
+				coll = new ArrayList<>();
+				index.put(qualifier, coll);
+			}
+			return coll;
+		}
+
+		private static Collection<CatalogVersionAwareCachedTax> copiedBucketFor(
+				final YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> index, final Set<Long> copiedBuckets,
+				final long qualifier)
+		{
+			if (copiedBuckets.add(Long.valueOf(qualifier)))
+			{
+				final Collection<CatalogVersionAwareCachedTax> published = index.get(qualifier);
+				final Collection<CatalogVersionAwareCachedTax> copy = published != null ? new ArrayList<>(published)
+						: new ArrayList<>();
+				index.put(qualifier, copy);
+				return copy;
 			}
+			return index.get(qualifier);
+		}
+
+		long getVersion()
+		{
+			return version;
+		}
+
+		long getGeneration()
+		{
+			return generation;
+		}
+
+		long getCreationTime()
+		{
+			return creationTime;
+		}
+
+		int size()
+		{
+			return rows.size();
+		}
+
+		YLongToObjectMap<Collection<CatalogVersionAwareCachedTax>> getIndex()
+		{
+			return index;
 		}
 	}
 
@@ -628,4 +1055,9 @@ public class CachingFindTaxValueInfoStrategy implements FindPDTValueInfoStrategy
 	{
 		this.commonI18NService = commonI18NService;
 	}
+
+	public void setMetricRegistry(final MetricRegistry metricRegistry)
+	{
+		this.metricRegistry = metricRegistry;
+	}
 }
@@ -11,15 +11,23 @@
  */
 package de.hybris.platform.order.strategies.calculation.pdt.impl;
 
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.Tenant;
 import de.hybris.platform.europe1.model.PriceRowModel;
 import de.hybris.platform.jalo.order.price.PriceInformation;
 import de.hybris.platform.order.exceptions.CalculationException;
+import de.hybris.platform.order.strategies.calculation.pdt.FindPDTValueInfoStrategy;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PriceValueInfoCriteria;
 import de.hybris.platform.util.PriceValue;
+import de.hybris.platform.util.config.ConfigIntf;
 import de.hybris.platform.util.localization.Localization;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.collections4.CollectionUtils;
 
 import com.google.common.collect.ImmutableList;
@@ -29,6 +37,49 @@ public class DefaultFindPriceValueInfoStrategy
 		extends GenericPDTFindValueInfoStrategy<PriceValue, PriceInformation, PriceValueInfoCriteria, PriceRowModel>
 {
 
+	private FindPDTValueInfoStrategy<PriceValue, PriceInformation, PriceValueInfoCriteria> cachingFindPriceValueInfoStrategy;
+
+	//read once and refreshed on configuration changes instead of on every lookup
+	private volatile boolean cachingEnabled = false;
+
+	private final ConfigIntf.ConfigChangeListener configChangeListener = new ConfigIntf.ConfigChangeListener()
+	{
+		@Override
+		public void configChanged(final String key, final String newValue)
+		{
+			if (CachingFindPriceValueInfoStrategy.KEY_CACHE_PRICES.equals(key))
+			{
+				readConfiguration();
+			}
+		}
+	};
+
+	@PostConstruct
+	public void init()
+	{
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			readConfiguration();
+			tenant.getConfig().registerConfigChangeListener(configChangeListener);
+		}
+	}
+
+	@PreDestroy
+	public void destroy()
+	{
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			tenant.getConfig().unregisterConfigChangeListener(configChangeListener);
+		}
+	}
+
+	private void readConfiguration()
+	{
+		cachingEnabled = CachingFindPriceValueInfoStrategy.isCachingEnabled();
+	}
+
 	@Override
 	public List<PriceValue> getPDTValues(final PriceValueInfoCriteria criteria) throws CalculationException
 	{
@@ -39,9 +90,50 @@ public class DefaultFindPriceValueInfoStrategy
 
 		if (shouldFindPrice(giveAwayMode, entryIsRejected))
 		{
-			filteredCollection = super.getPDTValues(criteria);
+			filteredCollection = isCachingEnabled() ? cachingFindPriceValueInfoStrategy.getPDTValues(criteria)
+					: super.getPDTValues(criteria);
+		}
+
+		return pricesOrFallback(criteria, filteredCollection);
+	}
+
+	@Override
+	public List<List<PriceValue>> getAllPDTValues(final List<PriceValueInfoCriteria> criteria) throws CalculationException
+	{
+		final List<PriceValueInfoCriteria> criteriaToFind = new ArrayList<>(criteria.size());
+		for (final PriceValueInfoCriteria singleCriteria : criteria)
+		{
+			if (shouldFindPrice(singleCriteria.isGiveAwayMode(), singleCriteria.isEntryRejected()))
+			{
+				criteriaToFind.add(singleCriteria);
+			}
+		}
+
+		final List<List<PriceValue>> found;
+		if (criteriaToFind.isEmpty())
+		{
+			found = new ArrayList<>();
+		}
+		else
+		{
+			found = isCachingEnabled() ? cachingFindPriceValueInfoStrategy.getAllPDTValues(criteriaToFind)
+					: super.getAllPDTValues(criteriaToFind);
+		}
+
+		final List<List<PriceValue>> result = new ArrayList<>(criteria.size());
+		int foundPosition = 0;
+		for (final PriceValueInfoCriteria singleCriteria : criteria)
+		{
+			final List<PriceValue> filteredCollection = shouldFindPrice(singleCriteria.isGiveAwayMode(),
+					singleCriteria.isEntryRejected()) ? found.get(foundPosition++) : null;
+			result.add(pricesOrFallback(singleCriteria, filteredCollection));
 		}
+		return result;
+	}
 
+	private static List<PriceValue> pricesOrFallback(final PriceValueInfoCriteria criteria,
+			final List<PriceValue> filteredCollection) throws CalculationException
+	{
 		if (CollectionUtils.isNotEmpty(filteredCollection))
 		{
 			return filteredCollection;
@@ -56,6 +148,32 @@ public class DefaultFindPriceValueInfoStrategy
 		}
 	}
 
+	@Override
+	public List<PriceInformation> getPDTInformation(final PriceValueInfoCriteria criteria) throws CalculationException
+	{
+		if (isCachingEnabled())
+		{
+			return cachingFindPriceValueInfoStrategy.getPDTInformation(criteria);
+		}
+		return super.getPDTInformation(criteria);
+	}
+
+	@Override
+	public List<List<PriceInformation>> getAllPDTInformation(final List<PriceValueInfoCriteria> criteria)
+			throws CalculationException
+	{
+		if (isCachingEnabled())
+		{
+			return cachingFindPriceValueInfoStrategy.getAllPDTInformation(criteria);
+		}
+		return super.getAllPDTInformation(criteria);
+	}
+
+	protected boolean isCachingEnabled()
+	{
+		return cachingFindPriceValueInfoStrategy != null && cachingEnabled;
+	}
+
 	private static boolean shouldFindPrice(final boolean giveAwayMode, final boolean entryIsRejected)
 	{
 		return !(giveAwayMode && entryIsRejected);
@@ -76,5 +194,9 @@ public class DefaultFindPriceValueInfoStrategy
 								Boolean.toString(criteria.isNet()) });
 	}
 
-
+	public void setCachingFindPriceValueInfoStrategy(
+			final FindPDTValueInfoStrategy<PriceValue, PriceInformation, PriceValueInfoCriteria> cachingFindPriceValueInfoStrategy)
+	{
+		this.cachingFindPriceValueInfoStrategy = cachingFindPriceValueInfoStrategy;
+	}
 }
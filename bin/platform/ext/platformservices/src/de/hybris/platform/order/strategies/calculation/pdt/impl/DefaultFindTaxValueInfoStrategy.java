@@ -53,6 +53,27 @@ public class DefaultFindTaxValueInfoStrategy
 		return super.getPDTInformation(criteria);
 	}
 
+	@Override
+	public List<List<TaxValue>> getAllPDTValues(final List<TaxValueInfoCriteria> criteria) throws CalculationException
+	{
+		if (isCachingEnabled())
+		{
+			return cachingFindTaxValueInfoStrategy.getAllPDTValues(criteria);
+		}
+		return super.getAllPDTValues(criteria);
+	}
+
+	@Override
+	public List<List<TaxInformation>> getAllPDTInformation(final List<TaxValueInfoCriteria> criteria)
+			throws CalculationException
+	{
+		if (isCachingEnabled())
+		{
+			return cachingFindTaxValueInfoStrategy.getAllPDTInformation(criteria);
+		}
+		return super.getAllPDTInformation(criteria);
+	}
+
 	public static boolean isCachingEnabled()
 	{
 		return Config.getBoolean(Europe1Constants.KEY_CACHE_TAXES, true);
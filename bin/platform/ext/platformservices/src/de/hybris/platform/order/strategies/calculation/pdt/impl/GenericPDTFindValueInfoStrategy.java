@@ -21,6 +21,7 @@ import de.hybris.platform.order.strategies.calculation.pdt.matcher.PDTModelMatch
 import de.hybris.platform.order.strategies.calculation.pdt.postmatcher.PDTPostMatcher;
 import de.hybris.platform.util.PDTValue;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -56,6 +57,34 @@ public class GenericPDTFindValueInfoStrategy<VALUE extends PDTValue, INFO extend
 		return informationConverter.convertAll(rowModels, criteria);
 	}
 
+	@Override
+	public List<List<VALUE>> getAllPDTValues(final List<CRITERIA> criteria) throws CalculationException
+	{
+		final List<List<MODEL>> rowModels = valueModelMatcher.matchAllRows(criteria);
+		final List<List<VALUE>> result = new ArrayList<>(criteria.size());
+		for (int i = 0; i < criteria.size(); i++)
+		{
+			final CRITERIA singleCriteria = criteria.get(i);
+			final Collection<MODEL> processed = valuePostMatcher.process(rowModels.get(i), singleCriteria);
+			result.add(valueConverter.convertAll(processed, singleCriteria));
+		}
+		return result;
+	}
+
+	@Override
+	public List<List<INFO>> getAllPDTInformation(final List<CRITERIA> criteria) throws CalculationException
+	{
+		final List<List<MODEL>> rowModels = informationModelMatcher.matchAllRows(criteria);
+		final List<List<INFO>> result = new ArrayList<>(criteria.size());
+		for (int i = 0; i < criteria.size(); i++)
+		{
+			final CRITERIA singleCriteria = criteria.get(i);
+			final Collection<MODEL> processed = informationPostMatcher.process(rowModels.get(i), singleCriteria);
+			result.add(informationConverter.convertAll(processed, singleCriteria));
+		}
+		return result;
+	}
+
 	@Required
 	public void setInformationConverter(final PDTConverter<MODEL, INFO, CRITERIA> informationConverter)
 	{
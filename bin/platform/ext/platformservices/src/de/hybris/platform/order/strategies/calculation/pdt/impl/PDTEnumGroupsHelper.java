@@ -11,8 +11,16 @@
  */
 package de.hybris.platform.order.strategies.calculation.pdt.impl;
 
+import de.hybris.platform.cache.Cache;
+import de.hybris.platform.cache.InvalidationListener;
+import de.hybris.platform.cache.InvalidationManager;
+import de.hybris.platform.cache.InvalidationTarget;
+import de.hybris.platform.cache.InvalidationTopic;
+import de.hybris.platform.cache.RemoteInvalidationSource;
 import de.hybris.platform.core.HybrisEnumValue;
 import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.Tenant;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.core.model.enumeration.EnumerationValueModel;
 import de.hybris.platform.core.model.order.AbstractOrderEntryModel;
@@ -30,25 +38,190 @@ import de.hybris.platform.europe1.enums.UserTaxGroup;
 import de.hybris.platform.order.exceptions.CalculationException;
 import de.hybris.platform.servicelayer.internal.service.AbstractBusinessService;
 import de.hybris.platform.servicelayer.type.TypeService;
+import de.hybris.platform.tx.Transaction;
+import de.hybris.platform.util.Config;
+import de.hybris.platform.util.config.ConfigIntf;
+import de.hybris.platform.util.typesystem.PlatformStringUtils;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 
 /**
  * An utility class for getting price/discount/tax enum values.
+ * <p>
+ * If enabled by <code>pdt.enumgroups.cache</code> the user groups enums resolved from the group hierarchy of a user and
+ * the PKs of enum values are cached. A changed user only evicts its own entries, any change of user groups, their
+ * memberships or enumeration values clears the cache. At most <code>pdt.enumgroups.cache.maxusers</code> users are
+ * cached, the cache starts over once more users are resolved.
  */
 public class PDTEnumGroupsHelper extends AbstractBusinessService
 {
+	public static final String KEY_CACHE_ENUM_GROUPS = "pdt.enumgroups.cache";
+
+	private static final int DEFAULT_CACHE_MAX_USERS = 10000;
+
+	private static final Object NO_VALUE = new Object();
+
 	private transient TypeService typeService;
 
+	//user PK -> attribute -> enum resolved from the groups of the user or NO_VALUE
+	private final transient Map<PK, Map<String, Object>> enumsFromGroups = new ConcurrentHashMap<>();
+
+	private int maxCachedUsers = DEFAULT_CACHE_MAX_USERS;
+
+	//enum type + code -> PK of the enumeration value
+	private final transient Map<String, PK> enumPks = new ConcurrentHashMap<>();
+
+	//incremented by each invalidation - a value resolved meanwhile is not cached
+	private final AtomicLong invalidationGeneration = new AtomicLong();
+
+	//read once and refreshed on configuration changes instead of on every lookup
+	private volatile boolean cachingEnabled = false;
+
+	private final AtomicLong cacheHits = new AtomicLong();
+	private final AtomicLong cacheMisses = new AtomicLong();
+
+	private final transient InvalidationListener invalidationListener = new InvalidationListener()
+	{
+		private final String userTypeCode = PlatformStringUtils.valueOf(4);
+		private final String userGroupTypeCode = PlatformStringUtils.valueOf(5);
+		private final String principalGroupRelationTypeCode = PlatformStringUtils.valueOf(201);
+		private final String enumerationValueTypeCode = PlatformStringUtils.valueOf(91);
+
+		@Override
+		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
+		                           final RemoteInvalidationSource remoteSrc)
+		{
+			if (userTypeCode.equals(key[2]) && key.length > 3 && key[3] instanceof PK)
+			{
+				invalidateUser((PK) key[3]);
+			}
+			else if (userTypeCode.equals(key[2]) || userGroupTypeCode.equals(key[2])
+					|| principalGroupRelationTypeCode.equals(key[2]))
+			{
+				//a changed group affects all of its members, directly or through sub groups
+				invalidationGeneration.incrementAndGet();
+				enumsFromGroups.clear();
+			}
+			else if (enumerationValueTypeCode.equals(key[2]))
+			{
+				invalidateCache();
+			}
+		}
+	};
+
+	private final transient ConfigIntf.ConfigChangeListener configChangeListener = new ConfigIntf.ConfigChangeListener()
+	{
+		@Override
+		public void configChanged(final String key, final String newValue)
+		{
+			if (KEY_CACHE_ENUM_GROUPS.equals(key))
+			{
+				readConfiguration();
+			}
+		}
+	};
+
+	@PostConstruct
+	public void init()
+	{
+		getInvalidationTopic().addInvalidationListener(invalidationListener);
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			readConfiguration();
+			tenant.getConfig().registerConfigChangeListener(configChangeListener);
+		}
+	}
+
+	@PreDestroy
+	public void destroy()
+	{
+		getInvalidationTopic().removeInvalidationListener(invalidationListener);
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			tenant.getConfig().unregisterConfigChangeListener(configChangeListener);
+		}
+	}
+
+	private static InvalidationTopic getInvalidationTopic()
+	{
+		return InvalidationManager.getInstance().getInvalidationTopic(new String[]
+				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
+	}
+
+	private void readConfiguration()
+	{
+		cachingEnabled = Config.getBoolean(KEY_CACHE_ENUM_GROUPS, false);
+	}
+
+	/**
+	 * Clears all cached group enums and enum PKs.
+	 */
+	public void invalidateCache()
+	{
+		invalidationGeneration.incrementAndGet();
+		enumsFromGroups.clear();
+		enumPks.clear();
+	}
+
+	/**
+	 * Evicts the cached group enums of the given user.
+	 */
+	void invalidateUser(final PK userPk)
+	{
+		invalidationGeneration.incrementAndGet();
+		enumsFromGroups.remove(userPk);
+	}
+
+	/**
+	 * @return the number of group enums and enum PKs served from the cache
+	 */
+	public long getCacheHits()
+	{
+		return cacheHits.get();
+	}
+
+	/**
+	 * @return the number of group enums and enum PKs which had to be resolved
+	 */
+	public long getCacheMisses()
+	{
+		return cacheMisses.get();
+	}
+
 	/**
 	 * Gets the PK from Hybris Enum.
 	 */
 	public PK getPkFromEnum(final HybrisEnumValue enumValue)
 	{
+		if (!isCacheable())
+		{
+			return typeService.getEnumerationValue(enumValue).getPk();
+		}
+		final String key = enumValue.getType() + "." + enumValue.getCode();
+		final PK cached = enumPks.get(key);
+		if (cached != null)
+		{
+			cacheHits.incrementAndGet();
+			return cached;
+		}
+		cacheMisses.incrementAndGet();
+		final long generation = invalidationGeneration.get();
 		final EnumerationValueModel value = typeService.getEnumerationValue(enumValue);
+		if (value.getPk() != null && generation == invalidationGeneration.get())
+		{
+			enumPks.put(key, value.getPk());
+		}
 		return value.getPk();
 	}
 
@@ -188,6 +361,45 @@ public class PDTEnumGroupsHelper extends AbstractBusinessService
 	 */
 	protected <T extends HybrisEnumValue> T getEnumFromGroups(final UserModel user, final String attribute)
 			throws CalculationException
+	{
+		if (!isCacheable() || user.getPk() == null)
+		{
+			return resolveEnumFromGroups(user, attribute);
+		}
+		final Map<String, Object> userEnums = enumsFromGroups.get(user.getPk());
+		final Object cached = userEnums != null ? userEnums.get(attribute) : null;
+		if (cached != null)
+		{
+			cacheHits.incrementAndGet();
+			return cached == NO_VALUE ? null : (T) cached;
+		}
+		cacheMisses.incrementAndGet();
+		final long generation = invalidationGeneration.get();
+		final T enumerationValue = resolveEnumFromGroups(user, attribute);
+		// do not cache a value which may have missed an invalidation while resolving
+		if (generation != invalidationGeneration.get())
+		{
+			return enumerationValue;
+		}
+		if (userEnums == null && enumsFromGroups.size() >= maxCachedUsers)
+		{
+			enumsFromGroups.clear();
+		}
+		enumsFromGroups.computeIfAbsent(user.getPk(), pk -> new ConcurrentHashMap<>())
+		               .put(attribute, enumerationValue == null ? NO_VALUE : enumerationValue);
+		// an invalidation between the check and the put may have missed the new entry
+		if (generation != invalidationGeneration.get())
+		{
+			enumsFromGroups.remove(user.getPk());
+		}
+		return enumerationValue;
+	}
+
+	/**
+	 * Walks the group hierarchy of the user level by level until a group with a value for the attribute is found.
+	 */
+	private <T extends HybrisEnumValue> T resolveEnumFromGroups(final UserModel user, final String attribute)
+			throws CalculationException
 	{
 		HybrisEnumValue enumerationValue = null;
 		final Set controlSet = new HashSet();
@@ -234,6 +446,14 @@ public class PDTEnumGroupsHelper extends AbstractBusinessService
 		return ugValue;
 	}
 
+	/**
+	 * Values resolved within a transaction are not cached as they may be rolled back without any invalidation.
+	 */
+	protected boolean isCacheable()
+	{
+		return cachingEnabled && !Transaction.current().isRunning();
+	}
+
 	/**
 	 * @param typeService the typeService to set
 	 */
@@ -241,4 +461,12 @@ public class PDTEnumGroupsHelper extends AbstractBusinessService
 	{
 		this.typeService = typeService;
 	}
+
+	/**
+	 * Sets the maximum number of users whose group enums are cached. Defaults to 10000.
+	 */
+	public void setMaxCachedUsers(final int maxCachedUsers)
+	{
+		this.maxCachedUsers = maxCachedUsers;
+	}
 }
@@ -15,6 +15,7 @@ import de.hybris.platform.europe1.model.PDTRowModel;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PDTCriteria;
 import de.hybris.platform.order.strategies.calculation.pdt.impl.GenericPDTFindValueInfoStrategy;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -34,4 +35,21 @@ public interface PDTModelMatcher<CRITERIA extends PDTCriteria, MODEL extends PDT
 	 * @return the price/discount/tax models list.
 	 */
 	List<MODEL> matchRows(final CRITERIA criteria);
+
+	/**
+	 * Match rows for several criteria at once. The default implementation calls {@link #matchRows(PDTCriteria)} for
+	 * each criteria.
+	 *
+	 * @param criteria the price/discount/tax criteria list.
+	 * @return the price/discount/tax models lists, in the order of the given criteria.
+	 */
+	default List<List<MODEL>> matchAllRows(final List<CRITERIA> criteria)
+	{
+		final List<List<MODEL>> result = new ArrayList<>(criteria.size());
+		for (final CRITERIA singleCriteria : criteria)
+		{
+			result.add(matchRows(singleCriteria));
+		}
+		return result;
+	}
 }
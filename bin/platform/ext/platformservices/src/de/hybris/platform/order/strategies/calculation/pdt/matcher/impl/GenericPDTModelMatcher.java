@@ -46,6 +46,32 @@ public class GenericPDTModelMatcher implements PDTModelMatcher<PDTCriteria, PDTR
 	{
 		criteria.validate();
 		final Collection<PDTRowModel> rows = rowRepository.findRows(criteria);
+		return filterAndSort(rows, criteria);
+	}
+
+	/**
+	 * Finds rows for all criteria at once using {@link PDTRowRepository#findAllRows(List)}, then filters and sorts the
+	 * rows of each criteria like {@link #matchRows(PDTCriteria)}.
+	 *
+	 * @param criteria the criteria list
+	 * @return the lists of rows, in the order of the given criteria
+	 */
+	@Override
+	public List<List<PDTRowModel>> matchAllRows(final List<PDTCriteria> criteria)
+	{
+		criteria.forEach(PDTCriteria::validate);
+		final List<Collection<PDTRowModel>> rows = rowRepository.findAllRows(criteria);
+
+		final List<List<PDTRowModel>> result = new ArrayList<>(criteria.size());
+		for (int i = 0; i < criteria.size(); i++)
+		{
+			result.add(filterAndSort(rows.get(i), criteria.get(i)));
+		}
+		return result;
+	}
+
+	private List<PDTRowModel> filterAndSort(final Collection<PDTRowModel> rows, final PDTCriteria criteria)
+	{
 		final Collection<PDTRowModel> filteredCollection = rowFilter.filter(rows, criteria);
 		final List<PDTRowModel> list = new ArrayList<>(filteredCollection);
 		list.sort(rowMatchComparatorProvider.comparator(criteria));
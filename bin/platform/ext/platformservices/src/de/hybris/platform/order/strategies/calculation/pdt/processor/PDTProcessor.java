@@ -13,6 +13,9 @@ package de.hybris.platform.order.strategies.calculation.pdt.processor;
 
 import de.hybris.platform.order.exceptions.CalculationException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * A <code>PDTProcessor</code> is an object that performs processing for <code>PDTContext</code>.
@@ -40,4 +43,25 @@ public interface PDTProcessor
 	 */
 	void doProcess(PDTContext context, PDTProcessorChain chain) throws CalculationException;
 
+	/**
+	 * The <code>doProcessAll</code> method is called by the application if price/discount/tax information or values are
+	 * needed to be resolved for several contexts at once, e.g. for all entries of a cart. It returns the contexts which
+	 * are passed on to the next entity in the chain.
+	 * <p>
+	 * The default implementation calls {@link #doProcess(PDTContext, PDTProcessorChain)} for each context and passes on
+	 * all contexts for which the processor invoked the chain.
+	 *
+	 * @param contexts contain criteria and values/information to process
+	 * @return the contexts to pass on to the next entity in the chain
+	 */
+	default List<PDTContext> doProcessAll(final List<PDTContext> contexts) throws CalculationException
+	{
+		final List<PDTContext> passedOn = new ArrayList<>(contexts.size());
+		for (final PDTContext context : contexts)
+		{
+			doProcess(context, passedOn::add);
+		}
+		return passedOn;
+	}
+
 }
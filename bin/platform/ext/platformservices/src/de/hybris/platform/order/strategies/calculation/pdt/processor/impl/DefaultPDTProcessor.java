@@ -65,6 +65,63 @@ public class DefaultPDTProcessor<VALUE extends PDTValue, INFO extends PDTInforma
 		chain.doProcess(context);
 	}
 
+	/**
+	 * Resolves the values or information of all contexts with a single call of the
+	 * {@link FindPDTValueInfoStrategy#getAllPDTValues(List)} or {@link FindPDTValueInfoStrategy#getAllPDTInformation(List)}
+	 * and passes on all contexts.
+	 */
+	@Override
+	public List<PDTContext> doProcessAll(final List<PDTContext> contexts) throws CalculationException
+	{
+		final List<PDTContext> valueContexts = new ArrayList<>();
+		final List<PDTContext> informationContexts = new ArrayList<>();
+		for (final PDTContext context : contexts)
+		{
+			Objects.requireNonNull(context, "context is required");
+			Objects.requireNonNull(context.getCriteria(), "context.getCriteria() is required");
+			Objects.requireNonNull(context.getPDTCriteriaTarget(), "context.getPDTCriteriaTarget() is required");
+
+			if (PDTCriteriaTarget.VALUE.equals(context.getPDTCriteriaTarget()) && valuesNotSet(context))
+			{
+				valueContexts.add(context);
+			}
+			else if (PDTCriteriaTarget.INFORMATION.equals(context.getPDTCriteriaTarget()) && informationsNotSet(context))
+			{
+				informationContexts.add(context);
+			}
+		}
+
+		if (!valueContexts.isEmpty())
+		{
+			final List<List<VALUE>> actualResponses = findPDTValueInfoStrategy.getAllPDTValues(criteriaOf(valueContexts));
+			for (int i = 0; i < valueContexts.size(); i++)
+			{
+				valueContexts.get(i).setValues(actualResponses.get(i));
+			}
+		}
+		if (!informationContexts.isEmpty())
+		{
+			final List<List<INFO>> actualResponses = findPDTValueInfoStrategy.getAllPDTInformation(
+					criteriaOf(informationContexts));
+			for (int i = 0; i < informationContexts.size(); i++)
+			{
+				informationContexts.get(i).setInformations(actualResponses.get(i));
+			}
+		}
+
+		return contexts;
+	}
+
+	private List<CRITERIA> criteriaOf(final List<PDTContext> contexts)
+	{
+		final List<CRITERIA> criteria = new ArrayList<>(contexts.size());
+		for (final PDTContext context : contexts)
+		{
+			criteria.add((CRITERIA) context.getCriteria());
+		}
+		return criteria;
+	}
+
 	private static boolean valuesNotSet(final PDTContext context)
 	{
 		return context.getValues() == null || context.getValues() == NO_RESULT;
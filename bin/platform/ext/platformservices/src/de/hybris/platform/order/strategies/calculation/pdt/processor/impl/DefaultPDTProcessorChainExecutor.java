@@ -20,6 +20,7 @@ import de.hybris.platform.order.strategies.calculation.pdt.processor.PDTProcesso
 import de.hybris.platform.order.strategies.calculation.pdt.processor.PDTProcessorChain;
 import de.hybris.platform.util.PDTValue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Required;
@@ -54,11 +55,66 @@ public class DefaultPDTProcessorChainExecutor<VALUE extends PDTValue, INFO exten
 		return context.getInformations();
 	}
 
+	@Override
+	public List<List<VALUE>> getAllPDTValues(final List<CRITERIA> criteria) throws CalculationException
+	{
+		final List<PDTContext> contexts = createContexts(criteria);
+		internalDoFilter(contexts);
+
+		final List<List<VALUE>> result = new ArrayList<>(contexts.size());
+		for (final PDTContext context : contexts)
+		{
+			result.add(context.getValues());
+		}
+		return result;
+	}
+
+	@Override
+	public List<List<INFO>> getAllPDTInformation(final List<CRITERIA> criteria) throws CalculationException
+	{
+		final List<PDTContext> contexts = createContexts(criteria);
+		internalDoFilter(contexts);
+
+		final List<List<INFO>> result = new ArrayList<>(contexts.size());
+		for (final PDTContext context : contexts)
+		{
+			result.add(context.getInformations());
+		}
+		return result;
+	}
+
+	private List<PDTContext> createContexts(final List<CRITERIA> criteria)
+	{
+		final List<PDTContext> contexts = new ArrayList<>(criteria.size());
+		for (final CRITERIA singleCriteria : criteria)
+		{
+			contexts.add(new PDTContext(singleCriteria));
+		}
+		return contexts;
+	}
+
 	private void internalDoFilter(final PDTContext context) throws CalculationException
 	{
 		new InternalPDTProcessorChain(pdtProcessors).doProcess(context);
 	}
 
+	/**
+	 * Runs all contexts through the processors, one processor after the other. Contexts a processor does not pass on are
+	 * not seen by the following processors.
+	 */
+	private void internalDoFilter(final List<PDTContext> contexts) throws CalculationException
+	{
+		List<PDTContext> pending = contexts;
+		for (final PDTProcessor processor : pdtProcessors)
+		{
+			if (pending.isEmpty())
+			{
+				break;
+			}
+			pending = processor.doProcessAll(pending);
+		}
+	}
+
 	private static final class InternalPDTProcessorChain implements PDTProcessorChain
 	{
 		private int position;
@@ -0,0 +1,43 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+
+package de.hybris.platform.order.strategies.calculation.pdt.query;
+
+import de.hybris.platform.order.strategies.calculation.pdt.criteria.PDTCriteria;
+import de.hybris.platform.order.strategies.calculation.pdt.repository.impl.GenericPDTRowRepository;
+
+
+/**
+ * The Interface for query providers which allow the {@link GenericPDTRowRepository} to load the rows for several
+ * price/discount/tax criteria with a single query.
+ *
+ * @param <CRITERIA> the generic type for price/discount/tax criteria.
+ */
+public interface PDTBatchQueryProvider<CRITERIA extends PDTCriteria> extends PDTQueryProvider<CRITERIA>
+{
+
+	/**
+	 * Gets the type code of the rows matching the criteria. Only criteria with the same row type code can be queried
+	 * together.
+	 *
+	 * @param criteria the price/discount/tax criteria.
+	 * @return the row type code.
+	 */
+	String rowTypeCode(CRITERIA criteria);
+
+	/**
+	 * Gets the product and user match qualifiers of the rows matching the criteria.
+	 *
+	 * @param criteria the price/discount/tax criteria.
+	 * @return the match qualifiers.
+	 */
+	PDTMatchQualifiers matchQualifiers(CRITERIA criteria);
+}
@@ -0,0 +1,82 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+
+package de.hybris.platform.order.strategies.calculation.pdt.query;
+
+import de.hybris.platform.core.PK;
+import de.hybris.platform.europe1.jalo.Europe1PriceFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * Product and user match qualifiers a price/discount/tax row must have to match a criteria. Mirrors the conditions
+ * created by {@link de.hybris.platform.europe1.jalo.PDTRowsQueryBuilder} so that rows loaded for several criteria at
+ * once can be assigned to the single criteria again.
+ */
+public final class PDTMatchQualifiers
+{
+	private final Set<Long> productQualifiers;
+	private final String productId;
+	private final Set<Long> userQualifiers;
+
+	private PDTMatchQualifiers(final Set<Long> productQualifiers, final String productId, final Set<Long> userQualifiers)
+	{
+		this.productQualifiers = Collections.unmodifiableSet(productQualifiers);
+		this.productId = productId;
+		this.userQualifiers = Collections.unmodifiableSet(userQualifiers);
+	}
+
+	/**
+	 * Creates the match qualifiers. Rows for any product and any user always match, all given <code>null</code> values
+	 * are ignored.
+	 */
+	public static PDTMatchQualifiers of(final PK productPk, final PK productGroupPk, final String productId, final PK userPk,
+			final PK userGroupPk)
+	{
+		final Set<Long> productQualifiers = new HashSet<>();
+		productQualifiers.add(Long.valueOf(Europe1PriceFactory.MATCH_ANY));
+		addQualifier(productQualifiers, productPk);
+		addQualifier(productQualifiers, productGroupPk);
+
+		final Set<Long> userQualifiers = new HashSet<>();
+		userQualifiers.add(Long.valueOf(Europe1PriceFactory.MATCH_ANY));
+		addQualifier(userQualifiers, userPk);
+		addQualifier(userQualifiers, userGroupPk);
+
+		return new PDTMatchQualifiers(productQualifiers, productId, userQualifiers);
+	}
+
+	private static void addQualifier(final Set<Long> qualifiers, final PK pk)
+	{
+		if (pk != null)
+		{
+			qualifiers.add(Long.valueOf(pk.getLongValue()));
+		}
+	}
+
+	public Set<Long> getProductQualifiers()
+	{
+		return productQualifiers;
+	}
+
+	public String getProductId()
+	{
+		return productId;
+	}
+
+	public Set<Long> getUserQualifiers()
+	{
+		return userQualifiers;
+	}
+}
@@ -16,20 +16,20 @@ import de.hybris.platform.europe1.constants.Europe1Constants;
 import de.hybris.platform.europe1.jalo.PDTRowsQueryBuilder;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.DiscountValueInfoCriteria;
 import de.hybris.platform.order.strategies.calculation.pdt.impl.PDTEnumGroupsHelper;
-import de.hybris.platform.order.strategies.calculation.pdt.query.PDTQueryProvider;
+import de.hybris.platform.order.strategies.calculation.pdt.query.PDTBatchQueryProvider;
+import de.hybris.platform.order.strategies.calculation.pdt.query.PDTMatchQualifiers;
 
 import org.springframework.beans.factory.annotation.Required;
 
 
-public class DefaultDiscountQueryProvider implements PDTQueryProvider<DiscountValueInfoCriteria>
+public class DefaultDiscountQueryProvider implements PDTBatchQueryProvider<DiscountValueInfoCriteria>
 {
 	private PDTEnumGroupsHelper pdtEnumGroupsHelper;
 
 	@Override
 	public PDTRowsQueryBuilder.QueryWithParams query(final DiscountValueInfoCriteria criteria)
 	{
-		final boolean global = criteria.getProduct() == null && criteria.getProductGroup() == null;
-		final String discountRowTypeCode = global ? Europe1Constants.TC.GLOBALDISCOUNTROW : Europe1Constants.TC.DISCOUNTROW;
+		final String discountRowTypeCode = rowTypeCode(criteria);
 
 		final PK productPk = criteria.getProduct() == null ? null : criteria.getProduct().getPk();
 		final PK productGroupPk = criteria.getProductGroup() == null ? null : pdtEnumGroupsHelper.getPkFromEnum(
@@ -44,6 +44,27 @@ public class DefaultDiscountQueryProvider implements PDTQueryProvider<DiscountVa
 		              .withProductGroup(productGroupPk).withUser(userPk).withUserGroup(userGroupPk).build();
 	}
 
+	@Override
+	public String rowTypeCode(final DiscountValueInfoCriteria criteria)
+	{
+		final boolean global = criteria.getProduct() == null && criteria.getProductGroup() == null;
+		return global ? Europe1Constants.TC.GLOBALDISCOUNTROW : Europe1Constants.TC.DISCOUNTROW;
+	}
+
+	@Override
+	public PDTMatchQualifiers matchQualifiers(final DiscountValueInfoCriteria criteria)
+	{
+		final PK productPk = criteria.getProduct() == null ? null : criteria.getProduct().getPk();
+		final PK productGroupPk = criteria.getProductGroup() == null ? null
+				: pdtEnumGroupsHelper.getPkFromEnum(criteria.getProductGroup());
+		final PK userPk = criteria.getUser() == null ? null : criteria.getUser().getPk();
+		final PK userGroupPk = criteria.getUserGroup() == null ? null : pdtEnumGroupsHelper.getPkFromEnum(
+				criteria.getUserGroup());
+		final String productId = criteria.getProduct() == null ? null : criteria.getProduct().getCode();
+
+		return PDTMatchQualifiers.of(productPk, productGroupPk, productId, userPk, userGroupPk);
+	}
+
 	@Required
 	public void setPdtEnumGroupsHelper(final PDTEnumGroupsHelper pdtEnumGroupsHelper)
 	{
@@ -17,7 +17,8 @@ import de.hybris.platform.europe1.model.PriceRowModel;
 import de.hybris.platform.jalo.c2l.Currency;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PriceValueInfoCriteria;
 import de.hybris.platform.order.strategies.calculation.pdt.impl.PDTEnumGroupsHelper;
-import de.hybris.platform.order.strategies.calculation.pdt.query.PDTQueryProvider;
+import de.hybris.platform.order.strategies.calculation.pdt.query.PDTBatchQueryProvider;
+import de.hybris.platform.order.strategies.calculation.pdt.query.PDTMatchQualifiers;
 
 import java.util.Date;
 import java.util.LinkedHashMap;
@@ -25,7 +26,7 @@ import java.util.LinkedHashMap;
 import org.springframework.beans.factory.annotation.Required;
 
 
-public class DefaultPriceQueryProvider implements PDTQueryProvider<PriceValueInfoCriteria>
+public class DefaultPriceQueryProvider implements PDTBatchQueryProvider<PriceValueInfoCriteria>
 {
 	private PDTEnumGroupsHelper pdtEnumGroupsHelper;
 
@@ -53,6 +54,26 @@ public class DefaultPriceQueryProvider implements PDTQueryProvider<PriceValueInf
 		              .withProductGroup(productGroupPk).withUser(userPk).withUserGroup(userGroupPk).build();
 	}
 
+	@Override
+	public String rowTypeCode(final PriceValueInfoCriteria criteria)
+	{
+		return PriceRowModel._TYPECODE;
+	}
+
+	@Override
+	public PDTMatchQualifiers matchQualifiers(final PriceValueInfoCriteria criteria)
+	{
+		final PK productPk = criteria.getProduct() == null ? null : criteria.getProduct().getPk();
+		final PK productGroupPk = criteria.getProductGroup() == null ? null
+				: pdtEnumGroupsHelper.getPkFromEnum(criteria.getProductGroup());
+		final PK userPk = criteria.getUser() == null ? null : criteria.getUser().getPk();
+		final PK userGroupPk = criteria.getUserGroup() == null ? null : pdtEnumGroupsHelper.getPkFromEnum(
+				criteria.getUserGroup());
+		final String productId = criteria.getProduct() == null ? null : criteria.getProduct().getCode();
+
+		return PDTMatchQualifiers.of(productPk, productGroupPk, productId, userPk, userGroupPk);
+	}
+
 	@Required
 	public void setPdtEnumGroupsHelper(final PDTEnumGroupsHelper pdtEnumGroupsHelper)
 	{
@@ -16,12 +16,13 @@ import de.hybris.platform.europe1.jalo.PDTRowsQueryBuilder;
 import de.hybris.platform.europe1.model.TaxRowModel;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.TaxValueInfoCriteria;
 import de.hybris.platform.order.strategies.calculation.pdt.impl.PDTEnumGroupsHelper;
-import de.hybris.platform.order.strategies.calculation.pdt.query.PDTQueryProvider;
+import de.hybris.platform.order.strategies.calculation.pdt.query.PDTBatchQueryProvider;
+import de.hybris.platform.order.strategies.calculation.pdt.query.PDTMatchQualifiers;
 
 import org.springframework.beans.factory.annotation.Required;
 
 
-public class DefaultTaxQueryProvider implements PDTQueryProvider<TaxValueInfoCriteria>
+public class DefaultTaxQueryProvider implements PDTBatchQueryProvider<TaxValueInfoCriteria>
 {
 	private PDTEnumGroupsHelper pdtEnumGroupsHelper;
 
@@ -43,6 +44,26 @@ public class DefaultTaxQueryProvider implements PDTQueryProvider<TaxValueInfoCri
 		              .withProductId(productId).withUser(userPk).withUserGroup(userGroupPk).build();
 	}
 
+	@Override
+	public String rowTypeCode(final TaxValueInfoCriteria criteria)
+	{
+		return TaxRowModel._TYPECODE;
+	}
+
+	@Override
+	public PDTMatchQualifiers matchQualifiers(final TaxValueInfoCriteria criteria)
+	{
+		final PK productPk = criteria.getProduct() == null ? null : criteria.getProduct().getPk();
+		final PK productGroupPk = criteria.getProductGroup() == null ? null
+				: pdtEnumGroupsHelper.getPkFromEnum(criteria.getProductGroup());
+		final PK userPk = criteria.getUser() == null ? null : criteria.getUser().getPk();
+		final PK userGroupPk = criteria.getUserGroup() == null ? null : pdtEnumGroupsHelper.getPkFromEnum(
+				criteria.getUserGroup());
+		final String productId = criteria.getProduct() == null ? null : criteria.getProduct().getCode();
+
+		return PDTMatchQualifiers.of(productPk, productGroupPk, productId, userPk, userGroupPk);
+	}
+
 	@Required
 	public void setPdtEnumGroupsHelper(final PDTEnumGroupsHelper pdtEnumGroupsHelper)
 	{
@@ -15,7 +15,9 @@ import de.hybris.platform.europe1.model.PDTRowModel;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PDTCriteria;
 import de.hybris.platform.order.strategies.calculation.pdt.matcher.impl.GenericPDTModelMatcher;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 
 /**
@@ -34,4 +36,21 @@ public interface PDTRowRepository<CRITERIA extends PDTCriteria, MODEL extends PD
 	 * @return the price/discount/tax row models collection.
 	 */
 	Collection<MODEL> findRows(CRITERIA criteria);
+
+	/**
+	 * Finds price/discount/tax rows for several criteria at once. The default implementation calls
+	 * {@link #findRows(PDTCriteria)} for each criteria.
+	 *
+	 * @param criteria the price/discount/tax criteria list.
+	 * @return the price/discount/tax row models collections, in the order of the given criteria.
+	 */
+	default List<Collection<MODEL>> findAllRows(final List<CRITERIA> criteria)
+	{
+		final List<Collection<MODEL>> result = new ArrayList<>(criteria.size());
+		for (final CRITERIA singleCriteria : criteria)
+		{
+			result.add(findRows(singleCriteria));
+		}
+		return result;
+	}
 }
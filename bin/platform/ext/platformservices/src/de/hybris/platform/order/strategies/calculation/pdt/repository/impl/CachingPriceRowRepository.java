@@ -0,0 +1,534 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+
+package de.hybris.platform.order.strategies.calculation.pdt.repository.impl;
+
+import de.hybris.platform.cache.Cache;
+import de.hybris.platform.cache.InvalidationListener;
+import de.hybris.platform.cache.InvalidationManager;
+import de.hybris.platform.cache.InvalidationTarget;
+import de.hybris.platform.cache.InvalidationTopic;
+import de.hybris.platform.cache.RemoteInvalidationSource;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.Tenant;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.europe1.model.PriceRowModel;
+import de.hybris.platform.jalo.JaloSession;
+import de.hybris.platform.jalo.SessionContext;
+import de.hybris.platform.order.strategies.calculation.pdt.criteria.PriceValueInfoCriteria;
+import de.hybris.platform.order.strategies.calculation.pdt.impl.PDTEnumGroupsHelper;
+import de.hybris.platform.order.strategies.calculation.pdt.repository.PDTRowRepository;
+import de.hybris.platform.servicelayer.exceptions.ModelLoadingException;
+import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
+import de.hybris.platform.servicelayer.search.SearchResult;
+import de.hybris.platform.util.Config;
+import de.hybris.platform.util.collections.fast.YLongToObjectMap;
+import de.hybris.platform.util.config.ConfigIntf;
+import de.hybris.platform.util.typesystem.PlatformStringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Required;
+
+import com.google.common.collect.Lists;
+
+
+/**
+ * {@link PDTRowRepository} answering price row lookups from an in-memory index instead of a FlexibleSearch per lookup.
+ * <p>
+ * The index holds the match qualifiers of all price rows and links them by their product match qualifier (product,
+ * product group, product id or any product). User and user group are matched in memory exactly like the query of the
+ * database based repository matches them; the matching rows are returned as models loaded by PK. Price row changes are
+ * applied row by row to a copy of the published snapshot, so lookups never wait for an update in progress. While the
+ * first snapshot is built, lookups of other threads are answered by the fallback repository.
+ */
+public class CachingPriceRowRepository implements PDTRowRepository<PriceValueInfoCriteria, PriceRowModel>
+{
+	/**
+	 * Maximum number of pending price row changes applied incrementally; above it the index is rebuilt completely.
+	 */
+	public static final String KEY_INCREMENTAL_THRESHOLD = "pdt.prices.cache.incremental.threshold";
+
+	private static final int DEFAULT_INCREMENTAL_THRESHOLD = 1000;
+	private static final int PRICE_ROW_QUERY_CHUNK_SIZE = 1000;
+
+	private static final long MATCH_ANY = PK.NULL_PK.getLongValue();
+	private static final long MATCH_BY_PRODUCT_ID = MATCH_ANY - 1;
+
+	private static final String PRICE_ROW_QUERY = "SELECT {" + PriceRowModel.PK + "}, {" + PriceRowModel.PRODUCTMATCHQUALIFIER
+			+ "}, {" + PriceRowModel.USERMATCHQUALIFIER + "}, {" + PriceRowModel.PRODUCTID + "} FROM {" + PriceRowModel._TYPECODE
+			+ "}";
+
+	private FlexibleSearchService flexibleSearchService;
+	private ModelService modelService;
+	private PDTEnumGroupsHelper pdtEnumGroupsHelper;
+	private PDTRowRepository<PriceValueInfoCriteria, PriceRowModel> fallbackRowRepository;
+
+	private volatile PriceRowSnapshot priceRowSnapshot = null;
+	private final Set<PK> pendingPriceRowChanges = ConcurrentHashMap.newKeySet();
+	private final ReentrantLock snapshotUpdateLock = new ReentrantLock();
+	//incremented by each full invalidation - a snapshot built meanwhile is not published
+	private final AtomicLong invalidationGeneration = new AtomicLong();
+
+	//read once and refreshed on configuration changes instead of on every lookup
+	private volatile int incrementalThreshold = DEFAULT_INCREMENTAL_THRESHOLD;
+
+	private final ConfigIntf.ConfigChangeListener configChangeListener = new ConfigIntf.ConfigChangeListener()
+	{
+		@Override
+		public void configChanged(final String key, final String newValue)
+		{
+			if (KEY_INCREMENTAL_THRESHOLD.equals(key))
+			{
+				readConfiguration();
+			}
+		}
+	};
+
+	private final InvalidationListener invalidationListener = new InvalidationListener()
+	{
+		private final String priceRowTypeCode = PlatformStringUtils.valueOf(1055);
+
+		@Override
+		public void keyInvalidated(final Object[] key, final int invalidationType, final InvalidationTarget target,
+		                           final RemoteInvalidationSource remoteSrc)
+		{
+			if (priceRowTypeCode.equals(key[2]))
+			{
+				priceRowInvalidated(key);
+			}
+		}
+	};
+
+	@PostConstruct
+	public void init()
+	{
+		getInvalidationTopic().addInvalidationListener(invalidationListener);
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			readConfiguration();
+			tenant.getConfig().registerConfigChangeListener(configChangeListener);
+		}
+	}
+
+	@PreDestroy
+	public void destroy()
+	{
+		getInvalidationTopic().removeInvalidationListener(invalidationListener);
+		final Tenant tenant = Registry.getCurrentTenantNoFallback();
+		if (tenant != null)
+		{
+			tenant.getConfig().unregisterConfigChangeListener(configChangeListener);
+		}
+	}
+
+	private static InvalidationTopic getInvalidationTopic()
+	{
+		return InvalidationManager.getInstance().getInvalidationTopic(new String[]
+				{ Cache.CACHEKEY_HJMP, Cache.CACHEKEY_ENTITY });
+	}
+
+	private void readConfiguration()
+	{
+		incrementalThreshold = Config.getInt(KEY_INCREMENTAL_THRESHOLD, DEFAULT_INCREMENTAL_THRESHOLD);
+	}
+
+	void priceRowInvalidated(final Object[] key)
+	{
+		if (key.length > 3 && key[3] instanceof PK)
+		{
+			pendingPriceRowChanges.add((PK) key[3]);
+			if (pendingPriceRowChanges.size() <= getIncrementalThreshold())
+			{
+				return;
+			}
+		}
+		invalidatePriceRowCache();
+	}
+
+	/**
+	 * Drops the current index; it is rebuilt completely by the next lookup.
+	 */
+	public void invalidatePriceRowCache()
+	{
+		invalidationGeneration.incrementAndGet();
+		priceRowSnapshot = null;
+	}
+
+	protected int getIncrementalThreshold()
+	{
+		return incrementalThreshold;
+	}
+
+	@Override
+	public Collection<PriceRowModel> findRows(final PriceValueInfoCriteria criteria)
+	{
+		final PriceRowSnapshot snapshot = getPriceRowSnapshot();
+		if (snapshot == null)
+		{
+			return fallbackRowRepository.findRows(criteria);
+		}
+
+		final ProductModel product = criteria.getProduct();
+		final long uPK = criteria.getUser() != null ? criteria.getUser().getPk().getLongValue() : MATCH_ANY;
+		final long ugPK = criteria.getUserGroup() != null ? pdtEnumGroupsHelper.getPkFromEnum(criteria.getUserGroup())
+		                                                                       .getLongValue() : MATCH_ANY;
+
+		final List<CachedPriceRow> matches = new ArrayList<>();
+		if (product != null)
+		{
+			addMatches(snapshot.getByProductQualifier().get(product.getPk().getLongValue()), uPK, ugPK, matches);
+			addMatches(snapshot.getByProductId().get(product.getCode()), uPK, ugPK, matches);
+		}
+		if (criteria.getProductGroup() != null)
+		{
+			addMatches(snapshot.getByProductQualifier().get(pdtEnumGroupsHelper.getPkFromEnum(criteria.getProductGroup())
+			                                                                   .getLongValue()), uPK, ugPK, matches);
+		}
+		addMatches(snapshot.getByProductQualifier().get(MATCH_ANY), uPK, ugPK, matches);
+
+		if (matches.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+		final List<PriceRowModel> rows = new ArrayList<>(matches.size());
+		for (final CachedPriceRow match : matches)
+		{
+			try
+			{
+				rows.add(modelService.get(match.getRowPK()));
+			}
+			catch (final ModelLoadingException e)
+			{
+				//row has been removed meanwhile - its change is still pending
+			}
+		}
+		return rows;
+	}
+
+	private static void addMatches(final List<CachedPriceRow> candidates, final long uPK, final long ugPK,
+	                               final List<CachedPriceRow> matches)
+	{
+		if (candidates != null)
+		{
+			for (final CachedPriceRow candidate : candidates)
+			{
+				if (candidate.matches(uPK, ugPK))
+				{
+					matches.add(candidate);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the current snapshot, or <code>null</code> if another thread is building it and the lookup has to be answered
+	 * by the fallback repository.
+	 */
+	private PriceRowSnapshot getPriceRowSnapshot()
+	{
+		PriceRowSnapshot snapshot = priceRowSnapshot;
+		if (snapshot == null)
+		{
+			if (!snapshotUpdateLock.tryLock())
+			{
+				return null;
+			}
+			try
+			{
+				snapshot = priceRowSnapshot;
+				if (snapshot == null)
+				{
+					final long generation = invalidationGeneration.get();
+					//changes recorded so far are part of the full reload
+					pendingPriceRowChanges.clear();
+					snapshot = PriceRowSnapshot.create(searchAllPriceRows());
+					// do not publish a snapshot which may have missed an invalidation during loading
+					if (generation != invalidationGeneration.get())
+					{
+						return snapshot;
+					}
+					priceRowSnapshot = snapshot;
+				}
+			}
+			finally
+			{
+				snapshotUpdateLock.unlock();
+			}
+		}
+		return applyPendingPriceRowChanges(snapshot);
+	}
+
+	/**
+	 * Applies pending price row changes to a copy of the given snapshot and publishes it. If another thread is already
+	 * updating the snapshot the given one is returned as is.
+	 */
+	private PriceRowSnapshot applyPendingPriceRowChanges(final PriceRowSnapshot snapshot)
+	{
+		if (pendingPriceRowChanges.isEmpty() || !snapshotUpdateLock.tryLock())
+		{
+			return snapshot;
+		}
+		try
+		{
+			final long generation = invalidationGeneration.get();
+			final PriceRowSnapshot latest = priceRowSnapshot;
+			final List<PK> changedRows = new ArrayList<>(pendingPriceRowChanges);
+			if (latest == null || changedRows.isEmpty())
+			{
+				return snapshot;
+			}
+			pendingPriceRowChanges.removeAll(changedRows);
+
+			final PriceRowSnapshot updated;
+			if (changedRows.size() > getIncrementalThreshold())
+			{
+				updated = PriceRowSnapshot.create(searchAllPriceRows());
+			}
+			else
+			{
+				final List<CachedPriceRow> existingRows = new ArrayList<>(changedRows.size());
+				for (final List<PK> chunk : Lists.partition(changedRows, PRICE_ROW_QUERY_CHUNK_SIZE))
+				{
+					existingRows.addAll(searchPriceRows(PRICE_ROW_QUERY + " WHERE {" + PriceRowModel.PK + "} IN (?pks)", chunk));
+				}
+				updated = latest.withChangedRows(changedRows, existingRows);
+			}
+			if (generation == invalidationGeneration.get())
+			{
+				priceRowSnapshot = updated;
+			}
+			return updated;
+		}
+		finally
+		{
+			snapshotUpdateLock.unlock();
+		}
+	}
+
+	protected List<CachedPriceRow> searchAllPriceRows()
+	{
+		return searchPriceRows(PRICE_ROW_QUERY, Collections.emptyList());
+	}
+
+	private List<CachedPriceRow> searchPriceRows(final String query, final List<PK> priceRowPKs)
+	{
+		SessionContext ctx = null;
+		try
+		{
+			ctx = JaloSession.getCurrentSession().createLocalSessionContext();
+			ctx.setAttribute("disableRestrictions", Boolean.TRUE);
+
+			final FlexibleSearchQuery searchQuery = new FlexibleSearchQuery(query);
+			if (!priceRowPKs.isEmpty())
+			{
+				searchQuery.addQueryParameter("pks", priceRowPKs);
+			}
+			searchQuery.setResultClassList(Arrays.asList(PK.class, Long.class, Long.class, String.class));
+
+			final SearchResult<List<Object>> result = flexibleSearchService.search(searchQuery);
+			final List<CachedPriceRow> rows = new ArrayList<>(result.getResult().size());
+			for (final List<Object> row : result.getResult())
+			{
+				rows.add(new CachedPriceRow((PK) row.get(0), (Long) row.get(1), (Long) row.get(2), (String) row.get(3)));
+			}
+			return rows;
+		}
+		finally
+		{
+			if (ctx != null)
+			{
+				JaloSession.getCurrentSession().removeLocalSessionContext();
+			}
+		}
+	}
+
+	/**
+	 * Match qualifiers of a single price row.
+	 */
+	protected static final class CachedPriceRow
+	{
+		private final PK rowPK;
+		private final long productMatchQualifier;
+		private final long userMatchQualifier;
+		private final String productId;
+
+		CachedPriceRow(final PK rowPK, final Long productMatchQualifier, final Long userMatchQualifier, final String productId)
+		{
+			this.rowPK = rowPK;
+			this.productMatchQualifier = productMatchQualifier != null ? productMatchQualifier.longValue() : MATCH_ANY;
+			this.userMatchQualifier = userMatchQualifier != null ? userMatchQualifier.longValue() : MATCH_ANY;
+			this.productId = productId;
+		}
+
+		boolean matches(final long uPK, final long ugPK)
+		{
+			return userMatchQualifier == MATCH_ANY || userMatchQualifier == uPK || userMatchQualifier == ugPK;
+		}
+
+		boolean isMatchedByProductId()
+		{
+			return productMatchQualifier == MATCH_BY_PRODUCT_ID && productId != null;
+		}
+
+		PK getRowPK()
+		{
+			return rowPK;
+		}
+	}
+
+	/**
+	 * Immutable index of cached price rows. Changes are applied copy-on-write: only the touched buckets are copied.
+	 */
+	private static final class PriceRowSnapshot
+	{
+		private final YLongToObjectMap<List<CachedPriceRow>> byProductQualifier;
+		private final Map<String, List<CachedPriceRow>> byProductId;
+		private final YLongToObjectMap<CachedPriceRow> rows;
+
+		private PriceRowSnapshot(final YLongToObjectMap<List<CachedPriceRow>> byProductQualifier,
+		                         final Map<String, List<CachedPriceRow>> byProductId, final YLongToObjectMap<CachedPriceRow> rows)
+		{
+			this.byProductQualifier = byProductQualifier;
+			this.byProductId = byProductId;
+			this.rows = rows;
+		}
+
+		static PriceRowSnapshot create(final Collection<CachedPriceRow> priceRows)
+		{
+			final YLongToObjectMap<List<CachedPriceRow>> byProductQualifier = new YLongToObjectMap<>();
+			final Map<String, List<CachedPriceRow>> byProductId = new HashMap<>();
+			final YLongToObjectMap<CachedPriceRow> rows = new YLongToObjectMap<>(priceRows.size());
+			for (final CachedPriceRow row : priceRows)
+			{
+				rows.put(row.getRowPK().getLongValue(), row);
+				if (row.isMatchedByProductId())
+				{
+					byProductId.computeIfAbsent(row.productId, id -> new ArrayList<>()).add(row);
+				}
+				else
+				{
+					List<CachedPriceRow> bucket = byProductQualifier.get(row.productMatchQualifier);
+					if (bucket == null)
+					{
+						bucket = new ArrayList<>();
+						byProductQualifier.put(row.productMatchQualifier, bucket);
+					}
+					bucket.add(row);
+				}
+			}
+			return new PriceRowSnapshot(byProductQualifier, byProductId, rows);
+		}
+
+		PriceRowSnapshot withChangedRows(final Collection<PK> changedRowPKs, final Collection<CachedPriceRow> existingRows)
+		{
+			final YLongToObjectMap<List<CachedPriceRow>> newByProductQualifier = new YLongToObjectMap<>(byProductQualifier.size());
+			byProductQualifier.forEachEntry((qualifier, bucket) -> newByProductQualifier.put(qualifier, bucket));
+			final Map<String, List<CachedPriceRow>> newByProductId = new HashMap<>(byProductId);
+			final YLongToObjectMap<CachedPriceRow> newRows = new YLongToObjectMap<>(rows.size());
+			rows.forEachEntry((rowPK, row) -> newRows.put(rowPK, row));
+
+			final Set<Long> copiedQualifierBuckets = new HashSet<>();
+			final Set<String> copiedProductIdBuckets = new HashSet<>();
+
+			for (final PK rowPK : changedRowPKs)
+			{
+				final CachedPriceRow old = newRows.get(rowPK.getLongValue());
+				if (old != null)
+				{
+					newRows.remove(rowPK.getLongValue());
+					bucketFor(old, newByProductQualifier, newByProductId, copiedQualifierBuckets, copiedProductIdBuckets).remove(old);
+				}
+			}
+			for (final CachedPriceRow row : existingRows)
+			{
+				newRows.put(row.getRowPK().getLongValue(), row);
+				bucketFor(row, newByProductQualifier, newByProductId, copiedQualifierBuckets, copiedProductIdBuckets).add(row);
+			}
+			return new PriceRowSnapshot(newByProductQualifier, newByProductId, newRows);
+		}
+
+		private static List<CachedPriceRow> bucketFor(final CachedPriceRow row,
+		                                              final YLongToObjectMap<List<CachedPriceRow>> byProductQualifier,
+		                                              final Map<String, List<CachedPriceRow>> byProductId,
+		                                              final Set<Long> copiedQualifierBuckets, final Set<String> copiedProductIdBuckets)
+		{
+			if (row.isMatchedByProductId())
+			{
+				if (copiedProductIdBuckets.add(row.productId))
+				{
+					final List<CachedPriceRow> published = byProductId.get(row.productId);
+					byProductId.put(row.productId, published != null ? new ArrayList<>(published) : new ArrayList<>());
+				}
+				return byProductId.get(row.productId);
+			}
+			if (copiedQualifierBuckets.add(Long.valueOf(row.productMatchQualifier)))
+			{
+				final List<CachedPriceRow> published = byProductQualifier.get(row.productMatchQualifier);
+				byProductQualifier.put(row.productMatchQualifier, published != null ? new ArrayList<>(published)
+						: new ArrayList<>());
+			}
+			return byProductQualifier.get(row.productMatchQualifier);
+		}
+
+		YLongToObjectMap<List<CachedPriceRow>> getByProductQualifier()
+		{
+			return byProductQualifier;
+		}
+
+		Map<String, List<CachedPriceRow>> getByProductId()
+		{
+			return byProductId;
+		}
+	}
+
+	@Required
+	public void setFlexibleSearchService(final FlexibleSearchService flexibleSearchService)
+	{
+		this.flexibleSearchService = flexibleSearchService;
+	}
+
+	@Required
+	public void setModelService(final ModelService modelService)
+	{
+		this.modelService = modelService;
+	}
+
+	@Required
+	public void setPdtEnumGroupsHelper(final PDTEnumGroupsHelper pdtEnumGroupsHelper)
+	{
+		this.pdtEnumGroupsHelper = pdtEnumGroupsHelper;
+	}
+
+	@Required
+	public void setFallbackRowRepository(final PDTRowRepository<PriceValueInfoCriteria, PriceRowModel> fallbackRowRepository)
+	{
+		this.fallbackRowRepository = fallbackRowRepository;
+	}
+}
@@ -11,23 +11,38 @@
 
 package de.hybris.platform.order.strategies.calculation.pdt.repository.impl;
 
+import de.hybris.platform.europe1.jalo.Europe1PriceFactory;
 import de.hybris.platform.europe1.jalo.PDTRowsQueryBuilder;
 import de.hybris.platform.europe1.model.PDTRowModel;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PDTCriteria;
+import de.hybris.platform.order.strategies.calculation.pdt.query.PDTBatchQueryProvider;
+import de.hybris.platform.order.strategies.calculation.pdt.query.PDTMatchQualifiers;
 import de.hybris.platform.order.strategies.calculation.pdt.query.PDTQueryProvider;
 import de.hybris.platform.order.strategies.calculation.pdt.repository.PDTRowRepository;
 import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.FlexibleSearchService;
 import de.hybris.platform.servicelayer.search.SearchResult;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Required;
 
+import com.google.common.collect.Lists;
+
 
 public class GenericPDTRowRepository<CRITERIA extends PDTCriteria, MODEL extends PDTRowModel>
 		implements PDTRowRepository<CRITERIA, MODEL>
 {
+	private static final int BATCH_QUERY_CHUNK_SIZE = 300;
+
 	private PDTQueryProvider<CRITERIA> queryProvider;
 	private FlexibleSearchService flexibleSearchService;
 
@@ -42,6 +57,133 @@ public class GenericPDTRowRepository<CRITERIA extends PDTCriteria, MODEL extends
 		return rows.getResult();
 	}
 
+	/**
+	 * Loads the rows for all criteria sharing the same row type with one query per chunk of criteria if the query provider
+	 * is a {@link PDTBatchQueryProvider}, and assigns the loaded rows back to the single criteria in memory.
+	 */
+	@Override
+	public List<Collection<MODEL>> findAllRows(final List<CRITERIA> criteria)
+	{
+		if (criteria.size() < 2 || !(queryProvider instanceof PDTBatchQueryProvider))
+		{
+			return PDTRowRepository.super.findAllRows(criteria);
+		}
+		final PDTBatchQueryProvider<CRITERIA> batchQueryProvider = (PDTBatchQueryProvider<CRITERIA>) queryProvider;
+
+		final List<PDTMatchQualifiers> qualifiers = new ArrayList<>(criteria.size());
+		final Map<String, List<Integer>> positionsByRowType = new LinkedHashMap<>();
+		for (int i = 0; i < criteria.size(); i++)
+		{
+			qualifiers.add(batchQueryProvider.matchQualifiers(criteria.get(i)));
+			positionsByRowType.computeIfAbsent(batchQueryProvider.rowTypeCode(criteria.get(i)), k -> new ArrayList<>())
+			                  .add(Integer.valueOf(i));
+		}
+
+		final List<Collection<MODEL>> result = new ArrayList<>(Collections.nCopies(criteria.size(), null));
+		for (final Map.Entry<String, List<Integer>> rowType : positionsByRowType.entrySet())
+		{
+			for (final List<Integer> chunk : Lists.partition(rowType.getValue(), BATCH_QUERY_CHUNK_SIZE))
+			{
+				final List<PDTMatchQualifiers> chunkQualifiers = new ArrayList<>(chunk.size());
+				chunk.forEach(position -> chunkQualifiers.add(qualifiers.get(position.intValue())));
+
+				final RowsIndex<MODEL> rows = new RowsIndex<>(searchRows(rowType.getKey(), chunkQualifiers));
+				chunk.forEach(position -> result.set(position.intValue(), rows.matching(qualifiers.get(position.intValue()))));
+			}
+		}
+		return result;
+	}
+
+	private Collection<MODEL> searchRows(final String rowTypeCode, final Collection<PDTMatchQualifiers> qualifiers)
+	{
+		final Set<Long> productQualifiers = new HashSet<>();
+		final Set<String> productIds = new HashSet<>();
+		final Set<Long> userQualifiers = new HashSet<>();
+		for (final PDTMatchQualifiers singleQualifiers : qualifiers)
+		{
+			productQualifiers.addAll(singleQualifiers.getProductQualifiers());
+			if (singleQualifiers.getProductId() != null)
+			{
+				productIds.add(singleQualifiers.getProductId());
+			}
+			userQualifiers.addAll(singleQualifiers.getUserQualifiers());
+		}
+
+		final Map<String, Object> params = new HashMap<>();
+		final StringBuilder query = new StringBuilder("SELECT {").append(PDTRowModel.PK).append("} FROM {").append(rowTypeCode)
+				.append("} WHERE ({").append(PDTRowModel.PRODUCTMATCHQUALIFIER).append("} IN (?productQualifiers)");
+		params.put("productQualifiers", productQualifiers);
+		if (!productIds.isEmpty())
+		{
+			query.append(" OR ({").append(PDTRowModel.PRODUCTMATCHQUALIFIER).append("}=?matchByProductId AND {")
+			     .append(PDTRowModel.PRODUCTID).append("} IN (?productIds))");
+			params.put("matchByProductId", Long.valueOf(Europe1PriceFactory.MATCH_BY_PRODUCT_ID));
+			params.put("productIds", productIds);
+		}
+		query.append(") AND {").append(PDTRowModel.USERMATCHQUALIFIER).append("} IN (?userQualifiers)");
+		params.put("userQualifiers", userQualifiers);
+
+		final FlexibleSearchQuery searchQuery = new FlexibleSearchQuery(query.toString());
+		searchQuery.addQueryParameters(params);
+
+		final SearchResult<MODEL> rows = flexibleSearchService.<MODEL>search(searchQuery);
+		return rows.getResult();
+	}
+
+	/**
+	 * Rows loaded for several criteria, indexed by the product they match.
+	 */
+	private static final class RowsIndex<MODEL extends PDTRowModel>
+	{
+		private final Map<Long, List<MODEL>> byProductQualifier = new HashMap<>();
+		private final Map<String, List<MODEL>> byProductId = new HashMap<>();
+
+		private RowsIndex(final Collection<MODEL> rows)
+		{
+			for (final MODEL row : rows)
+			{
+				final Long productQualifier = row.getProductMatchQualifier();
+				if (productQualifier != null && productQualifier.longValue() == Europe1PriceFactory.MATCH_BY_PRODUCT_ID)
+				{
+					byProductId.computeIfAbsent(row.getProductId(), k -> new ArrayList<>()).add(row);
+				}
+				else
+				{
+					byProductQualifier.computeIfAbsent(productQualifier, k -> new ArrayList<>()).add(row);
+				}
+			}
+		}
+
+		private Collection<MODEL> matching(final PDTMatchQualifiers qualifiers)
+		{
+			final List<MODEL> result = new ArrayList<>();
+			for (final Long productQualifier : qualifiers.getProductQualifiers())
+			{
+				addMatchingUser(result, byProductQualifier.get(productQualifier), qualifiers);
+			}
+			if (qualifiers.getProductId() != null)
+			{
+				addMatchingUser(result, byProductId.get(qualifiers.getProductId()), qualifiers);
+			}
+			return result;
+		}
+
+		private static <MODEL extends PDTRowModel> void addMatchingUser(final List<MODEL> result, final List<MODEL> rows,
+				final PDTMatchQualifiers qualifiers)
+		{
+			if (rows != null)
+			{
+				for (final MODEL row : rows)
+				{
+					if (qualifiers.getUserQualifiers().contains(row.getUserMatchQualifier()))
+					{
+						result.add(row);
+					}
+				}
+			}
+		}
+	}
+
 	@Required
 	public void setQueryProvider(final PDTQueryProvider<CRITERIA> queryProvider)
 	{
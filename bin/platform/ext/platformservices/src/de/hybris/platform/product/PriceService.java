@@ -20,6 +20,7 @@ import de.hybris.platform.order.strategies.calculation.FindPriceStrategy;
 import de.hybris.platform.order.strategies.calculation.FindTaxValuesStrategy;
 import de.hybris.platform.product.impl.DefaultPriceService;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -39,6 +40,23 @@ public interface PriceService
 	 */
 	List<PriceInformation> getPriceInformationsForProduct(ProductModel model);
 
+	/**
+	 * Returns all available {@link PriceInformation} for each of the given {@link ProductModel}s and the current session
+	 * user. The default implementation calls {@link #getPriceInformationsForProduct(ProductModel)} for each product.
+	 *
+	 * @param models the products
+	 * @return the price information of each product, in the order of the given products
+	 */
+	default List<List<PriceInformation>> getPriceInformationsForProducts(final List<ProductModel> models)
+	{
+		final List<List<PriceInformation>> result = new ArrayList<>(models.size());
+		for (final ProductModel model : models)
+		{
+			result.add(getPriceInformationsForProduct(model));
+		}
+		return result;
+	}
+
 	/**
 	 * Calculates all applicable prices for given criteria.
 	 *
@@ -67,19 +67,30 @@ public class DefaultPriceService extends AbstractBusinessService implements Pric
 			final PriceCriteria pCriteria = adjustPriceCriteria(priceCriteria);
 
 			final List<PriceInformation> priceInformations = findPriceStrategy.getPriceInformation(pCriteria);
-			final List<PriceInformation> returnCollection = new ArrayList<PriceInformation>(priceInformations.size());
+			return convertToRequestedNetState(priceInformations, pCriteria);
+		}
+		catch (final CalculationException e)
+		{
+			throw new SystemException(e.getMessage(), e);
+		}
+	}
 
-			Collection<TaxValue> taxes = null;
-			for (final PriceInformation pInfo : priceInformations)
+	@Override
+	public List<List<PriceInformation>> getPriceInformationsForProducts(final List<ProductModel> products)
+	{
+		try
+		{
+			final List<PriceCriteria> pCriteria = new ArrayList<>(products.size());
+			for (final ProductModel product : products)
 			{
-				PriceInformation pInfoToAdd = pInfo;
-				if (pInfo.getPriceValue().isNet() != pCriteria.isNet().booleanValue())
-				{
-					taxes = getTaxValues(taxes, pCriteria);
-					// we have to create a new info object since it is immutable
-					pInfoToAdd = new PriceInformation(pInfo.getQualifiers(), pInfo.getPriceValue().getOtherPrice(taxes));
-				}
-				returnCollection.add(pInfoToAdd);
+				pCriteria.add(adjustPriceCriteria(PriceCriteria.DefaultPriceCriteria.forProduct(product)));
+			}
+
+			final List<List<PriceInformation>> priceInformations = findPriceStrategy.getPriceInformationsForCriteria(pCriteria);
+			final List<List<PriceInformation>> returnCollection = new ArrayList<>(priceInformations.size());
+			for (int i = 0; i < priceInformations.size(); i++)
+			{
+				returnCollection.add(convertToRequestedNetState(priceInformations.get(i), pCriteria.get(i)));
 			}
 			return returnCollection;
 		}
@@ -89,6 +100,26 @@ public class DefaultPriceService extends AbstractBusinessService implements Pric
 		}
 	}
 
+	private List<PriceInformation> convertToRequestedNetState(final List<PriceInformation> priceInformations,
+	                                                          final PriceCriteria pCriteria) throws CalculationException
+	{
+		final List<PriceInformation> returnCollection = new ArrayList<PriceInformation>(priceInformations.size());
+
+		Collection<TaxValue> taxes = null;
+		for (final PriceInformation pInfo : priceInformations)
+		{
+			PriceInformation pInfoToAdd = pInfo;
+			if (pInfo.getPriceValue().isNet() != pCriteria.isNet().booleanValue())
+			{
+				taxes = getTaxValues(taxes, pCriteria);
+				// we have to create a new info object since it is immutable
+				pInfoToAdd = new PriceInformation(pInfo.getQualifiers(), pInfo.getPriceValue().getOtherPrice(taxes));
+			}
+			returnCollection.add(pInfoToAdd);
+		}
+		return returnCollection;
+	}
+
 	private Collection<TaxValue> getTaxValues(final Collection<TaxValue> taxValues, final PriceCriteria pCriteria)
 			throws CalculationException
 	{
@@ -19,6 +19,7 @@ import de.hybris.platform.catalog.model.CatalogVersionModel;
 import de.hybris.platform.catalog.model.KeywordModel;
 import de.hybris.platform.catalog.model.classification.ClassificationClassModel;
 import de.hybris.platform.category.model.CategoryModel;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.ItemModel;
 import de.hybris.platform.core.model.media.MediaModel;
 import de.hybris.platform.core.model.product.ProductModel;
@@ -34,12 +35,16 @@ import de.hybris.platform.servicelayer.model.AbstractItemModel;
 import de.hybris.platform.servicelayer.type.TypeService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Required;
@@ -104,43 +109,119 @@ public class UniqueCatalogItemInterceptor implements ValidateInterceptor, Prepar
 							this);
 				}
 			}
-			// 2. Check for duplicates in database
+			// 2. Check for duplicates in database - one query per type and version for a batch of items
+			final Map<List<Object>, List<ModifiedCatalogItem>> groups = new LinkedHashMap<>();
 			for (final ModifiedCatalogItem catItem : uniqueOnes)
+			{
+				if (isBulkCheckable(catItem))
+				{
+					groups.computeIfAbsent(Arrays.asList(catItem.type, catItem.version), k -> new ArrayList<>()).add(catItem);
+				}
+				else
+				{
+					checkDuplicate(model, catItem);
+				}
+			}
+			for (final List<ModifiedCatalogItem> group : groups.values())
+			{
+				checkDuplicates(model, group);
+			}
+		}
+	}
+
+	private boolean isBulkCheckable(final ModifiedCatalogItem catItem)
+	{
+		if (catItem.version == null || catItem.version.getPk() == null)
+		{
+			return false;
+		}
+		for (final Object value : catItem.uniqueKeys.values())
+		{
+			if (value == null || (value instanceof ItemModel && ((ItemModel) value).getPk() == null))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void checkDuplicates(final Object model, final List<ModifiedCatalogItem> group) throws InterceptorException
+	{
+		if (group.size() < 2)
+		{
+			checkDuplicate(model, group.get(0));
+			return;
+		}
+		final ModifiedCatalogItem first = group.get(0);
+		final Map<Map<String, Object>, List<PK>> duplicates;
+		try
+		{
+			duplicates = catalogTypeService.getCatalogVersionAwareModelPKs(first.version, first.type,
+					group.stream().map(catItem -> catItem.uniqueKeys).collect(Collectors.toList()));
+		}
+		catch (final CatalogAwareObjectResolvingException | AmbiguousIdentifierException e)
+		{
+			LOG.debug("Could not check duplicates of " + group.size() + " items at once due to " + e.getMessage());
+			for (final ModifiedCatalogItem catItem : group)
+			{
+				checkDuplicate(model, catItem);
+			}
+			return;
+		}
+		for (final ModifiedCatalogItem catItem : group)
+		{
+			final List<PK> pks = duplicates.get(catItem.uniqueKeys);
+			if (pks == null)
+			{
+				continue;
+			}
+			if (pks.size() > 1)
+			{
+				throw new InterceptorException(getAmbiguousMessage(model, catItem),
+						new AmbiguousIdentifierException("multiple matches for type '" + catItem.type + "' and '"
+								+ catItem.uniqueKeys + "' - found " + pks.size() + " items"), this);
+			}
+			if (catItem.model.getPk() == null || !catItem.model.getPk().equals(pks.get(0)))
+			{
+				throw new InterceptorException(getAmbiguousMessage(model, catItem), this);
+			}
+		}
+	}
+
+	private void checkDuplicate(final Object model, final ModifiedCatalogItem catItem) throws InterceptorException
+	{
+		try
+		{
+			ItemModel duplicate = null;
+			if (catItem.version != null)
 			{
 				try
 				{
-					ItemModel duplicate = null;
-					if (catItem.version != null)
-					{
-						try
-						{
-							duplicate = catalogTypeService.getCatalogVersionAwareModel(catItem.version, catItem.type,
-									catItem.uniqueKeys);
-						}
-						catch (final CatalogAwareObjectResolvingException e)
-						{
-							LOG.warn("Could not find duplicates due to " + e.getMessage());
-						}
-					}
-					if (duplicate != null && (catItem.model.getPk() == null || !catItem.model.getPk().equals(duplicate.getPk())))
-					{
-						throw new InterceptorException(
-								"unique keys " + catItem.uniqueKeys + " of " + model + " are ambiguous in version "
-										+ catItem.version.getCatalog().getId() + "/" + catItem.version.getVersion(),
-								this);
-					}
+					duplicate = catalogTypeService.getCatalogVersionAwareModel(catItem.version, catItem.type, catItem.uniqueKeys);
 				}
-				catch (final AmbiguousIdentifierException e)
+				catch (final CatalogAwareObjectResolvingException e)
 				{
-					// bad
-					throw new InterceptorException(
-							"unique keys " + catItem.uniqueKeys + " of " + model + " are ambiguous in version "
-									+ catItem.version.getCatalog().getId() + "/" + catItem.version.getVersion(), e, this);
+					LOG.warn("Could not find duplicates due to " + e.getMessage());
 				}
 			}
+			if (duplicate != null && (catItem.model.getPk() == null || !catItem.model.getPk().equals(duplicate.getPk())))
+			{
+				throw new InterceptorException(getAmbiguousMessage(model, catItem), this);
+			}
+		}
+		catch (final AmbiguousIdentifierException e)
+		{
+			// bad
+			throw new InterceptorException(getAmbiguousMessage(model, catItem), e, this);
 		}
 	}
 
+	private static String getAmbiguousMessage(final Object model, final ModifiedCatalogItem catItem)
+	{
+		return "unique keys " + catItem.uniqueKeys + " of " + model + " are ambiguous in version "
+				+ catItem.version.getCatalog().getId() + "/" + catItem.version.getVersion();
+	}
+
 	@Override
 	public void onPrepare(final Object model, final InterceptorContext ctx) throws InterceptorException
 	{
@@ -0,0 +1,41 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.servicelayer.web;
+
+import de.hybris.platform.converters.ConversionMemo;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.springframework.web.filter.GenericFilterBean;
+
+
+/**
+ * Opens a {@link ConversionMemo} for each request, so converters and configurable populators reuse the targets they
+ * converted before for the same items within the request. Add it to the filter chain of a web application after the
+ * filters setting up the session.
+ */
+public class ConversionMemoFilter extends GenericFilterBean
+{
+	@Override
+	public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain filterChain)
+			throws IOException, ServletException
+	{
+		try (final ConversionMemo memo = ConversionMemo.open())
+		{
+			filterChain.doFilter(request, response);
+		}
+	}
+}
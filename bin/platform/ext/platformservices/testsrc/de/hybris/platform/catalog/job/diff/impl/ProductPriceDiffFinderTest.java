@@ -15,11 +15,14 @@ import de.hybris.platform.catalog.enums.ProductDifferenceMode;
 import de.hybris.platform.catalog.model.CatalogVersionModel;
 import de.hybris.platform.catalog.model.CompareCatalogVersionsCronJobModel;
 import de.hybris.platform.catalog.model.ProductCatalogVersionDifferenceModel;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.product.ProductModel;
 import de.hybris.platform.core.model.user.UserModel;
 import de.hybris.platform.enumeration.EnumerationService;
 import de.hybris.platform.jalo.order.price.PriceInformation;
 import de.hybris.platform.product.PriceService;
+import de.hybris.platform.servicelayer.exceptions.ModelSavingException;
+import de.hybris.platform.servicelayer.exceptions.SystemException;
 import de.hybris.platform.servicelayer.model.ModelService;
 import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
 import de.hybris.platform.servicelayer.search.FlexibleSearchService;
@@ -30,6 +33,7 @@ import de.hybris.platform.util.PriceValue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EmptyStackException;
 import java.util.List;
 import java.util.Stack;
@@ -38,6 +42,7 @@ import junit.framework.Assert;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -112,6 +117,21 @@ public class ProductPriceDiffFinderTest
 			}
 		}).when(enumerationService).getEnumerationValue(Mockito.anyString(), Mockito.anyString());
 
+		Mockito.when(priceService.getPriceInformationsForProducts(Mockito.anyList())).thenAnswer(
+				new Answer<List<List<PriceInformation>>>()
+				{
+					@Override
+					public List<List<PriceInformation>> answer(final InvocationOnMock invocation) throws Throwable
+					{
+						final List<List<PriceInformation>> priceInformations = new ArrayList<List<PriceInformation>>();
+						for (final ProductModel product : (List<ProductModel>) invocation.getArguments()[0])
+						{
+							priceInformations.add(priceService.getPriceInformationsForProduct(product));
+						}
+						return priceInformations;
+					}
+				});
+
 	}
 
 
@@ -435,7 +455,10 @@ public class ProductPriceDiffFinderTest
 		};
 
 
-		Mockito.verify(modelService).save(Mockito.argThat(matcher));
+		final ArgumentCaptor<Collection> savedDifferences = ArgumentCaptor.forClass(Collection.class);
+		Mockito.verify(modelService).saveAll(savedDifferences.capture());
+		Assert.assertEquals(1, savedDifferences.getValue().size());
+		Assert.assertTrue(matcher.matches(savedDifferences.getValue().iterator().next()));
 		//
 		//		Mockito.verify(sessionService, Mockito.times(2)).getAttribute("user");
 
@@ -541,7 +564,10 @@ public class ProductPriceDiffFinderTest
 			}
 
 		};
-		Mockito.verify(modelService).save(Mockito.argThat(matcher));
+		final ArgumentCaptor<Collection> savedDifferences = ArgumentCaptor.forClass(Collection.class);
+		Mockito.verify(modelService).saveAll(savedDifferences.capture());
+		Assert.assertEquals(1, savedDifferences.getValue().size());
+		Assert.assertTrue(matcher.matches(savedDifferences.getValue().iterator().next()));
 		//
 		//		Mockito.verify(sessionService, Mockito.times(2)).getAttribute("user");
 
@@ -652,8 +678,140 @@ public class ProductPriceDiffFinderTest
 			}
 
 		};
-		Mockito.verify(modelService).save(Mockito.argThat(matcher));
+		final ArgumentCaptor<Collection> savedDifferences = ArgumentCaptor.forClass(Collection.class);
+		Mockito.verify(modelService).saveAll(savedDifferences.capture());
+		Assert.assertEquals(1, savedDifferences.getValue().size());
+		Assert.assertTrue(matcher.matches(savedDifferences.getValue().iterator().next()));
+
+	}
+
+	@Test
+	public void testProcessSearchesPageByPageAfterLastPair()
+	{
+		final CompareCatalogVersionsCronJobModel cronJob = new CompareCatalogVersionsCronJobModel();
+		cronJob.setSearchPriceDifferences(Boolean.TRUE);
+		cronJob.setPriceCompareCustomer(new UserModel());
+		finder.setPageSize(2);
+		Mockito.when(modelService.create(ProductCatalogVersionDifferenceModel.class)).thenAnswer(
+				invocation -> new ProductCatalogVersionDifferenceModel());
+
+		final List<ProductModel> pair1 = createProductPair(1, 1.0, 2.0);
+		final List<ProductModel> pair2 = createProductPair(2, 1.0, 1.0);
+		final List<ProductModel> pair3 = createProductPair(3, 1.0, 3.0);
+		final List<ProductModel> pair4 = createProductPair(4, 1.0, 4.0);
+		final List<ProductModel> pair5 = createProductPair(5, 1.0, 5.0);
+		final Stack<SearchResult<List<ProductModel>>> stackOfResults = new Stack<SearchResult<List<ProductModel>>>();
+		stackOfResults.add(createSearchResultMock(pair5));
+		stackOfResults.add(createSearchResultMock(pair3, pair4));
+		stackOfResults.add(createSearchResultMock(pair1, pair2));
+		final List<FlexibleSearchQuery> queries = new ArrayList<FlexibleSearchQuery>();
+		Mockito.when(flexibleSearchService.search(Mockito.any(FlexibleSearchQuery.class))).thenAnswer(
+				new Answer<SearchResult<List<ProductModel>>>()
+				{
+					@Override
+					public SearchResult<List<ProductModel>> answer(final InvocationOnMock invocation) throws Throwable
+					{
+						queries.add((FlexibleSearchQuery) invocation.getArguments()[0]);
+						return stackOfResults.pop();
+					}
+				});
+
+		Assert.assertEquals(4, finder.processDifferences(cronJob));
+
+		Assert.assertEquals(3, queries.size());
+		Assert.assertFalse(queries.get(0).getQueryParameters().containsKey("lastPk1"));
+		Assert.assertEquals(Integer.valueOf(2), Integer.valueOf(queries.get(0).getCount()));
+		Assert.assertEquals(pair2.get(0).getPk(), queries.get(1).getQueryParameters().get("lastPk1"));
+		Assert.assertEquals(pair2.get(1).getPk(), queries.get(1).getQueryParameters().get("lastPk2"));
+		Assert.assertTrue(queries.get(1).getQuery().contains("> ?lastPk1"));
+		Assert.assertEquals(pair4.get(0).getPk(), queries.get(2).getQueryParameters().get("lastPk1"));
+		Assert.assertEquals(pair4.get(1).getPk(), queries.get(2).getQueryParameters().get("lastPk2"));
+		Mockito.verify(modelService, Mockito.times(3)).saveAll(Mockito.anyCollection());
+	}
 
+	@Test
+	public void testProcessSearchesPairByPairIfBulkPriceLookupFails()
+	{
+		final CompareCatalogVersionsCronJobModel cronJob = new CompareCatalogVersionsCronJobModel();
+		cronJob.setSearchPriceDifferences(Boolean.TRUE);
+		cronJob.setPriceCompareCustomer(new UserModel());
+		Mockito.when(modelService.create(ProductCatalogVersionDifferenceModel.class)).thenAnswer(
+				invocation -> new ProductCatalogVersionDifferenceModel());
+
+		final List<ProductModel> pair1 = createProductPair(1, 1.0, 2.0);
+		final List<ProductModel> failingPair = createProductPair(2, 1.0, 3.0);
+		final List<ProductModel> pair3 = createProductPair(3, 1.0, 4.0);
+		Mockito.when(priceService.getPriceInformationsForProduct(failingPair.get(1))).thenThrow(
+				new SystemException("no prices"));
+		Mockito.when(flexibleSearchService.search(Mockito.any(FlexibleSearchQuery.class))).thenReturn(
+				(SearchResult) createSearchResultMock(pair1, failingPair, pair3));
+
+		Assert.assertEquals(2, finder.processDifferences(cronJob));
+
+		final ArgumentCaptor<Collection> savedDifferences = ArgumentCaptor.forClass(Collection.class);
+		Mockito.verify(modelService).saveAll(savedDifferences.capture());
+		final List<ProductModel> sourceProducts = new ArrayList<ProductModel>();
+		for (final Object difference : savedDifferences.getValue())
+		{
+			sourceProducts.add(((ProductCatalogVersionDifferenceModel) difference).getSourceProduct());
+		}
+		Assert.assertEquals(Arrays.asList(pair1.get(0), pair3.get(0)), sourceProducts);
+		Mockito.verify(priceService).getPriceInformationsForProducts(Arrays.asList(pair1.get(0), failingPair.get(0),
+				pair3.get(0)));
+		Mockito.verify(priceService).getPriceInformationsForProducts(Arrays.asList(pair1.get(0)));
+		Mockito.verify(priceService).getPriceInformationsForProducts(Arrays.asList(pair3.get(1)));
+	}
+
+	@Test
+	public void testSaveDifferencesOneByOneIfSavingThePageFails()
+	{
+		final CompareCatalogVersionsCronJobModel cronJob = new CompareCatalogVersionsCronJobModel();
+		cronJob.setSearchPriceDifferences(Boolean.TRUE);
+		cronJob.setPriceCompareCustomer(new UserModel());
+		final List<ProductCatalogVersionDifferenceModel> differences = new ArrayList<ProductCatalogVersionDifferenceModel>();
+		Mockito.when(modelService.create(ProductCatalogVersionDifferenceModel.class)).thenAnswer(invocation -> {
+			final ProductCatalogVersionDifferenceModel difference = new ProductCatalogVersionDifferenceModel();
+			differences.add(difference);
+			return difference;
+		});
+		Mockito.doThrow(new ModelSavingException("page")).when(modelService).saveAll(Mockito.anyCollection());
+		Mockito.doAnswer(invocation -> {
+			if (invocation.getArguments()[0] == differences.get(1))
+			{
+				throw new ModelSavingException("difference");
+			}
+			return null;
+		}).when(modelService).save(Mockito.any());
+
+		final List<ProductModel> pair1 = createProductPair(1, 1.0, 2.0);
+		final List<ProductModel> pair2 = createProductPair(2, 1.0, 3.0);
+		final List<ProductModel> pair3 = createProductPair(3, 1.0, 4.0);
+		Mockito.when(flexibleSearchService.search(Mockito.any(FlexibleSearchQuery.class))).thenReturn(
+				(SearchResult) createSearchResultMock(pair1, pair2, pair3));
+
+		Assert.assertEquals(2, finder.processDifferences(cronJob));
+
+		Assert.assertEquals(3, differences.size());
+		for (final ProductCatalogVersionDifferenceModel difference : differences)
+		{
+			Mockito.verify(modelService).save(difference);
+		}
+	}
+
+	/**
+	 * Creates a pair of products with the given PK offset whose only prices have the given values
+	 */
+	private List<ProductModel> createProductPair(final long pk, final double newPrice, final double oldPrice)
+	{
+		final ProductModel newProduct = Mockito.mock(ProductModel.class);
+		Mockito.when(newProduct.getPk()).thenReturn(PK.fromLong(pk));
+		final List<PriceInformation> newPrices = createPriceInformations(newPrice);
+		Mockito.when(priceService.getPriceInformationsForProduct(newProduct)).thenReturn(newPrices);
+		final ProductModel oldProduct = Mockito.mock(ProductModel.class);
+		Mockito.when(oldProduct.getPk()).thenReturn(PK.fromLong(pk + 100));
+		final List<PriceInformation> oldPrices = createPriceInformations(oldPrice);
+		Mockito.when(priceService.getPriceInformationsForProduct(oldProduct)).thenReturn(oldPrices);
+		return Arrays.asList(newProduct, oldProduct);
 	}
 
 	/**
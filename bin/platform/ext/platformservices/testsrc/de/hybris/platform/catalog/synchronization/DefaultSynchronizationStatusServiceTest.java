@@ -812,6 +812,36 @@ public class DefaultSynchronizationStatusServiceTest extends BaseSynchronization
 	}
 
 
+	@Test
+	public void testGetSyncStatusForManyItemsAndJobs()
+	{
+		// given
+		final ProductModel additionalProduct = createProductInCatalogVersion(
+				String.format("%s%s", "additional_test_product", RandomStringUtils.randomAlphanumeric(3)), sourceCatalogVersion);
+		final CatalogVersionModel additionalCatalogVersion = createCatalogVersion(catalog,
+				String.format("%s%s", "additional_target_version", RandomStringUtils.randomAlphanumeric(3)));
+		final SyncItemJobModel additionalSyncJob = createSyncJob(sourceCatalogVersion, additionalCatalogVersion);
+		modelService.saveAll();
+
+		performSynchronization(baseSyncItemJob, Lists.newArrayList(product, additionalProduct), prepareSyncConfig());
+		performSynchronization(additionalSyncJob, Lists.newArrayList(product), prepareSyncConfig());
+		additionalProduct.setEan("has been changed");
+		modelService.save(additionalProduct);
+
+		// when
+		final List<SyncItemInfo> syncInfos = synchronizationStatusService
+				.getSyncInfo(Lists.newArrayList(product, additionalProduct), Lists.newArrayList(baseSyncItemJob, additionalSyncJob));
+
+		// then
+		Assertions.assertThat(syncInfos).isNotEmpty().hasSize(4);
+		assertSyncInfoEquals(syncInfos.get(0), SyncItemStatus.IN_SYNC, baseSyncItemJob.getPk(), product.getPk());
+		assertSyncInfoEquals(syncInfos.get(1), SyncItemStatus.IN_SYNC, additionalSyncJob.getPk(), product.getPk());
+		assertSyncInfoEquals(syncInfos.get(2), SyncItemStatus.NOT_SYNC, baseSyncItemJob.getPk(), additionalProduct.getPk());
+		assertSyncInfoEquals(syncInfos.get(3), SyncItemStatus.COUNTERPART_MISSING, additionalSyncJob.getPk(),
+				additionalProduct.getPk());
+	}
+
+
 	@Test
 	public void testGetPullSyncStatusForManyItems() throws InterruptedException
 	{
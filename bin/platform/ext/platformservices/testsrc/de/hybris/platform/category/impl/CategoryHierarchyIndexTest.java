@@ -0,0 +1,90 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.category.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+
+@UnitTest
+public class CategoryHierarchyIndexTest
+{
+	private static final long ROOT = 1;
+	private static final long OTHER_ROOT = 2;
+	private static final long CHILD = 3;
+	private static final long GRANDCHILD = 4;
+	private static final long UNLINKED = 99;
+
+	// ROOT -> CHILD -> GRANDCHILD, OTHER_ROOT -> GRANDCHILD
+	private final CategoryHierarchyIndex index = new CategoryHierarchyIndex.Builder() //
+	                                                                            .add(100, ROOT, CHILD, 0, 0) //
+	                                                                            .add(101, CHILD, GRANDCHILD, 0, 1) //
+	                                                                            .add(102, OTHER_ROOT, GRANDCHILD, 0, 0) //
+	                                                                            .build();
+
+	@Test
+	public void shouldCollectDescendantsAndAncestors()
+	{
+		assertThat(index.getDescendants(ROOT)).containsOnly(CHILD, GRANDCHILD);
+		assertThat(index.getDescendants(GRANDCHILD)).isEmpty();
+		assertThat(index.getAncestors(GRANDCHILD)).containsOnly(CHILD, OTHER_ROOT, ROOT);
+		assertThat(index.getAncestors(ROOT)).isEmpty();
+		assertThat(index.getAncestors(UNLINKED)).isEmpty();
+	}
+
+	@Test
+	public void shouldReturnPathsFromRootsInSupercategoryOrder()
+	{
+		final List<long[]> paths = index.getPaths(GRANDCHILD);
+
+		assertThat(paths).hasSize(2);
+		assertThat(paths.get(0)).containsExactly(OTHER_ROOT, GRANDCHILD);
+		assertThat(paths.get(1)).containsExactly(ROOT, CHILD, GRANDCHILD);
+		assertThat(index.getPaths(UNLINKED)).hasSize(1);
+		assertThat(index.getPaths(UNLINKED).get(0)).containsExactly(UNLINKED);
+	}
+
+	@Test
+	public void shouldStopAtCycles()
+	{
+		final CategoryHierarchyIndex cyclic = new CategoryHierarchyIndex.Builder() //
+		                                                                     .add(100, ROOT, CHILD, 0, 0) //
+		                                                                     .add(101, CHILD, ROOT, 0, 0) //
+		                                                                     .build();
+
+		assertThat(cyclic.getDescendants(ROOT)).containsOnly(CHILD, ROOT);
+		assertThat(cyclic.getPaths(CHILD)).hasSize(1);
+		assertThat(cyclic.getPaths(CHILD).get(0)).containsExactly(ROOT, CHILD);
+	}
+
+	@Test
+	public void shouldApplyChangedLinks()
+	{
+		final CategoryHierarchyIndex.Builder current = new CategoryHierarchyIndex.Builder().add(103, OTHER_ROOT, CHILD, 0, 1);
+
+		final CategoryHierarchyIndex changed = index.withChangedLinks(
+				new HashSet<>(Arrays.asList(Long.valueOf(101), Long.valueOf(103))), current);
+
+		assertThat(changed.size()).isEqualTo(3);
+		assertThat(changed.getDescendants(ROOT)).containsOnly(CHILD);
+		assertThat(changed.getDescendants(OTHER_ROOT)).containsOnly(CHILD, GRANDCHILD);
+		assertThat(changed.getAncestors(CHILD)).containsOnly(ROOT, OTHER_ROOT);
+		// the original index stays untouched
+		assertThat(index.getDescendants(ROOT)).containsOnly(CHILD, GRANDCHILD);
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.classification.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+@UnitTest
+public class ClassificationFilterIndexTest
+{
+	private static final long CATEGORY = 1;
+	private static final long SUBCATEGORY = 2;
+	private static final long RED_PRODUCT = 10;
+	private static final long BLUE_PRODUCT = 11;
+	private static final long OTHER_PRODUCT = 12;
+	private static final long COLOR = 100;
+	private static final long SIZE = 101;
+	private static final Long CM = Long.valueOf(200);
+
+	private ClassificationFilterIndex index;
+
+	@Before
+	public void setUp()
+	{
+		index = new ClassificationFilterIndex();
+		index.addLink(CATEGORY, RED_PRODUCT);
+		index.addLink(SUBCATEGORY, BLUE_PRODUCT);
+		index.addLink(SUBCATEGORY, OTHER_PRODUCT);
+		index.addFeature(1000, RED_PRODUCT, COLOR, "red", null);
+		index.addFeature(1001, BLUE_PRODUCT, COLOR, "blue", null);
+		index.addFeature(1002, RED_PRODUCT, SIZE, Double.valueOf(10), CM);
+		index.addFeature(1003, BLUE_PRODUCT, SIZE, Double.valueOf(10), CM);
+		index.addFeature(1004, OTHER_PRODUCT, SIZE, Double.valueOf(20), CM);
+	}
+
+	@Test
+	public void shouldFilterProductsOfCategories()
+	{
+		final BitSet products = index.getProducts(Arrays.asList(Long.valueOf(CATEGORY), Long.valueOf(SUBCATEGORY)));
+		index.retainProducts(products, SIZE, Double.valueOf(10));
+
+		assertThat(index.toPks(products)).containsOnly(RED_PRODUCT, BLUE_PRODUCT);
+		assertThat(index.toPks(index.getProducts(Collections.singleton(Long.valueOf(SUBCATEGORY))))).containsOnly(BLUE_PRODUCT,
+				OTHER_PRODUCT);
+	}
+
+	@Test
+	public void shouldCountValuesOfFilteredProducts()
+	{
+		final BitSet products = index.getProducts(Arrays.asList(Long.valueOf(CATEGORY), Long.valueOf(SUBCATEGORY)));
+		index.retainProducts(products, COLOR, "red");
+
+		assertThat(count(SIZE, Double.valueOf(10), products)).isEqualTo(1);
+		assertThat(count(SIZE, Double.valueOf(20), products)).isEqualTo(0);
+		assertThat(count(COLOR, "blue", products)).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldCountEachFeatureOfAProduct()
+	{
+		index.addFeature(1005, RED_PRODUCT, COLOR, "red", null);
+
+		assertThat(count(COLOR, "red", index.getProducts(Collections.singleton(Long.valueOf(CATEGORY))))).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldApplyChangedFeatures()
+	{
+		index.addFeature(1000, RED_PRODUCT, COLOR, "blue", null);
+		index.removeFeature(1004);
+
+		final BitSet products = index.getProducts(Arrays.asList(Long.valueOf(CATEGORY), Long.valueOf(SUBCATEGORY)));
+		assertThat(count(COLOR, "blue", products)).isEqualTo(2);
+		assertThat(count(COLOR, "red", products)).isEqualTo(0);
+		assertThat(index.getValues(COLOR)).hasSize(1);
+		assertThat(index.getValues(SIZE)).hasSize(1);
+		assertThat(index.size()).isEqualTo(4);
+	}
+
+	private long count(final long assignment, final Object value, final BitSet products)
+	{
+		for (final ClassificationFilterIndex.FeatureValues values : index.getValues(assignment))
+		{
+			if (values.getValue().equals(value))
+			{
+				return values.count(products);
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.classification.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.catalog.model.classification.ClassificationClassModel;
+import de.hybris.platform.catalog.model.classification.ClassificationSystemVersionModel;
+import de.hybris.platform.category.model.CategoryModel;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.model.ModelService;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+
+@UnitTest
+public class DefaultClassificationClassesResolverStrategyTest
+{
+	@Mock
+	private ModelService modelService;
+	@Mock
+	private ProductModel product;
+	@Mock
+	private CategoryModel category;
+	@Mock
+	private ClassificationClassModel classificationClass;
+	@Mock
+	private ClassificationSystemVersionModel systemVersion;
+
+	private DefaultClassificationClassesResolverStrategy strategy;
+	private Collection<ClassificationSystemVersionModel> systemVersions;
+
+	@Before
+	public void setUp()
+	{
+		MockitoAnnotations.initMocks(this);
+		strategy = new DefaultClassificationClassesResolverStrategy()
+		{
+			@Override
+			protected boolean isCacheable()
+			{
+				return true;
+			}
+
+			@Override
+			protected int getCacheMaxSize()
+			{
+				return 10;
+			}
+
+			@Override
+			protected boolean isIncludingOnlyClosestClasses()
+			{
+				return true;
+			}
+		};
+		strategy.setModelService(modelService);
+		systemVersions = Collections.singleton(systemVersion);
+
+		given(product.getSupercategories()).willReturn(Collections.singletonList(category));
+		given(category.getPk()).willReturn(PK.fromLong(1));
+		given(category.getSupercategories()).willReturn(Collections.singletonList(classificationClass));
+		given(classificationClass.getPk()).willReturn(PK.fromLong(2));
+		given(classificationClass.getCatalogVersion()).willReturn(systemVersion);
+		given(systemVersion.getPk()).willReturn(PK.fromLong(3));
+		given(modelService.get(PK.fromLong(2))).willReturn(classificationClass);
+	}
+
+	@Test
+	public void shouldServeRepeatedResolutionFromCache()
+	{
+		assertThat(strategy.resolve(product, systemVersions)).containsExactly(classificationClass);
+		assertThat(strategy.resolve(product, systemVersions)).containsExactly(classificationClass);
+
+		verify(category, times(1)).getSupercategories();
+		verify(modelService, times(1)).get(PK.fromLong(2));
+	}
+
+	@Test
+	public void shouldResolveAgainAfterInvalidation()
+	{
+		strategy.resolve(product, systemVersions);
+		strategy.invalidateCache();
+		assertThat(strategy.resolve(product, systemVersions)).containsExactly(classificationClass);
+
+		verify(category, times(2)).getSupercategories();
+	}
+
+	@Test
+	public void shouldNotCacheUnsavedCategories()
+	{
+		given(category.getPk()).willReturn(null);
+
+		strategy.resolve(product, systemVersions);
+		strategy.resolve(product, systemVersions);
+
+		verify(category, times(2)).getSupercategories();
+	}
+}
@@ -12,6 +12,10 @@ package de.hybris.platform.classification.strategy.impl;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import de.hybris.bootstrap.annotations.UnitTest;
 import de.hybris.platform.catalog.model.ProductFeatureModel;
@@ -37,6 +41,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -76,7 +81,7 @@ public class DefaultLoadStoreFeaturesStrategyTest
 	@Mock
 	private ModelService modelService;
 	@Mock
-	private ProductModel product;
+	private ProductModel product, otherProduct;
 	@Mock
 	private ClassificationClassModel classification;
 	@Mock
@@ -290,5 +295,40 @@ public class DefaultLoadStoreFeaturesStrategyTest
 		assertThat(fList.getFeatureByCode(PROD_FEAT_QUALIFIER_2).getClassAttributeAssignment()).isNull();
 	}
 
+	@Test
+	public void shouldLoadFeaturesForSeveralProductsByOneQuery()
+	{
+		// given
+		final PK productPk = PK.fromLong(100);
+		final PK otherProductPk = PK.fromLong(101);
+		final PK assignmentPk1 = PK.fromLong(200);
+		final PK assignmentPk2 = PK.fromLong(201);
+		final List<ProductModel> products = Lists.newArrayList(product, otherProduct);
+		final List<List<Object>> rows = new ArrayList<List<Object>>();
+		rows.add(Lists.<Object> newArrayList(productFeature1, productPk, assignmentPk1));
+		rows.add(Lists.<Object> newArrayList(productFeature2, productPk, assignmentPk2));
+		rows.add(Lists.<Object> newArrayList(productFeature3, otherProductPk, assignmentPk1));
 
+		given(product.getPk()).willReturn(productPk);
+		given(otherProduct.getPk()).willReturn(otherProductPk);
+		given(assignment1.getPk()).willReturn(assignmentPk1);
+		given(assignment2.getPk()).willReturn(assignmentPk2);
+		given(productFeaturesDao.findProductFeaturesByProductsAndAssignment(products, assigments)).willReturn(rows);
+		given(productFeature1.getValue()).willReturn(PROD_FEAT_VALUE_1);
+		given(productFeature2.getValue()).willReturn(PROD_FEAT_VALUE_2);
+		given(productFeature3.getValue()).willReturn(PROD_FEAT_VALUE_3);
+
+		// when
+		final Map<ProductModel, List<Feature>> features = strategy.loadFeatures(assigments, products);
+
+		// then
+		assertThat(features.keySet()).containsExactly(product, otherProduct);
+		final FeatureList productFeatures = new FeatureList(features.get(product));
+		final FeatureList otherProductFeatures = new FeatureList(features.get(otherProduct));
+		assertThat(productFeatures.getFeatureByAssignment(assignment1).getValue().getValue()).isEqualTo(PROD_FEAT_VALUE_1);
+		assertThat(productFeatures.getFeatureByAssignment(assignment2).getValue().getValue()).isEqualTo(PROD_FEAT_VALUE_2);
+		assertThat(otherProductFeatures.getFeatureByAssignment(assignment1).getValue().getValue()).isEqualTo(PROD_FEAT_VALUE_3);
+		assertThat(otherProductFeatures.getFeatureByAssignment(assignment2).getValues()).isEmpty();
+		verify(productFeaturesDao, never()).findProductFeaturesByProductAndAssignment(any(ProductModel.class), anyList());
+	}
 }
@@ -0,0 +1,149 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.converters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.converters.impl.AbstractPopulatingConverter;
+import de.hybris.platform.converters.impl.DefaultModifableConfigurablePopulator;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.model.product.ProductModel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+
+@UnitTest
+public class ConversionMemoTest
+{
+	private final AtomicInteger populated = new AtomicInteger();
+	private AbstractPopulatingConverter<ProductModel, StringBuilder> converter;
+	private DefaultModifableConfigurablePopulator<ProductModel, StringBuilder, String> configurablePopulator;
+	private ProductModel product;
+
+	@Before
+	public void setUp()
+	{
+		converter = new AbstractPopulatingConverter<>();
+		converter.setTargetClass(StringBuilder.class);
+		converter.setBeanName("productConverter");
+		converter.setPopulators(Collections.singletonList((source, target) -> {
+			populated.incrementAndGet();
+			target.append(source.getCode());
+		}));
+
+		final Map<String, Populator<ProductModel, StringBuilder>> options = new HashMap<>();
+		options.put("PRICE", (source, target) -> target.append("-price"));
+		configurablePopulator = new DefaultModifableConfigurablePopulator<>();
+		configurablePopulator.setPopulators(options);
+		configurablePopulator.setBeanName("productConfiguredPopulator");
+
+		product = Mockito.mock(ProductModel.class);
+		Mockito.when(product.getPk()).thenReturn(PK.fromLong(1));
+		Mockito.when(product.getCode()).thenReturn("p1");
+	}
+
+	@After
+	public void tearDown()
+	{
+		assertThat(ConversionMemo.getCurrent()).isNull();
+	}
+
+	@Test
+	public void shouldConvertEachTimeWithoutMemo()
+	{
+		assertThat(converter.convert(product)).isNotSameAs(converter.convert(product));
+		assertThat(populated.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldReuseTargetWithinMemo()
+	{
+		try (final ConversionMemo memo = ConversionMemo.open())
+		{
+			final StringBuilder first = converter.convert(product);
+			final StringBuilder second = converter.convert(product);
+
+			assertThat(second).isSameAs(first);
+			assertThat(populated.get()).isEqualTo(1);
+			assertThat(memo.getHits("productConverter")).isEqualTo(1);
+			assertThat(memo.getMisses("productConverter")).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void shouldShareMemoOfNestedScopes()
+	{
+		try (final ConversionMemo outer = ConversionMemo.open())
+		{
+			try (final ConversionMemo inner = ConversionMemo.open())
+			{
+				assertThat(inner).isSameAs(outer);
+				converter.convert(product);
+			}
+			assertThat(ConversionMemo.getCurrent()).isSameAs(outer);
+			converter.convert(product);
+			assertThat(outer.getHits("productConverter")).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void shouldNotMemoizeUnsafeConvertersAndUnsavedSources()
+	{
+		final ProductModel unsaved = Mockito.mock(ProductModel.class);
+		try (final ConversionMemo memo = ConversionMemo.open())
+		{
+			converter.convert(unsaved);
+			converter.convert(unsaved);
+			converter.setMemoizable(false);
+			converter.convert(product);
+			converter.convert(product);
+		}
+		assertThat(populated.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldPopulateMemoizedTargetOncePerOptions()
+	{
+		try (final ConversionMemo memo = ConversionMemo.open())
+		{
+			final StringBuilder target = converter.convert(product);
+			configurablePopulator.populate(product, target, Arrays.asList("PRICE"));
+			configurablePopulator.populate(product, converter.convert(product), Arrays.asList("PRICE"));
+
+			assertThat(target.toString()).isEqualTo("p1-price");
+			assertThat(memo.getHits("productConfiguredPopulator")).isEqualTo(1);
+			assertThat(memo.getNames()).containsOnly("productConverter", "productConfiguredPopulator");
+		}
+	}
+
+	@Test
+	public void shouldPopulateOtherTargetsEachTime()
+	{
+		try (final ConversionMemo memo = ConversionMemo.open())
+		{
+			final StringBuilder target = new StringBuilder();
+			configurablePopulator.populate(product, target, Arrays.asList("PRICE"));
+			configurablePopulator.populate(product, target, Arrays.asList("PRICE"));
+
+			assertThat(target.toString()).isEqualTo("-price-price");
+		}
+	}
+}
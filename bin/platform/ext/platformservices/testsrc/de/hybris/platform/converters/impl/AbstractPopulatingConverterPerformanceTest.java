@@ -0,0 +1,98 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.converters.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hybris.bootstrap.annotations.PerformanceTest;
+import de.hybris.platform.converters.Converters;
+import de.hybris.platform.converters.Populator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Compares converting with {@link AbstractPopulatingConverter} against the reflective instantiation and populator list
+ * iteration it used before.
+ */
+@PerformanceTest
+public class AbstractPopulatingConverterPerformanceTest
+{
+	private final static Logger LOG = Logger.getLogger(AbstractPopulatingConverterPerformanceTest.class);
+
+	private static final int SOURCES = 100000;
+	private static final int POPULATORS = 10;
+	private static final int ROUNDS = 20;
+
+	private final List<Populator<TestClassForConversion, TestClassForConversion>> populators = new ArrayList<>();
+	private final List<TestClassForConversion> sources = new ArrayList<>(SOURCES);
+	private AbstractPopulatingConverter<TestClassForConversion, TestClassForConversion> converter;
+
+	@Before
+	public void setUp()
+	{
+		for (int i = 0; i < POPULATORS; i++)
+		{
+			// capturing the index makes each populator a distinct instance
+			final int index = i;
+			populators.add((source, target) -> target.setName(index >= 0 ? source.getName() : null));
+		}
+		for (int i = 0; i < SOURCES; i++)
+		{
+			final TestClassForConversion source = new TestClassForConversion();
+			source.setName("source" + i);
+			sources.add(source);
+		}
+		converter = new AbstractPopulatingConverter<>();
+		converter.setTargetClass(TestClassForConversion.class);
+		converter.setPopulators(new ArrayList<>(populators));
+		converter.setBeanName("performanceTestConverter");
+		converter.removePopulatorsDuplicates();
+	}
+
+	@Test
+	public void testConvert() throws Exception
+	{
+		long reflective = Long.MAX_VALUE;
+		long compiled = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++)
+		{
+			long start = System.nanoTime();
+			final List<TestClassForConversion> reflectiveTargets = new ArrayList<>(SOURCES);
+			for (final TestClassForConversion source : sources)
+			{
+				final TestClassForConversion target = TestClassForConversion.class.newInstance();
+				for (final Populator<TestClassForConversion, TestClassForConversion> populator : populators)
+				{
+					if (populator != null)
+					{
+						populator.populate(source, target);
+					}
+				}
+				reflectiveTargets.add(target);
+			}
+			reflective = Math.min(reflective, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			final List<TestClassForConversion> targets = Converters.convertAll(sources, converter);
+			compiled = Math.min(compiled, System.nanoTime() - start);
+
+			assertThat(targets).hasSameSizeAs(reflectiveTargets);
+		}
+		LOG.info("converted " + SOURCES + " sources with " + POPULATORS + " populators: reflective " + reflective / 1000000
+				+ " ms, converter " + compiled / 1000000 + " ms (best of " + ROUNDS + ")");
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.converters.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.converters.Populator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+@UnitTest
+public class AbstractPopulatingConverterTest
+{
+	private AbstractPopulatingConverter<String, StringBuilder> converter;
+
+	@Before
+	public void setUp()
+	{
+		converter = new AbstractPopulatingConverter<>();
+		converter.setTargetClass(StringBuilder.class);
+		converter.setBeanName("testConverter");
+		converter.setPopulators(new ArrayList<>(Arrays.asList(append("a"), null, append("b"))));
+		converter.removePopulatorsDuplicates();
+	}
+
+	@Test
+	public void shouldSkipNullPopulators()
+	{
+		assertThat(converter.convert("-").toString()).isEqualTo("-a-b");
+	}
+
+	@Test
+	public void shouldApplyModifiedPopulatorList()
+	{
+		converter.convert("-");
+		final List<Populator<String, StringBuilder>> populators = converter.getPopulators();
+
+		populators.add(append("c"));
+		assertThat(converter.convert("-").toString()).isEqualTo("-a-b-c");
+
+		populators.set(0, append("d"));
+		assertThat(converter.convert("-").toString()).isEqualTo("-d-b-c");
+
+		populators.remove(0);
+		assertThat(converter.convert("-").toString()).isEqualTo("-b-c");
+	}
+
+	@Test
+	public void shouldApplyReplacedPopulatorList()
+	{
+		converter.convert("-");
+		converter.setPopulators(Arrays.asList(append("x")));
+
+		assertThat(converter.convert("-").toString()).isEqualTo("-x");
+	}
+
+	private static Populator<String, StringBuilder> append(final String value)
+	{
+		return (source, target) -> target.append(source).append(value);
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.jobs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import de.hybris.bootstrap.annotations.IntegrationTest;
+import de.hybris.platform.core.PK;
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.model.ItemModel;
+import de.hybris.platform.core.model.type.ComposedTypeModel;
+import de.hybris.platform.cronjob.enums.CronJobResult;
+import de.hybris.platform.cronjob.enums.CronJobStatus;
+import de.hybris.platform.cronjob.model.CronJobModel;
+import de.hybris.platform.servicelayer.ServicelayerBaseTest;
+import de.hybris.platform.servicelayer.cronjob.PerformResult;
+import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.servicelayer.search.FlexibleSearchQuery;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
+import de.hybris.platform.servicelayer.search.internal.resolver.ItemObjectResolver;
+import de.hybris.platform.servicelayer.session.SessionService;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+@IntegrationTest
+public class AbstractMaintenanceJobPerformableIntegrationTest extends ServicelayerBaseTest
+{
+	private static final int PAGE_SIZE = 10;
+	private static final int WORKER_THREADS = 4;
+
+	@Resource
+	private ModelService modelService;
+
+	@Resource
+	private FlexibleSearchService flexibleSearchService;
+
+	@Resource
+	private SessionService sessionService;
+
+	private TestMaintenanceJobPerformable performable;
+	private int totalCount;
+	private int pageCount;
+
+	@Before
+	public void setUp()
+	{
+		performable = new TestMaintenanceJobPerformable();
+		performable.setModelService(modelService);
+		performable.setFlexibleSearchService(flexibleSearchService);
+		performable.setSessionService(sessionService);
+		performable.setModelResolver(Registry.getApplicationContext().getBean("modelResolver", ItemObjectResolver.class));
+		performable.setPageSize(PAGE_SIZE);
+		performable.setWorkerThreads(WORKER_THREADS);
+
+		totalCount = flexibleSearchService.search(performable.getFetchQuery(null)).getTotalCount();
+		pageCount = (totalCount + PAGE_SIZE - 1) / PAGE_SIZE;
+		assertTrue(pageCount > WORKER_THREADS * 2);
+	}
+
+	@Test
+	public void shouldProcessAllPagesOnSeveralWorkers()
+	{
+		//the first two pages wait for each other, so they have to be processed concurrently
+		final CountDownLatch concurrentPages = new CountDownLatch(2);
+		performable.pageListener = page -> {
+			if (page < 2)
+			{
+				concurrentPages.countDown();
+				if (!concurrentPages.await(10, TimeUnit.SECONDS))
+				{
+					throw new IllegalStateException("page " + page + " has not been processed concurrently");
+				}
+			}
+		};
+
+		final PerformResult result = performable.perform(new CronJobModel());
+
+		assertEquals(CronJobResult.SUCCESS, result.getResult());
+		assertEquals(CronJobStatus.FINISHED, result.getStatus());
+		assertEquals(totalCount, performable.processedPKs.size());
+		assertEquals(totalCount, performable.processedCount.get());
+		assertTrue(performable.workerNames.size() > 1);
+		assertFalse(performable.workerNames.contains(Thread.currentThread().getName()));
+	}
+
+	@Test
+	public void shouldStopHandingOutPagesWhenAbortIsRequested()
+	{
+		performable.abortRequestedAfterPages = 2;
+
+		final PerformResult result = performable.perform(new CronJobModel());
+
+		assertEquals(CronJobResult.UNKNOWN, result.getResult());
+		assertEquals(CronJobStatus.ABORTED, result.getStatus());
+		assertEquals(2, performable.processedPages.get());
+		assertEquals(2 * PAGE_SIZE, performable.processedPKs.size());
+	}
+
+	@Test
+	public void shouldAbortOnFailingWorkerIfAbortOnError()
+	{
+		performable.setAbortOnError(true);
+		performable.pageListener = page -> {
+			if (page == 0)
+			{
+				throw new IllegalStateException("page 0 fails");
+			}
+		};
+
+		final PerformResult result = performable.perform(new CronJobModel());
+
+		assertEquals(CronJobResult.ERROR, result.getResult());
+		assertEquals(CronJobStatus.ABORTED, result.getStatus());
+		assertTrue(performable.processedPages.get() < pageCount);
+	}
+
+	@Test
+	public void shouldFinishWithFailureOnFailingWorker()
+	{
+		performable.pageListener = page -> {
+			if (page == 0)
+			{
+				throw new IllegalStateException("page 0 fails");
+			}
+		};
+
+		final PerformResult result = performable.perform(new CronJobModel());
+
+		assertEquals(CronJobResult.FAILURE, result.getResult());
+		assertEquals(CronJobStatus.FINISHED, result.getStatus());
+		assertEquals(pageCount, performable.processedPages.get());
+		assertEquals(totalCount - PAGE_SIZE, performable.processedPKs.size());
+	}
+
+	private interface PageListener
+	{
+		void processing(int page) throws InterruptedException;
+	}
+
+	private static class TestMaintenanceJobPerformable extends AbstractMaintenanceJobPerformable
+	{
+		private final Set<PK> processedPKs = ConcurrentHashMap.newKeySet();
+		private final Set<String> workerNames = ConcurrentHashMap.newKeySet();
+		private final AtomicInteger processedCount = new AtomicInteger();
+		private final AtomicInteger processedPages = new AtomicInteger();
+		private final AtomicInteger abortChecks = new AtomicInteger();
+		private volatile PageListener pageListener = page -> {
+			// process every page
+		};
+		private volatile int abortRequestedAfterPages = -1;
+
+		@Override
+		public FlexibleSearchQuery getFetchQuery(final CronJobModel cronJob)
+		{
+			return new FlexibleSearchQuery("SELECT {" + ItemModel.PK + "} FROM {" + ComposedTypeModel._TYPECODE + "} ORDER BY {"
+					+ ItemModel.PK + "}");
+		}
+
+		@Override
+		public void process(final List<ItemModel> elements, final CronJobModel cronJob)
+		{
+			final int page = processedPages.getAndIncrement();
+			workerNames.add(Thread.currentThread().getName());
+			try
+			{
+				pageListener.processing(page);
+			}
+			catch (final InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+			for (final ItemModel element : elements)
+			{
+				processedPKs.add(element.getPk());
+				processedCount.incrementAndGet();
+			}
+		}
+
+		@Override
+		protected boolean clearAbortRequestedIfNeeded(final CronJobModel cronJob)
+		{
+			return abortRequestedAfterPages >= 0 && abortChecks.getAndIncrement() >= abortRequestedAfterPages;
+		}
+	}
+}
@@ -13,7 +13,10 @@ package de.hybris.platform.jobs;
 import de.hybris.bootstrap.annotations.UnitTest;
 import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.ItemModel;
+import de.hybris.platform.core.model.c2l.LanguageModel;
 import de.hybris.platform.core.model.media.MediaModel;
+import de.hybris.platform.core.model.user.UserModel;
+import de.hybris.platform.cronjob.model.CronJobModel;
 import de.hybris.platform.cronjob.enums.CronJobResult;
 import de.hybris.platform.cronjob.enums.CronJobStatus;
 import de.hybris.platform.cronjob.model.RemoveItemsCronJobModel;
@@ -30,12 +33,24 @@ import de.hybris.platform.testframework.TestUtils;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import junit.framework.Assert;
 
 import org.apache.commons.lang.CharUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -74,13 +89,7 @@ public class RemoveItemsJobPerformableTest
 	public void setUp()
 	{
 		MockitoAnnotations.initMocks(this);
-		performable = Mockito.spy(new RemoveItemsJobPerformable());
-
-
-		performable.setMediaService(mediaService);
-		performable.setModelService(modelService);
-		performable.setSessionService(sessionService);
-		performable.setPermissionCheckingService(permissionCheckingService);
+		performable = createPerformable(new RemoveItemsJobPerformable());
 
 		Mockito.when(Boolean.valueOf(permissionResult.isGranted())).thenReturn(Boolean.TRUE);
 		Mockito.when(Boolean.valueOf(permissionResult.isDenied())).thenReturn(Boolean.FALSE);
@@ -500,6 +509,305 @@ public class RemoveItemsJobPerformableTest
 	}
 
 
+	@Test
+	public void testValidPkStreamRemovedInBatches()
+	{
+		final ItemModel itemMock = Mockito.mock(ItemModel.class);
+		final MediaModel mediaPk = new MediaModel();
+
+		final PK one = PK.createFixedUUIDPK(102, 1);
+		final PK two = PK.createFixedUUIDPK(102, 2);
+		final PK three = PK.createFixedUUIDPK(102, 3);
+		final PK four = PK.createFixedUUIDPK(102, 4);
+		final PK five = PK.createFixedUUIDPK(102, 5);
+
+		Mockito.when(mediaService.getStreamFromMedia(mediaPk))
+		       .thenReturn(new DataInputStream(buildUpStream(one, two, three, four, five)));
+		Mockito.when(permissionCheckingService.checkItemPermission(Mockito.any(ItemModel.class), Mockito.eq("remove")))
+		       .thenReturn(permissionResult);
+		// the item of PK two is gone already
+		Mockito.doReturn(Arrays.asList(itemMock, null, itemMock)).when(performable).loadItems(Arrays.asList(one, two, three));
+		Mockito.doReturn(Arrays.asList(itemMock, itemMock)).when(performable).loadItems(Arrays.asList(four, five));
+		Mockito.doThrow(new ModelRemovalException("one of them fails", null)).when(modelService)
+		       .removeAll(Mockito.anyCollection());
+		Mockito.when(itemMock.getPk()).thenReturn(one, three, four, five);
+		Mockito.doThrow(new ModelRemovalException("It is four don't do this", null)).when(modelService).remove(four);
+
+		performable.setBatchSize(3);
+		performable.setTransactionSize(2);
+
+		final RemoveItemsCronJobModel cronJob = new RemoveItemsCronJobModel();
+		cronJob.setItemPKs(mediaPk);
+
+		PerformResult result = null;
+		try
+		{
+			TestUtils.disableFileAnalyzer("Expected error logs inside ");
+			result = performable.perform(cronJob);
+		}
+		finally
+		{
+			TestUtils.enableFileAnalyzer();
+		}
+
+		Assert.assertEquals(3, cronJob.getItemsDeleted().intValue());
+		Assert.assertEquals(2, cronJob.getItemsRefused().intValue());
+		Assert.assertEquals(5, cronJob.getItemsFound().intValue());
+		Assert.assertEquals(CronJobResult.FAILURE, result.getResult());
+		Assert.assertEquals(CronJobStatus.FINISHED, result.getStatus());
+
+		Mockito.verify(modelService, Mockito.times(2)).removeAll(Mockito.anyCollection());
+		Mockito.verify(modelService, Mockito.times(0 + 1)).save(cronJob); //one save in finally section
+	}
+
+	@Test
+	public void testValidPkStreamWithPreviousCallRemovedInBatches()
+	{
+		final ItemModel itemMock = Mockito.mock(ItemModel.class);
+		final MediaModel mediaPk = new MediaModel();
+
+		final RemoveItemsCronJobModel cronJob = Mockito.spy(new RemoveItemsCronJobModel());
+		cronJob.setItemPKs(mediaPk);
+		Mockito.when(cronJob.getItemsDeleted()).thenReturn(Integer.valueOf(2)); //previously deleted 2 items
+
+		final PK one = PK.createFixedUUIDPK(102, 1);
+		final PK two = PK.createFixedUUIDPK(102, 2);
+		final PK three = PK.createFixedUUIDPK(102, 3);
+
+		Mockito.when(mediaService.getStreamFromMedia(mediaPk)).thenReturn(new DataInputStream(buildUpStream(one, two, three)));
+		Mockito.when(permissionCheckingService.checkItemPermission(Mockito.any(ItemModel.class), Mockito.eq("remove")))
+		       .thenReturn(permissionResult);
+		Mockito.doReturn(Collections.singletonList(itemMock)).when(performable).loadItems(Collections.singletonList(three));
+
+		performable.setBatchSize(10);
+
+		final PerformResult result = performable.perform(cronJob);
+
+		Assert.assertEquals(CronJobResult.SUCCESS, result.getResult());
+		Assert.assertEquals(CronJobStatus.FINISHED, result.getStatus());
+
+		Mockito.verify(performable, Mockito.times(1)).loadItems(Mockito.anyList());
+		Mockito.verify(modelService, Mockito.times(1)).removeAll(Collections.singletonList(itemMock));
+		Mockito.verify(cronJob).setItemsDeleted(Integer.valueOf(3));
+	}
+
+	@Test
+	public void testBatchesRemovedByWorkersInSessionsOfTheirOwn() throws InterruptedException
+	{
+		final MediaModel mediaPk = new MediaModel();
+		final PK one = PK.createFixedUUIDPK(102, 1);
+		final PK two = PK.createFixedUUIDPK(102, 2);
+		final PK three = PK.createFixedUUIDPK(102, 3);
+		final PK four = PK.createFixedUUIDPK(102, 4);
+		Mockito.when(mediaService.getStreamFromMedia(mediaPk))
+		       .thenReturn(new DataInputStream(buildUpStream(one, two, three, four)));
+
+		final UserModel user = new UserModel();
+		final LanguageModel language = new LanguageModel();
+		final Map<String, Object> attributes = new HashMap<>();
+		attributes.put("user", user);
+		attributes.put("language", language);
+		Mockito.when(sessionService.getAllSessionAttributes()).thenReturn(attributes);
+
+		// the second batch finishes before the first one
+		final CountDownLatch secondBatchRemoved = new CountDownLatch(1);
+		final List<List<PK>> removedBatches = Collections.synchronizedList(new ArrayList<>());
+		Mockito.doAnswer(invocation -> {
+			final List<PK> batch = new ArrayList<>((List<PK>) invocation.getArguments()[0]);
+			if (batch.contains(one))
+			{
+				Assert.assertTrue(secondBatchRemoved.await(10, TimeUnit.SECONDS));
+			}
+			removedBatches.add(batch);
+			secondBatchRemoved.countDown();
+			return new int[]
+					{ batch.size(), 0 };
+		}).when(performable).removeBatch(Mockito.anyList());
+		useWorkers(2);
+		performable.setBatchSize(2);
+
+		final RemoveItemsCronJobModel cronJob = new RemoveItemsCronJobModel();
+		cronJob.setItemPKs(mediaPk);
+		cronJob.setCreateSavedValues(Boolean.FALSE);
+
+		final PerformResult result = performable.perform(cronJob);
+
+		Assert.assertEquals(CronJobResult.SUCCESS, result.getResult());
+		Assert.assertEquals(CronJobStatus.FINISHED, result.getStatus());
+		Assert.assertEquals(Arrays.asList(Arrays.asList(three, four), Arrays.asList(one, two)), removedBatches);
+		Assert.assertEquals(4, cronJob.getItemsDeleted().intValue());
+		Assert.assertEquals(0, cronJob.getItemsRefused().intValue());
+
+		final InOrder inOrder = Mockito.inOrder(sessionService);
+		inOrder.verify(sessionService).removeAttribute("is.hmc.session");
+		inOrder.verify(sessionService).getAllSessionAttributes();
+		Mockito.verify(sessionService, Mockito.times(2)).createNewSession();
+		Mockito.verify(sessionService, Mockito.times(2)).setAttribute("user", user);
+		Mockito.verify(sessionService, Mockito.times(2)).setAttribute("language", language);
+		Mockito.verify(sessionService, Mockito.times(2)).closeSession(Mockito.any());
+	}
+
+	@Test
+	public void testBatchProgressCountsOnlyBatchesFinishedWithoutGap()
+	{
+		final RemoveItemsJobPerformable.BatchProgress progress = new RemoveItemsJobPerformable.BatchProgress(5, 1);
+
+		progress.complete(1, new int[]
+				{ 2, 0 });
+		progress.complete(2, new int[]
+				{ 1, 1 });
+
+		Assert.assertEquals(5, progress.getDeleted());
+		Assert.assertEquals(1, progress.getRefused());
+
+		progress.complete(0, new int[]
+				{ 3, 0 });
+
+		Assert.assertEquals(11, progress.getDeleted());
+		Assert.assertEquals(2, progress.getRefused());
+	}
+
+	@Test
+	public void testFailingWorkerFailsJobAndKeepsLaterBatchesUncounted()
+	{
+		final MediaModel mediaPk = new MediaModel();
+		final PK one = PK.createFixedUUIDPK(102, 1);
+		final PK two = PK.createFixedUUIDPK(102, 2);
+		final PK three = PK.createFixedUUIDPK(102, 3);
+		final PK four = PK.createFixedUUIDPK(102, 4);
+		Mockito.when(mediaService.getStreamFromMedia(mediaPk))
+		       .thenReturn(new DataInputStream(buildUpStream(one, two, three, four)));
+
+		// the first batch fails after the second one has been removed
+		final CountDownLatch secondBatchRemoved = new CountDownLatch(1);
+		Mockito.doAnswer(invocation -> {
+			final List<PK> batch = (List<PK>) invocation.getArguments()[0];
+			if (batch.contains(one))
+			{
+				Assert.assertTrue(secondBatchRemoved.await(10, TimeUnit.SECONDS));
+				throw new IllegalStateException("first batch fails");
+			}
+			secondBatchRemoved.countDown();
+			return new int[]
+					{ batch.size(), 0 };
+		}).when(performable).removeBatch(Mockito.anyList());
+		useWorkers(2);
+		performable.setBatchSize(2);
+
+		final RemoveItemsCronJobModel cronJob = new RemoveItemsCronJobModel();
+		cronJob.setItemPKs(mediaPk);
+
+		PerformResult result = null;
+		try
+		{
+			TestUtils.disableFileAnalyzer("Expected error logs inside ");
+			result = performable.perform(cronJob);
+		}
+		finally
+		{
+			TestUtils.enableFileAnalyzer();
+		}
+
+		Assert.assertEquals(CronJobResult.FAILURE, result.getResult());
+		Assert.assertEquals(CronJobStatus.FINISHED, result.getStatus());
+		// the removed second batch follows a gap, so a restart reads the PKs from the start again
+		Assert.assertEquals(0, cronJob.getItemsDeleted().intValue());
+		Assert.assertEquals(0, cronJob.getItemsRefused().intValue());
+	}
+
+	@Test
+	public void testRestartWithWorkersSkipsCountedBatches()
+	{
+		final MediaModel mediaPk = new MediaModel();
+		final RemoveItemsCronJobModel cronJob = Mockito.spy(new RemoveItemsCronJobModel());
+		cronJob.setItemPKs(mediaPk);
+		Mockito.when(cronJob.getItemsDeleted()).thenReturn(Integer.valueOf(2)); //previously deleted 2 items
+
+		final PK one = PK.createFixedUUIDPK(102, 1);
+		final PK two = PK.createFixedUUIDPK(102, 2);
+		final PK three = PK.createFixedUUIDPK(102, 3);
+		final PK four = PK.createFixedUUIDPK(102, 4);
+		final PK five = PK.createFixedUUIDPK(102, 5);
+		final PK six = PK.createFixedUUIDPK(102, 6);
+		Mockito.when(mediaService.getStreamFromMedia(mediaPk))
+		       .thenReturn(new DataInputStream(buildUpStream(one, two, three, four, five, six)));
+		final List<List<PK>> removedBatches = Collections.synchronizedList(new ArrayList<>());
+		Mockito.doAnswer(invocation -> {
+			final List<PK> batch = new ArrayList<>((List<PK>) invocation.getArguments()[0]);
+			removedBatches.add(batch);
+			return new int[]
+					{ batch.size(), 0 };
+		}).when(performable).removeBatch(Mockito.anyList());
+		useWorkers(2);
+		performable.setBatchSize(2);
+
+		final PerformResult result = performable.perform(cronJob);
+
+		Assert.assertEquals(CronJobResult.SUCCESS, result.getResult());
+		Assert.assertEquals(new HashSet<>(Arrays.asList(Arrays.asList(three, four), Arrays.asList(five, six))),
+				new HashSet<>(removedBatches));
+		Assert.assertEquals(2, removedBatches.size());
+		Mockito.verify(cronJob).setItemsDeleted(Integer.valueOf(6));
+	}
+
+	@Test
+	public void testAbortWithWorkersStopsBetweenBatches()
+	{
+		final AtomicInteger abortChecks = new AtomicInteger();
+		performable = createPerformable(new RemoveItemsJobPerformable()
+		{
+			@Override
+			protected boolean clearAbortRequestedIfNeeded(final CronJobModel cronJob)
+			{
+				// abort is requested after the first batch has been handed over
+				return abortChecks.getAndIncrement() >= 1;
+			}
+		});
+		final MediaModel mediaPk = new MediaModel();
+		final PK one = PK.createFixedUUIDPK(102, 1);
+		final PK two = PK.createFixedUUIDPK(102, 2);
+		final PK three = PK.createFixedUUIDPK(102, 3);
+		final PK four = PK.createFixedUUIDPK(102, 4);
+		Mockito.when(mediaService.getStreamFromMedia(mediaPk))
+		       .thenReturn(new DataInputStream(buildUpStream(one, two, three, four)));
+		final List<List<PK>> removedBatches = Collections.synchronizedList(new ArrayList<>());
+		Mockito.doAnswer(invocation -> {
+			final List<PK> batch = new ArrayList<>((List<PK>) invocation.getArguments()[0]);
+			removedBatches.add(batch);
+			return new int[]
+					{ batch.size(), 0 };
+		}).when(performable).removeBatch(Mockito.anyList());
+		useWorkers(2);
+		performable.setBatchSize(2);
+
+		final RemoveItemsCronJobModel cronJob = new RemoveItemsCronJobModel();
+		cronJob.setItemPKs(mediaPk);
+
+		final PerformResult result = performable.perform(cronJob);
+
+		Assert.assertEquals(CronJobResult.UNKNOWN, result.getResult());
+		Assert.assertEquals(CronJobStatus.ABORTED, result.getStatus());
+		// the batch handed over before the abort is finished and counted
+		Assert.assertEquals(Collections.singletonList(Arrays.asList(one, two)), removedBatches);
+		Assert.assertEquals(2, cronJob.getItemsDeleted().intValue());
+	}
+
+	private RemoveItemsJobPerformable createPerformable(final RemoveItemsJobPerformable removeItemsJobPerformable)
+	{
+		final RemoveItemsJobPerformable spy = Mockito.spy(removeItemsJobPerformable);
+		spy.setMediaService(mediaService);
+		spy.setModelService(modelService);
+		spy.setSessionService(sessionService);
+		spy.setPermissionCheckingService(permissionCheckingService);
+		return spy;
+	}
+
+	private void useWorkers(final int workerThreads)
+	{
+		performable.setWorkerThreads(workerThreads);
+		Mockito.doReturn(Executors.newFixedThreadPool(workerThreads)).when(performable).createWorkers(workerThreads);
+	}
+
 	private InputStream buildUpStream(final Object... args)
 	{
 		//ByteInputStream  bis = new ByteInputStream();
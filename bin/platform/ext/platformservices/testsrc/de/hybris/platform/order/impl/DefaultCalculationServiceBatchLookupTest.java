@@ -0,0 +1,227 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.order.impl;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.model.c2l.CurrencyModel;
+import de.hybris.platform.core.model.order.AbstractOrderEntryModel;
+import de.hybris.platform.core.model.order.CartEntryModel;
+import de.hybris.platform.core.model.order.CartModel;
+import de.hybris.platform.order.exceptions.CalculationException;
+import de.hybris.platform.order.strategies.calculation.FindDeliveryCostStrategy;
+import de.hybris.platform.order.strategies.calculation.FindDiscountValuesStrategy;
+import de.hybris.platform.order.strategies.calculation.FindPaymentCostStrategy;
+import de.hybris.platform.order.strategies.calculation.FindPriceStrategy;
+import de.hybris.platform.order.strategies.calculation.FindTaxValuesStrategy;
+import de.hybris.platform.order.strategies.calculation.OrderRequiresCalculationStrategy;
+import de.hybris.platform.servicelayer.i18n.CommonI18NService;
+import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.util.DiscountValue;
+import de.hybris.platform.util.PriceValue;
+import de.hybris.platform.util.TaxValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+
+@UnitTest
+public class DefaultCalculationServiceBatchLookupTest
+{
+	private static final String EUR = "EUR";
+
+	@Mock
+	private FindPriceStrategy findPriceStrategy;
+	@Mock
+	private FindTaxValuesStrategy findTaxValuesStrategy;
+	@Mock
+	private FindDiscountValuesStrategy findDiscountValuesStrategy;
+	@Mock
+	private FindDeliveryCostStrategy findDeliveryCostStrategy;
+	@Mock
+	private FindPaymentCostStrategy findPaymentCostStrategy;
+	@Mock
+	private OrderRequiresCalculationStrategy orderRequiresCalculationStrategy;
+	@Mock
+	private CommonI18NService commonI18NService;
+	@Mock
+	private ModelService modelService;
+
+	private CartModel order;
+	private List<AbstractOrderEntryModel> entries;
+
+	@Before
+	public void setUp() throws CalculationException
+	{
+		MockitoAnnotations.initMocks(this);
+		when(findPriceStrategy.isSLOnly()).thenReturn(true);
+		when(findTaxValuesStrategy.isSLOnly()).thenReturn(true);
+		when(findDiscountValuesStrategy.isSLOnly()).thenReturn(true);
+		when(findDeliveryCostStrategy.isSLOnly()).thenReturn(true);
+		when(findPaymentCostStrategy.isSLOnly()).thenReturn(true);
+		when(commonI18NService.roundCurrency(anyDouble(), anyInt())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+		final CurrencyModel currency = new CurrencyModel();
+		currency.setIsocode(EUR);
+		currency.setDigits(Integer.valueOf(2));
+		order = new CartModel();
+		order.setCurrency(currency);
+		order.setNet(Boolean.TRUE);
+		entries = Arrays.asList(entry(1), entry(2), entry(3));
+		order.setEntries(entries);
+
+		when(findPriceStrategy.findBasePrices(anyList())).thenReturn(
+				Arrays.asList(price(10), price(20), price(30)));
+		when(findTaxValuesStrategy.findTaxValuesForEntries(anyList())).thenReturn(
+				Arrays.<Collection<TaxValue>> asList(Collections.<TaxValue> emptyList(), Collections.<TaxValue> emptyList(),
+						Collections.<TaxValue> emptyList()));
+		when(findDiscountValuesStrategy.findDiscountValuesForEntries(anyList())).thenReturn(
+				Arrays.<List<DiscountValue>> asList(Collections.<DiscountValue> emptyList(),
+						Collections.singletonList(new DiscountValue("d", 10, false, null)), Collections.<DiscountValue> emptyList()));
+	}
+
+	@Test
+	public void shouldCalculateEntriesFromValuesLookedUpAtOnce() throws CalculationException
+	{
+		final DefaultCalculationService calculationService = calculationService(new DefaultCalculationService()
+		{
+			@Override
+			protected boolean isBatchEntryLookup()
+			{
+				return true;
+			}
+		});
+
+		calculationService.calculateEntries(order, true);
+
+		assertThat(basePrices()).containsExactly(Double.valueOf(10), Double.valueOf(20), Double.valueOf(30));
+		assertThat(entries.get(1).getTotalPrice()).isEqualTo(Double.valueOf(36));
+		assertThat(order.getTotalPrice()).isEqualTo(Double.valueOf(10 + 36 + 90));
+		verify(findPriceStrategy, times(1)).findBasePrices(entries);
+		verify(findPriceStrategy, never()).findBasePrice(any(AbstractOrderEntryModel.class));
+		verify(findTaxValuesStrategy, never()).findTaxValues(any(AbstractOrderEntryModel.class));
+		verify(findDiscountValuesStrategy, never()).findDiscountValues(any(AbstractOrderEntryModel.class));
+	}
+
+	@Test
+	public void shouldApplyOverriddenHooksWithBatchLookup() throws CalculationException
+	{
+		final List<AbstractOrderEntryModel> recalculatedEntries = new ArrayList<>();
+		final DefaultCalculationService calculationService = calculationService(new DefaultCalculationService()
+		{
+			@Override
+			protected boolean isBatchEntryLookup()
+			{
+				return true;
+			}
+
+			@Override
+			protected void recalculateOrderEntryIfNeeded(final AbstractOrderEntryModel entry, final boolean forceRecalculation)
+					throws CalculationException
+			{
+				recalculatedEntries.add(entry);
+				super.recalculateOrderEntryIfNeeded(entry, forceRecalculation);
+			}
+
+			@Override
+			protected PriceValue findBasePrice(final AbstractOrderEntryModel entry) throws CalculationException
+			{
+				return price(super.findBasePrice(entry).getValue() + 1);
+			}
+
+			@Override
+			protected List<DiscountValue> findDiscountValues(final AbstractOrderEntryModel entry)
+			{
+				return Collections.emptyList();
+			}
+		});
+
+		calculationService.calculateEntries(order, true);
+
+		assertThat(recalculatedEntries).isEqualTo(entries);
+		assertThat(basePrices()).containsExactly(Double.valueOf(11), Double.valueOf(21), Double.valueOf(31));
+		assertThat(entries.get(1).getTotalPrice()).isEqualTo(Double.valueOf(42));
+		assertThat(order.getTotalPrice()).isEqualTo(Double.valueOf(11 + 42 + 93));
+	}
+
+	@Test
+	public void shouldLookUpValuesEntryByEntryWithoutBatchLookup() throws CalculationException
+	{
+		when(findPriceStrategy.findBasePrice(any(AbstractOrderEntryModel.class))).thenReturn(price(7));
+		final DefaultCalculationService calculationService = calculationService(new DefaultCalculationService()
+		{
+			@Override
+			protected boolean isBatchEntryLookup()
+			{
+				return false;
+			}
+		});
+
+		calculationService.calculateEntries(order, true);
+
+		assertThat(basePrices()).containsExactly(Double.valueOf(7), Double.valueOf(7), Double.valueOf(7));
+		verify(findPriceStrategy, times(3)).findBasePrice(any(AbstractOrderEntryModel.class));
+		verify(findPriceStrategy, never()).findBasePrices(anyList());
+	}
+
+	private DefaultCalculationService calculationService(final DefaultCalculationService calculationService)
+	{
+		calculationService.setModelService(modelService);
+		calculationService.setCommonI18NService(commonI18NService);
+		calculationService.setFindPriceStrategy(findPriceStrategy);
+		calculationService.setFindTaxesStrategies(Collections.singletonList(findTaxValuesStrategy));
+		calculationService.setFindDiscountsStrategies(Collections.singletonList(findDiscountValuesStrategy));
+		calculationService.setFindDeliveryCostStrategy(findDeliveryCostStrategy);
+		calculationService.setFindPaymentCostStrategy(findPaymentCostStrategy);
+		calculationService.setOrderRequiresCalculationStrategy(orderRequiresCalculationStrategy);
+		return calculationService;
+	}
+
+	private AbstractOrderEntryModel entry(final long quantity)
+	{
+		final CartEntryModel entry = new CartEntryModel();
+		entry.setOrder(order);
+		entry.setQuantity(Long.valueOf(quantity));
+		return entry;
+	}
+
+	private List<Double> basePrices()
+	{
+		final List<Double> basePrices = new ArrayList<>();
+		for (final AbstractOrderEntryModel entry : entries)
+		{
+			basePrices.add(entry.getBasePrice());
+		}
+		return basePrices;
+	}
+
+	private static PriceValue price(final double value)
+	{
+		return new PriceValue(EUR, value, true);
+	}
+}
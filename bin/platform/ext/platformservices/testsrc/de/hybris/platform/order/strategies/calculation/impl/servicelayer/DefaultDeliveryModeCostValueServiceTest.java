@@ -10,6 +10,7 @@
  */
 package de.hybris.platform.order.strategies.calculation.impl.servicelayer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -40,6 +41,7 @@ import de.hybris.platform.servicelayer.ServicelayerBaseTest;
 import de.hybris.platform.servicelayer.i18n.CommonI18NService;
 import de.hybris.platform.servicelayer.model.AbstractItemModel;
 import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.testframework.PropertyConfigSwitcher;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -68,6 +70,9 @@ public class DefaultDeliveryModeCostValueServiceTest extends ServicelayerBaseTes
 	@Resource
 	private DefaultSLFindDeliveryCostStrategy defaultSLFindDeliveryCostStrategy;
 
+	private final PropertyConfigSwitcher deliveryCostIndexSwitcher = new PropertyConfigSwitcher(
+			DefaultSLFindDeliveryCostStrategy.KEY_INDEX);
+
 	C2LManager c2lManager;
 	ZoneDeliveryModeManager zdm;
 	OrderManager orderManager;
@@ -81,6 +86,7 @@ public class DefaultDeliveryModeCostValueServiceTest extends ServicelayerBaseTes
 	CurrencyModel cu1Model, cu2Model, oldBaseModel;
 	CountryModel co1Model, co2Model, co3Model;
 	ZoneModel zone1Model, zone2Model;
+	ZoneDeliveryModeValueModel zone1Cu1Value;
 	UserModel userModel;
 	AddressModel addrModel;
 	ProductModel productModel;
@@ -166,6 +172,7 @@ public class DefaultDeliveryModeCostValueServiceTest extends ServicelayerBaseTes
 		deliveryModeValue.setZone(zone1Model);
 		deliveryModeValue.setDeliveryMode(deliveryModeModel);
 		modelService.save(deliveryModeValue);
+		zone1Cu1Value = deliveryModeValue;
 
 		deliveryModeValue = modelService.create(ZoneDeliveryModeValueModel.class);
 		deliveryModeValue.setCurrency(cu1Model);
@@ -301,6 +308,28 @@ public class DefaultDeliveryModeCostValueServiceTest extends ServicelayerBaseTes
 		assertTrue("expected 40.0 as cost but got " + costs, costs == 40.0);
 	}
 
+	@Test
+	public void testDeliveryCostIndexIsReloadedAfterChanges() throws Exception
+	{
+		deliveryCostIndexSwitcher.switchToValue(Boolean.TRUE.toString());
+		cart1Model.setDeliveryMode(deliveryModeModel);
+		cartService.addNewEntry(cart1Model, productModel, 1, unitModel);
+		// z1, cu1, 1kg -> 10.0
+		assertEquals(10.0, defaultSLFindDeliveryCostStrategy.getDeliveryCost(cart1Model).getValue(), 0.001);
+
+		zone1Cu1Value.setValue(12.0);
+		modelService.save(zone1Cu1Value);
+		assertEquals(12.0, defaultSLFindDeliveryCostStrategy.getDeliveryCost(cart1Model).getValue(), 0.001);
+
+		// z2 has no cu1 values -> base currency cu2: 50.0 * 2/1 [conversion] = 100.0
+		zone1Model.setCountries(new LinkedHashSet(Arrays.asList(new CountryModel[]
+				{ co2Model })));
+		zone2Model.setCountries(new LinkedHashSet(Arrays.asList(new CountryModel[]
+				{ co1Model, co3Model })));
+		modelService.saveAll(zone1Model, zone2Model);
+		assertEquals(100.0, defaultSLFindDeliveryCostStrategy.getDeliveryCost(cart1Model).getValue(), 0.001);
+	}
+
 	@Test
 	public void testEmptyAddress()
 	{
@@ -362,6 +391,7 @@ public class DefaultDeliveryModeCostValueServiceTest extends ServicelayerBaseTes
 	@After
 	public void tearDown() throws Exception
 	{
+		deliveryCostIndexSwitcher.switchBackToDefault();
 		if (oldBaseModel != null)
 		{
 			oldBaseModel.setBase(Boolean.TRUE);
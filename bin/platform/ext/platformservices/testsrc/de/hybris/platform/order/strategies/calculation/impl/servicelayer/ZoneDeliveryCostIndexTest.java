@@ -0,0 +1,72 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.order.strategies.calculation.impl.servicelayer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hybris.bootstrap.annotations.UnitTest;
+import de.hybris.platform.core.PK;
+
+import org.junit.Test;
+
+
+@UnitTest
+public class ZoneDeliveryCostIndexTest
+{
+	private static final PK MODE = PK.fromLong(1);
+	private static final PK OTHER_MODE = PK.fromLong(2);
+	private static final PK COUNTRY = PK.fromLong(10);
+	private static final PK OTHER_COUNTRY = PK.fromLong(11);
+	private static final PK EUR = PK.fromLong(20);
+	private static final PK USD = PK.fromLong(21);
+
+	@Test
+	public void shouldFindValueWithClosestMinimumBelowAmount()
+	{
+		final ZoneDeliveryCostIndex index = ZoneDeliveryCostIndex.builder() //
+		                                                         .add(MODE, COUNTRY, EUR, 100, 5.0) //
+		                                                         .add(MODE, COUNTRY, EUR, 0, 10.0) //
+		                                                         .add(MODE, COUNTRY, EUR, 50, 7.5) //
+		                                                         .build();
+
+		assertThat(index.findValue(MODE, COUNTRY, EUR, 0)).isEqualTo(10.0);
+		assertThat(index.findValue(MODE, COUNTRY, EUR, 49.99)).isEqualTo(10.0);
+		assertThat(index.findValue(MODE, COUNTRY, EUR, 50)).isEqualTo(7.5);
+		assertThat(index.findValue(MODE, COUNTRY, EUR, 99)).isEqualTo(7.5);
+		assertThat(index.findValue(MODE, COUNTRY, EUR, 1000)).isEqualTo(5.0);
+	}
+
+	@Test
+	public void shouldFindNothingBelowLowestMinimum()
+	{
+		final ZoneDeliveryCostIndex index = ZoneDeliveryCostIndex.builder().add(MODE, COUNTRY, EUR, 20, 3.0).build();
+
+		assertThat(index.findValue(MODE, COUNTRY, EUR, 19.99)).isNull();
+	}
+
+	@Test
+	public void shouldSeparateValuesByModeCountryAndCurrency()
+	{
+		final ZoneDeliveryCostIndex index = ZoneDeliveryCostIndex.builder() //
+		                                                         .add(MODE, COUNTRY, EUR, 0, 1.0) //
+		                                                         .add(MODE, COUNTRY, USD, 0, 2.0) //
+		                                                         .add(MODE, OTHER_COUNTRY, EUR, 0, 3.0) //
+		                                                         .add(OTHER_MODE, COUNTRY, EUR, 0, 4.0) //
+		                                                         .build();
+
+		assertThat(index.size()).isEqualTo(4);
+		assertThat(index.findValue(MODE, COUNTRY, EUR, 10)).isEqualTo(1.0);
+		assertThat(index.findValue(MODE, COUNTRY, USD, 10)).isEqualTo(2.0);
+		assertThat(index.findValue(MODE, OTHER_COUNTRY, EUR, 10)).isEqualTo(3.0);
+		assertThat(index.findValue(OTHER_MODE, COUNTRY, EUR, 10)).isEqualTo(4.0);
+		assertThat(index.findValue(OTHER_MODE, OTHER_COUNTRY, USD, 10)).isNull();
+	}
+}
@@ -16,6 +16,8 @@ import static org.fest.assertions.Assertions.assertThat;
 import de.hybris.bootstrap.annotations.IntegrationTest;
 import de.hybris.platform.catalog.model.CatalogModel;
 import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.core.Registry;
+import de.hybris.platform.core.TenantAwareThreadFactory;
 import de.hybris.platform.core.model.c2l.CurrencyModel;
 import de.hybris.platform.core.model.product.ProductModel;
 import de.hybris.platform.core.model.product.UnitModel;
@@ -33,15 +35,24 @@ import de.hybris.platform.jalo.order.price.PriceInformation;
 import de.hybris.platform.order.exceptions.CalculationException;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.PriceValueInfoCriteria;
 import de.hybris.platform.order.strategies.calculation.pdt.criteria.impl.DefaultPriceValueInfoCriteria;
+import de.hybris.platform.order.strategies.calculation.pdt.impl.PDTEnumGroupsHelper;
 import de.hybris.platform.order.strategies.calculation.pdt.repository.PDTRowRepository;
+import de.hybris.platform.order.strategies.calculation.pdt.repository.impl.CachingPriceRowRepository;
 import de.hybris.platform.servicelayer.ServicelayerBaseTest;
 import de.hybris.platform.servicelayer.i18n.CommonI18NService;
 import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
 import de.hybris.platform.servicelayer.user.UserService;
 import de.hybris.platform.util.PriceValue;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Resource;
 
@@ -56,11 +67,17 @@ public class DefaultFindPriceValuesServiceIntegrationTest extends ServicelayerBa
 	@Resource
 	private PDTRowRepository<PriceValueInfoCriteria, PriceRowModel> defaultPriceRowRepository;
 	@Resource
+	private PDTRowRepository<PriceValueInfoCriteria, PriceRowModel> cachingPriceRowRepository;
+	@Resource
 	private FindPDTValueInfoStrategy<PriceValue, PriceInformation, PriceValueInfoCriteria> findPriceValueInfoStrategy;
 
 	@Resource
 	private ModelService modelService;
 	@Resource
+	private FlexibleSearchService flexibleSearchService;
+	@Resource
+	private PDTEnumGroupsHelper pdtEnumGroupsHelper;
+	@Resource
 	private CommonI18NService commonI18NService;
 	@Resource
 	private UserService userService;
@@ -200,6 +217,106 @@ public class DefaultFindPriceValuesServiceIntegrationTest extends ServicelayerBa
 		assertThat(prices).containsOnly(any_anyM, any_groupM, group_anyM, group_groupM);
 	}
 
+	@Test
+	public void shouldQuerySamePricesFromCache()
+	{
+		final Object[] products =
+				{ anyProductM, givenProductM, givenProductGroupM };
+		final Object[] users =
+				{ anyUser, givenUserM, givenUserGroupM };
+		for (final Object product : products)
+		{
+			for (final Object user : users)
+			{
+				assertThat(cachingPriceRowRepository.findRows(criteria(product, user)))
+						.containsOnly(queryForPrices(product, user).toArray());
+			}
+		}
+	}
+
+	@Test
+	public void shouldApplyPriceRowChangesToCache()
+	{
+		final UserModel otherUserM = userM(TEST_USER + "_OTHER");
+		assertThat(cachingPriceRowRepository.findRows(criteria(givenProductM, otherUserM))).containsOnly(any_anyM, given_anyM,
+				id_anyM);
+
+		final PriceRowModel added = createPriceRow(givenProductM, null, otherUserM, null, null);
+		assertThat(cachingPriceRowRepository.findRows(criteria(givenProductM, otherUserM))).containsOnly(any_anyM, given_anyM,
+				id_anyM, added);
+
+		modelService.remove(added);
+		assertThat(cachingPriceRowRepository.findRows(criteria(givenProductM, otherUserM))).containsOnly(any_anyM, given_anyM,
+				id_anyM);
+	}
+
+	@Test
+	public void shouldQuerySamePricesFromCacheForRowsOfOtherCatalogVersions()
+	{
+		final CatalogModel otherCatalog = modelService.create(CatalogModel.class);
+		otherCatalog.setId("testCatalog3");
+		final CatalogVersionModel otherCatalogVersion = modelService.create(CatalogVersionModel.class);
+		otherCatalogVersion.setCatalog(otherCatalog);
+		otherCatalogVersion.setVersion("staged");
+		modelService.saveAll(otherCatalog, otherCatalogVersion);
+
+		final PriceRowModel otherCatalogVersionPrice = createPriceRow(null, null, givenUserM, null, TEST_PRODUCT);
+		otherCatalogVersionPrice.setCatalogVersion(otherCatalogVersion);
+		modelService.save(otherCatalogVersionPrice);
+
+		assertThat(queryForPrices(givenProductM, givenUserM)).contains(otherCatalogVersionPrice);
+		assertThat(cachingPriceRowRepository.findRows(criteria(givenProductM, givenUserM)))
+				.containsOnly(queryForPrices(givenProductM, givenUserM).toArray());
+	}
+
+	@Test
+	public void shouldQueryDatabaseWhileCacheIsBuilt() throws Exception
+	{
+		final CountDownLatch building = new CountDownLatch(1);
+		final CountDownLatch built = new CountDownLatch(1);
+		final CachingPriceRowRepository repository = new CachingPriceRowRepository()
+		{
+			@Override
+			protected List<CachedPriceRow> searchAllPriceRows()
+			{
+				building.countDown();
+				try
+				{
+					built.await(30, TimeUnit.SECONDS);
+				}
+				catch (final InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				return super.searchAllPriceRows();
+			}
+		};
+		repository.setFlexibleSearchService(flexibleSearchService);
+		repository.setModelService(modelService);
+		repository.setPdtEnumGroupsHelper(pdtEnumGroupsHelper);
+		repository.setFallbackRowRepository(defaultPriceRowRepository);
+
+		final ExecutorService executor = Executors
+				.newSingleThreadExecutor(new TenantAwareThreadFactory(Registry.getCurrentTenant()));
+		try
+		{
+			final Future<Collection<PriceRowModel>> firstLookup = executor
+					.submit(() -> repository.findRows(criteria(givenProductM, givenUserM)));
+			assertThat(building.await(30, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(repository.findRows(criteria(givenProductM, givenUserM)))
+					.containsOnly(queryForPrices(givenProductM, givenUserM).toArray());
+
+			built.countDown();
+			assertThat(firstLookup.get(30, TimeUnit.SECONDS)).hasSize(queryForPrices(givenProductM, givenUserM).size());
+		}
+		finally
+		{
+			built.countDown();
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void shouldMatchPriceForPrice()
 	{
@@ -248,6 +365,11 @@ public class DefaultFindPriceValuesServiceIntegrationTest extends ServicelayerBa
 	}
 
 	private Collection<PriceRowModel> queryForPrices(final Object product, final Object user)
+	{
+		return defaultPriceRowRepository.findRows(criteria(product, user));
+	}
+
+	private PriceValueInfoCriteria criteria(final Object product, final Object user)
 	{
 		final ProductModel prod = (product instanceof ProductModel) ? (ProductModel) product : null;
 		final ProductPriceGroup prodGroup = (product instanceof ProductPriceGroup) ? (ProductPriceGroup) product : null;
@@ -255,7 +377,7 @@ public class DefaultFindPriceValuesServiceIntegrationTest extends ServicelayerBa
 		final UserPriceGroup usrGroup = (user instanceof UserPriceGroup) ? (UserPriceGroup) user : null;
 
 
-		final PriceValueInfoCriteria params = DefaultPriceValueInfoCriteria.buildForValue() //
+		return DefaultPriceValueInfoCriteria.buildForValue() //
 		                                                                   .withProduct(prod) //
 		                                                                   .withProductPriceGroup(prodGroup) //
 		                                                                   .withUser(usr) //
@@ -263,8 +385,6 @@ public class DefaultFindPriceValuesServiceIntegrationTest extends ServicelayerBa
 		                                                                   .withCurrency(currencyModel) //
 		                                                                   .withGiveAwayMode(false) //
 		                                                                   .build();
-
-		return defaultPriceRowRepository.findRows(params);
 	}
 
 	private PriceRowModel createPrice(final Object product, final Object user) throws Exception
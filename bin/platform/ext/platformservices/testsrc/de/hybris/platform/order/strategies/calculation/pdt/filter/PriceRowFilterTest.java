@@ -157,6 +157,40 @@ public class PriceRowFilterTest extends ServicelayerBaseTest
 		assertThat(prmList).isEmpty();
 	}
 
+	@Test
+	public void shouldAcceptRowWithConvertibleUnit()
+	{
+		final PriceRowModel pRowModel = getTemporaryPriceRowModel();
+		final UnitModel requested = createUnit("convertible_" + System.nanoTime(), unitModel.getUnitType());
+
+		final PriceValueInfoCriteria params = createPriceRowParams(1, requested, pRowModel.getCurrency(), null, false);
+		final Collection<PriceRowModel> prmList = defaultPriceRowValueFilter.filter(Collections.singletonList(pRowModel), params);
+		assertThat(prmList).containsOnly(pRowModel);
+	}
+
+	@Test
+	public void shouldFilterOutRowWithUnitOfOtherType()
+	{
+		final String otherType = "otherType_" + System.nanoTime();
+		final PriceRowModel pRowModel = getTemporaryPriceRowModel();
+		final UnitModel requested = createUnit("other_" + System.nanoTime(), otherType);
+
+		final PriceValueInfoCriteria params = createPriceRowParams(1, requested, pRowModel.getCurrency(), null, false);
+		assertThat(defaultPriceRowValueFilter.filter(Collections.singletonList(pRowModel), params)).isEmpty();
+
+		pRowModel.setUnit(createUnit("other2_" + System.nanoTime(), otherType));
+		assertThat(defaultPriceRowValueFilter.filter(Collections.singletonList(pRowModel), params)).containsOnly(pRowModel);
+	}
+
+	private UnitModel createUnit(final String code, final String unitType)
+	{
+		final UnitModel unit = modelService.create(UnitModel.class);
+		unit.setCode(code);
+		unit.setUnitType(unitType);
+		modelService.save(unit);
+		return unit;
+	}
+
 	PriceValueInfoCriteria createPriceRowParams(final long _quantity, final UnitModel unit, final CurrencyModel curr,
 	                                            final Date date,
 	                                            final boolean giveAwayMode)
@@ -35,12 +35,20 @@ import de.hybris.platform.order.CartService;
 import de.hybris.platform.order.exceptions.CalculationException;
 import de.hybris.platform.order.strategies.calculation.FindTaxValuesStrategy;
 import de.hybris.platform.servicelayer.ServicelayerTransactionalTest;
+import de.hybris.platform.servicelayer.i18n.CommonI18NService;
 import de.hybris.platform.servicelayer.model.ModelService;
+import de.hybris.platform.servicelayer.search.FlexibleSearchService;
 import de.hybris.platform.testframework.PropertyConfigSwitcher;
 import de.hybris.platform.util.TaxValue;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Resource;
 
@@ -55,6 +63,8 @@ public class FindTaxValuesStrategySLOnlyWithCacheTest extends ServicelayerTransa
 {
 	private static final Logger LOG = Logger.getLogger(FindTaxValuesStrategySLOnlyWithCacheTest.class);
 	private final PropertyConfigSwitcher cachingConfigSwitcher = new PropertyConfigSwitcher(Europe1Constants.KEY_CACHE_TAXES);
+	private final PropertyConfigSwitcher backgroundReloadSwitcher = new PropertyConfigSwitcher(
+			CachingFindTaxValueInfoStrategy.KEY_BACKGROUND_RELOAD);
 
 	@Resource
 	private CachingFindTaxValueInfoStrategy cachingFindTaxValueInfoStrategy;
@@ -68,6 +78,15 @@ public class FindTaxValuesStrategySLOnlyWithCacheTest extends ServicelayerTransa
 	@Resource
 	private CartService cartService;
 
+	@Resource
+	private FlexibleSearchService flexibleSearchService;
+
+	@Resource
+	private CommonI18NService commonI18NService;
+
+	@Resource
+	private PDTEnumGroupsHelper pdtEnumGroupsHelper;
+
 	private UnitModel unitModel;
 	private TaxModel tax1;
 	private TaxModel tax2;
@@ -132,6 +151,7 @@ public class FindTaxValuesStrategySLOnlyWithCacheTest extends ServicelayerTransa
 	public void tearDown()
 	{
 		cachingConfigSwitcher.switchBackToDefault();
+		backgroundReloadSwitcher.switchBackToDefault();
 	}
 
 	@Test
@@ -235,6 +255,105 @@ public class FindTaxValuesStrategySLOnlyWithCacheTest extends ServicelayerTransa
 		assertEquals(Collections.emptyList(), findTaxValuesStrategy.findTaxValues(entry1));
 	}
 
+	@Test
+	public void testIncrementalTaxRowChanges() throws CalculationException
+	{
+		cachingConfigSwitcher.switchToValue(Boolean.TRUE.toString());
+		cachingFindTaxValueInfoStrategy.invalidateTaxCache();
+
+		final TaxRowModel tr1 = createTaxRow(null, productTaxGroupFull, null, userTaxGroup1, tax1, Double.valueOf(19));
+
+		final CartModel cart = modelService.get(jaloSession.getCart());
+		final CartEntryModel entry1 = cartService.addNewEntry(cart, productModel, 2, unitModel);
+		modelService.save(entry1);
+
+		Collection<TaxValue> taxes = findTaxValuesStrategy.findTaxValues(entry1);
+		assertEquals(Collections.singletonList(new TaxValue(tax1.getCode(), 19, false, null)), taxes);
+		final long version = cachingFindTaxValueInfoStrategy.getTaxCacheVersion();
+
+		tr1.setValue(Double.valueOf(21));
+		modelService.save(tr1);
+
+		taxes = findTaxValuesStrategy.findTaxValues(entry1);
+		assertEquals(Collections.singletonList(new TaxValue(tax1.getCode(), 21, false, null)), taxes);
+		assertTrue(cachingFindTaxValueInfoStrategy.getTaxCacheVersion() > version);
+
+		final TaxRowModel tr2 = createTaxRow(productModel, null, null, null, tax2, Double.valueOf(7));
+
+		taxes = findTaxValuesStrategy.findTaxValues(entry1);
+		assertEquals(2, taxes.size());
+		assertTrue(taxes.contains(new TaxValue(tax1.getCode(), 21, false, null)));
+		assertTrue(taxes.contains(new TaxValue(tax2.getCode(), 7, false, null)));
+
+		modelService.remove(tr1);
+
+		taxes = findTaxValuesStrategy.findTaxValues(entry1);
+		assertEquals(Collections.singletonList(new TaxValue(tax2.getCode(), 7, false, null)), taxes);
+
+		modelService.remove(tr2);
+
+		assertEquals(Collections.emptyList(), findTaxValuesStrategy.findTaxValues(entry1));
+	}
+
+	@Test
+	public void testBackgroundReloadKeepsPublishedSnapshot()
+			throws InterruptedException, ExecutionException, TimeoutException
+	{
+		cachingConfigSwitcher.switchToValue(Boolean.TRUE.toString());
+		backgroundReloadSwitcher.switchToValue(Boolean.TRUE.toString());
+		final CountDownLatch reloadStarted = new CountDownLatch(1);
+		final CountDownLatch reloadReleased = new CountDownLatch(1);
+		final CachingFindTaxValueInfoStrategy strategy = new CachingFindTaxValueInfoStrategy()
+		{
+			private boolean loaded;
+
+			@Override
+			protected List<TaxRowModel> loadAllTaxRows()
+			{
+				if (loaded)
+				{
+					reloadStarted.countDown();
+					try
+					{
+						reloadReleased.await();
+					}
+					catch (final InterruptedException e)
+					{
+						Thread.currentThread().interrupt();
+					}
+				}
+				loaded = true;
+				return super.loadAllTaxRows();
+			}
+		};
+		strategy.setFlexibleSearchService(flexibleSearchService);
+		strategy.setCommonI18NService(commonI18NService);
+		strategy.setPdtEnumGroupsHelper(pdtEnumGroupsHelper);
+		strategy.init();
+		try
+		{
+			assertTrue(strategy.isCachingTaxes());
+			final long version = strategy.getTaxCacheVersion();
+
+			strategy.invalidateTaxCache();
+			final Future<?> reload = strategy.scheduleBackgroundReload();
+			assertTrue(reloadStarted.await(10, TimeUnit.SECONDS));
+
+			//readers are not blocked and keep using the published snapshot until the next one is loaded
+			assertTrue(strategy.isCachingTaxes());
+			assertEquals(version, strategy.getTaxCacheVersion());
+
+			reloadReleased.countDown();
+			reload.get(10, TimeUnit.SECONDS);
+			assertTrue(strategy.getTaxCacheVersion() > version);
+		}
+		finally
+		{
+			reloadReleased.countDown();
+			strategy.destroy();
+		}
+	}
+
 	private TaxRowModel createTaxRow(final ProductModel product, final ProductTaxGroup productTaxGroup, final UserModel user,
 	                                 final UserTaxGroup userTaxGroup, final TaxModel tax, final Double value)
 	{
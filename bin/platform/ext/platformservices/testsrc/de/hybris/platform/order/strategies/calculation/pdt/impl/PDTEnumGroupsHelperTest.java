@@ -18,6 +18,7 @@ import de.hybris.bootstrap.annotations.IntegrationTest;
 import de.hybris.platform.catalog.model.CatalogModel;
 import de.hybris.platform.catalog.model.CatalogVersionModel;
 import de.hybris.platform.core.HybrisEnumValue;
+import de.hybris.platform.core.PK;
 import de.hybris.platform.core.model.product.ProductModel;
 import de.hybris.platform.core.model.security.PrincipalGroupModel;
 import de.hybris.platform.core.model.user.UserGroupModel;
@@ -35,6 +36,7 @@ import de.hybris.platform.order.strategies.calculation.pdt.impl.PDTEnumGroupsHel
 import de.hybris.platform.servicelayer.ServicelayerTransactionalTest;
 import de.hybris.platform.servicelayer.model.ModelService;
 import de.hybris.platform.servicelayer.session.SessionService;
+import de.hybris.platform.servicelayer.type.TypeService;
 import de.hybris.platform.testframework.seed.TestDataCreator;
 
 import java.util.HashSet;
@@ -61,6 +63,9 @@ public class PDTEnumGroupsHelperTest extends ServicelayerTransactionalTest
 	@Resource
 	private SessionService sessionService;
 
+	@Resource
+	private TypeService typeService;
+
 	private ProductModel productModel;
 
 	private UserModel userModel;
@@ -160,6 +165,84 @@ public class PDTEnumGroupsHelperTest extends ServicelayerTransactionalTest
 		Assert.assertNull("getUTG should not return UserTaxGroup", userTaxGroup2);
 	}
 
+	@Test
+	public void shouldServeRepeatedResolutionsFromCache() throws CalculationException
+	{
+		final PDTEnumGroupsHelper cachingHelper = new PDTEnumGroupsHelper()
+		{
+			@Override
+			protected boolean isCacheable()
+			{
+				return true;
+			}
+		};
+		cachingHelper.setSessionService(sessionService);
+		cachingHelper.setTypeService(typeService);
+
+		final HybrisEnumValue userDG = cachingHelper.getUDG(userModel);
+		assertThat(cachingHelper.getUDG(userModel)).isSameAs(userDG);
+		assertThat(cachingHelper.getUDG(userModel2)).isNull();
+		assertThat(cachingHelper.getUDG(userModel2)).isNull();
+		assertThat(cachingHelper.getCacheMisses()).isEqualTo(2);
+		assertThat(cachingHelper.getCacheHits()).isEqualTo(2);
+
+		final PK pk = cachingHelper.getPkFromEnum(testUserTaxGroup1);
+		assertThat(cachingHelper.getPkFromEnum(testUserTaxGroup1)).isEqualTo(pk);
+		assertThat(cachingHelper.getCacheHits()).isEqualTo(3);
+
+		cachingHelper.invalidateCache();
+		assertThat(cachingHelper.getUDG(userModel)).isEqualTo(userDG);
+		assertThat(cachingHelper.getCacheMisses()).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldEvictOnlyChangedUserFromCache() throws CalculationException
+	{
+		final PDTEnumGroupsHelper cachingHelper = new PDTEnumGroupsHelper()
+		{
+			@Override
+			protected boolean isCacheable()
+			{
+				return true;
+			}
+		};
+		cachingHelper.setSessionService(sessionService);
+		cachingHelper.setTypeService(typeService);
+
+		cachingHelper.getUDG(userModel);
+		cachingHelper.getUDG(userModel2);
+		assertThat(cachingHelper.getCacheMisses()).isEqualTo(2);
+
+		cachingHelper.invalidateUser(userModel2.getPk());
+		cachingHelper.getUDG(userModel);
+		assertThat(cachingHelper.getCacheHits()).isEqualTo(1);
+		cachingHelper.getUDG(userModel2);
+		assertThat(cachingHelper.getCacheMisses()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldStartOverOnceMaxCachedUsersAreExceeded() throws CalculationException
+	{
+		final PDTEnumGroupsHelper cachingHelper = new PDTEnumGroupsHelper()
+		{
+			@Override
+			protected boolean isCacheable()
+			{
+				return true;
+			}
+		};
+		cachingHelper.setSessionService(sessionService);
+		cachingHelper.setTypeService(typeService);
+		cachingHelper.setMaxCachedUsers(1);
+
+		cachingHelper.getUDG(userModel);
+		cachingHelper.getUTG(userModel);
+		cachingHelper.getUDG(userModel2);
+		cachingHelper.getUDG(userModel);
+		assertThat(cachingHelper.getCacheMisses()).isEqualTo(4);
+		assertThat(cachingHelper.getCacheHits()).isEqualTo(0);
+	}
+
 	@Test
 	public void getPtgFromProduct() throws CalculationException, JaloPriceFactoryException
 	{
@@ -36,8 +36,11 @@ import de.hybris.platform.servicelayer.model.ModelService;
 import de.hybris.platform.servicelayer.user.UserService;
 import de.hybris.platform.testframework.PropertyConfigSwitcher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 import javax.annotation.Resource;
 
@@ -229,7 +232,35 @@ public class DiscountRowRepositoryTest extends ServicelayerTest
 		assertThat(prices).containsOnly(any_any, any_group, group_any, group_group);
 	}
 
+	@Test
+	public void shouldQuerySameDiscountsForAllCriteriaAtOnce()
+	{
+		final List<DiscountValueInfoCriteria> criteria = new ArrayList<>();
+		for (final Object product : Arrays.asList(anyProduct, givenProduct, givenProductGroup))
+		{
+			for (final Object user : Arrays.asList(anyUser, givenUser, givenUserGroup))
+			{
+				criteria.add(criteria(product, user));
+			}
+		}
+
+		final List<Collection<DiscountRowModel>> discounts = defaultDiscountRowRepository.findAllRows(criteria);
+
+		assertThat(discounts).hasSize(criteria.size());
+		for (int i = 0; i < criteria.size(); i++)
+		{
+			assertThat(discounts.get(i)).containsOnly(defaultDiscountRowRepository.findRows(criteria.get(i)).toArray());
+		}
+	}
+
 	private Collection<DiscountRowModel> queryForDiscounts(final Object product, final Object user)
+	{
+		final Collection<DiscountRowModel> discountValues = defaultDiscountRowRepository.findRows(criteria(product, user));
+
+		return discountValues;
+	}
+
+	private DiscountValueInfoCriteria criteria(final Object product, final Object user)
 	{
 		final ProductModel prod = (product instanceof ProductModel) ? (ProductModel) product : null;
 		final ProductDiscountGroup prodGroup = (product instanceof ProductDiscountGroup) ? (ProductDiscountGroup) product : null;
@@ -245,9 +276,7 @@ public class DiscountRowRepositoryTest extends ServicelayerTest
 		                                                                           .withProductDiscountGroup(prodGroup) //
 		                                                                           .build();
 
-		final Collection<DiscountRowModel> discountValues = defaultDiscountRowRepository.findRows(criteria);
-
-		return discountValues;
+		return criteria;
 	}
 
 	private AbstractDiscountRowModel createDiscount(final Object product, final Object user) throws Exception
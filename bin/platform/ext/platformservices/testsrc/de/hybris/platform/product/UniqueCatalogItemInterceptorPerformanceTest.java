@@ -0,0 +1,89 @@
+/*
+ * [y] hybris Platform
+ *
+ * Copyright (c) 2018 SAP SE or an SAP affiliate company. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of SAP
+ * ("Confidential Information"). You shall not disclose such Confidential
+ * Information and shall use it only in accordance with the terms of the
+ * license agreement you entered into with SAP.
+ */
+package de.hybris.platform.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hybris.bootstrap.annotations.PerformanceTest;
+import de.hybris.platform.catalog.CatalogVersionService;
+import de.hybris.platform.catalog.model.CatalogVersionModel;
+import de.hybris.platform.core.model.product.ProductModel;
+import de.hybris.platform.servicelayer.ServicelayerTest;
+import de.hybris.platform.servicelayer.model.ModelService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Resource;
+
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Saves product batches of the size of an ImpEx import chunk, which makes the {@link
+ * de.hybris.platform.product.impl.UniqueCatalogItemInterceptor} check all their codes at once.
+ */
+@PerformanceTest
+public class UniqueCatalogItemInterceptorPerformanceTest extends ServicelayerTest
+{
+	private final static Logger LOG = Logger.getLogger(UniqueCatalogItemInterceptorPerformanceTest.class);
+
+	private static final int BATCH_SIZE = 10000;
+
+	@Resource
+	private CatalogVersionService catalogVersionService;
+	@Resource
+	private ModelService modelService;
+
+	private CatalogVersionModel catalogVersion;
+
+	@Before
+	public void setUp() throws Exception
+	{
+		createCoreData();
+		createDefaultCatalog();
+		catalogVersion = catalogVersionService.getCatalogVersion("testCatalog", "Online");
+	}
+
+	@Test
+	public void testSaveBatches()
+	{
+		final List<ProductModel> created = createProducts("created-");
+		long start = System.currentTimeMillis();
+		modelService.saveAll(created);
+		LOG.info("created " + BATCH_SIZE + " products in " + (System.currentTimeMillis() - start) + " ms");
+
+		for (final ProductModel product : created)
+		{
+			product.setCode(product.getCode() + "-changed");
+		}
+		start = System.currentTimeMillis();
+		modelService.saveAll(created);
+		LOG.info("changed codes of " + BATCH_SIZE + " products in " + (System.currentTimeMillis() - start) + " ms");
+
+		assertThat(created.get(BATCH_SIZE - 1).getCode()).isEqualTo("created-" + (BATCH_SIZE - 1) + "-changed");
+	}
+
+	private List<ProductModel> createProducts(final String prefix)
+	{
+		final List<ProductModel> products = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++)
+		{
+			final ProductModel product = modelService.create(ProductModel.class);
+			product.setCatalogVersion(catalogVersion);
+			product.setCode(prefix + i);
+			products.add(product);
+		}
+		return products;
+	}
+}
@@ -11,6 +11,7 @@
 package de.hybris.platform.product;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 import de.hybris.platform.catalog.model.CatalogModel;
 import de.hybris.platform.catalog.model.CatalogVersionModel;
@@ -21,6 +22,7 @@ import de.hybris.platform.core.model.product.UnitModel;
 import de.hybris.platform.europe1.model.PriceRowModel;
 import de.hybris.platform.servicelayer.ServicelayerBaseTest;
 import de.hybris.platform.servicelayer.exceptions.ModelSavingException;
+import de.hybris.platform.servicelayer.interceptor.InterceptorException;
 import de.hybris.platform.servicelayer.model.ModelService;
 
 import java.util.UUID;
@@ -117,6 +119,44 @@ public class UniqueCatalogItemInterceptorTest extends ServicelayerBaseTest
 		assertThat(expectedException).isInstanceOf(ModelSavingException.class);
 	}
 
+	@Test
+	public void shouldSaveBatchOfProductsWithoutDuplicates()
+	{
+		final ProductModel existing = givenProductThatTriggerUniqueCatalogItemInterceptor();
+		modelService.save(existing);
+
+		existing.setName("changed");
+		final ProductModel first = givenProductThatTriggerUniqueCatalogItemInterceptor();
+		final ProductModel second = givenProductThatTriggerUniqueCatalogItemInterceptor();
+		modelService.saveAll(existing, first, second);
+
+		assertThat(first.getPk()).isNotNull();
+		assertThat(second.getPk()).isNotNull();
+	}
+
+	@Test
+	public void shouldRejectBatchOfProductsContainingDuplicateOfExistingOne()
+	{
+		final ProductModel existing = givenProductThatTriggerUniqueCatalogItemInterceptor();
+		modelService.save(existing);
+
+		final ProductModel first = givenProductThatTriggerUniqueCatalogItemInterceptor();
+		final ProductModel duplicate = givenProductThatTriggerUniqueCatalogItemInterceptor();
+		duplicate.setCode(existing.getCode());
+		final ProductModel third = givenProductThatTriggerUniqueCatalogItemInterceptor();
+
+		try
+		{
+			modelService.saveAll(first, duplicate, third);
+			fail("ModelSavingException expected");
+		}
+		catch (final ModelSavingException e)
+		{
+			assertThat(e.getCause()).isInstanceOf(InterceptorException.class);
+			assertThat(e.getCause().getMessage()).contains(existing.getCode()).contains("ambiguous");
+		}
+	}
+
 	private ProductModel givenProductThatTriggerUniqueCatalogItemInterceptor()
 	{
 		final ProductModel product = modelService.create(ProductModel.class);